@@ -28,6 +28,8 @@ import org.apache.logging.log4j.message.MessageFactory;
 
 /**
  * Convenience class to be used by {@code LoggerContext} implementations.
+ *
+ * @see WeakLoggerRegistry
  */
 public class LoggerRegistry<T extends ExtendedLogger> {
     private static final String DEFAULT_FACTORY_KEY = AbstractLogger.DEFAULT_MESSAGE_FACTORY_CLASS.getName();
@@ -97,11 +99,11 @@ public class LoggerRegistry<T extends ExtendedLogger> {
         this.map = factory.createOuterMap();
     }
 
-    private static String factoryClassKey(final Class<? extends MessageFactory> messageFactoryClass) {
+    static String factoryClassKey(final Class<? extends MessageFactory> messageFactoryClass) {
         return messageFactoryClass == null ? DEFAULT_FACTORY_KEY : messageFactoryClass.getName();
     }
 
-    private static String factoryKey(final MessageFactory messageFactory) {
+    static String factoryKey(final MessageFactory messageFactory) {
         return messageFactory == null ? DEFAULT_FACTORY_KEY : messageFactory.getClass().getName();
     }
 
@@ -140,7 +142,16 @@ public class LoggerRegistry<T extends ExtendedLogger> {
         Map<String, T> inner = map.get(factoryName);
         if (inner == null) {
             inner = factory.createInnerMap();
-            map.put(factoryName, inner);
+            if (map instanceof ConcurrentMap) {
+                // Another thread may have added its own inner map and loggers to it in the meantime.
+                final Map<String, T> existing = ((ConcurrentMap<String, Map<String, T>>) map).putIfAbsent(factoryName,
+                        inner);
+                if (existing != null) {
+                    return existing;
+                }
+            } else {
+                map.put(factoryName, inner);
+            }
         }
         return inner;
     }
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.spi;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.logging.log4j.message.MessageFactory;
+
+/**
+ * A {@link LoggerRegistry} that holds its loggers weakly without locking.
+ * <p>
+ * Loggers are kept in {@link ConcurrentHashMap}s keyed by message factory and name, so looking up a logger never
+ * blocks, unlike the synchronized {@code WeakHashMap}s created by {@link LoggerRegistry.WeakMapFactory}. Loggers are
+ * referenced weakly and can be collected once the application no longer uses them; their entries are removed through
+ * a {@link ReferenceQueue} whenever a logger is added.
+ * </p>
+ *
+ * @param <T> subtype of {@code ExtendedLogger}
+ * @since 2.19.0
+ */
+public class WeakLoggerRegistry<T extends ExtendedLogger> extends LoggerRegistry<T> {
+
+    private final ConcurrentMap<String, ConcurrentMap<String, LoggerReference<T>>> map = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+    @Override
+    public T getLogger(final String name) {
+        return get(factoryKey(null), name);
+    }
+
+    @Override
+    public T getLogger(final String name, final MessageFactory messageFactory) {
+        return get(factoryKey(messageFactory), name);
+    }
+
+    @Override
+    public Collection<T> getLoggers() {
+        return getLoggers(new ArrayList<T>());
+    }
+
+    @Override
+    public Collection<T> getLoggers(final Collection<T> destination) {
+        for (final ConcurrentMap<String, LoggerReference<T>> inner : map.values()) {
+            for (final LoggerReference<T> reference : inner.values()) {
+                final T logger = reference.get();
+                if (logger != null) {
+                    destination.add(logger);
+                }
+            }
+        }
+        return destination;
+    }
+
+    @Override
+    public boolean hasLogger(final String name) {
+        return getLogger(name) != null;
+    }
+
+    @Override
+    public boolean hasLogger(final String name, final MessageFactory messageFactory) {
+        return getLogger(name, messageFactory) != null;
+    }
+
+    @Override
+    public boolean hasLogger(final String name, final Class<? extends MessageFactory> messageFactoryClass) {
+        return get(factoryClassKey(messageFactoryClass), name) != null;
+    }
+
+    @Override
+    public void putIfAbsent(final String name, final MessageFactory messageFactory, final T logger) {
+        expungeStaleEntries();
+        final ConcurrentMap<String, LoggerReference<T>> inner =
+                map.computeIfAbsent(factoryKey(messageFactory), key -> new ConcurrentHashMap<>());
+        final LoggerReference<T> reference = new LoggerReference<>(logger, name, inner, queue);
+        for (;;) {
+            final LoggerReference<T> existing = inner.putIfAbsent(name, reference);
+            // A collected logger is replaced, a live one is kept.
+            if (existing == null || existing.get() != null || inner.replace(name, existing, reference)) {
+                return;
+            }
+        }
+    }
+
+    private T get(final String factoryKey, final String name) {
+        final ConcurrentMap<String, LoggerReference<T>> inner = map.get(factoryKey);
+        if (inner == null) {
+            return null;
+        }
+        final LoggerReference<T> reference = inner.get(name);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Removes the entries of the loggers that were garbage collected.
+     */
+    private void expungeStaleEntries() {
+        Object reference;
+        while ((reference = queue.poll()) != null) {
+            @SuppressWarnings("unchecked")
+            final LoggerReference<T> stale = (LoggerReference<T>) reference;
+            stale.inner.remove(stale.name, stale);
+        }
+    }
+
+    private static final class LoggerReference<T> extends WeakReference<T> {
+
+        private final String name;
+        private final ConcurrentMap<String, LoggerReference<T>> inner;
+
+        LoggerReference(final T logger, final String name, final ConcurrentMap<String, LoggerReference<T>> inner,
+                final ReferenceQueue<T> queue) {
+            super(logger, queue);
+            this.name = name;
+            this.inner = inner;
+        }
+    }
+}
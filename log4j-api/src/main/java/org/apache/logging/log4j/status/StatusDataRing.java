@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free ring holding the most recent {@link StatusData}. Once the ring is full, adding an entry overwrites the
+ * oldest one.
+ * <p>
+ * Every entry is tagged with the sequence number it was added with, so that a snapshot taken while entries are being
+ * overwritten skips slots that were already reused instead of returning entries out of order.
+ * </p>
+ */
+final class StatusDataRing {
+
+    private final int capacity;
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+    /** Entries with a lower sequence number were cleared. */
+    private volatile long firstSequence;
+
+    StatusDataRing(final int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Adds an entry, overwriting the oldest one if the ring is full.
+     *
+     * @param data the entry to add.
+     */
+    void add(final StatusData data) {
+        if (capacity > 0) {
+            final long sequence = nextSequence.getAndIncrement();
+            slots.set((int) (sequence % capacity), new Slot(sequence, data));
+        }
+    }
+
+    /**
+     * Returns the entries currently in the ring, oldest first.
+     *
+     * @return a new list of entries.
+     */
+    List<StatusData> snapshot() {
+        final long end = nextSequence.get();
+        final long start = Math.max(firstSequence, end - capacity);
+        if (start >= end) {
+            return new ArrayList<>();
+        }
+        final List<StatusData> result = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            final Slot slot = slots.get((int) (sequence % capacity));
+            // The slot may still hold an older entry or already a newer one.
+            if (slot != null && slot.sequence == sequence) {
+                result.add(slot.data);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        firstSequence = nextSequence.get();
+        for (int i = 0; i < capacity; i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private static final class Slot {
+
+        private final long sequence;
+        private final StatusData data;
+
+        Slot(final long sequence, final StatusData data) {
+            this.sequence = sequence;
+            this.data = data;
+        }
+    }
+}
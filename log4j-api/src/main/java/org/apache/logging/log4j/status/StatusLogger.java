@@ -18,15 +18,16 @@ package org.apache.logging.log4j.status;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.text.SimpleDateFormat;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.logging.log4j.Level;
@@ -71,6 +72,28 @@ public final class StatusLogger extends AbstractLogger {
      */
     public static final String STATUS_DATE_FORMAT = "log4j2.StatusLogger.DateFormat";
 
+    /**
+     * System property that can be configured with the number of milliseconds during which a status message that
+     * repeats an earlier message of the same level is suppressed. The number of suppressed repetitions is reported
+     * once the window has passed. Zero, the default, disables the suppression.
+     * @since 2.19.0
+     */
+    public static final String REPEAT_WINDOW_MILLIS = "log4j2.StatusLogger.repeatWindowMillis";
+
+    /**
+     * System property that can be set to {@code true} to notify the {@link StatusListener}s from a background thread
+     * instead of the thread that logged the status message.
+     * @since 2.19.0
+     */
+    public static final String ASYNC_LISTENERS = "log4j2.StatusLogger.asyncListeners";
+
+    /**
+     * System property that can be configured with the number of status messages waiting for the background thread
+     * to notify the listeners. Messages logged while the queue is full are dropped.
+     * @since 2.19.0
+     */
+    public static final String ASYNC_QUEUE_SIZE = "log4j2.StatusLogger.asyncQueueSize";
+
     private static final long serialVersionUID = 2L;
 
     private static final String NOT_AVAIL = "?";
@@ -81,6 +104,12 @@ public final class StatusLogger extends AbstractLogger {
 
     private static final String DEFAULT_STATUS_LEVEL = PROPS.getStringProperty(DEFAULT_STATUS_LISTENER_LEVEL);
 
+    private static final long REPEAT_WINDOW = PROPS.getLongProperty(REPEAT_WINDOW_MILLIS, 0L);
+
+    private static final boolean ASYNC = PROPS.getBooleanProperty(ASYNC_LISTENERS);
+
+    private static final int ASYNC_CAPACITY = PROPS.getIntegerProperty(ASYNC_QUEUE_SIZE, 1024);
+
     // LOG4J2-1176: normal parameterized message remembers param object, causing memory leaks.
     private static final StatusLogger STATUS_LOGGER = new StatusLogger(StatusLogger.class.getName(),
             ParameterizedNoReferenceMessageFactory.INSTANCE);
@@ -93,11 +122,14 @@ public final class StatusLogger extends AbstractLogger {
     // ReentrantReadWriteLock is Serializable
     private final ReadWriteLock listenersLock = new ReentrantReadWriteLock();
 
-    private final Queue<StatusData> messages = new BoundedQueue<>(MAX_ENTRIES);
+    @SuppressWarnings("NonSerializableFieldInSerializableClass")
+    private final StatusDataRing messages = new StatusDataRing(MAX_ENTRIES);
+
+    @SuppressWarnings("NonSerializableFieldInSerializableClass")
+    private final StatusRepeatFilter repeatFilter = REPEAT_WINDOW > 0 ? new StatusRepeatFilter(REPEAT_WINDOW) : null;
 
     @SuppressWarnings("NonSerializableFieldInSerializableClass")
-    // ReentrantLock is Serializable
-    private final Lock msgLock = new ReentrantLock();
+    private final Dispatcher dispatcher = ASYNC ? new Dispatcher(ASYNC_CAPACITY) : null;
 
     private int listenersLevel;
 
@@ -216,6 +248,9 @@ public final class StatusLogger extends AbstractLogger {
      * Clears the list of status events and listeners.
      */
     public void reset() {
+        if (dispatcher != null) {
+            dispatcher.clear();
+        }
         listenersLock.writeLock().lock();
         try {
             for (final StatusListener listener : listeners) {
@@ -243,26 +278,40 @@ public final class StatusLogger extends AbstractLogger {
      * @return The list of StatusData objects.
      */
     public List<StatusData> getStatusData() {
-        msgLock.lock();
-        try {
-            return new ArrayList<>(messages);
-        } finally {
-            msgLock.unlock();
-        }
+        return messages.snapshot();
     }
 
     /**
      * Clears the list of status events.
      */
     public void clear() {
-        msgLock.lock();
-        try {
-            messages.clear();
-        } finally {
-            msgLock.unlock();
+        messages.clear();
+        if (repeatFilter != null) {
+            repeatFilter.clear();
         }
     }
 
+    /**
+     * Returns the number of status messages that were not passed to the listeners because too many messages were
+     * waiting to be delivered by the background thread.
+     *
+     * @return the number of dropped messages, always zero unless {@value #ASYNC_LISTENERS} is enabled.
+     * @since 2.19.0
+     */
+    public long getDroppedCount() {
+        return dispatcher == null ? 0 : dispatcher.droppedCount.get();
+    }
+
+    /**
+     * Returns the number of status messages that were suppressed because they repeated an earlier message.
+     *
+     * @return the number of suppressed messages, always zero unless {@value #REPEAT_WINDOW_MILLIS} is configured.
+     * @since 2.19.0
+     */
+    public long getSuppressedCount() {
+        return repeatFilter == null ? 0 : repeatFilter.getSuppressedCount();
+    }
+
     @Override
     public Level getLevel() {
         return logger.getLevel();
@@ -280,25 +329,46 @@ public final class StatusLogger extends AbstractLogger {
     @Override
     public void logMessage(final String fqcn, final Level level, final Marker marker, final Message msg,
             final Throwable t) {
+        if (repeatFilter != null) {
+            // Filter before walking the stack, repetitions are usually logged in a hurry.
+            final StatusRepeatFilter.Repetitions repetitions = repeatFilter.filter(level, msg.getFormattedMessage(),
+                    System.currentTimeMillis());
+            if (repetitions == null) {
+                return;
+            }
+            if (repetitions.getCount() > 0) {
+                final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
+                final Message summary = getMessageFactory().newMessage(
+                        "Suppressed {} repetitions between {} and {} of: {}", repetitions.getCount(),
+                        format.format(new Date(repetitions.getFirstTimestamp())),
+                        format.format(new Date(repetitions.getLastTimestamp())), msg.getFormattedMessage());
+                record(fqcn, level, marker, summary, null, new StatusData(null, level, summary, null, null));
+            }
+        }
         StackTraceElement element = null;
         if (fqcn != null) {
             element = getStackTraceElement(fqcn, Thread.currentThread().getStackTrace());
         }
-        final StatusData data = new StatusData(element, level, msg, t, null);
-        msgLock.lock();
-        try {
-            messages.add(data);
-        } finally {
-            msgLock.unlock();
-        }
+        record(fqcn, level, marker, msg, t, new StatusData(element, level, msg, t, null));
+    }
+
+    private void record(final String fqcn, final Level level, final Marker marker, final Message msg,
+            final Throwable t, final StatusData data) {
+        messages.add(data);
         // LOG4J2-1813 if system property "log4j2.debug" is defined, all status logging is enabled
         if (isDebugPropertyEnabled() || (listeners.size() <= 0)) {
             logger.logMessage(fqcn, level, marker, msg, t);
+        } else if (dispatcher != null) {
+            dispatcher.offer(data);
         } else {
-            for (final StatusListener listener : listeners) {
-                if (data.getLevel().isMoreSpecificThan(listener.getStatusLevel())) {
-                    listener.log(data);
-                }
+            notifyListeners(data);
+        }
+    }
+
+    private void notifyListeners(final StatusData data) {
+        for (final StatusListener listener : listeners) {
+            if (data.getLevel().isMoreSpecificThan(listener.getStatusLevel())) {
+                listener.log(data);
             }
         }
     }
@@ -433,27 +503,70 @@ public final class StatusLogger extends AbstractLogger {
     }
 
     /**
-     * Queues for status events.
-     *
-     * @param <E> Object type to be stored in the queue.
+     * Notifies the listeners from a daemon thread, which is started when the first message is offered.
+     * <p>
+     * Offering a message never blocks: the queue is lock-free and messages offered while it holds {@code capacity}
+     * messages are dropped.
+     * </p>
      */
-    private class BoundedQueue<E> extends ConcurrentLinkedQueue<E> {
+    private final class Dispatcher implements Runnable {
+
+        private final int capacity;
+        private final ConcurrentLinkedQueue<StatusData> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicLong droppedCount = new AtomicLong();
+        private volatile Thread thread;
+
+        Dispatcher(final int capacity) {
+            this.capacity = capacity;
+        }
 
-        private static final long serialVersionUID = -3945953719763255337L;
+        void offer(final StatusData data) {
+            if (size.incrementAndGet() > capacity) {
+                size.decrementAndGet();
+                droppedCount.incrementAndGet();
+                return;
+            }
+            queue.offer(data);
+            Thread current = thread;
+            if (current == null) {
+                current = start();
+            }
+            LockSupport.unpark(current);
+        }
 
-        private final int size;
+        private synchronized Thread start() {
+            if (thread == null) {
+                final Thread newThread = new Thread(this, "Log4j2-StatusLogger");
+                newThread.setDaemon(true);
+                newThread.start();
+                thread = newThread;
+            }
+            return thread;
+        }
 
-        BoundedQueue(final int size) {
-            this.size = size;
+        void clear() {
+            while (queue.poll() != null) {
+                size.decrementAndGet();
+            }
         }
 
         @Override
-        public boolean add(final E object) {
-            super.add(object);
-            while (messages.size() > size) {
-                messages.poll();
+        public void run() {
+            for (;;) {
+                StatusData data;
+                while ((data = queue.poll()) != null) {
+                    size.decrementAndGet();
+                    try {
+                        notifyListeners(data);
+                    } catch (final RuntimeException e) {
+                        logger.error("Status listener failed to handle {}", data.getFormattedStatus(), e);
+                    }
+                }
+                // The producer unparks this thread after every offer, so a message queued after the last poll
+                // makes the next park return immediately.
+                LockSupport.park(this);
             }
-            return size > 0;
         }
     }
 }
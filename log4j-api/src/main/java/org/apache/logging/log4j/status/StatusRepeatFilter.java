@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.status;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Level;
+
+/**
+ * Suppresses status messages that repeat an earlier message of the same level within a time window.
+ * <p>
+ * The first occurrence of a message opens a window. Repetitions within the window are only counted. The first
+ * occurrence after the window passes the filter again, together with the count and the first and last timestamps
+ * of the repetitions that were suppressed, and opens the next window. A message logged in a tight loop is thus
+ * reported about twice per window.
+ * </p>
+ * <p>
+ * The filter does not lock: when threads race to open a window, the losers are counted as repetitions.
+ * </p>
+ */
+final class StatusRepeatFilter {
+
+    /**
+     * Number of distinct messages tracked, all of them are forgotten once there are more.
+     */
+    static final int MAX_TRACKED_MESSAGES = 1024;
+
+    /**
+     * Returned for messages that pass the filter without any repetitions to report.
+     */
+    static final Repetitions NONE = new Repetitions(0L);
+
+    private final long windowMillis;
+    private final ConcurrentMap<String, Repetitions> windows = new ConcurrentHashMap<>();
+    private final AtomicLong suppressedCount = new AtomicLong();
+
+    StatusRepeatFilter(final long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Filters a message.
+     *
+     * @param level the level of the message.
+     * @param text the formatted message.
+     * @param timestamp the time the message was logged in milliseconds.
+     * @return {@code null} if the message repeats an earlier one and must be suppressed, otherwise the repetitions
+     * suppressed in the previous window of this message, or {@link #NONE}.
+     */
+    Repetitions filter(final Level level, final String text, final long timestamp) {
+        final String key = level.name() + ':' + text;
+        final Repetitions current = windows.get(key);
+        if (current != null && timestamp - current.windowStart < windowMillis) {
+            return suppress(current, timestamp);
+        }
+        final Repetitions next = new Repetitions(timestamp);
+        if (current == null) {
+            if (windows.size() >= MAX_TRACKED_MESSAGES) {
+                windows.clear();
+            }
+            final Repetitions existing = windows.putIfAbsent(key, next);
+            return existing == null ? NONE : suppress(existing, timestamp);
+        }
+        if (!windows.replace(key, current, next)) {
+            final Repetitions existing = windows.get(key);
+            return existing == null ? NONE : suppress(existing, timestamp);
+        }
+        return current.count.get() > 0 ? current : NONE;
+    }
+
+    private Repetitions suppress(final Repetitions repetitions, final long timestamp) {
+        if (repetitions.count.getAndIncrement() == 0) {
+            repetitions.firstTimestamp = timestamp;
+        }
+        repetitions.lastTimestamp = timestamp;
+        suppressedCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Returns the number of messages suppressed since this filter was created.
+     *
+     * @return the number of suppressed messages.
+     */
+    long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+
+    /**
+     * Forgets all messages seen so far.
+     */
+    void clear() {
+        windows.clear();
+    }
+
+    /**
+     * The repetitions of a message suppressed within one window.
+     */
+    static final class Repetitions {
+
+        private final long windowStart;
+        private final AtomicLong count = new AtomicLong();
+        private volatile long firstTimestamp;
+        private volatile long lastTimestamp;
+
+        Repetitions(final long windowStart) {
+            this.windowStart = windowStart;
+        }
+
+        /**
+         * Returns the number of suppressed repetitions.
+         *
+         * @return the number of repetitions.
+         */
+        long getCount() {
+            return count.get();
+        }
+
+        /**
+         * Returns the time of the first suppressed repetition.
+         *
+         * @return the timestamp in milliseconds.
+         */
+        long getFirstTimestamp() {
+            return firstTimestamp;
+        }
+
+        /**
+         * Returns the time of the last suppressed repetition.
+         *
+         * @return the timestamp in milliseconds.
+         */
+        long getLastTimestamp() {
+            return lastTimestamp;
+        }
+    }
+}
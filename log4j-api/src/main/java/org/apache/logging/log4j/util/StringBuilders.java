@@ -169,8 +169,18 @@ public final class StringBuilders {
     }
 
     public static void escapeJson(final StringBuilder toAppendTo, final int start) {
+        // Most text needs no escaping at all: skip the leading run of characters that are left as they are with a
+        // cheap check before counting the escapes in the rest.
+        final int length = toAppendTo.length();
+        int first = start;
+        while (first < length && !needsJsonEscape(toAppendTo.charAt(first))) {
+            first++;
+        }
+        if (first == length) {
+            return;
+        }
         int escapeCount = 0;
-        for (int i = start; i < toAppendTo.length(); i++) {
+        for (int i = first; i < length; i++) {
             final char c = toAppendTo.charAt(i);
             switch (c) {
                 case '\b':
@@ -238,6 +248,14 @@ public final class StringBuilders {
         }
     }
 
+    /**
+     * Returns {@code true} for the characters {@link #escapeJson(StringBuilder, int)} escapes: quotes, backslashes and
+     * ISO control characters.
+     */
+    private static boolean needsJsonEscape(final char c) {
+        return c < ' ' || c == '"' || c == '\\' || (c >= '\u007F' && c <= '\u009F');
+    }
+
     private static int escapeAndDecrement(final StringBuilder toAppendTo, int lastPos, final char c) {
         toAppendTo.setCharAt(lastPos--, c);
         toAppendTo.setCharAt(lastPos--, '\\');
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.TestLogger;
+import org.apache.logging.log4j.message.FormattedMessageFactory;
+import org.apache.logging.log4j.message.MessageFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeakLoggerRegistryTest {
+
+    private final WeakLoggerRegistry<TestLogger> registry = new WeakLoggerRegistry<>();
+
+    @Test
+    public void testKeyedByNameAndMessageFactory() {
+        final MessageFactory messageFactory = new FormattedMessageFactory();
+        final TestLogger logger = new TestLogger("a");
+        final TestLogger formattedLogger = new TestLogger("a", messageFactory);
+        registry.putIfAbsent("a", null, logger);
+        registry.putIfAbsent("a", messageFactory, formattedLogger);
+        registry.putIfAbsent("a", null, new TestLogger("a"));
+
+        assertSame(logger, registry.getLogger("a"));
+        assertSame(formattedLogger, registry.getLogger("a", messageFactory));
+        assertTrue(registry.hasLogger("a"));
+        assertTrue(registry.hasLogger("a", messageFactory));
+        assertTrue(registry.hasLogger("a", FormattedMessageFactory.class));
+        assertFalse(registry.hasLogger("b"));
+        assertNull(registry.getLogger("b", messageFactory));
+        assertEquals(2, registry.getLoggers().size());
+    }
+
+    @Test
+    public void testUnusedLoggersAreCollected() throws InterruptedException {
+        TestLogger logger = new TestLogger("a");
+        registry.putIfAbsent("a", null, logger);
+        assertTrue(registry.hasLogger("a"));
+        logger = null;
+        for (int i = 0; i < 50 && registry.hasLogger("a"); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertFalse(registry.hasLogger("a"));
+        assertTrue(registry.getLoggers().isEmpty());
+
+        final TestLogger replacement = new TestLogger("a");
+        registry.putIfAbsent("a", null, replacement);
+        assertSame(replacement, registry.getLogger("a"));
+    }
+
+    @Test
+    public void testConcurrentPutIfAbsent() throws InterruptedException {
+        final int threadCount = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        final TestLogger[] loggers = new TestLogger[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                TestLogger logger = registry.getLogger("a");
+                if (logger == null) {
+                    registry.putIfAbsent("a", null, new TestLogger("a"));
+                    logger = registry.getLogger("a");
+                }
+                loggers[index] = logger;
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        for (final TestLogger logger : loggers) {
+            assertNotNull(logger);
+            assertSame(loggers[0], logger);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.status;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatusDataRingTest {
+
+    private static StatusData data(final String text) {
+        return new StatusData(null, Level.ERROR, new SimpleMessage(text), null, "main");
+    }
+
+    private static List<String> texts(final StatusDataRing ring) {
+        final List<String> result = new ArrayList<>();
+        for (final StatusData data : ring.snapshot()) {
+            result.add(data.getMessage().getFormattedMessage());
+        }
+        return result;
+    }
+
+    @Test
+    public void testKeepsEntriesInOrder() {
+        final StatusDataRing ring = new StatusDataRing(3);
+        assertTrue(ring.snapshot().isEmpty());
+        ring.add(data("a"));
+        ring.add(data("b"));
+        assertEquals(Arrays.asList("a", "b"), texts(ring));
+    }
+
+    @Test
+    public void testOverwritesOldestEntries() {
+        final StatusDataRing ring = new StatusDataRing(3);
+        for (final String text : new String[] {"a", "b", "c", "d", "e"}) {
+            ring.add(data(text));
+        }
+        assertEquals(Arrays.asList("c", "d", "e"), texts(ring));
+    }
+
+    @Test
+    public void testClear() {
+        final StatusDataRing ring = new StatusDataRing(3);
+        ring.add(data("a"));
+        ring.add(data("b"));
+        ring.clear();
+        assertTrue(ring.snapshot().isEmpty());
+        ring.add(data("c"));
+        assertEquals(Arrays.asList("c"), texts(ring));
+    }
+
+    @Test
+    public void testZeroCapacityKeepsNothing() {
+        final StatusDataRing ring = new StatusDataRing(0);
+        ring.add(data("a"));
+        assertTrue(ring.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testConcurrentAdds() throws InterruptedException {
+        final StatusDataRing ring = new StatusDataRing(64);
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    ring.add(data("x"));
+                }
+            });
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(64, ring.snapshot().size());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.status;
+
+import org.apache.logging.log4j.Level;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatusRepeatFilterTest {
+
+    @Test
+    public void testSuppressesRepetitionsWithinWindow() {
+        final StatusRepeatFilter filter = new StatusRepeatFilter(1000);
+        assertSame(StatusRepeatFilter.NONE, filter.filter(Level.ERROR, "dead socket", 10_000));
+        assertNull(filter.filter(Level.ERROR, "dead socket", 10_100));
+        assertNull(filter.filter(Level.ERROR, "dead socket", 10_900));
+        assertEquals(2, filter.getSuppressedCount());
+
+        final StatusRepeatFilter.Repetitions repetitions = filter.filter(Level.ERROR, "dead socket", 11_000);
+        assertNotNull(repetitions);
+        assertEquals(2, repetitions.getCount());
+        assertEquals(10_100, repetitions.getFirstTimestamp());
+        assertEquals(10_900, repetitions.getLastTimestamp());
+
+        assertNull(filter.filter(Level.ERROR, "dead socket", 11_500));
+        assertEquals(3, filter.getSuppressedCount());
+    }
+
+    @Test
+    public void testReportsNothingWithoutRepetitions() {
+        final StatusRepeatFilter filter = new StatusRepeatFilter(1000);
+        assertSame(StatusRepeatFilter.NONE, filter.filter(Level.WARN, "a", 10_000));
+        assertSame(StatusRepeatFilter.NONE, filter.filter(Level.WARN, "a", 12_000));
+        assertEquals(0, filter.getSuppressedCount());
+    }
+
+    @Test
+    public void testDistinguishesTextAndLevel() {
+        final StatusRepeatFilter filter = new StatusRepeatFilter(1000);
+        assertSame(StatusRepeatFilter.NONE, filter.filter(Level.WARN, "a", 10_000));
+        assertSame(StatusRepeatFilter.NONE, filter.filter(Level.WARN, "b", 10_000));
+        assertSame(StatusRepeatFilter.NONE, filter.filter(Level.ERROR, "a", 10_000));
+        assertNull(filter.filter(Level.WARN, "a", 10_001));
+    }
+
+    @Test
+    public void testClearForgetsMessages() {
+        final StatusRepeatFilter filter = new StatusRepeatFilter(1000);
+        filter.filter(Level.WARN, "a", 10_000);
+        filter.clear();
+        assertSame(StatusRepeatFilter.NONE, filter.filter(Level.WARN, "a", 10_001));
+    }
+
+    @Test
+    public void testBoundsTrackedMessages() {
+        final StatusRepeatFilter filter = new StatusRepeatFilter(1000);
+        for (int i = 0; i <= StatusRepeatFilter.MAX_TRACKED_MESSAGES; i++) {
+            filter.filter(Level.WARN, "message " + i, 10_000);
+        }
+        // The first message was forgotten when the map was cleared.
+        assertSame(StatusRepeatFilter.NONE, filter.filter(Level.WARN, "message 0", 10_001));
+    }
+}
@@ -78,6 +78,21 @@ public class StringBuildersTest {
         assertEquals(jsonValueEscaped, sb.toString());
     }
 
+    @Test
+    public void escapeJsonLeavesTextWithoutSpecialCharactersAlone() {
+        final String text = "plain text without anything to escape: \u00e9\u00e0\u00a0\u20ac/\ud83d\ude00";
+        final StringBuilder sb = new StringBuilder(text);
+        StringBuilders.escapeJson(sb, 0);
+        assertEquals(text, sb.toString());
+    }
+
+    @Test
+    public void escapeJsonOnlyEscapesAfterStart() {
+        final StringBuilder sb = new StringBuilder("\"quoted\" and then a long run of plain text\n");
+        StringBuilders.escapeJson(sb, 8);
+        assertEquals("\"quoted\" and then a long run of plain text\\n", sb.toString());
+    }
+
     @Test
     public void escapeXMLCharactersCorrectly() {
         final String xmlValueNotEscaped = "<\"Salt&Peppa'\">";
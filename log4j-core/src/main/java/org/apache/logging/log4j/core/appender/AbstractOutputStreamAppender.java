@@ -212,6 +212,10 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
     }
 
     protected void directEncodeEvent(final LogEvent event) {
+        if (manager.isConcurrentWrites()) {
+            manager.encode(getLayout(), event, this.immediateFlush || event.isEndOfBatch());
+            return;
+        }
         getLayout().encode(event, manager);
         if (this.immediateFlush || event.isEndOfBatch()) {
             manager.flush();
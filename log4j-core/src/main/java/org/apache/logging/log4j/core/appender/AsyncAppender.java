@@ -28,6 +28,7 @@ import org.apache.logging.log4j.core.async.BlockingQueueFactory;
 import org.apache.logging.log4j.core.async.DiscardingAsyncQueueFullPolicy;
 import org.apache.logging.log4j.core.async.EventRoute;
 import org.apache.logging.log4j.core.async.InternalAsyncUtil;
+import org.apache.logging.log4j.core.async.MpscArrayBlockingQueueFactory;
 import org.apache.logging.log4j.core.config.AppenderControl;
 import org.apache.logging.log4j.core.config.AppenderRef;
 import org.apache.logging.log4j.core.config.Configuration;
@@ -44,6 +45,7 @@ import org.apache.logging.log4j.core.filter.AbstractFilterable;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.spi.AbstractLogger;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +63,7 @@ import java.util.stream.Collectors;
 public final class AsyncAppender extends AbstractAppender {
 
     private static final int DEFAULT_QUEUE_SIZE = 1024;
+    private static final int DEFAULT_OVERFLOW_FILE_SIZE = 32 * 1024 * 1024;
 
     private final BlockingQueue<LogEvent> queue;
     private final int queueSize;
@@ -70,14 +73,18 @@ public final class AsyncAppender extends AbstractAppender {
     private final AppenderRef[] appenderRefs;
     private final String errorRef;
     private final boolean includeLocation;
+    private final String overflowFile;
+    private final int overflowFileSize;
     private AppenderControl errorAppender;
+    private OverflowFileManager overflowFileManager;
     private AsyncAppenderEventDispatcher dispatcher;
     private AsyncQueueFullPolicy asyncQueueFullPolicy;
 
     private AsyncAppender(final String name, final Filter filter, final AppenderRef[] appenderRefs,
             final String errorRef, final int queueSize, final boolean blocking, final boolean ignoreExceptions,
             final long shutdownTimeout, final Configuration config, final boolean includeLocation,
-            final BlockingQueueFactory<LogEvent> blockingQueueFactory, final Property[] properties) {
+            final BlockingQueueFactory<LogEvent> blockingQueueFactory, final Property[] properties,
+            final String overflowFile, final int overflowFileSize) {
         super(name, filter, null, ignoreExceptions, properties);
         this.queue = blockingQueueFactory.create(queueSize);
         this.queueSize = queueSize;
@@ -87,6 +94,8 @@ public final class AsyncAppender extends AbstractAppender {
         this.appenderRefs = appenderRefs;
         this.errorRef = errorRef;
         this.includeLocation = includeLocation;
+        this.overflowFile = overflowFile;
+        this.overflowFileSize = overflowFileSize;
     }
 
     @Override
@@ -109,9 +118,12 @@ public final class AsyncAppender extends AbstractAppender {
                 LOGGER.error("Unable to set up error Appender. No appender named {} was configured", errorRef);
             }
         }
+        if (overflowFile != null) {
+            overflowFileManager = OverflowFileManager.getOverflowFileManager(overflowFile, overflowFileSize);
+        }
         if (appenders.size() > 0) {
             dispatcher = new AsyncAppenderEventDispatcher(
-                    getName(), errorAppender, appenders, queue);
+                    getName(), errorAppender, appenders, queue, overflowFileManager);
         } else if (errorRef == null) {
             throw new ConfigurationException("No appenders are available for AsyncAppender " + getName());
         }
@@ -134,6 +146,9 @@ public final class AsyncAppender extends AbstractAppender {
             LOGGER.warn("Interrupted while stopping AsyncAppender {}", getName());
         }
         LOGGER.trace("AsyncAppender stopped. Queue has {} events.", queue.size());
+        if (overflowFileManager != null) {
+            overflowFileManager.stop(timeout, timeUnit);
+        }
 
         if (DiscardingAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy) > 0) {
             LOGGER.trace("AsyncAppender: {} discarded {} events.", asyncQueueFullPolicy,
@@ -155,6 +170,11 @@ public final class AsyncAppender extends AbstractAppender {
         }
         final Log4jLogEvent memento = Log4jLogEvent.createMemento(logEvent, includeLocation);
         InternalAsyncUtil.makeMessageImmutable(logEvent.getMessage());
+        if (overflowFileManager != null && !overflowFileManager.isEmpty()) {
+            // Queueing the event now would overtake the events of this thread that wait in the overflow file.
+            spill(memento);
+            return;
+        }
         if (!transfer(memento)) {
             if (blocking) {
                 if (AbstractLogger.getRecursionDepth() > 1) { // LOG4J2-1518, LOG4J2-2031
@@ -195,6 +215,10 @@ public final class AsyncAppender extends AbstractAppender {
      * @param logEvent the event to log
      */
     public void logMessageInBackgroundThread(final LogEvent logEvent) {
+        if (overflowFileManager != null) {
+            spill(logEvent);
+            return;
+        }
         try {
             // wait for free slots in the queue
             queue.put(logEvent);
@@ -204,6 +228,26 @@ public final class AsyncAppender extends AbstractAppender {
         }
     }
 
+    private void spill(final LogEvent logEvent) {
+        if (AbstractLogger.getRecursionDepth() > 1 || Thread.currentThread() == dispatcher) {
+            // LOG4J2-1518, LOG4J2-2031: the dispatcher empties the overflow file, it must not wait for free space in it
+            AsyncQueueFullMessageUtil.logWarningToStatusLogger();
+            logMessageInCurrentThread(logEvent);
+            return;
+        }
+        try {
+            // wait for free space in the overflow file
+            overflowFileManager.write(logEvent);
+        } catch (final IOException e) {
+            LOGGER.warn("AsyncAppender {} is unable to write an event to overflow file {}, logging it synchronously",
+                getName(), overflowFile, e);
+            logMessageInCurrentThread(logEvent);
+        } catch (final InterruptedException ignored) {
+            final boolean appendSuccessful = handleInterruptedException(logEvent);
+            logToErrorAppenderIfNecessary(appendSuccessful, logEvent);
+        }
+    }
+
     // LOG4J2-1049: Some applications use Thread.interrupt() to send
     // messages between application threads. This does not necessarily
     // mean that the queue is full. To prevent dropping a log message,
@@ -266,7 +310,7 @@ public final class AsyncAppender extends AbstractAppender {
         }
 
         return new AsyncAppender(name, filter, appenderRefs, errorRef, size, blocking, ignoreExceptions,
-            shutdownTimeout, config, includeLocation, new ArrayBlockingQueueFactory<LogEvent>(), null);
+            shutdownTimeout, config, includeLocation, new ArrayBlockingQueueFactory<LogEvent>(), null, null, 0);
     }
 
     @PluginBuilderFactory
@@ -308,7 +352,13 @@ public final class AsyncAppender extends AbstractAppender {
         private boolean ignoreExceptions = true;
 
         @PluginElement(BlockingQueueFactory.ELEMENT_TYPE)
-        private BlockingQueueFactory<LogEvent> blockingQueueFactory = new ArrayBlockingQueueFactory<>();
+        private BlockingQueueFactory<LogEvent> blockingQueueFactory = new MpscArrayBlockingQueueFactory<>();
+
+        @PluginBuilderAttribute
+        private String overflowFile;
+
+        @PluginBuilderAttribute
+        private int overflowFileSize = DEFAULT_OVERFLOW_FILE_SIZE;
 
         public Builder setAppenderRefs(final AppenderRef[] appenderRefs) {
             this.appenderRefs = appenderRefs;
@@ -360,10 +410,35 @@ public final class AsyncAppender extends AbstractAppender {
             return this;
         }
 
+        /**
+         * Sets the memory mapped file that events are spilled to instead of blocking while the queue is full.
+         *
+         * @param overflowFile the name of the overflow file, or {@code null} to block.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public Builder setOverflowFile(final String overflowFile) {
+            this.overflowFile = overflowFile;
+            return this;
+        }
+
+        /**
+         * Sets the size of the overflow file in bytes.
+         *
+         * @param overflowFileSize the size of the overflow file in bytes.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public Builder setOverflowFileSize(final int overflowFileSize) {
+            this.overflowFileSize = overflowFileSize;
+            return this;
+        }
+
         @Override
         public AsyncAppender build() {
             return new AsyncAppender(name, getFilter(), appenderRefs, errorRef, bufferSize, blocking, ignoreExceptions,
-                shutdownTimeout, configuration, includeLocation, blockingQueueFactory, getPropertyArray());
+                shutdownTimeout, configuration, includeLocation, blockingQueueFactory, getPropertyArray(),
+                overflowFile, overflowFileSize);
         }
     }
 
@@ -418,6 +493,16 @@ public final class AsyncAppender extends AbstractAppender {
         return errorRef;
     }
 
+    /**
+     * Returns the name of the file that events are spilled to while the queue is full, or {@code null}.
+     *
+     * @return the name of the overflow file or {@code null}.
+     * @since 2.19.0
+     */
+    public String getOverflowFile() {
+        return overflowFile;
+    }
+
     public int getQueueCapacity() {
         return queueSize;
     }
@@ -16,8 +16,10 @@
  */
 package org.apache.logging.log4j.core.appender;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -25,6 +27,7 @@ import java.util.stream.Collectors;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.async.MpscArrayBlockingQueue;
 import org.apache.logging.log4j.core.config.AppenderControl;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.util.Log4jThread;
@@ -38,24 +41,50 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
 
     private static final Logger LOGGER = StatusLogger.getLogger();
 
+    /**
+     * Maximum number of events drained from an {@link MpscArrayBlockingQueue} after a blocking take.
+     */
+    private static final int MAX_BATCH_SIZE = 256;
+
+    /**
+     * How long the dispatcher waits on an empty queue before it checks the overflow file again. Producers only spill
+     * when the queue is full, so this only matters if the dispatcher emptied the queue and found no spilled events
+     * just before an event was spilled.
+     */
+    private static final long OVERFLOW_CHECK_INTERVAL_MILLIS = 100;
+
     private final AppenderControl errorAppender;
 
     private final List<AppenderControl> appenders;
 
     private final BlockingQueue<LogEvent> queue;
 
+    private final OverflowFileManager overflowFileManager;
+
     private final AtomicBoolean stoppedRef;
 
+    private boolean stopEventReceived;
+
     AsyncAppenderEventDispatcher(
             final String name,
             final AppenderControl errorAppender,
             final List<AppenderControl> appenders,
             final BlockingQueue<LogEvent> queue) {
+        this(name, errorAppender, appenders, queue, null);
+    }
+
+    AsyncAppenderEventDispatcher(
+            final String name,
+            final AppenderControl errorAppender,
+            final List<AppenderControl> appenders,
+            final BlockingQueue<LogEvent> queue,
+            final OverflowFileManager overflowFileManager) {
         super("AsyncAppenderEventDispatcher-" + THREAD_COUNTER.incrementAndGet() + "-" + name);
         this.setDaemon(true);
         this.errorAppender = errorAppender;
         this.appenders = appenders;
         this.queue = queue;
+        this.overflowFileManager = overflowFileManager;
         this.stoppedRef = new AtomicBoolean();
     }
 
@@ -71,7 +100,13 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
     @Override
     public void run() {
         LOGGER.trace("{} has started.", getName());
-        dispatchAll();
+        if (overflowFileManager != null) {
+            dispatchAllWithOverflow();
+        } else if (queue instanceof MpscArrayBlockingQueue) {
+            dispatchAllInBatches((MpscArrayBlockingQueue<LogEvent>) queue);
+        } else {
+            dispatchAll();
+        }
         dispatchRemaining();
     }
 
@@ -94,6 +129,95 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
         LOGGER.trace("{} has stopped.", getName());
     }
 
+    /**
+     * Blocks for the first event only and then drains whatever else is already queued, which avoids the wake-up and
+     * index bookkeeping of a {@code take()} per event. Each slot is released before its event is dispatched, so
+     * producers observe the same capacity as with {@link #dispatchAll()}.
+     */
+    private void dispatchAllInBatches(final MpscArrayBlockingQueue<LogEvent> mpscQueue) {
+        while (!stoppedRef.get() && !stopEventReceived) {
+            final LogEvent event;
+            try {
+                event = mpscQueue.take();
+            } catch (final InterruptedException ignored) {
+                // Restore the interrupted flag cleared when the exception is caught.
+                interrupt();
+                break;
+            }
+            dispatchQueued(event);
+            mpscQueue.drain(this::dispatchQueued, MAX_BATCH_SIZE);
+        }
+        LOGGER.trace("{} has stopped.", getName());
+    }
+
+    /**
+     * Dispatches queued events before spilled ones. Producers only append to the queue again once the overflow file
+     * is empty, so this preserves the order of the events of each producer.
+     */
+    private void dispatchAllWithOverflow() {
+        while (!stoppedRef.get() && !stopEventReceived) {
+            LogEvent event = queue.poll();
+            if (event == null) {
+                if (replayOverflow(MAX_BATCH_SIZE) > 0) {
+                    continue;
+                }
+                try {
+                    event = queue.poll(OVERFLOW_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (final InterruptedException ignored) {
+                    // Restore the interrupted flag cleared when the exception is caught.
+                    interrupt();
+                    break;
+                }
+                if (event == null) {
+                    continue;
+                }
+            }
+            dispatchQueued(event);
+        }
+        LOGGER.trace("{} has stopped.", getName());
+    }
+
+    private void dispatchQueued(final LogEvent event) {
+        if (event == STOP_EVENT) {
+            // Events drained after the sentinel are still dispatched, as dispatchRemaining() would do.
+            stopEventReceived = true;
+        } else {
+            event.setEndOfBatch(queue.isEmpty() && isOverflowEmpty());
+            dispatch(event);
+        }
+    }
+
+    /**
+     * Dispatches up to {@code limit} events from the overflow file.
+     *
+     * @return the number of events read from the overflow file.
+     */
+    private int replayOverflow(final int limit) {
+        int count = 0;
+        while (count < limit) {
+            final LogEvent event;
+            try {
+                event = overflowFileManager.read();
+            } catch (final IOException e) {
+                LOGGER.error("{} has failed to read an event from overflow file {}", getName(),
+                        overflowFileManager.getName(), e);
+                count++;
+                continue;
+            }
+            if (event == null) {
+                break;
+            }
+            event.setEndOfBatch(queue.isEmpty() && overflowFileManager.isEmpty());
+            dispatch(event);
+            count++;
+        }
+        return count;
+    }
+
+    private boolean isOverflowEmpty() {
+        return overflowFileManager == null || overflowFileManager.isEmpty();
+    }
+
     private void dispatchRemaining() {
         int eventCount = 0;
         while (true) {
@@ -106,10 +230,16 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
             if (event == STOP_EVENT) {
                 continue;
             }
-            event.setEndOfBatch(queue.isEmpty());
+            event.setEndOfBatch(queue.isEmpty() && isOverflowEmpty());
             dispatch(event);
             eventCount++;
         }
+        if (overflowFileManager != null) {
+            int replayed;
+            while ((replayed = replayOverflow(MAX_BATCH_SIZE)) > 0) {
+                eventCount += replayed;
+            }
+        }
         LOGGER.trace(
                 "{} has processed the last {} remaining event(s).",
                 getName(), eventCount);
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Double-buffered byte region that many producer threads can write to without taking a lock.
+ * <p>
+ * Producers reserve space in the active region with a single compare-and-set on a packed state word (write position
+ * plus number of in-flight copies), copy their bytes and release the reservation. A single drainer, who must be
+ * serialized externally, swaps the active region, seals the previous one, waits for in-flight copies to complete and
+ * hands the sealed bytes to a {@link Sink}. The inactive region stays sealed so that a producer holding a stale
+ * reference retries on the active region, which preserves the order of events written by any one thread.
+ * </p>
+ */
+final class ConcurrentWriteBuffer {
+
+    /**
+     * Receives the contents of a sealed region.
+     */
+    interface Sink {
+        void write(byte[] bytes, int offset, int length);
+    }
+
+    private static final long SEALED = 1L << 63;
+    private static final long ONE_WRITER = 1L << 32;
+    private static final long WRITERS_MASK = 0x7FFFFFFFL << 32;
+    private static final long POSITION_MASK = 0xFFFFFFFFL;
+
+    private final Region[] regions;
+    private final int capacity;
+    private volatile int active;
+
+    ConcurrentWriteBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.regions = new Region[] {new Region(capacity, 0), new Region(capacity, SEALED)};
+    }
+
+    /**
+     * Returns the size in bytes of each of the two regions.
+     * @return the region capacity
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Copies the specified bytes into the active region.
+     *
+     * @param bytes the array containing data
+     * @param offset from where to copy
+     * @param length how many bytes to copy
+     * @return {@code true} if the bytes were copied, {@code false} if the active region is full or was just sealed and
+     *         the caller should drain before retrying
+     */
+    boolean tryWrite(final byte[] bytes, final int offset, final int length) {
+        final Region region = regions[active];
+        final int position = region.claim(length);
+        if (position < 0) {
+            return false;
+        }
+        try {
+            System.arraycopy(bytes, offset, region.bytes, position, length);
+        } finally {
+            region.release();
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the active region holds data that has not been drained yet.
+     * @return {@code true} if a call to {@link #drainTo(Sink)} would write something
+     */
+    boolean hasPending() {
+        return regions[active].position() > 0;
+    }
+
+    /**
+     * Returns the number of bytes in the active region.
+     * @return the pending byte count
+     */
+    int pendingBytes() {
+        return regions[active].position();
+    }
+
+    /**
+     * Swaps the active region and writes the content of the previously active region to the sink. Callers must ensure
+     * that only one thread drains at a time.
+     *
+     * @param sink receives the drained bytes
+     */
+    void drainTo(final Sink sink) {
+        final int current = active;
+        final Region drained = regions[current];
+        if (drained.position() == 0) {
+            return;
+        }
+        regions[current ^ 1].open();
+        active = current ^ 1;
+        final int length = drained.seal();
+        try {
+            sink.write(drained.bytes, 0, length);
+        } finally {
+            drained.reset();
+        }
+    }
+
+    private static final class Region {
+        private final byte[] bytes;
+        private final AtomicLong state;
+
+        Region(final int capacity, final long initialState) {
+            this.bytes = new byte[capacity];
+            this.state = new AtomicLong(initialState);
+        }
+
+        int claim(final int length) {
+            for (;;) {
+                final long current = state.get();
+                if ((current & SEALED) != 0) {
+                    return -1;
+                }
+                final int position = (int) (current & POSITION_MASK);
+                if (length > bytes.length - position) {
+                    return -1;
+                }
+                if (state.compareAndSet(current, current + ONE_WRITER + length)) {
+                    return position;
+                }
+            }
+        }
+
+        void release() {
+            state.addAndGet(-ONE_WRITER);
+        }
+
+        int position() {
+            return (int) (state.get() & POSITION_MASK);
+        }
+
+        void open() {
+            state.set(0);
+        }
+
+        int seal() {
+            long current = state.getAndUpdate(value -> value | SEALED);
+            while ((current & WRITERS_MASK) != 0) {
+                Thread.yield();
+                current = state.get();
+            }
+            return (int) (current & POSITION_MASK);
+        }
+
+        void reset() {
+            state.set(SEALED);
+        }
+    }
+}
@@ -80,6 +80,9 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
         @PluginBuilderAttribute
         private String fileGroup;
 
+        @PluginBuilderAttribute
+        private boolean concurrentWrites;
+
         @Override
         public FileAppender build() {
             if (!isValid()) {
@@ -101,6 +104,9 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             if (manager == null) {
                 return null;
             }
+            if (concurrentWrites) {
+                manager.setConcurrentWrites(true);
+            }
 
             return new FileAppender(getName(), layout, getFilter(), manager, fileName, isIgnoreExceptions(),
                     !bufferedIo || isImmediateFlush(), advertise ? getConfiguration().getAdvertiser() : null,
@@ -143,6 +149,10 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             return fileGroup;
         }
 
+        public boolean isConcurrentWrites() {
+            return concurrentWrites;
+        }
+
         public B withAdvertise(final boolean advertise) {
             this.advertise = advertise;
             return asBuilder();
@@ -188,6 +198,18 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             return asBuilder();
         }
 
+        /**
+         * Enables lock-free writes from multiple threads, see {@link OutputStreamManager#setConcurrentWrites(boolean)}.
+         *
+         * @param concurrentWrites {@code true} to enable concurrent writes
+         * @return this builder
+         * @since 2.19.0
+         */
+        public B setConcurrentWrites(final boolean concurrentWrites) {
+            this.concurrentWrites = concurrentWrites;
+            return asBuilder();
+        }
+
     }
 
     private static final int DEFAULT_BUFFER_SIZE = 8192;
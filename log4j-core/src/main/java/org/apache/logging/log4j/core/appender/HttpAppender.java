@@ -70,11 +70,37 @@ public final class HttpAppender extends AbstractAppender {
         @PluginBuilderAttribute
         private boolean verifyHostname = true;
 
+        @PluginBuilderAttribute
+        private int batchSize = 0;
+
+        @PluginBuilderAttribute
+        private int maxBatchBytes = 1024 * 1024;
+
+        @PluginBuilderAttribute
+        private long flushIntervalMillis = 1000;
+
+        @PluginBuilderAttribute
+        private BatchFormat batchFormat = BatchFormat.LINES;
+
+        @PluginBuilderAttribute
+        private boolean compress;
+
+        @PluginBuilderAttribute
+        private int maxRequestsInFlight = 1;
+
         @Override
         public HttpAppender build() {
-            final HttpManager httpManager = new HttpURLConnectionManager(getConfiguration(),
-                    getConfiguration().getLoggerContext(), getName(), url, method, connectTimeoutMillis,
-                    readTimeoutMillis, headers, sslConfiguration, verifyHostname);
+            final HttpManager httpManager;
+            if (batchSize > 0) {
+                httpManager = new HttpBatchingManager(getConfiguration(), getConfiguration().getLoggerContext(),
+                        getName(), url, method, connectTimeoutMillis, readTimeoutMillis, headers, sslConfiguration,
+                        verifyHostname, batchFormat, batchSize, maxBatchBytes, flushIntervalMillis, compress,
+                        maxRequestsInFlight);
+            } else {
+                httpManager = new HttpURLConnectionManager(getConfiguration(),
+                        getConfiguration().getLoggerContext(), getName(), url, method, connectTimeoutMillis,
+                        readTimeoutMillis, headers, sslConfiguration, verifyHostname);
+            }
             return new HttpAppender(getName(), getLayout(), getFilter(), isIgnoreExceptions(), httpManager,
                     getPropertyArray());
         }
@@ -107,6 +133,48 @@ public final class HttpAppender extends AbstractAppender {
             return verifyHostname;
         }
 
+        /**
+         * @since 2.19.0
+         */
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        /**
+         * @since 2.19.0
+         */
+        public int getMaxBatchBytes() {
+            return maxBatchBytes;
+        }
+
+        /**
+         * @since 2.19.0
+         */
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
+        /**
+         * @since 2.19.0
+         */
+        public BatchFormat getBatchFormat() {
+            return batchFormat;
+        }
+
+        /**
+         * @since 2.19.0
+         */
+        public boolean isCompress() {
+            return compress;
+        }
+
+        /**
+         * @since 2.19.0
+         */
+        public int getMaxRequestsInFlight() {
+            return maxRequestsInFlight;
+        }
+
         public B setUrl(final URL url) {
             this.url = url;
             return asBuilder();
@@ -141,6 +209,97 @@ public final class HttpAppender extends AbstractAppender {
             this.verifyHostname = verifyHostname;
             return asBuilder();
         }
+
+        /**
+         * Sets the maximum number of events sent in one request. Zero, the default, sends every event synchronously
+         * in its own request, a positive value sends batches of events from background threads.
+         *
+         * @param batchSize the maximum number of events per request.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public B setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the size in bytes at which a batch is sent even if it holds fewer than {@code batchSize} events.
+         *
+         * @param maxBatchBytes the maximum size of a batch before compression.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public B setMaxBatchBytes(final int maxBatchBytes) {
+            this.maxBatchBytes = maxBatchBytes;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the number of milliseconds after which a batch that is not full is sent.
+         *
+         * @param flushIntervalMillis the maximum age of a batch.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public B setFlushIntervalMillis(final long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+            return asBuilder();
+        }
+
+        /**
+         * Sets how the events of a batch are framed in the request body.
+         *
+         * @param batchFormat the body format.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public B setBatchFormat(final BatchFormat batchFormat) {
+            this.batchFormat = batchFormat;
+            return asBuilder();
+        }
+
+        /**
+         * Sets whether batches are gzip compressed.
+         *
+         * @param compress {@code true} to send batches with {@code Content-Encoding: gzip}.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public B setCompress(final boolean compress) {
+            this.compress = compress;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the maximum number of batch requests sent concurrently.
+         *
+         * @param maxRequestsInFlight the number of background senders.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public B setMaxRequestsInFlight(final int maxRequestsInFlight) {
+            this.maxRequestsInFlight = maxRequestsInFlight;
+            return asBuilder();
+        }
+    }
+
+    /**
+     * How the events of a batch are framed in the request body.
+     *
+     * @since 2.19.0
+     */
+    public enum BatchFormat {
+
+        /**
+         * One event per line, a line feed is added to events that do not end with one.
+         */
+        LINES,
+
+        /**
+         * A JSON array of the events, which must be JSON values.
+         */
+        JSON_ARRAY
     }
 
     /**
@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.net.ssl.SslConfiguration;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+
+/**
+ * HTTP manager that sends log events in batches from background threads.
+ * <p>
+ * Events are serialized by the layout on the logging thread and appended to the current batch, which is handed to the
+ * sender threads once it holds {@code batchSize} events or {@code maxBatchBytes} bytes, or when it is
+ * {@code flushIntervalMillis} old. Each sender posts one batch at a time, optionally gzip compressed, and reads the
+ * whole response so that {@link java.net.HttpURLConnection} keeps the connection alive for the next request. The
+ * number of senders bounds the number of requests in flight; at most as many full batches again wait for a sender,
+ * beyond that logging threads block until a request completes.
+ * </p>
+ * <p>
+ * Failed requests are reported to the status logger and their events are dropped, the logging thread never sees
+ * them. Stopping the manager sends the events that are still buffered.
+ * </p>
+ *
+ * @since 2.19.0
+ */
+public class HttpBatchingManager extends HttpURLConnectionManager {
+
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_SEPARATOR = {','};
+    private static final byte[] ARRAY_END = {']'};
+
+    private final HttpAppender.BatchFormat batchFormat;
+    private final int batchSize;
+    private final int maxBatchBytes;
+    private final long flushIntervalMillis;
+    private final boolean compress;
+    private final int maxPending;
+    private final Thread[] senders;
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Signalled when a batch is started or queued, and when the manager stops.
+     */
+    private final Condition batchesChanged = lock.newCondition();
+    /**
+     * Signalled when a sender takes a queued batch, and when the manager stops.
+     */
+    private final Condition pendingNotFull = lock.newCondition();
+    private final Deque<Batch> pending = new ArrayDeque<>();
+    private Batch current;
+    private volatile String contentType;
+    private boolean running;
+
+    public HttpBatchingManager(final Configuration configuration, final LoggerContext loggerContext, final String name,
+                               final URL url, final String method, final int connectTimeoutMillis,
+                               final int readTimeoutMillis,
+                               final Property[] headers,
+                               final SslConfiguration sslConfiguration,
+                               final boolean verifyHostname,
+                               final HttpAppender.BatchFormat batchFormat,
+                               final int batchSize,
+                               final int maxBatchBytes,
+                               final long flushIntervalMillis,
+                               final boolean compress,
+                               final int maxRequestsInFlight) {
+        super(configuration, loggerContext, name, url, method, connectTimeoutMillis, readTimeoutMillis, headers,
+                sslConfiguration, verifyHostname);
+        this.batchFormat = batchFormat != null ? batchFormat : HttpAppender.BatchFormat.LINES;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchBytes = Math.max(1, maxBatchBytes);
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.compress = compress;
+        final int senderCount = Math.max(1, maxRequestsInFlight);
+        this.maxPending = senderCount;
+        this.senders = new Thread[senderCount];
+        final Log4jThreadFactory threadFactory = Log4jThreadFactory.createDaemonThreadFactory("HttpAppender-" + name);
+        for (int i = 0; i < senderCount; i++) {
+            senders[i] = threadFactory.newThread(new Sender());
+        }
+    }
+
+    @Override
+    public void startup() {
+        lock.lock();
+        try {
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+        for (final Thread sender : senders) {
+            sender.start();
+        }
+    }
+
+    /**
+     * Adds the event to the current batch, waiting for a sender if the batch is full and all senders are busy.
+     *
+     * @throws AppenderLoggingException if the manager is stopped.
+     */
+    @Override
+    public void send(final Layout<?> layout, final LogEvent event) {
+        final byte[] data = layout.toByteArray(event);
+        if (contentType == null) {
+            contentType = layout.getContentType();
+        }
+        lock.lock();
+        try {
+            // Checked with the lock held, so that no batch is started after releaseSub took the last one.
+            if (!running) {
+                throw new AppenderLoggingException("HTTP manager " + getName() + " is not running");
+            }
+            if (current == null) {
+                current = new Batch(System.currentTimeMillis() + flushIntervalMillis);
+                if (batchFormat == HttpAppender.BatchFormat.JSON_ARRAY) {
+                    current.write(ARRAY_START, 0, 1);
+                }
+                // Lets an idle sender wait for the deadline of the new batch.
+                batchesChanged.signal();
+            } else if (batchFormat == HttpAppender.BatchFormat.JSON_ARRAY) {
+                current.write(ARRAY_SEPARATOR, 0, 1);
+            }
+            current.write(data, 0, data.length);
+            if (batchFormat == HttpAppender.BatchFormat.LINES && (data.length == 0 || data[data.length - 1] != '\n')) {
+                current.write(LINE_SEPARATOR, 0, 1);
+            }
+            current.events++;
+            if (current.events >= batchSize || current.size() >= maxBatchBytes) {
+                enqueue(takeCurrent());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues a full batch, waiting while all senders are busy and as many batches are already queued. Once the
+     * manager stops, or if the thread is interrupted, the batch is queued without waiting, since the senders send
+     * all queued batches before they exit. Must be called with the lock held.
+     */
+    private void enqueue(final Batch batch) {
+        try {
+            while (running && pending.size() >= maxPending) {
+                pendingNotFull.await();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        pending.add(batch);
+        batchesChanged.signal();
+    }
+
+    /**
+     * Removes the current batch, must be called with the lock held.
+     */
+    private Batch takeCurrent() {
+        final Batch batch = current;
+        current = null;
+        if (batch != null && batchFormat == HttpAppender.BatchFormat.JSON_ARRAY) {
+            batch.write(ARRAY_END, 0, 1);
+        }
+        return batch;
+    }
+
+    /**
+     * Waits for a queued batch or for the current batch to be due, must be called with the lock held.
+     *
+     * @return the batch to send, or {@code null} once the manager is stopped and all batches are taken.
+     */
+    private Batch nextBatch() throws InterruptedException {
+        for (;;) {
+            final Batch queued = pending.poll();
+            if (queued != null) {
+                pendingNotFull.signal();
+                return queued;
+            }
+            if (current != null) {
+                final long delayMillis = current.deadline - System.currentTimeMillis();
+                if (delayMillis <= 0) {
+                    return takeCurrent();
+                }
+                batchesChanged.await(delayMillis, TimeUnit.MILLISECONDS);
+            } else if (!running) {
+                return null;
+            } else {
+                batchesChanged.await();
+            }
+        }
+    }
+
+    private void post(final Batch batch) {
+        byte[] body = batch.buffer();
+        int length = batch.size();
+        String contentEncoding = null;
+        try {
+            if (compress) {
+                final ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, length / 4));
+                try (final GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                    out.write(body, 0, length);
+                }
+                body = compressed.toByteArray();
+                length = body.length;
+                contentEncoding = "gzip";
+            }
+            send(contentType, contentEncoding, body, length);
+        } catch (final IOException | RuntimeException ex) {
+            logError("Unable to send a batch of " + batch.events + " events", ex);
+        }
+    }
+
+    @Override
+    protected boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        lock.lock();
+        try {
+            if (!running) {
+                // never started
+                return true;
+            }
+            running = false;
+            final Batch last = takeCurrent();
+            if (last != null) {
+                pending.add(last);
+            }
+            batchesChanged.signalAll();
+            pendingNotFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        final long deadline = timeout > 0 ? System.nanoTime() + timeUnit.toNanos(timeout) : Long.MAX_VALUE;
+        boolean stopped = true;
+        try {
+            for (final Thread sender : senders) {
+                final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (deadline == Long.MAX_VALUE) {
+                    sender.join();
+                } else if (remainingMillis > 0) {
+                    sender.join(remainingMillis);
+                }
+                stopped &= !sender.isAlive();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            stopped = false;
+        }
+        if (!stopped) {
+            logWarn("HTTP manager " + getName() + " did not send all buffered events before timeout", null);
+        }
+        return stopped;
+    }
+
+    /**
+     * Takes queued batches, or the current batch once it is due, and posts them until the manager is stopped and
+     * no batch is left.
+     */
+    private final class Sender implements Runnable {
+
+        @Override
+        public void run() {
+            for (;;) {
+                final Batch batch;
+                lock.lock();
+                try {
+                    batch = nextBatch();
+                } catch (final InterruptedException ex) {
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+                if (batch == null) {
+                    return;
+                }
+                post(batch);
+            }
+        }
+    }
+
+    /**
+     * Growable buffer holding the serialized events of one request.
+     */
+    private static final class Batch extends ByteArrayOutputStream {
+
+        final long deadline;
+        int events;
+
+        Batch(final long deadline) {
+            super(1024);
+            this.deadline = deadline;
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+    }
+}
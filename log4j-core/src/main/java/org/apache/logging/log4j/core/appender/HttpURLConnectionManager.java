@@ -75,6 +75,21 @@ public class HttpURLConnectionManager extends HttpManager {
 
     @Override
     public void send(final Layout<?> layout, final LogEvent event) throws IOException {
+        final byte[] msg = layout.toByteArray(event);
+        send(layout.getContentType(), null, msg, msg.length);
+    }
+
+    /**
+     * Sends one request with the given body and reads the response, so that the connection can be kept alive.
+     *
+     * @param contentType the value of the Content-Type header, or {@code null}.
+     * @param contentEncoding the value of the Content-Encoding header, or {@code null}.
+     * @param body the bytes holding the body.
+     * @param length the number of bytes of the body.
+     * @throws IOException if the request fails or the server responds with an error.
+     */
+    void send(final String contentType, final String contentEncoding, final byte[] body, final int length)
+            throws IOException {
         final HttpURLConnection urlConnection = (HttpURLConnection) url.openConnection();
         urlConnection.setAllowUserInteraction(false);
         urlConnection.setDoOutput(true);
@@ -86,8 +101,11 @@ public class HttpURLConnectionManager extends HttpManager {
         if (readTimeoutMillis > 0) {
             urlConnection.setReadTimeout(readTimeoutMillis);
         }
-        if (layout.getContentType() != null) {
-            urlConnection.setRequestProperty("Content-Type", layout.getContentType());
+        if (contentType != null) {
+            urlConnection.setRequestProperty("Content-Type", contentType);
+        }
+        if (contentEncoding != null) {
+            urlConnection.setRequestProperty("Content-Encoding", contentEncoding);
         }
         for (final Property header : headers) {
             urlConnection.setRequestProperty(header.getName(), header.evaluate(getConfiguration().getStrSubstitutor()));
@@ -99,11 +117,10 @@ public class HttpURLConnectionManager extends HttpManager {
             ((HttpsURLConnection) urlConnection).setHostnameVerifier(LaxHostnameVerifier.INSTANCE);
         }
 
-        final byte[] msg = layout.toByteArray(event);
-        urlConnection.setFixedLengthStreamingMode(msg.length);
+        urlConnection.setFixedLengthStreamingMode(length);
         urlConnection.connect();
         try (OutputStream os = urlConnection.getOutputStream()) {
-            os.write(msg);
+            os.write(body, 0, length);
         }
 
         final byte[] buffer = new byte[1024];
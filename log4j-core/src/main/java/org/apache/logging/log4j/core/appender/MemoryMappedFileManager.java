@@ -220,7 +220,7 @@ public class MemoryMappedFileManager extends OutputStreamManager {
         }
     }
 
-    private static void unsafeUnmap(final MappedByteBuffer mbb) throws PrivilegedActionException {
+    static void unsafeUnmap(final MappedByteBuffer mbb) throws PrivilegedActionException {
         LOGGER.debug("MMapAppender unmapping old buffer...");
         final long startNanos = System.nanoTime();
         AccessController.doPrivileged((PrivilegedExceptionAction<Object>) () -> {
@@ -23,8 +23,10 @@ import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.layout.ByteBufferDestination;
 import org.apache.logging.log4j.core.layout.ByteBufferDestinationHelper;
@@ -39,6 +41,9 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
     protected ByteBuffer byteBuffer;
     private volatile OutputStream outputStream;
     private boolean skipFooter;
+    private volatile ConcurrentWriteBuffer concurrentWriteBuffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ThreadLocal<StagingDestination> stagingDestination = new ThreadLocal<>();
 
     protected OutputStreamManager(final OutputStream os, final String streamName, final Layout<?> layout,
             final boolean writeHeader) {
@@ -177,7 +182,7 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
      * @throws AppenderLoggingException if an error occurs.
      */
     protected void write(final byte[] bytes)  {
-        write(bytes, 0, bytes.length, false);
+        write(bytes, false);
     }
 
     /**
@@ -187,12 +192,139 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
      * @throws AppenderLoggingException if an error occurs.
      */
     protected void write(final byte[] bytes, final boolean immediateFlush)  {
-        write(bytes, 0, bytes.length, immediateFlush);
+        final ConcurrentWriteBuffer buffer = concurrentWriteBuffer;
+        if (buffer != null) {
+            writeConcurrently(buffer, bytes, 0, bytes.length, immediateFlush);
+        } else {
+            write(bytes, 0, bytes.length, immediateFlush);
+        }
     }
 
     @Override
     public void writeBytes(final byte[] data, final int offset, final int length) {
-        write(data, offset, length, false);
+        final ConcurrentWriteBuffer buffer = concurrentWriteBuffer;
+        if (buffer != null) {
+            writeConcurrently(buffer, data, offset, length, false);
+        } else {
+            write(data, offset, length, false);
+        }
+    }
+
+    /**
+     * Returns whether concurrent writes are enabled.
+     * @return {@code true} if producers write through a lock-free shared buffer
+     * @since 2.19.0
+     */
+    public boolean isConcurrentWrites() {
+        return concurrentWriteBuffer != null;
+    }
+
+    /**
+     * Enables or disables concurrent writes. When enabled, each producer thread encodes events into a private staging
+     * buffer and then claims space in a shared buffer with a compare-and-set instead of taking this manager's lock.
+     * Whichever thread drains the shared buffer writes it to the stream while the others continue; the buffer is also
+     * drained when it fills up and on {@link #flush()}. With immediate flush a returning producer is only guaranteed
+     * that its bytes are written by itself or by the drainer that is currently active.
+     *
+     * @param concurrentWrites {@code true} to enable concurrent writes
+     * @since 2.19.0
+     */
+    public synchronized void setConcurrentWrites(final boolean concurrentWrites) {
+        if (concurrentWrites == isConcurrentWrites()) {
+            return;
+        }
+        if (concurrentWrites) {
+            concurrentWriteBuffer = new ConcurrentWriteBuffer(byteBuffer.capacity());
+        } else {
+            drainConcurrentWriteBuffer();
+            concurrentWriteBuffer = null;
+        }
+    }
+
+    /**
+     * Encodes the specified event with the specified layout. In concurrent write mode the event is encoded into a
+     * buffer owned by the calling thread and then copied into the shared buffer; otherwise the layout encodes directly
+     * into this destination.
+     *
+     * @param layout the layout to encode with
+     * @param event the event to encode
+     * @param flush whether to write the buffered bytes to the stream after encoding
+     * @since 2.19.0
+     */
+    public void encode(final Layout<?> layout, final LogEvent event, final boolean flush) {
+        final ConcurrentWriteBuffer buffer = concurrentWriteBuffer;
+        if (buffer == null) {
+            layout.encode(event, this);
+            if (flush) {
+                flush();
+            }
+            return;
+        }
+        // Without thread locals a fresh staging buffer is allocated for every event
+        StagingDestination staging = stagingDestination.get();
+        if (staging == null || staging.busy) {
+            final boolean cache = staging == null && Constants.ENABLE_THREADLOCALS;
+            staging = new StagingDestination(Constants.ENCODER_BYTE_BUFFER_SIZE);
+            if (cache) {
+                stagingDestination.set(staging);
+            }
+        }
+        staging.busy = true;
+        try {
+            layout.encode(event, staging);
+            staging.drainTo(buffer, flush);
+        } finally {
+            staging.busy = false;
+        }
+    }
+
+    private void writeConcurrently(final ConcurrentWriteBuffer buffer, final byte[] bytes, final int offset,
+            final int length, final boolean immediateFlush) {
+        if (length > buffer.getCapacity()) {
+            synchronized (this) {
+                drainConcurrentWriteBuffer();
+                write(bytes, offset, length, immediateFlush);
+            }
+            return;
+        }
+        while (!buffer.tryWrite(bytes, offset, length)) {
+            synchronized (this) {
+                if (concurrentWriteBuffer != buffer) {
+                    // concurrent writes were disabled while this thread was writing
+                    write(bytes, offset, length, immediateFlush);
+                    return;
+                }
+                drainConcurrentWriteBuffer();
+            }
+        }
+        if (immediateFlush) {
+            flushConcurrently(buffer);
+        }
+    }
+
+    /**
+     * Drains the shared buffer if no other thread is doing so. The thread that wins the race keeps draining until
+     * nothing is pending, so bytes written by a losing thread are never left behind.
+     */
+    private void flushConcurrently(final ConcurrentWriteBuffer buffer) {
+        while (buffer.hasPending() && draining.compareAndSet(false, true)) {
+            try {
+                synchronized (this) {
+                    drainConcurrentWriteBuffer();
+                    flushDestination();
+                }
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    private synchronized void drainConcurrentWriteBuffer() {
+        final ConcurrentWriteBuffer buffer = concurrentWriteBuffer;
+        if (buffer != null) {
+            flushBuffer(byteBuffer);
+            buffer.drainTo(this::writeToDestination);
+        }
     }
 
     /**
@@ -291,6 +423,7 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
      * Flushes any buffers.
      */
     public synchronized void flush() {
+        drainConcurrentWriteBuffer();
         flushBuffer(byteBuffer);
         flushDestination();
     }
@@ -353,4 +486,57 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
           ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
         }
     }
+
+    /**
+     * Thread-confined destination that events are encoded into before being copied to the shared buffer. The buffer
+     * grows rather than drains so that an event is always copied to the shared buffer in one piece.
+     */
+    private final class StagingDestination implements ByteBufferDestination {
+        private final int initialSize;
+        private ByteBuffer buffer;
+        private boolean busy;
+
+        StagingDestination(final int size) {
+            this.initialSize = size;
+            this.buffer = ByteBuffer.wrap(new byte[size]);
+        }
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            return buffer;
+        }
+
+        @Override
+        public ByteBuffer drain(final ByteBuffer buf) {
+            ((Buffer) buf).flip();
+            final ByteBuffer larger = ByteBuffer.wrap(new byte[Math.max(buf.capacity() * 2, initialSize)]);
+            larger.put(buf);
+            buffer = larger;
+            return larger;
+        }
+
+        @Override
+        public void writeBytes(final ByteBuffer data) {
+            ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+        }
+
+        @Override
+        public void writeBytes(final byte[] data, final int offset, final int length) {
+            ByteBufferDestinationHelper.writeToUnsynchronized(data, offset, length, this);
+        }
+
+        void drainTo(final ConcurrentWriteBuffer target, final boolean flush) {
+            ((Buffer) buffer).flip();
+            try {
+                writeConcurrently(target, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(),
+                        flush);
+            } finally {
+                if (buffer.capacity() > initialSize) {
+                    buffer = ByteBuffer.wrap(new byte[initialSize]);
+                } else {
+                    buffer.clear();
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.apache.logging.log4j.core.time.Instant;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.MultiformatMessage;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.spi.MutableThreadContextStack;
+import org.apache.logging.log4j.util.FilteredObjectInputStream;
+import org.apache.logging.log4j.util.LoaderUtil;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.StringMap;
+
+/**
+ * Compact binary form of the log events that an {@link AsyncAppender} spills to its overflow file.
+ * <p>
+ * Scalar fields and strings are written directly. Messages are stored as their formatted text and replayed as a
+ * {@link SimpleMessage}. {@link MultiformatMessage}s such as {@code MapMessage}, whose structure layouts depend on,
+ * are serialized in addition and replayed as such if they can be deserialized again. Markers are stored by name and
+ * resolved through the {@link MarkerManager}, which still knows them when the event is replayed. Thrown exceptions
+ * are serialized themselves, like {@link Log4jLogEvent} does, together with their {@link ThrowableProxy}. Only the
+ * recorded classes of the exception chain are allowed to be deserialized in addition to the default ones; if the
+ * exception cannot be serialized or deserialized, the replayed event only carries the proxy.
+ * </p>
+ */
+final class OverflowEventCodec {
+
+    private static final int HAS_MARKER = 1;
+    private static final int HAS_THROWN = 1 << 1;
+    private static final int HAS_SOURCE = 1 << 2;
+    private static final int HAS_CONTEXT_STACK = 1 << 3;
+    private static final int SERIALIZED_MESSAGE = 1 << 4;
+    private static final int INCLUDE_LOCATION = 1 << 5;
+    private static final int END_OF_BATCH = 1 << 6;
+    private static final int HAS_THROWABLE = 1 << 7;
+
+    private OverflowEventCodec() {
+    }
+
+    static byte[] encode(final LogEvent event) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        final byte[] serializedMessage = event.getMessage() instanceof MultiformatMessage
+                ? serialize(event.getMessage()) : null;
+        final ThreadContext.ContextStack contextStack = event.getContextStack();
+        int flags = 0;
+        if (event.getMarker() != null) {
+            flags |= HAS_MARKER;
+        }
+        final Throwable thrown = event.getThrown();
+        final byte[] serializedThrowable = thrown != null ? serialize(thrown) : null;
+        if (serializedThrowable != null) {
+            flags |= HAS_THROWABLE;
+        }
+        final byte[] serializedThrown = event.getThrownProxy() != null ? serialize(event.getThrownProxy()) : null;
+        if (serializedThrown != null) {
+            flags |= HAS_THROWN;
+        }
+        if (event.getSource() != null) {
+            flags |= HAS_SOURCE;
+        }
+        if (contextStack != null && contextStack.getDepth() > 0) {
+            flags |= HAS_CONTEXT_STACK;
+        }
+        if (serializedMessage != null) {
+            flags |= SERIALIZED_MESSAGE;
+        }
+        if (event.isIncludeLocation()) {
+            flags |= INCLUDE_LOCATION;
+        }
+        if (event.isEndOfBatch()) {
+            flags |= END_OF_BATCH;
+        }
+        out.writeByte(flags);
+        writeString(out, event.getLoggerName());
+        writeString(out, event.getLoggerFqcn());
+        writeString(out, event.getLevel().name());
+        out.writeInt(event.getLevel().intLevel());
+        final Instant instant = event.getInstant();
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNanoOfSecond());
+        out.writeLong(event.getNanoTime());
+        writeString(out, event.getThreadName());
+        out.writeLong(event.getThreadId());
+        out.writeInt(event.getThreadPriority());
+        writeString(out, event.getMessage().getFormattedMessage());
+        if (serializedMessage != null) {
+            writeBytes(out, serializedMessage);
+        }
+        if (event.getMarker() != null) {
+            writeString(out, event.getMarker().getName());
+        }
+        if (serializedThrowable != null) {
+            final Set<String> classNames = new LinkedHashSet<>();
+            collectClassNames(thrown, classNames, Collections.newSetFromMap(new IdentityHashMap<>()));
+            out.writeInt(classNames.size());
+            for (final String className : classNames) {
+                writeString(out, className);
+            }
+            writeBytes(out, serializedThrowable);
+        }
+        if (serializedThrown != null) {
+            writeBytes(out, serializedThrown);
+        }
+        if (event.getSource() != null) {
+            final StackTraceElement source = event.getSource();
+            writeString(out, source.getClassName());
+            writeString(out, source.getMethodName());
+            writeString(out, source.getFileName());
+            out.writeInt(source.getLineNumber());
+        }
+        final ReadOnlyStringMap contextData = event.getContextData();
+        final int contextSize = contextData == null ? 0 : contextData.size();
+        out.writeInt(contextSize);
+        if (contextSize > 0) {
+            final IOException[] error = new IOException[1];
+            contextData.forEach((key, value) -> {
+                try {
+                    writeString(out, key);
+                    writeString(out, value == null ? null : String.valueOf(value));
+                } catch (final IOException e) {
+                    error[0] = e;
+                }
+            });
+            if (error[0] != null) {
+                throw error[0];
+            }
+        }
+        if ((flags & HAS_CONTEXT_STACK) != 0) {
+            out.writeInt(contextStack.getDepth());
+            for (final String element : contextStack.asList()) {
+                writeString(out, element);
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static LogEvent decode(final byte[] data) throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        final int flags = in.readUnsignedByte();
+        final Log4jLogEvent.Builder builder = Log4jLogEvent.newBuilder()
+                .setLoggerName(readString(in))
+                .setLoggerFqcn(readString(in));
+        final String levelName = readString(in);
+        final int intLevel = in.readInt();
+        final Level level = Level.getLevel(levelName);
+        builder.setLevel(level != null ? level : Level.forName(levelName, intLevel));
+        final long epochSecond = in.readLong();
+        final int nanoOfSecond = in.readInt();
+        final MutableInstant instant = new MutableInstant();
+        instant.initFromEpochSecond(epochSecond, nanoOfSecond);
+        builder.setInstant(instant);
+        builder.setNanoTime(in.readLong())
+                .setThreadName(readString(in))
+                .setThreadId(in.readLong())
+                .setThreadPriority(in.readInt());
+        final String formattedMessage = readString(in);
+        Message message = null;
+        if ((flags & SERIALIZED_MESSAGE) != 0) {
+            message = (Message) deserialize(readBytes(in));
+        }
+        builder.setMessage(message != null ? message : new SimpleMessage(formattedMessage));
+        if ((flags & HAS_MARKER) != 0) {
+            builder.setMarker(MarkerManager.getMarker(readString(in)));
+        }
+        if ((flags & HAS_THROWABLE) != 0) {
+            final int classCount = in.readInt();
+            final List<String> classNames = new ArrayList<>(classCount);
+            for (int i = 0; i < classCount; i++) {
+                classNames.add(readString(in));
+            }
+            final Object thrown = deserialize(readBytes(in), throwableClasses(classNames));
+            if (thrown instanceof Throwable) {
+                builder.setThrown((Throwable) thrown);
+            }
+        }
+        if ((flags & HAS_THROWN) != 0) {
+            builder.setThrownProxy((ThrowableProxy) deserialize(readBytes(in)));
+        }
+        if ((flags & HAS_SOURCE) != 0) {
+            final String className = readString(in);
+            final String methodName = readString(in);
+            final String fileName = readString(in);
+            builder.setSource(new StackTraceElement(className, methodName, fileName, in.readInt()));
+        }
+        final int contextSize = in.readInt();
+        final StringMap contextData = ContextDataFactory.createContextData(contextSize);
+        for (int i = 0; i < contextSize; i++) {
+            contextData.putValue(readString(in), readString(in));
+        }
+        contextData.freeze();
+        builder.setContextData(contextData);
+        if ((flags & HAS_CONTEXT_STACK) != 0) {
+            final int depth = in.readInt();
+            final List<String> elements = new ArrayList<>(depth);
+            for (int i = 0; i < depth; i++) {
+                elements.add(readString(in));
+            }
+            final MutableThreadContextStack contextStack = new MutableThreadContextStack(elements);
+            contextStack.freeze();
+            builder.setContextStack(contextStack);
+        } else {
+            builder.setContextStack(ThreadContext.EMPTY_STACK);
+        }
+        return builder.setIncludeLocation((flags & INCLUDE_LOCATION) != 0)
+                .setEndOfBatch((flags & END_OF_BATCH) != 0)
+                .build();
+    }
+
+    private static byte[] serialize(final Serializable object) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        } catch (final IOException e) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the deserialized object, or {@code null} if its class is unknown or not allowed.
+     */
+    private static Object deserialize(final byte[] data) {
+        return deserialize(data, Collections.emptySet());
+    }
+
+    /**
+     * Returns the deserialized object, or {@code null} if a class is unknown or neither allowed by default nor one of
+     * the given classes.
+     */
+    private static Object deserialize(final byte[] data, final Collection<String> allowedClasses) {
+        try (final ObjectInputStream in =
+                new FilteredObjectInputStream(new ByteArrayInputStream(data), allowedClasses)) {
+            return in.readObject();
+        } catch (final IOException | ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Collects the class names of the throwable, its suppressed throwables and its causes.
+     */
+    private static void collectClassNames(final Throwable throwable, final Set<String> classNames,
+            final Set<Throwable> visited) {
+        if (!visited.add(throwable)) {
+            return;
+        }
+        classNames.add(throwable.getClass().getName());
+        for (final Throwable suppressed : throwable.getSuppressed()) {
+            collectClassNames(suppressed, classNames, visited);
+        }
+        if (throwable.getCause() != null) {
+            collectClassNames(throwable.getCause(), classNames, visited);
+        }
+    }
+
+    /**
+     * Returns the recorded class names that are throwable classes, so that the file cannot allow other classes.
+     */
+    private static Set<String> throwableClasses(final List<String> classNames) {
+        final Set<String> allowed = new HashSet<>();
+        // the stack trace of every throwable
+        allowed.add(StackTraceElement[].class.getName());
+        for (final String className : classNames) {
+            try {
+                if (className != null && Throwable.class.isAssignableFrom(
+                        Class.forName(className, false, LoaderUtil.getThreadContextClassLoader()))) {
+                    allowed.add(className);
+                }
+            } catch (final ClassNotFoundException | LinkageError e) {
+                // not allowed, the proxy is replayed instead
+            }
+        }
+        return allowed;
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final byte[] bytes = readBytes(in);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.FileUtils;
+
+/**
+ * Memory mapped ring of log events that an {@link AsyncAppender} spills to when its queue is full.
+ * <p>
+ * The file starts with a header holding a magic number and the absolute read and write positions, followed by the
+ * ring of records. Each record is its length followed by the {@link OverflowEventCodec encoded} event, padded to a
+ * multiple of four bytes. A record never wraps around the end of the ring: if it does not fit, a wrap marker is
+ * written and the record starts over at the beginning. Because the positions are kept in the mapped file, events
+ * that were spilled but not replayed before the application stopped are replayed when the file is opened again.
+ * </p>
+ * <p>
+ * Writers block while the ring is full. All operations are guarded by one lock, which also makes the order in which
+ * events are read the order in which they were written.
+ * </p>
+ */
+class OverflowFileManager extends AbstractManager {
+
+    private static final OverflowFileManagerFactory FACTORY = new OverflowFileManagerFactory();
+
+    private static final int MAGIC = 0x4C344A4F;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int READ_POSITION_OFFSET = 8;
+    private static final int WRITE_POSITION_OFFSET = 16;
+    private static final int HEADER_SIZE = 24;
+    private static final int RECORD_HEADER_SIZE = 4;
+    private static final int WRAP = -1;
+
+    /**
+     * Smallest accepted size of the overflow file.
+     */
+    static final int MIN_SIZE = 64 * 1024;
+
+    private final RandomAccessFile randomAccessFile;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private volatile long readPosition;
+    private volatile long writePosition;
+
+    private OverflowFileManager(final String name, final RandomAccessFile randomAccessFile,
+            final MappedByteBuffer buffer) {
+        super(null, name);
+        this.randomAccessFile = randomAccessFile;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity() - HEADER_SIZE;
+        if (buffer.getInt(MAGIC_OFFSET) == MAGIC && buffer.getInt(CAPACITY_OFFSET) == capacity) {
+            readPosition = buffer.getLong(READ_POSITION_OFFSET);
+            writePosition = buffer.getLong(WRITE_POSITION_OFFSET);
+            if (readPosition < 0 || writePosition < readPosition || writePosition - readPosition > capacity) {
+                LOGGER.warn("Overflow file {} is corrupt, discarding its content", name);
+                readPosition = writePosition = 0;
+            } else if (writePosition > readPosition) {
+                LOGGER.info("Overflow file {} contains {} bytes of events that will be replayed", name,
+                        writePosition - readPosition);
+            }
+        }
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        storePositions();
+    }
+
+    /**
+     * Returns the manager of the given overflow file, creating and mapping the file if necessary.
+     *
+     * @param fileName the name of the overflow file.
+     * @param size the size of the overflow file in bytes.
+     * @return the manager, or {@code null} if the file cannot be mapped.
+     */
+    static OverflowFileManager getOverflowFileManager(final String fileName, final int size) {
+        return narrow(OverflowFileManager.class, getManager(fileName, FACTORY, Math.max(MIN_SIZE, size & ~3)));
+    }
+
+    /**
+     * Returns {@code true} if no events are waiting to be replayed.
+     *
+     * @return {@code true} if the overflow file is empty.
+     */
+    boolean isEmpty() {
+        return readPosition == writePosition;
+    }
+
+    /**
+     * Appends an event, waiting for space if the file is full.
+     *
+     * @param event the event to append.
+     * @return {@code true} if the file was empty before this event was appended.
+     * @throws IOException if the event cannot be encoded or is larger than the file.
+     * @throws InterruptedException if interrupted while waiting for space.
+     */
+    boolean write(final LogEvent event) throws IOException, InterruptedException {
+        final byte[] data = OverflowEventCodec.encode(event);
+        final int recordSize = RECORD_HEADER_SIZE + align(data.length);
+        if (recordSize > capacity) {
+            throw new IOException("Event of " + data.length + " bytes does not fit into overflow file " + getName());
+        }
+        lock.lockInterruptibly();
+        try {
+            int offset;
+            int skip;
+            for (;;) {
+                offset = (int) (writePosition % capacity);
+                skip = capacity - offset < recordSize ? capacity - offset : 0;
+                if (skip > 0 && isEmpty()) {
+                    // Nothing to wrap around, start over at the beginning of the ring.
+                    writePosition += skip;
+                    readPosition = writePosition;
+                    offset = 0;
+                    skip = 0;
+                }
+                if (capacity - (writePosition - readPosition) >= skip + recordSize) {
+                    break;
+                }
+                notFull.await();
+            }
+            final boolean wasEmpty = isEmpty();
+            if (skip > 0) {
+                buffer.putInt(HEADER_SIZE + offset, WRAP);
+                offset = 0;
+            }
+            buffer.putInt(HEADER_SIZE + offset, data.length);
+            buffer.position(HEADER_SIZE + offset + RECORD_HEADER_SIZE);
+            buffer.put(data);
+            writePosition += skip + recordSize;
+            storePositions();
+            return wasEmpty;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the oldest event.
+     *
+     * @return the oldest event or {@code null} if the file is empty.
+     * @throws IOException if the event cannot be decoded; it is removed nevertheless.
+     */
+    LogEvent read() throws IOException {
+        final byte[] data;
+        lock.lock();
+        try {
+            if (isEmpty()) {
+                return null;
+            }
+            int offset = (int) (readPosition % capacity);
+            int length = buffer.getInt(HEADER_SIZE + offset);
+            if (length == WRAP) {
+                readPosition += capacity - offset;
+                offset = 0;
+                length = buffer.getInt(HEADER_SIZE);
+            }
+            data = new byte[length];
+            buffer.position(HEADER_SIZE + offset + RECORD_HEADER_SIZE);
+            buffer.get(data);
+            readPosition += RECORD_HEADER_SIZE + align(length);
+            storePositions();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return OverflowEventCodec.decode(data);
+    }
+
+    private void storePositions() {
+        buffer.putLong(READ_POSITION_OFFSET, readPosition);
+        buffer.putLong(WRITE_POSITION_OFFSET, writePosition);
+    }
+
+    private static int align(final int length) {
+        return (length + 3) & ~3;
+    }
+
+    @Override
+    protected boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        lock.lock();
+        try {
+            buffer.force();
+            MemoryMappedFileManager.unsafeUnmap(buffer);
+        } catch (final Exception ex) {
+            logError("Unable to unmap overflow file", ex);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            randomAccessFile.close();
+            return true;
+        } catch (final IOException ex) {
+            logError("Unable to close overflow file", ex);
+            return false;
+        }
+    }
+
+    private static class OverflowFileManagerFactory implements ManagerFactory<OverflowFileManager, Integer> {
+
+        @SuppressWarnings("resource")
+        @Override
+        public OverflowFileManager createManager(final String name, final Integer size) {
+            final File file = new File(name);
+            RandomAccessFile raf = null;
+            try {
+                FileUtils.makeParentDirs(file);
+                raf = new RandomAccessFile(file, "rw");
+                raf.setLength(HEADER_SIZE + size);
+                final MappedByteBuffer buffer = MemoryMappedFileManager.mmap(raf.getChannel(), name, 0,
+                        HEADER_SIZE + size);
+                return new OverflowFileManager(name, raf, buffer);
+            } catch (final Exception ex) {
+                LOGGER.error("OverflowFileManager (" + name + ") " + ex, ex);
+                Closer.closeSilently(raf);
+            }
+            return null;
+        }
+    }
+}
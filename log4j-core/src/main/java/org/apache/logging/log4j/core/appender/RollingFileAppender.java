@@ -100,6 +100,18 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
         @PluginBuilderAttribute
         private String fileGroup;
 
+        @PluginBuilderAttribute
+        private boolean concurrentWrites;
+
+        @PluginBuilderAttribute
+        private boolean compressOnWrite;
+
+        @PluginBuilderAttribute
+        private boolean asyncRollover;
+
+        @PluginBuilderAttribute
+        private long compressFlushInterval = DEFAULT_COMPRESS_FLUSH_INTERVAL_MILLIS;
+
         @Override
         public RollingFileAppender build() {
             if (!isValid()) {
@@ -134,12 +146,19 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
             final Layout<? extends Serializable> layout = getOrCreateLayout();
             final RollingFileManager manager = RollingFileManager.getFileManager(fileName, filePattern, append,
                     isBufferedIo, policy, strategy, advertiseUri, layout, bufferSize, isImmediateFlush(),
-                    createOnDemand, filePermissions, fileOwner, fileGroup, getConfiguration());
+                    createOnDemand, filePermissions, fileOwner, fileGroup, getConfiguration(), compressOnWrite,
+                    compressFlushInterval);
             if (manager == null) {
                 return null;
             }
 
             manager.initialize();
+            if (concurrentWrites) {
+                manager.setConcurrentWrites(true);
+            }
+            if (asyncRollover) {
+                manager.setAsyncRollover(true);
+            }
 
             return new RollingFileAppender(getName(), layout, getFilter(), manager, fileName, filePattern,
                     isIgnoreExceptions(), !isBufferedIo || isImmediateFlush(),
@@ -182,6 +201,10 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
             return fileGroup;
         }
 
+        public boolean isConcurrentWrites() {
+            return concurrentWrites;
+        }
+
         public B withAdvertise(final boolean advertise) {
             this.advertise = advertise;
             return asBuilder();
@@ -254,9 +277,72 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
             return asBuilder();
         }
 
+        /**
+         * Enables lock-free writes from multiple threads, see {@link OutputStreamManager#setConcurrentWrites(boolean)}.
+         *
+         * @param concurrentWrites {@code true} to enable concurrent writes
+         * @return this builder
+         * @since 2.19.0
+         */
+        public B setConcurrentWrites(final boolean concurrentWrites) {
+            this.concurrentWrites = concurrentWrites;
+            return asBuilder();
+        }
+
+        public boolean isAsyncRollover() {
+            return asyncRollover;
+        }
+
+        /**
+         * Rolls over without blocking the triggering thread, see {@link RollingFileManager#setAsyncRollover(boolean)}.
+         *
+         * @param asyncRollover {@code true} to enable asynchronous rollover
+         * @return this builder
+         * @since 2.19.0
+         */
+        public B setAsyncRollover(final boolean asyncRollover) {
+            this.asyncRollover = asyncRollover;
+            return asBuilder();
+        }
+
+        public boolean isCompressOnWrite() {
+            return compressOnWrite;
+        }
+
+        public long getCompressFlushInterval() {
+            return compressFlushInterval;
+        }
+
+        /**
+         * Compresses the active file with gzip while it is written so that a rollover only renames it. The file
+         * pattern must end in {@code .gz}.
+         *
+         * @param compressOnWrite {@code true} to compress the active file
+         * @return this builder
+         * @since 2.19.0
+         */
+        public B setCompressOnWrite(final boolean compressOnWrite) {
+            this.compressOnWrite = compressOnWrite;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the maximum number of milliseconds compressed data is held back before it is flushed to the file.
+         * Every flush costs some compression ratio, 0 flushes whenever the appender flushes.
+         *
+         * @param compressFlushInterval the flush interval in milliseconds
+         * @return this builder
+         * @since 2.19.0
+         */
+        public B setCompressFlushInterval(final long compressFlushInterval) {
+            this.compressFlushInterval = compressFlushInterval;
+            return asBuilder();
+        }
+
     }
 
     private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final long DEFAULT_COMPRESS_FLUSH_INTERVAL_MILLIS = 1000;
 
     private final String fileName;
     private final String filePattern;
@@ -17,7 +17,10 @@
 package org.apache.logging.log4j.core.appender;
 
 import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -40,7 +43,10 @@ import org.apache.logging.log4j.core.config.plugins.validation.constraints.Valid
 import org.apache.logging.log4j.core.net.AbstractSocketManager;
 import org.apache.logging.log4j.core.net.Advertiser;
 import org.apache.logging.log4j.core.net.DatagramSocketManager;
+import org.apache.logging.log4j.core.net.LoadBalancingSocketManager;
+import org.apache.logging.log4j.core.net.NioTcpSocketManager;
 import org.apache.logging.log4j.core.net.Protocol;
+import org.apache.logging.log4j.core.net.SocketAddress;
 import org.apache.logging.log4j.core.net.SocketOptions;
 import org.apache.logging.log4j.core.net.SslSocketManager;
 import org.apache.logging.log4j.core.net.TcpSocketManager;
@@ -102,6 +108,18 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
         @PluginAliases({ "SslConfig" })
         private SslConfiguration sslConfiguration;
 
+        @PluginBuilderAttribute
+        private boolean nonBlocking;
+
+        @PluginBuilderAttribute
+        private int nonBlockingBufferSize = NioTcpSocketManager.DEFAULT_BUFFER_SIZE;
+
+        @PluginElement("SocketAddresses")
+        private SocketAddress[] endpoints;
+
+        @PluginBuilderAttribute
+        private LoadBalancingSocketManager.Strategy loadBalancing = LoadBalancingSocketManager.Strategy.ROUND_ROBIN;
+
         public boolean getAdvertise() {
             return advertise;
         }
@@ -130,6 +148,34 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             return immediateFail;
         }
 
+        /**
+         * @since 2.19.0
+         */
+        public boolean isNonBlocking() {
+            return nonBlocking;
+        }
+
+        /**
+         * @since 2.19.0
+         */
+        public int getNonBlockingBufferSize() {
+            return nonBlockingBufferSize;
+        }
+
+        /**
+         * @since 2.19.0
+         */
+        public SocketAddress[] getEndpoints() {
+            return endpoints;
+        }
+
+        /**
+         * @since 2.19.0
+         */
+        public LoadBalancingSocketManager.Strategy getLoadBalancing() {
+            return loadBalancing;
+        }
+
         public B setAdvertise(final boolean advertise) {
             this.advertise = advertise;
             return asBuilder();
@@ -175,6 +221,56 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             return asBuilder();
         }
 
+        /**
+         * Sets whether TCP events are sent by a background thread through an off-heap buffer, so that a slow or
+         * unavailable host never blocks logging threads. Events that do not fit into the buffer are dropped.
+         *
+         * @param nonBlocking {@code true} to use a {@link NioTcpSocketManager}.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public B setNonBlocking(final boolean nonBlocking) {
+            this.nonBlocking = nonBlocking;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the size of the buffer holding the bytes not yet sent in non-blocking mode.
+         *
+         * @param nonBlockingBufferSize the buffer size in bytes.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public B setNonBlockingBufferSize(final int nonBlockingBufferSize) {
+            this.nonBlockingBufferSize = nonBlockingBufferSize;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the hosts that TCP events are spread over. When set, the host and port of this builder are ignored
+         * and events are sent without blocking, as if {@link #setNonBlocking(boolean) nonBlocking} was set.
+         *
+         * @param endpoints the addresses of the hosts.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public B setEndpoints(final SocketAddress... endpoints) {
+            this.endpoints = endpoints;
+            return asBuilder();
+        }
+
+        /**
+         * Sets how the host of an event is picked among the {@link #setEndpoints(SocketAddress...) endpoints}.
+         *
+         * @param loadBalancing the strategy.
+         * @return this builder.
+         * @since 2.19.0
+         */
+        public B setLoadBalancing(final LoadBalancingSocketManager.Strategy loadBalancing) {
+            this.loadBalancing = loadBalancing;
+            return asBuilder();
+        }
+
         @Deprecated
         public B withAdvertise(final boolean advertise) {
             this.advertise = advertise;
@@ -268,12 +364,32 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
 
             final Protocol protocol = getProtocol();
             final Protocol actualProtocol = protocol != null ? protocol : Protocol.TCP;
-            if (actualProtocol == Protocol.UDP) {
+            final SocketAddress[] endpoints = getEndpoints();
+            final boolean hasEndpoints = endpoints != null && endpoints.length > 0;
+            if (actualProtocol == Protocol.UDP || isNonBlocking() || hasEndpoints) {
+                // A non-blocking manager hands over the events staged in its buffer when it is flushed.
                 immediateFlush = true;
             }
 
-            final AbstractSocketManager manager = SocketAppender.createSocketManager(name, actualProtocol, getHost(), getPort(),
-                    getConnectTimeoutMillis(), getSslConfiguration(), getReconnectDelayMillis(), getImmediateFail(), layout, getBufferSize(), getSocketOptions());
+            final AbstractSocketManager manager;
+            if (hasEndpoints) {
+                if (actualProtocol != Protocol.TCP || getSslConfiguration() != null) {
+                    AbstractLifeCycle.LOGGER.error("SocketAppender {} only supports multiple endpoints over plain TCP",
+                            name);
+                    return null;
+                }
+                final List<InetSocketAddress> addresses = new ArrayList<>(endpoints.length);
+                for (final SocketAddress endpoint : endpoints) {
+                    addresses.add(endpoint.getSocketAddress());
+                }
+                manager = LoadBalancingSocketManager.getSocketManager(addresses, getLoadBalancing(),
+                        getConnectTimeoutMillis(), getReconnectDelayMillis(), layout, getNonBlockingBufferSize(),
+                        getSocketOptions());
+            } else {
+                manager = SocketAppender.createSocketManager(name, actualProtocol, getHost(), getPort(),
+                        getConnectTimeoutMillis(), getSslConfiguration(), getReconnectDelayMillis(), getImmediateFail(), layout, getBufferSize(), getSocketOptions(),
+                        isNonBlocking(), getNonBlockingBufferSize());
+            }
 
             return new SocketAppender(name, layout, getFilter(), manager, isIgnoreExceptions(),
                     !bufferedIo || immediateFlush, getAdvertise() ? getConfiguration().getAdvertiser() : null,
@@ -481,10 +597,26 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
      * @throws IllegalArgumentException
      *             if the protocol cannot be handled.
      */
-    protected static AbstractSocketManager createSocketManager(final String name, Protocol protocol, final String host,
+    protected static AbstractSocketManager createSocketManager(final String name, final Protocol protocol, final String host,
             final int port, final int connectTimeoutMillis, final SslConfiguration sslConfig,
             final int reconnectDelayMillis, final boolean immediateFail, final Layout<? extends Serializable> layout,
             final int bufferSize, final SocketOptions socketOptions) {
+        return createSocketManager(name, protocol, host, port, connectTimeoutMillis, sslConfig, reconnectDelayMillis,
+                immediateFail, layout, bufferSize, socketOptions, false, 0);
+    }
+
+    /**
+     * Creates an AbstractSocketManager for TCP, UDP, and SSL.
+     *
+     * @throws IllegalArgumentException
+     *             if the protocol cannot be handled.
+     * @since 2.19.0
+     */
+    protected static AbstractSocketManager createSocketManager(final String name, Protocol protocol, final String host,
+            final int port, final int connectTimeoutMillis, final SslConfiguration sslConfig,
+            final int reconnectDelayMillis, final boolean immediateFail, final Layout<? extends Serializable> layout,
+            final int bufferSize, final SocketOptions socketOptions, final boolean nonBlocking,
+            final int nonBlockingBufferSize) {
         if (protocol == Protocol.TCP && sslConfig != null) {
             // Upgrade TCP to SSL if an SSL config is specified.
             protocol = Protocol.SSL;
@@ -492,8 +624,15 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
         if (protocol != Protocol.SSL && sslConfig != null) {
             LOGGER.info("Appender {} ignoring SSL configuration for {} protocol", name, protocol);
         }
+        if (nonBlocking && protocol != Protocol.TCP) {
+            LOGGER.warn("Appender {} ignoring nonBlocking for {} protocol", name, protocol);
+        }
         switch (protocol) {
         case TCP:
+            if (nonBlocking) {
+                return NioTcpSocketManager.getSocketManager(host, port, connectTimeoutMillis, reconnectDelayMillis,
+                        layout, nonBlockingBufferSize, socketOptions);
+            }
             return TcpSocketManager.getSocketManager(host, port, connectTimeoutMillis, reconnectDelayMillis,
                     immediateFail, layout, bufferSize, socketOptions);
         case UDP:
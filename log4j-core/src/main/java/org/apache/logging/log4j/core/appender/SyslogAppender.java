@@ -149,9 +149,10 @@ public class SyslogAppender extends SocketAppender {
                 return null;
             }
             final AbstractSocketManager manager = createSocketManager(name, protocol, getHost(), getPort(), getConnectTimeoutMillis(),
-                    sslConfiguration, getReconnectDelayMillis(), getImmediateFail(), layout, Constants.ENCODER_BYTE_BUFFER_SIZE, getSocketOptions());
+                    sslConfiguration, getReconnectDelayMillis(), getImmediateFail(), layout, Constants.ENCODER_BYTE_BUFFER_SIZE, getSocketOptions(),
+                    isNonBlocking(), getNonBlockingBufferSize());
 
-            return new SyslogAppender(name, layout, getFilter(), isIgnoreExceptions(), isImmediateFlush(), manager,
+            return new SyslogAppender(name, layout, getFilter(), isIgnoreExceptions(), isImmediateFlush() || isNonBlocking(), manager,
                     getAdvertise() ? configuration.getAdvertiser() : null, null);
         }
 
@@ -83,6 +83,12 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
         @PluginBuilderAttribute
         private long reconnectIntervalMillis = DEFAULT_RECONNECT_INTERVAL_MILLIS;
 
+        @PluginBuilderAttribute
+        private long groupCommitIntervalMillis;
+
+        @PluginBuilderAttribute
+        private int groupCommitQueueSize = JdbcDatabaseManager.DEFAULT_GROUP_COMMIT_QUEUE_SIZE;
+
         @Override
         public JdbcAppender build() {
             if (Assert.isEmpty(columnConfigs) && Assert.isEmpty(columnMappings)) {
@@ -91,10 +97,11 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
             }
             final String managerName = "JdbcManager{name=" + getName() + ", bufferSize=" + bufferSize + ", tableName="
                     + tableName + ", columnConfigs=" + Arrays.toString(columnConfigs) + ", columnMappings="
-                    + Arrays.toString(columnMappings) + '}';
+                    + Arrays.toString(columnMappings) + ", groupCommitIntervalMillis=" + groupCommitIntervalMillis
+                    + ", groupCommitQueueSize=" + groupCommitQueueSize + '}';
             final JdbcDatabaseManager manager = JdbcDatabaseManager.getManager(managerName, bufferSize, getLayout(),
                     connectionSource, tableName, columnConfigs, columnMappings, immediateFail, reconnectIntervalMillis,
-                    truncateStrings);
+                    truncateStrings, groupCommitIntervalMillis, groupCommitQueueSize);
             if (manager == null) {
                 return null;
             }
@@ -102,6 +109,14 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
                     manager);
         }
 
+        public long getGroupCommitIntervalMillis() {
+            return groupCommitIntervalMillis;
+        }
+
+        public int getGroupCommitQueueSize() {
+            return groupCommitQueueSize;
+        }
+
         public long getReconnectIntervalMillis() {
             return reconnectIntervalMillis;
         }
@@ -123,6 +138,35 @@ public final class JdbcAppender extends AbstractDatabaseAppender<JdbcDatabaseMan
             return asBuilder();
         }
 
+        /**
+         * If greater than 0, log events are queued and a background thread writes them in JDBC batches of
+         * {@code bufferSize} events, committing when a batch is full or when this many milliseconds have elapsed since
+         * its first event, so that logging threads do not wait on the database.
+         *
+         * @param groupCommitIntervalMillis the maximum time an event waits before being committed.
+         *
+         * @return this
+         * @since 2.19.0
+         */
+        public B setGroupCommitIntervalMillis(final long groupCommitIntervalMillis) {
+            this.groupCommitIntervalMillis = groupCommitIntervalMillis;
+            return asBuilder();
+        }
+
+        /**
+         * The maximum number of log events waiting to be committed when group commit is enabled. Logging threads block
+         * when the queue is full.
+         *
+         * @param groupCommitQueueSize the queue capacity.
+         *
+         * @return this
+         * @since 2.19.0
+         */
+        public B setGroupCommitQueueSize(final int groupCommitQueueSize) {
+            this.groupCommitQueueSize = groupCommitQueueSize;
+            return asBuilder();
+        }
+
         /**
          * Information about the columns that log event data should be inserted into and how to insert that data.
          *
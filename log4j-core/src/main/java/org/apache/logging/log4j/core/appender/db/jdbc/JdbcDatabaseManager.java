@@ -36,7 +36,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
@@ -75,11 +79,21 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         private final boolean retry;
         private final long reconnectIntervalMillis;
         private final boolean truncateStrings;
+        private final long groupCommitIntervalMillis;
+        private final int groupCommitQueueSize;
 
         protected FactoryData(final int bufferSize, final Layout<? extends Serializable> layout,
                 final ConnectionSource connectionSource, final String tableName, final ColumnConfig[] columnConfigs,
                 final ColumnMapping[] columnMappings, final boolean immediateFail, final long reconnectIntervalMillis,
                 final boolean truncateStrings) {
+            this(bufferSize, layout, connectionSource, tableName, columnConfigs, columnMappings, immediateFail,
+                    reconnectIntervalMillis, truncateStrings, 0, 0);
+        }
+
+        protected FactoryData(final int bufferSize, final Layout<? extends Serializable> layout,
+                final ConnectionSource connectionSource, final String tableName, final ColumnConfig[] columnConfigs,
+                final ColumnMapping[] columnMappings, final boolean immediateFail, final long reconnectIntervalMillis,
+                final boolean truncateStrings, final long groupCommitIntervalMillis, final int groupCommitQueueSize) {
             super(bufferSize, layout);
             this.connectionSource = connectionSource;
             this.tableName = tableName;
@@ -89,14 +103,18 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
             this.retry = reconnectIntervalMillis > 0;
             this.reconnectIntervalMillis = reconnectIntervalMillis;
             this.truncateStrings = truncateStrings;
+            this.groupCommitIntervalMillis = groupCommitIntervalMillis;
+            this.groupCommitQueueSize = groupCommitQueueSize > 0 ? groupCommitQueueSize
+                    : DEFAULT_GROUP_COMMIT_QUEUE_SIZE;
         }
 
         @Override
         public String toString() {
             return String.format(
-                    "FactoryData [connectionSource=%s, tableName=%s, columnConfigs=%s, columnMappings=%s, immediateFail=%s, retry=%s, reconnectIntervalMillis=%s, truncateStrings=%s]",
+                    "FactoryData [connectionSource=%s, tableName=%s, columnConfigs=%s, columnMappings=%s, immediateFail=%s, retry=%s, reconnectIntervalMillis=%s, truncateStrings=%s, groupCommitIntervalMillis=%s, groupCommitQueueSize=%s]",
                     connectionSource, tableName, Arrays.toString(columnConfigs), Arrays.toString(columnMappings),
-                    immediateFail, retry, reconnectIntervalMillis, truncateStrings);
+                    immediateFail, retry, reconnectIntervalMillis, truncateStrings, groupCommitIntervalMillis,
+                    groupCommitQueueSize);
         }
     }
 
@@ -156,6 +174,149 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         }
     }
 
+    /**
+     * A log event and its serialized form waiting in the group commit queue.
+     */
+    private static final class GroupCommitEntry {
+
+        private final LogEvent event;
+        private final Serializable serializable;
+        private final long enqueueNanos;
+
+        private GroupCommitEntry(final LogEvent event, final Serializable serializable, final long enqueueNanos) {
+            this.event = event;
+            this.serializable = serializable;
+            this.enqueueNanos = enqueueNanos;
+        }
+    }
+
+    /**
+     * Drains the group commit queue on a Thread, writing each batch with a single JDBC batch and commit. A batch is
+     * committed when it reaches the batch size or when the group commit interval has elapsed since its first event was
+     * queued.
+     * <p>
+     * A batch that fails to commit is kept and retried every {@code reconnectIntervalMillis} if reconnecting is
+     * enabled; logging threads block once the queue is full. Otherwise, or while shutting down, the batch is dropped
+     * and the failure is thrown to the next logging thread, so that it reaches the appender's error handling.
+     * </p>
+     */
+    private final class GroupCommitter extends Log4jThread {
+
+        private final BlockingQueue<GroupCommitEntry> queue;
+        private final List<GroupCommitEntry> batch;
+        private final int batchSize;
+        private final long intervalNanos;
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private volatile boolean shutdown;
+
+        private GroupCommitter() {
+            super("JdbcDatabaseManager-GroupCommitter");
+            this.queue = new ArrayBlockingQueue<>(factoryData.groupCommitQueueSize);
+            this.batchSize = factoryData.getBufferSize() > 0 ? factoryData.getBufferSize()
+                    : DEFAULT_GROUP_COMMIT_BATCH_SIZE;
+            this.batch = new ArrayList<>(batchSize);
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(factoryData.groupCommitIntervalMillis);
+        }
+
+        void enqueue(final LogEvent event, final Serializable serializable) {
+            final RuntimeException lastFailure = failure.getAndSet(null);
+            if (lastFailure != null) {
+                throw lastFailure;
+            }
+            try {
+                queue.put(new GroupCommitEntry(event.toImmutable(), serializable, System.nanoTime()));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AppenderLoggingException(e, "Interrupted while queueing log event for JDBC manager '%s'",
+                        JdbcDatabaseManager.this.getName());
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!shutdown || !queue.isEmpty() || !batch.isEmpty()) {
+                try {
+                    if (batch.isEmpty()) {
+                        final GroupCommitEntry first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+                        if (first == null) {
+                            continue;
+                        }
+                        batch.add(first);
+                    }
+                    // The interval counts from the moment the oldest event was queued, not from when it was taken.
+                    final long deadline = batch.get(0).enqueueNanos + intervalNanos;
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    while (batch.size() < batchSize && remaining > 0 && !shutdown) {
+                        final GroupCommitEntry entry = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (entry == null) {
+                            break;
+                        }
+                        batch.add(entry);
+                        queue.drainTo(batch, batchSize - batch.size());
+                        remaining = deadline - System.nanoTime();
+                    }
+                } catch (final InterruptedException e) {
+                    shutdown = true;
+                }
+                commit();
+            }
+        }
+
+        private void commit() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                connectAndPrepareOrReconnect();
+                try {
+                    for (final GroupCommitEntry entry : batch) {
+                        writeInternal(entry.event, entry.serializable);
+                    }
+                } finally {
+                    commitAndClose();
+                }
+                batch.clear();
+            } catch (final RuntimeException e) {
+                if (factoryData.retry && !shutdown) {
+                    logger().warn("Failed to commit {} log events to JDBC manager '{}', retrying in {} ms",
+                            batch.size(), JdbcDatabaseManager.this.getName(), factoryData.reconnectIntervalMillis, e);
+                    try {
+                        sleep(factoryData.reconnectIntervalMillis);
+                    } catch (final InterruptedException ie) {
+                        shutdown = true;
+                    }
+                    return;
+                }
+                logError("Failed to commit " + batch.size() + " log events to JDBC manager '"
+                        + JdbcDatabaseManager.this.getName() + "'", e);
+                failure.set(e instanceof AppenderLoggingException ? e : new AppenderLoggingException(e,
+                        "Failed to commit %s log events to JDBC manager '%s'", batch.size(),
+                        JdbcDatabaseManager.this.getName()));
+                batch.clear();
+            }
+        }
+
+        /**
+         * Stops accepting new batches and waits for the queued events to be committed.
+         */
+        public void shutdown() {
+            shutdown = true;
+            try {
+                join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("GroupCommitter [batchSize=%s, queued=%s, shutdown=%s]", batchSize, queue.size(),
+                    shutdown);
+        }
+
+    }
+
     /**
      * Handles reconnecting to JDBC once on a Thread.
      */
@@ -335,6 +496,16 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
 
     private static final JdbcDatabaseManagerFactory INSTANCE = new JdbcDatabaseManagerFactory();
 
+    /**
+     * The number of events committed together when group commit is enabled without a buffer size.
+     */
+    public static final int DEFAULT_GROUP_COMMIT_BATCH_SIZE = 128;
+
+    /**
+     * The capacity of the group commit queue when none is configured.
+     */
+    public static final int DEFAULT_GROUP_COMMIT_QUEUE_SIZE = 1024;
+
     private static void appendColumnName(final int i, final String columnName, final StringBuilder sb) {
         if (i > 1) {
             sb.append(',');
@@ -456,7 +627,10 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
      * @param reconnectIntervalMillis How often to reconnect to the database when a SQL exception is detected.
      * @param truncateStrings Whether or not to truncate strings to match column metadata.
      * @return a new or existing JDBC manager as applicable.
+     * @deprecated use
+     * {@link #getManager(String, int, Layout, ConnectionSource, String, ColumnConfig[], ColumnMapping[], boolean, long, boolean, long, int)}
      */
+    @Deprecated
     public static JdbcDatabaseManager getManager(final String name, final int bufferSize,
             final Layout<? extends Serializable> layout, final ConnectionSource connectionSource,
             final String tableName, final ColumnConfig[] columnConfigs, final ColumnMapping[] columnMappings,
@@ -465,6 +639,37 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
                 columnMappings, immediateFail, reconnectIntervalMillis, truncateStrings), getFactory());
     }
 
+    /**
+     * Creates a JDBC manager for use within the {@link JdbcAppender}, or returns a suitable one if it already exists.
+     *
+     * @param name The name of the manager, which should include connection details and hashed passwords where possible.
+     * @param bufferSize The size of the log event buffer, or the group commit batch size when group commit is enabled.
+     * @param layout The Appender-level layout
+     * @param connectionSource The source for connections to the database.
+     * @param tableName The name of the database table to insert log events into.
+     * @param columnConfigs Configuration information about the log table columns.
+     * @param columnMappings column mapping configuration (including type conversion).
+     * @param immediateFail Whether or not to fail immediately with a {@link AppenderLoggingException} when connecting
+     * to JDBC fails.
+     * @param reconnectIntervalMillis How often to reconnect to the database when a SQL exception is detected.
+     * @param truncateStrings Whether or not to truncate strings to match column metadata.
+     * @param groupCommitIntervalMillis If greater than 0, events are queued and committed on a background thread at
+     * most this many milliseconds after they were queued.
+     * @param groupCommitQueueSize The maximum number of events waiting to be committed; logging threads block when the
+     * queue is full.
+     * @return a new or existing JDBC manager as applicable.
+     * @since 2.19.0
+     */
+    public static JdbcDatabaseManager getManager(final String name, final int bufferSize,
+            final Layout<? extends Serializable> layout, final ConnectionSource connectionSource,
+            final String tableName, final ColumnConfig[] columnConfigs, final ColumnMapping[] columnMappings,
+            final boolean immediateFail, final long reconnectIntervalMillis, final boolean truncateStrings,
+            final long groupCommitIntervalMillis, final int groupCommitQueueSize) {
+        return getManager(name, new FactoryData(bufferSize, layout, connectionSource, tableName, columnConfigs,
+                columnMappings, immediateFail, reconnectIntervalMillis, truncateStrings, groupCommitIntervalMillis,
+                groupCommitQueueSize), getFactory());
+    }
+
     // NOTE: prepared statements are prepared in this order: column mappings, then column configs
     private final List<ColumnConfig> columnConfigs;
     private final String sqlStatement;
@@ -472,6 +677,7 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
     private volatile Connection connection;
     private volatile PreparedStatement statement;
     private volatile Reconnector reconnector;
+    private volatile GroupCommitter groupCommitter;
     private volatile boolean isBatchSupported;
     private volatile Map<String, ResultSetColumnMetaData> columnMetaData;
 
@@ -545,7 +751,7 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         final boolean closed = true;
         try {
             if (this.connection != null && !this.connection.isClosed()) {
-                if (isBuffered() && this.isBatchSupported && this.statement != null) {
+                if (isBatching() && this.statement != null) {
                     logger().debug("Executing batch PreparedStatement {}", this.statement);
                     int[] result;
                     try {
@@ -607,13 +813,17 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
 
     @Override
     protected void connectAndStart() {
-        checkConnection();
         synchronized (this) {
-            try {
-                connectAndPrepare();
-            } catch (final SQLException e) {
-                reconnectOn(e);
-            }
+            connectAndPrepareOrReconnect();
+        }
+    }
+
+    private void connectAndPrepareOrReconnect() {
+        checkConnection();
+        try {
+            connectAndPrepare();
+        } catch (final SQLException e) {
+            reconnectOn(e);
         }
     }
 
@@ -652,6 +862,32 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
         return factoryData.tableName;
     }
 
+    /**
+     * Returns whether log events are added to a JDBC batch rather than executed one by one.
+     */
+    private boolean isBatching() {
+        return (super.isBuffered() || isGroupCommit()) && this.isBatchSupported;
+    }
+
+    /**
+     * Group commit replaces the buffer of the superclass, so that {@link #write(LogEvent, Serializable)} hands each
+     * event to {@link #writeThrough(LogEvent, Serializable)} which queues it for the group committer.
+     */
+    @Override
+    protected boolean isBuffered() {
+        return !isGroupCommit() && super.isBuffered();
+    }
+
+    /**
+     * Returns whether log events are committed in groups on a background thread.
+     *
+     * @return true if group commit is enabled.
+     * @since 2.19.0
+     */
+    public boolean isGroupCommit() {
+        return factoryData.groupCommitIntervalMillis > 0;
+    }
+
     private void initColumnMetaData() throws SQLException {
         // Could use:
         // this.connection.getMetaData().getColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern);
@@ -764,6 +1000,11 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
 
     @Override
     protected boolean shutdownInternal() {
+        final GroupCommitter committer = groupCommitter;
+        if (committer != null) {
+            groupCommitter = null;
+            committer.shutdown();
+        }
         if (reconnector != null) {
             reconnector.shutdown();
             reconnector.interrupt();
@@ -774,7 +1015,12 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
 
     @Override
     protected void startupInternal() throws Exception {
-        // empty
+        if (isGroupCommit()) {
+            final GroupCommitter committer = new GroupCommitter();
+            committer.setDaemon(true);
+            committer.start();
+            groupCommitter = committer;
+        }
     }
 
     /**
@@ -855,7 +1101,7 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
                 }
             }
 
-            if (isBuffered() && this.isBatchSupported) {
+            if (isBatching()) {
                 logger().debug("addBatch for {}", this.statement);
                 this.statement.addBatch();
             } else {
@@ -885,6 +1131,11 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
 
     @Override
     protected void writeThrough(final LogEvent event, final Serializable serializable) {
+        final GroupCommitter committer = groupCommitter;
+        if (committer != null) {
+            committer.enqueue(event, serializable);
+            return;
+        }
         this.connectAndStart();
         try {
             try {
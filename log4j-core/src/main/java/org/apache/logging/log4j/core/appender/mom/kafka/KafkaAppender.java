@@ -18,8 +18,11 @@
 package org.apache.logging.log4j.core.appender.mom.kafka;
 
 import java.io.Serializable;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
@@ -31,12 +34,16 @@ import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.AbstractAppender;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationScheduler;
 import org.apache.logging.log4j.core.config.Node;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.ByteBufferDestinationHelper;
 import org.apache.logging.log4j.core.layout.SerializedLayout;
+import org.apache.logging.log4j.core.util.Constants;
 
 /**
  * Sends log events to an Apache Kafka topic.
@@ -64,6 +71,12 @@ public final class KafkaAppender extends AbstractAppender {
 		@PluginAttribute(value = "syncSend", defaultBoolean = true)
 		private boolean syncSend;
 
+		@PluginAttribute("syncBatchSize")
+		private int syncBatchSize;
+
+		@PluginAttribute(value = "syncBatchMillis", defaultLong = DEFAULT_SYNC_BATCH_MILLIS)
+		private long syncBatchMillis;
+
 		@SuppressWarnings("resource")
 		@Override
 		public KafkaAppender build() {
@@ -73,9 +86,14 @@ public final class KafkaAppender extends AbstractAppender {
 				return null;
 			}
 			final KafkaManager kafkaManager = KafkaManager.getManager(getConfiguration().getLoggerContext(), getName(),
-					topic, syncSend, getPropertyArray(), key);
+					topic, syncSend, syncBatchSize, syncBatchMillis, getPropertyArray(), key);
+			ConfigurationScheduler scheduler = null;
+			if (kafkaManager.isSyncBatch() && syncBatchMillis > 0) {
+				scheduler = getConfiguration().getScheduler();
+				scheduler.incrementScheduledItems();
+			}
 			return new KafkaAppender(getName(), layout, getFilter(), isIgnoreExceptions(), kafkaManager,
-					getPropertyArray(), getRetryCount());
+					getPropertyArray(), getRetryCount(), scheduler, syncBatchMillis);
 		}
 
 		public Integer getRetryCount() {
@@ -89,6 +107,14 @@ public final class KafkaAppender extends AbstractAppender {
 
 		}
 
+		public int getSyncBatchSize() {
+			return syncBatchSize;
+		}
+
+		public long getSyncBatchMillis() {
+			return syncBatchMillis;
+		}
+
 		public String getTopic() {
 			return topic;
 		}
@@ -107,6 +133,32 @@ public final class KafkaAppender extends AbstractAppender {
 			return asBuilder();
 		}
 
+		/**
+		 * When greater than 1 and syncSend is true, waits once for a batch of this many records instead of once per
+		 * record.
+		 *
+		 * @param syncBatchSize the number of records acknowledged together.
+		 * @return this builder.
+		 * @since 2.19.0
+		 */
+		public B setSyncBatchSize(final int syncBatchSize) {
+			this.syncBatchSize = syncBatchSize;
+			return asBuilder();
+		}
+
+		/**
+		 * The time in milliseconds after which a batch of synchronously sent records is completed, by the next record
+		 * or by a periodic task on the configuration's scheduler. Also the producer's {@code linger.ms} unless set.
+		 *
+		 * @param syncBatchMillis the batch time limit.
+		 * @return this builder.
+		 * @since 2.19.0
+		 */
+		public B setSyncBatchMillis(final long syncBatchMillis) {
+			this.syncBatchMillis = syncBatchMillis;
+			return asBuilder();
+		}
+
 		public B setTopic(final String topic) {
 			this.topic = topic;
 			return asBuilder();
@@ -114,6 +166,55 @@ public final class KafkaAppender extends AbstractAppender {
 
 	}
 
+	/**
+	 * Reusable destination that layouts encode into, so that only the record value itself is allocated per event.
+	 */
+	private static final class RecordBuffer implements ByteBufferDestination {
+
+		private ByteBuffer buffer = ByteBuffer.allocate(Constants.ENCODER_BYTE_BUFFER_SIZE);
+
+		@Override
+		public ByteBuffer getByteBuffer() {
+			return buffer;
+		}
+
+		@Override
+		public ByteBuffer drain(final ByteBuffer buf) {
+			((Buffer) buf).flip();
+			final ByteBuffer larger = ByteBuffer.allocate(buf.capacity() * 2);
+			larger.put(buf);
+			buffer = larger;
+			return larger;
+		}
+
+		@Override
+		public void writeBytes(final ByteBuffer data) {
+			ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+		}
+
+		@Override
+		public void writeBytes(final byte[] data, final int offset, final int length) {
+			ByteBufferDestinationHelper.writeToUnsynchronized(data, offset, length, this);
+		}
+
+		byte[] toByteArray() {
+			((Buffer) buffer).flip();
+			final byte[] result = new byte[buffer.remaining()];
+			buffer.get(result);
+			if (buffer.capacity() > Constants.ENCODER_BYTE_BUFFER_SIZE) {
+				buffer = ByteBuffer.allocate(Constants.ENCODER_BYTE_BUFFER_SIZE);
+			} else {
+				((Buffer) buffer).clear();
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * The default maximum time a batch of synchronously sent records stays open.
+	 */
+	public static final long DEFAULT_SYNC_BATCH_MILLIS = 50;
+
     private static final String[] KAFKA_CLIENT_PACKAGES = new String[] { "org.apache.kafka.common", "org.apache.kafka.clients" };
 
 	@Deprecated
@@ -128,7 +229,7 @@ public final class KafkaAppender extends AbstractAppender {
 		}
 		final KafkaManager kafkaManager = KafkaManager.getManager(configuration.getLoggerContext(), name, topic, true,
 				properties, key);
-		return new KafkaAppender(name, layout, filter, ignoreExceptions, kafkaManager, null, null);
+		return new KafkaAppender(name, layout, filter, ignoreExceptions, kafkaManager, null, null, null, 0);
 	}
 
 	/**
@@ -155,12 +256,25 @@ public final class KafkaAppender extends AbstractAppender {
 
 	private final KafkaManager manager;
 
+	private final ThreadLocal<RecordBuffer> recordBuffer = new ThreadLocal<>();
+
+	/**
+	 * Completes batches of synchronously sent records that are not completed by a later record, null unless batching.
+	 */
+	private final ConfigurationScheduler scheduler;
+
+	private final long syncBatchMillis;
+
+	private volatile ScheduledFuture<?> batchFlusher;
+
 	private KafkaAppender(final String name, final Layout<? extends Serializable> layout, final Filter filter,
 			final boolean ignoreExceptions, final KafkaManager manager, final Property[] properties,
-			final Integer retryCount) {
+			final Integer retryCount, final ConfigurationScheduler scheduler, final long syncBatchMillis) {
 		super(name, filter, layout, ignoreExceptions, properties);
 		this.manager = Objects.requireNonNull(manager, "manager");
 		this.retryCount = retryCount;
+		this.scheduler = scheduler;
+		this.syncBatchMillis = syncBatchMillis;
 	}
 
 	@Override
@@ -193,11 +307,34 @@ public final class KafkaAppender extends AbstractAppender {
 	public void start() {
 		super.start();
 		manager.startup();
+		if (scheduler != null) {
+			batchFlusher = scheduler.scheduleWithFixedDelay(this::flushExpiredBatch, syncBatchMillis, syncBatchMillis,
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Waits for the batch of records that has been open for longer than {@code syncBatchMillis}, so that the last
+	 * records are acknowledged even if no other event is logged. Failures go to the appender's error handler.
+	 */
+	private void flushExpiredBatch() {
+		try {
+			manager.flushExpired();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (final Exception e) {
+			error("Unable to write to Kafka in appender [" + getName() + "]", e);
+		}
 	}
 
 	@Override
 	public boolean stop(final long timeout, final TimeUnit timeUnit) {
 		setStopping();
+		final ScheduledFuture<?> flusher = batchFlusher;
+		if (flusher != null) {
+			batchFlusher = null;
+			flusher.cancel(false);
+		}
 		boolean stopped = super.stop(timeout, timeUnit, false);
 		stopped &= manager.stop(timeout, timeUnit);
 		setStopped();
@@ -218,9 +355,27 @@ public final class KafkaAppender extends AbstractAppender {
 			data = new byte[header.length + body.length];
 			System.arraycopy(header, 0, data, 0, header.length);
 			System.arraycopy(body, 0, data, header.length, body.length);
+		} else if (Constants.ENABLE_THREADLOCALS) {
+			data = encode(layout, event);
 		} else {
 			data = layout.toByteArray(event);
 		}
 		manager.send(data);
+		if (event.isEndOfBatch()) {
+			manager.flush();
+		}
+	}
+
+	/**
+	 * Encodes the event into a buffer owned by the current thread and copies the result once.
+	 */
+	private byte[] encode(final Layout<? extends Serializable> layout, final LogEvent event) {
+		RecordBuffer buffer = recordBuffer.get();
+		if (buffer == null) {
+			buffer = new RecordBuffer();
+			recordBuffer.set(buffer);
+		}
+		layout.encode(event, buffer);
+		return buffer.toByteArray();
 	}
 }
@@ -18,6 +18,8 @@
 package org.apache.logging.log4j.core.appender.mom.kafka;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
@@ -51,6 +53,10 @@ public class KafkaManager extends AbstractManager {
 	private final String topic;
 	private final String key;
 	private final boolean syncSend;
+	private final int syncBatchSize;
+	private final long syncBatchNanos;
+	private List<Future<RecordMetadata>> pendingSends;
+	private long pendingSinceNanos;
 	private static final KafkaManagerFactory factory = new KafkaManagerFactory();
 
 	/*
@@ -59,13 +65,31 @@ public class KafkaManager extends AbstractManager {
 	 */
 	public KafkaManager(final LoggerContext loggerContext, final String name, final String topic,
 			final boolean syncSend, final Property[] properties, final String key) {
+		this(loggerContext, name, topic, syncSend, 0, 0, properties, key);
+	}
+
+	/*
+	 * The Constructor should have been declared private as all Managers are create
+	 * by the internal factory;
+	 */
+	public KafkaManager(final LoggerContext loggerContext, final String name, final String topic,
+			final boolean syncSend, final int syncBatchSize, final long syncBatchMillis, final Property[] properties,
+			final String key) {
 		super(loggerContext, name);
 		this.topic = Objects.requireNonNull(topic, "topic");
 		this.syncSend = syncSend;
+		this.syncBatchSize = syncBatchSize;
+		this.syncBatchNanos = TimeUnit.MILLISECONDS.toNanos(syncBatchMillis);
+		this.pendingSends = new ArrayList<>(Math.max(syncBatchSize, 0));
 
 		config.setProperty("key.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
 		config.setProperty("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
-		config.setProperty("batch.size", "0");
+		if (isSyncBatch()) {
+			// let the producer batch records; this delays every record by up to syncBatchMillis
+			config.setProperty("linger.ms", Long.toString(syncBatchMillis));
+		} else {
+			config.setProperty("batch.size", "0");
+		}
 
 		for (final Property property : properties) {
 			config.setProperty(property.getName(), property.getValue());
@@ -78,6 +102,13 @@ public class KafkaManager extends AbstractManager {
 
 	@Override
 	public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+		try {
+			flush();
+		} catch (final ExecutionException | TimeoutException e) {
+			LOGGER.error("Unable to write to Kafka in appender [" + getName() + "]", e);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 		if (timeout > 0) {
 			closeProducer(timeout, timeUnit);
 		} else {
@@ -118,7 +149,21 @@ public class KafkaManager extends AbstractManager {
 			}
 
 			final ProducerRecord<byte[], byte[]> newRecord = new ProducerRecord<>(topic, newKey, msg);
-			if (syncSend) {
+			if (isSyncBatch()) {
+				final Future<RecordMetadata> response = producer.send(newRecord);
+				final List<Future<RecordMetadata>> batch;
+				synchronized (this) {
+					if (pendingSends.isEmpty()) {
+						pendingSinceNanos = System.nanoTime();
+					}
+					pendingSends.add(response);
+					if (pendingSends.size() < syncBatchSize && System.nanoTime() - pendingSinceNanos < syncBatchNanos) {
+						return;
+					}
+					batch = swapPendingSends();
+				}
+				await(batch);
+			} else if (syncSend) {
 				final Future<RecordMetadata> response = producer.send(newRecord);
 				response.get(timeoutMillis, TimeUnit.MILLISECONDS);
 			} else {
@@ -131,6 +176,79 @@ public class KafkaManager extends AbstractManager {
 		}
 	}
 
+	/**
+	 * Waits until the records of the current batch have been acknowledged. Does nothing unless batched synchronous
+	 * sends are enabled.
+	 *
+	 * @throws ExecutionException if a record of the batch could not be sent.
+	 * @throws InterruptedException if the current thread was interrupted while waiting.
+	 * @throws TimeoutException if a record was not acknowledged within {@code timeout.ms}.
+	 */
+	public void flush() throws ExecutionException, InterruptedException, TimeoutException {
+		if (isSyncBatch()) {
+			final List<Future<RecordMetadata>> batch;
+			synchronized (this) {
+				if (pendingSends.isEmpty()) {
+					return;
+				}
+				batch = swapPendingSends();
+			}
+			await(batch);
+		}
+	}
+
+	/**
+	 * Waits for the current batch if it has been open for at least {@code syncBatchMillis}. Called periodically by
+	 * the appender, so that a batch is completed even when no further record is sent.
+	 *
+	 * @throws ExecutionException if a record of the batch could not be sent.
+	 * @throws InterruptedException if the current thread was interrupted while waiting.
+	 * @throws TimeoutException if a record was not acknowledged within {@code timeout.ms}.
+	 * @since 2.19.0
+	 */
+	public void flushExpired() throws ExecutionException, InterruptedException, TimeoutException {
+		if (isSyncBatch()) {
+			final List<Future<RecordMetadata>> batch;
+			synchronized (this) {
+				if (pendingSends.isEmpty() || System.nanoTime() - pendingSinceNanos < syncBatchNanos) {
+					return;
+				}
+				batch = swapPendingSends();
+			}
+			await(batch);
+		}
+	}
+
+	private List<Future<RecordMetadata>> swapPendingSends() {
+		final List<Future<RecordMetadata>> batch = pendingSends;
+		pendingSends = new ArrayList<>(syncBatchSize);
+		return batch;
+	}
+
+	/**
+	 * Makes the buffered records immediately sendable and waits once for the whole batch. Records sent by other
+	 * threads in the meantime are only waited for by the thread that completes their own batch.
+	 */
+	private void await(final List<Future<RecordMetadata>> batch)
+			throws ExecutionException, InterruptedException, TimeoutException {
+		final Producer<byte[], byte[]> currentProducer = producer;
+		if (currentProducer != null) {
+			currentProducer.flush();
+		}
+		for (final Future<RecordMetadata> response : batch) {
+			response.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Returns whether synchronous sends wait once per batch of records instead of once per record.
+	 *
+	 * @return true if records are acknowledged in batches.
+	 */
+	public boolean isSyncBatch() {
+		return syncSend && syncBatchSize > 1;
+	}
+
 	public void startup() {
 		if (producer == null) {
 			producer = producerFactory.newKafkaProducer(config);
@@ -143,26 +261,56 @@ public class KafkaManager extends AbstractManager {
 
 	public static KafkaManager getManager(final LoggerContext loggerContext, final String name, final String topic,
 			final boolean syncSend, final Property[] properties, final String key) {
+		return getManager(loggerContext, name, topic, syncSend, 0, 0, properties, key);
+	}
+
+	/**
+	 * Creates or returns a KafkaManager.
+	 *
+	 * @param loggerContext The logger context.
+	 * @param name The appender name.
+	 * @param topic The topic to send to.
+	 * @param syncSend Whether to wait for records to be acknowledged.
+	 * @param syncBatchSize If greater than 1 and syncSend is true, the number of records to wait for at once.
+	 * @param syncBatchMillis The time after which a batch of synchronously sent records is completed, either by the
+	 *                        next record or by the appender's periodic flush. Also used as the producer's
+	 *                        {@code linger.ms}.
+	 * @param properties The Kafka producer properties.
+	 * @param key The record key, may contain lookups.
+	 * @return a KafkaManager.
+	 * @since 2.19.0
+	 */
+	public static KafkaManager getManager(final LoggerContext loggerContext, final String name, final String topic,
+			final boolean syncSend, final int syncBatchSize, final long syncBatchMillis, final Property[] properties,
+			final String key) {
 		StringBuilder sb = new StringBuilder(name);
 		sb.append(" ").append(topic).append(" ").append(syncSend + "");
+		if (syncBatchSize > 1) {
+			sb.append(" ").append(syncBatchSize).append(" ").append(syncBatchMillis);
+		}
 		for (Property prop : properties) {
 			sb.append(" ").append(prop.getName()).append("=").append(prop.getValue());
 		}
-		return getManager(sb.toString(), factory, new FactoryData(loggerContext, topic, syncSend, properties, key));
+		return getManager(sb.toString(), factory,
+				new FactoryData(loggerContext, topic, syncSend, syncBatchSize, syncBatchMillis, properties, key));
 	}
 
 	private static class FactoryData {
 		private final LoggerContext loggerContext;
 		private final String topic;
 		private final boolean syncSend;
+		private final int syncBatchSize;
+		private final long syncBatchMillis;
 		private final Property[] properties;
 		private final String key;
 
 		public FactoryData(final LoggerContext loggerContext, final String topic, final boolean syncSend,
-				final Property[] properties, final String key) {
+				final int syncBatchSize, final long syncBatchMillis, final Property[] properties, final String key) {
 			this.loggerContext = loggerContext;
 			this.topic = topic;
 			this.syncSend = syncSend;
+			this.syncBatchSize = syncBatchSize;
+			this.syncBatchMillis = syncBatchMillis;
 			this.properties = properties;
 			this.key = key;
 		}
@@ -172,7 +320,8 @@ public class KafkaManager extends AbstractManager {
 	private static class KafkaManagerFactory implements ManagerFactory<KafkaManager, FactoryData> {
 		@Override
 		public KafkaManager createManager(String name, FactoryData data) {
-			return new KafkaManager(data.loggerContext, name, data.topic, data.syncSend, data.properties, data.key);
+			return new KafkaManager(data.loggerContext, name, data.topic, data.syncSend, data.syncBatchSize,
+					data.syncBatchMillis, data.properties, data.key);
 		}
 	}
 
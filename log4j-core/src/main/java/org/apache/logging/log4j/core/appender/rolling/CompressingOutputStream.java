@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GZIP stream used by the {@link RollingFileManager} to compress the active file while it is written.
+ * <p>
+ * A {@link #flush()} performs a deflater sync flush, which makes everything written so far readable by a gzip
+ * decoder, but each sync flush costs compression ratio. Flushes are therefore only honored when at least the flush
+ * interval has elapsed since the previous one; the others leave the data in the deflater. Closing the stream always
+ * writes everything followed by the gzip trailer.
+ * </p>
+ * <p>
+ * Not thread safe, callers synchronize on the owning manager.
+ * </p>
+ */
+class CompressingOutputStream extends GZIPOutputStream {
+
+    private final long flushIntervalNanos;
+    private long lastFlushNanos;
+    private boolean dirty;
+
+    /**
+     * Creates a new stream and writes the gzip header to the given stream.
+     *
+     * @param out The stream receiving the compressed bytes.
+     * @param bufferSize The size of the deflater output buffer.
+     * @param flushIntervalMillis The minimum number of milliseconds between two sync flushes.
+     * @throws IOException if the gzip header cannot be written.
+     */
+    CompressingOutputStream(final OutputStream out, final int bufferSize, final long flushIntervalMillis)
+            throws IOException {
+        super(out, bufferSize, true);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, flushIntervalMillis));
+        this.lastFlushNanos = System.nanoTime();
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        super.write(b, off, len);
+        dirty = true;
+    }
+
+    /**
+     * Sync flushes the compressed data if the flush interval has elapsed since the last sync flush.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (dirty && System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+            super.flush();
+            dirty = false;
+            lastFlushNanos = System.nanoTime();
+        }
+    }
+}
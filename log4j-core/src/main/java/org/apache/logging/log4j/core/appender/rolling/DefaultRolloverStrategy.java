@@ -100,6 +100,9 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
         @PluginBuilderAttribute("compressionLevel")
         private String compressionLevelStr;
 
+        @PluginBuilderAttribute("compressionThreads")
+        private int compressionThreads = 1;
+
         @PluginElement("Actions")
         private Action[] customActions;
 
@@ -145,8 +148,8 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             final int compressionLevel = Integers.parseInt(trimmedCompressionLevelStr, Deflater.DEFAULT_COMPRESSION);
             // The config object can be null when this object is built programmatically.
             final StrSubstitutor nonNullStrSubstitutor = config != null ? config.getStrSubstitutor() : new StrSubstitutor();
-			return new DefaultRolloverStrategy(minIndex, maxIndex, useMax, compressionLevel, nonNullStrSubstitutor,
-                    customActions, stopCustomActionsOnError, tempCompressedFilePattern);
+			return new DefaultRolloverStrategy(minIndex, maxIndex, useMax, compressionLevel, compressionThreads,
+                    nonNullStrSubstitutor, customActions, stopCustomActionsOnError, tempCompressedFilePattern);
         }
 
         public String getMax() {
@@ -210,6 +213,22 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             return this;
         }
 
+        public int getCompressionThreads() {
+            return compressionThreads;
+        }
+
+        /**
+         * Defines the number of threads used to compress a rolled over file.
+         *
+         * @param compressionThreads The number of compression threads; values above 1 apply only to GZ files.
+         * @return This builder for chaining convenience
+         * @since 2.19.0
+         */
+        public Builder withCompressionThreads(final int compressionThreads) {
+            this.compressionThreads = compressionThreads;
+            return this;
+        }
+
         public Action[] getCustomActions() {
             return customActions;
         }
@@ -325,6 +344,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
     private final int minIndex;
     private final boolean useMax;
     private final int compressionLevel;
+    private final int compressionThreads;
     private final List<Action> customActions;
     private final boolean stopCustomActionsOnError;
     private final PatternProcessor tempCompressedFilePattern;
@@ -355,15 +375,38 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
      * @param stopCustomActionsOnError whether to stop executing asynchronous actions if an error occurs
      * @param tempCompressedFilePatternString File pattern of the working file
      *                                     used during compression, if null no temporary file are used
+     * @deprecated Since 2.19.0 Added compressionThreads parameter
      */
+    @Deprecated
     protected DefaultRolloverStrategy(final int minIndex, final int maxIndex, final boolean useMax,
             final int compressionLevel, final StrSubstitutor strSubstitutor, final Action[] customActions,
             final boolean stopCustomActionsOnError, final String tempCompressedFilePatternString) {
+        this(minIndex, maxIndex, useMax, compressionLevel, 1, strSubstitutor, customActions,
+                stopCustomActionsOnError, tempCompressedFilePatternString);
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param minIndex The minimum index.
+     * @param maxIndex The maximum index.
+     * @param compressionThreads The number of threads used to compress a rolled over file.
+     * @param customActions custom actions to perform asynchronously after rollover
+     * @param stopCustomActionsOnError whether to stop executing asynchronous actions if an error occurs
+     * @param tempCompressedFilePatternString File pattern of the working file
+     *                                     used during compression, if null no temporary file are used
+     * @since 2.19.0
+     */
+    protected DefaultRolloverStrategy(final int minIndex, final int maxIndex, final boolean useMax,
+            final int compressionLevel, final int compressionThreads, final StrSubstitutor strSubstitutor,
+            final Action[] customActions, final boolean stopCustomActionsOnError,
+            final String tempCompressedFilePatternString) {
         super(strSubstitutor);
         this.minIndex = minIndex;
         this.maxIndex = maxIndex;
         this.useMax = useMax;
         this.compressionLevel = compressionLevel;
+        this.compressionThreads = compressionThreads;
         this.stopCustomActionsOnError = stopCustomActionsOnError;
         this.customActions = customActions == null ? Collections.<Action> emptyList() : Arrays.asList(customActions);
         this.tempCompressedFilePattern =
@@ -374,6 +417,10 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
         return this.compressionLevel;
     }
 
+    public int getCompressionThreads() {
+        return this.compressionThreads;
+    }
+
     public List<Action> getCustomActions() {
         return customActions;
     }
@@ -547,7 +594,9 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
         Action compressAction = null;
 
         final FileExtension fileExtension = manager.getFileExtension();
-        if (fileExtension != null) {
+        if (fileExtension != null && manager.isCompressOnWrite()) {
+            LOGGER.debug("{} is already compressed, renaming it to {}", currentFileName, renameTo);
+        } else if (fileExtension != null) {
             final File renameToFile = new File(renameTo);
             renameTo = renameTo.substring(0, renameTo.length() - fileExtension.length());
             if (tempCompressedFilePattern != null) {
@@ -561,13 +610,13 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                 }
                 compressAction = new CompositeAction(
                         Arrays.asList(fileExtension.createCompressAction(renameTo, tmpCompressedName,
-                                true, compressionLevel),
+                                true, compressionLevel, compressionThreads),
                                 new FileRenameAction(tmpCompressedNameFile,
                                         renameToFile, true)),
                         true);
             } else {
                 compressAction = fileExtension.createCompressAction(renameTo, compressedName,
-                        true, compressionLevel);
+                        true, compressionLevel, compressionThreads);
             }
         }
 
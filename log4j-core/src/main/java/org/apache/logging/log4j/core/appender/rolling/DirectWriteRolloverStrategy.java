@@ -359,7 +359,10 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
         final FileExtension fileExtension = manager.getFileExtension();
         if (fileExtension != null) {
             compressedName += fileExtension.getExtension();
-            if (tempCompressedFilePattern != null) {
+            if (manager.isCompressOnWrite()) {
+                // The file was compressed while it was written.
+                compressAction = new FileRenameAction(new File(sourceName), new File(compressedName), true);
+            } else if (tempCompressedFilePattern != null) {
                 final StringBuilder buf = new StringBuilder();
                 tempCompressedFilePattern.formatFileName(strSubstitutor, buf, fileIndex);
                 final String tmpCompressedName = buf.toString();
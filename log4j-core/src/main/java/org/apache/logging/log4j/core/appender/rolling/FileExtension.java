@@ -22,6 +22,7 @@ import java.util.Objects;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
 import org.apache.logging.log4j.core.appender.rolling.action.CommonsCompressAction;
 import org.apache.logging.log4j.core.appender.rolling.action.GzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ParallelGzCompressAction;
 import org.apache.logging.log4j.core.appender.rolling.action.ZipCompressAction;
 
 /**
@@ -41,6 +42,16 @@ public enum FileExtension {
                                     final int compressionLevel) {
             return new GzCompressAction(source(renameTo), target(compressedName), deleteSource, compressionLevel);
         }
+
+        @Override
+        Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                    final int compressionLevel, final int compressionThreads) {
+            if (compressionThreads > 1) {
+                return new ParallelGzCompressAction(source(renameTo), target(compressedName), deleteSource,
+                        compressionLevel, compressionThreads);
+            }
+            return createCompressAction(renameTo, compressedName, deleteSource, compressionLevel);
+        }
     },
     BZIP2(".bz2") {
         @Override
@@ -103,6 +114,16 @@ public enum FileExtension {
     abstract Action createCompressAction(String renameTo, String compressedName, boolean deleteSource,
                                          int compressionLevel);
 
+    /**
+     * Creates the compress action, using several threads if this format supports it.
+     *
+     * @since 2.19.0
+     */
+    Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                final int compressionLevel, final int compressionThreads) {
+        return createCompressAction(renameTo, compressedName, deleteSource, compressionLevel);
+    }
+
     String getExtension() {
         return extension;
     }
@@ -17,13 +17,16 @@
 package org.apache.logging.log4j.core.appender.rolling;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
 import java.util.Collection;
@@ -31,10 +34,12 @@ import java.util.Date;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LifeCycle;
@@ -47,6 +52,7 @@ import org.apache.logging.log4j.core.appender.ManagerFactory;
 import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationScheduler;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.FileUtils;
 import org.apache.logging.log4j.core.util.Log4jThreadFactory;
@@ -60,6 +66,7 @@ public class RollingFileManager extends FileManager {
     private static final int MAX_TRIES = 3;
     private static final int MIN_DURATION = 100;
     private static final FileTime EPOCH = FileTime.fromMillis(0);
+    private static final int COMPRESS_BUFFER_SIZE = 8192;
 
     protected long size;
     private long initialTime;
@@ -72,6 +79,17 @@ public class RollingFileManager extends FileManager {
     private volatile boolean initialized;
     private volatile String fileName;
     private final boolean directWrite;
+    private final boolean compressOnWrite;
+    private final long compressFlushIntervalMillis;
+    private ScheduledFuture<?> compressFlushFuture;
+    private volatile boolean asyncRollover;
+    private volatile OutputStream nextOutputStream;
+    private volatile boolean nextFileEmpty;
+    /** Set when an asynchronous rollover left the active file in place, see {@link #revertToActiveFile()}. */
+    private volatile boolean revertToActiveFile;
+    /** Set while an asynchronous rollover reads the times of the pattern processor, see {@link #checkRollover}. */
+    private volatile boolean asyncRolloverInProgress;
+    private final Object nextFileLock = new Object();
     private final CopyOnWriteArrayList<RolloverListener> rolloverListeners = new CopyOnWriteArrayList<>();
 
     /* This executor pool will create a new Thread for every work async action to be performed. Using it allows
@@ -112,6 +130,8 @@ public class RollingFileManager extends FileManager {
         this.patternProcessor.setPrevFileTime(initialTime);
         this.fileName = fileName;
         this.directWrite = rolloverStrategy instanceof DirectWriteRolloverStrategy;
+        this.compressOnWrite = false;
+        this.compressFlushIntervalMillis = 0;
     }
 
     @Deprecated
@@ -129,6 +149,8 @@ public class RollingFileManager extends FileManager {
         this.patternProcessor.setPrevFileTime(initialTime);
         this.fileName = fileName;
         this.directWrite = rolloverStrategy instanceof DirectWriteRolloverStrategy;
+        this.compressOnWrite = false;
+        this.compressFlushIntervalMillis = 0;
     }
 
     /**
@@ -140,6 +162,25 @@ public class RollingFileManager extends FileManager {
             final String advertiseURI, final Layout<? extends Serializable> layout,
             final String filePermissions, final String fileOwner, final String fileGroup,
             final boolean writeHeader, final ByteBuffer buffer) {
+        this(loggerContext, fileName, pattern, os, append, createOnDemand, size, initialTime, triggeringPolicy,
+                rolloverStrategy, advertiseURI, layout, filePermissions, fileOwner, fileGroup, writeHeader, buffer,
+                false, 0);
+    }
+
+    /**
+     * @param compressOnWrite true if the active file is written through a gzip compressor. The given OutputStream, if
+     *            any, must then already compress.
+     * @param compressFlushIntervalMillis the maximum number of milliseconds compressed data is held back before it is
+     *            flushed to the file.
+     * @since 2.19.0
+     */
+    protected RollingFileManager(final LoggerContext loggerContext, final String fileName, final String pattern, final OutputStream os,
+            final boolean append, final boolean createOnDemand, final long size, final long initialTime,
+            final TriggeringPolicy triggeringPolicy, final RolloverStrategy rolloverStrategy,
+            final String advertiseURI, final Layout<? extends Serializable> layout,
+            final String filePermissions, final String fileOwner, final String fileGroup,
+            final boolean writeHeader, final ByteBuffer buffer, final boolean compressOnWrite,
+            final long compressFlushIntervalMillis) {
         super(loggerContext, fileName != null ? fileName : pattern, os, append, false, createOnDemand,
 			advertiseURI, layout, filePermissions, fileOwner, fileGroup, writeHeader, buffer);
         this.size = size;
@@ -150,6 +191,8 @@ public class RollingFileManager extends FileManager {
         this.rolloverStrategy = rolloverStrategy;
         this.fileName = fileName;
         this.directWrite = rolloverStrategy instanceof DirectFileRolloverStrategy;
+        this.compressOnWrite = compressOnWrite;
+        this.compressFlushIntervalMillis = compressFlushIntervalMillis;
     }
 
     public void initialize() {
@@ -162,7 +205,7 @@ public class RollingFileManager extends FileManager {
                 // LOG4J2-2485: Initialize size from the most recently written file.
                 File file = new File(getFileName());
                 if (file.exists()) {
-                    size = file.length();
+                    size = fileSize(file, compressOnWrite);
                 } else {
                     ((DirectFileRolloverStrategy) rolloverStrategy).clearCurrentFileName();
                 }
@@ -175,7 +218,7 @@ public class RollingFileManager extends FileManager {
                 // LOG4J2-2485: Initialize size from the most recently written file.
                 File file = new File(getFileName());
                 if (file.exists()) {
-                    size = file.length();
+                    size = fileSize(file, compressOnWrite);
                 } else {
                     ((DirectFileRolloverStrategy) rolloverStrategy).clearCurrentFileName();
                 }
@@ -201,22 +244,65 @@ public class RollingFileManager extends FileManager {
      * @param fileGroup File group
      * @param configuration The configuration.
      * @return A RollingFileManager.
+     * @deprecated Use {@link #getFileManager(String, String, boolean, boolean, TriggeringPolicy, RolloverStrategy,
+     * String, Layout, int, boolean, boolean, String, String, String, Configuration, boolean, long)}
      */
+    @Deprecated
     public static RollingFileManager getFileManager(final String fileName, final String pattern, final boolean append,
             final boolean bufferedIO, final TriggeringPolicy policy, final RolloverStrategy strategy,
             final String advertiseURI, final Layout<? extends Serializable> layout, final int bufferSize,
             final boolean immediateFlush, final boolean createOnDemand,
             final String filePermissions, final String fileOwner, final String fileGroup,
             final Configuration configuration) {
+        return getFileManager(fileName, pattern, append, bufferedIO, policy, strategy, advertiseURI, layout,
+                bufferSize, immediateFlush, createOnDemand, filePermissions, fileOwner, fileGroup, configuration,
+                false, 0);
+    }
+
+    /**
+     * Returns a RollingFileManager.
+     * @param fileName The file name.
+     * @param pattern The pattern for rolling file.
+     * @param append true if the file should be appended to.
+     * @param bufferedIO true if data should be buffered.
+     * @param policy The TriggeringPolicy.
+     * @param strategy The RolloverStrategy.
+     * @param advertiseURI the URI to use when advertising the file
+     * @param layout The Layout.
+     * @param bufferSize buffer size to use if bufferedIO is true
+     * @param immediateFlush flush on every write or not
+     * @param createOnDemand true if you want to lazy-create the file (a.k.a. on-demand.)
+     * @param filePermissions File permissions
+     * @param fileOwner File owner
+     * @param fileGroup File group
+     * @param configuration The configuration.
+     * @param compressOnWrite true to gzip the active file while writing it; requires a file pattern ending in .gz.
+     * @param compressFlushIntervalMillis the maximum number of milliseconds compressed data is held back before it is
+     *            flushed to the file.
+     * @return A RollingFileManager.
+     * @since 2.19.0
+     */
+    public static RollingFileManager getFileManager(final String fileName, final String pattern, final boolean append,
+            final boolean bufferedIO, final TriggeringPolicy policy, final RolloverStrategy strategy,
+            final String advertiseURI, final Layout<? extends Serializable> layout, final int bufferSize,
+            final boolean immediateFlush, final boolean createOnDemand,
+            final String filePermissions, final String fileOwner, final String fileGroup,
+            final Configuration configuration, final boolean compressOnWrite, final long compressFlushIntervalMillis) {
 
         if (strategy instanceof DirectWriteRolloverStrategy && fileName != null) {
             LOGGER.error("The fileName attribute must not be specified with the DirectWriteRolloverStrategy");
             return null;
         }
+        boolean compress = compressOnWrite;
+        if (compress && FileExtension.lookupForFile(pattern) != FileExtension.GZ) {
+            LOGGER.error("Compress on write requires a file pattern ending in {}, ignoring it for {}",
+                    FileExtension.GZ.getExtension(), pattern);
+            compress = false;
+        }
         final String name = fileName == null ? pattern : fileName;
         return narrow(RollingFileManager.class, getManager(name, new FactoryData(fileName, pattern, append,
             bufferedIO, policy, strategy, advertiseURI, layout, bufferSize, immediateFlush, createOnDemand,
-            filePermissions, fileOwner, fileGroup, configuration), factory));
+            filePermissions, fileOwner, fileGroup, configuration, compress, compressFlushIntervalMillis), factory));
     }
 
     /**
@@ -262,6 +348,27 @@ public class RollingFileManager extends FileManager {
         return patternProcessor.getFileExtension();
     }
 
+    /**
+     * Returns whether the active file is gzip compressed while it is written, in which case a rollover only has to
+     * rename it.
+     *
+     * @return true if the active file is compressed on write.
+     * @since 2.19.0
+     */
+    public boolean isCompressOnWrite() {
+        return compressOnWrite;
+    }
+
+    /**
+     * Returns the maximum number of milliseconds compressed data is held back before it is flushed to the file.
+     *
+     * @return The compress flush interval in milliseconds.
+     * @since 2.19.0
+     */
+    public long getCompressFlushIntervalMillis() {
+        return compressFlushIntervalMillis;
+    }
+
     // override to make visible for unit tests
     @Override
     protected synchronized void write(final byte[] bytes, final int offset, final int length,
@@ -271,10 +378,74 @@ public class RollingFileManager extends FileManager {
 
     @Override
     protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        if (revertToActiveFile) {
+            revertToActiveFile();
+        }
         size += length;
         super.writeToDestination(bytes, offset, length);
     }
 
+    @Override
+    protected OutputStream createOutputStream() throws IOException {
+        if (!compressOnWrite) {
+            return super.createOutputStream();
+        }
+        // The header is skipped by writeHeader() until the stream compresses.
+        final File file = new File(getFileName());
+        final boolean writeHeader = !file.exists() || file.length() == 0;
+        final OutputStream os = new CompressingOutputStream(super.createOutputStream(), COMPRESS_BUFFER_SIZE,
+                compressFlushIntervalMillis);
+        if (writeHeader) {
+            writeHeader(os);
+        }
+        return os;
+    }
+
+    @Override
+    protected void writeHeader(final OutputStream os) {
+        if (!compressOnWrite || os instanceof CompressingOutputStream) {
+            super.writeHeader(os);
+        }
+    }
+
+    /**
+     * Schedules the flush that bounds the amount of data held back by the compressor when no further events arrive,
+     * on the scheduler of the given configuration, replacing the flush scheduled for a previous configuration.
+     */
+    private synchronized void scheduleCompressFlush(final Configuration configuration) {
+        cancelCompressFlush();
+        if (!compressOnWrite || compressFlushIntervalMillis <= 0 || configuration == null) {
+            return;
+        }
+        final ConfigurationScheduler scheduler = configuration.getScheduler();
+        if (!scheduler.isExecutorServiceSet()) {
+            // make sure we have a thread pool
+            scheduler.incrementScheduledItems();
+        }
+        if (!scheduler.isStarted()) {
+            scheduler.start();
+        }
+        compressFlushFuture = scheduler.scheduleWithFixedDelay(this::flushCompressed, compressFlushIntervalMillis,
+                compressFlushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void cancelCompressFlush() {
+        if (compressFlushFuture != null) {
+            compressFlushFuture.cancel(false);
+            compressFlushFuture = null;
+        }
+    }
+
+    private synchronized void flushCompressed() {
+        try {
+            if (hasOutputStream()) {
+                flush();
+            }
+        } catch (final Exception ex) {
+            logError("Unable to flush compressed file", ex);
+        }
+    }
+
     public boolean isRenameEmptyFiles() {
         return renameEmptyFiles;
     }
@@ -283,6 +454,36 @@ public class RollingFileManager extends FileManager {
         this.renameEmptyFiles = renameEmptyFiles;
     }
 
+    public boolean isAsyncRollover() {
+        return asyncRollover;
+    }
+
+    /**
+     * Enables or disables asynchronous rollover. The file following the active one is then opened ahead of time
+     * under a temporary name, so that the thread triggering the rollover only swaps the output stream. Closing,
+     * renaming and compressing the previous file are done in the background, after which the temporary file is
+     * renamed to the active file name. Requires a file name and a file system that allows renaming open files.
+     * <p>
+     * The triggering policy is not evaluated until the rollover has completed. If the next file is not ready, for
+     * example because the previous rollover has not completed yet, a rollover requested directly is done
+     * synchronously. If the previous file could not be archived, the events logged since the rollover are appended
+     * to it and the manager writes to it again.
+     * </p>
+     *
+     * @param asyncRollover true to enable asynchronous rollover.
+     * @since 2.19.0
+     */
+    public void setAsyncRollover(final boolean asyncRollover) {
+        if (asyncRollover && (fileName == null || directWrite)) {
+            LOGGER.error("Asynchronous rollover requires a file name, ignoring it for {}", getName());
+            return;
+        }
+        this.asyncRollover = asyncRollover;
+        if (asyncRollover) {
+            asyncExecutor.execute(this::prepareNextFile);
+        }
+    }
+
     /**
      * Returns the current size of the file.
      * @return The size of the file in bytes.
@@ -304,7 +505,9 @@ public class RollingFileManager extends FileManager {
      * @param event The LogEvent.
      */
     public synchronized void checkRollover(final LogEvent event) {
-        if (triggeringPolicy.isTriggeringEvent(event)) {
+        // Triggering policies update the times of the pattern processor that an asynchronous rollover in progress
+        // names the archive from, the events logged after it has completed are checked again.
+        if (!asyncRolloverInProgress && triggeringPolicy.isTriggeringEvent(event)) {
             rollover();
         }
     }
@@ -319,6 +522,7 @@ public class RollingFileManager extends FileManager {
             ((LifeCycle) triggeringPolicy).stop();
             stopped &= true;
         }
+        cancelCompressFlush();
         final boolean status = super.releaseSub(timeout, timeUnit) && stopped;
         asyncExecutor.shutdown();
         try {
@@ -357,11 +561,34 @@ public class RollingFileManager extends FileManager {
             // Preserve interrupt status
             Thread.currentThread().interrupt();
         }
+        if (revertToActiveFile) {
+            revertToActiveFile = false;
+            try {
+                appendNextFile();
+            } catch (final IOException ex) {
+                LOGGER.warn("Unable to append {} to {}: {}", getNextFile(), fileName, ex.getMessage());
+            }
+        }
+        final OutputStream next = nextOutputStream;
+        if (next != null) {
+            nextOutputStream = null;
+            try {
+                next.close();
+                if (nextFileEmpty) {
+                    Files.deleteIfExists(getNextFile().toPath());
+                }
+            } catch (final IOException ex) {
+                LOGGER.warn("Unable to remove unused file {}: {}", getNextFile(), ex.getMessage());
+            }
+        }
         LOGGER.debug("RollingFileManager shutdown completed with status {}", status);
         return status;
     }
 
     public synchronized void rollover(Date prevFileTime, Date prevRollTime) {
+        if (asyncRolloverInProgress) {
+            awaitAsyncRollover();
+        }
         LOGGER.debug("Rollover PrevFileTime: {}, PrevRollTime: {}", prevFileTime.getTime(),
                 prevRollTime.getTime());
 		getPatternProcessor().setPrevFileTime(prevFileTime.getTime());
@@ -391,7 +618,13 @@ public class RollingFileManager extends FileManager {
                 LOGGER.warn("RollingFileManager cleared thread interrupted state, continue to rollover");
             }
 
-            if (rollover(rolloverStrategy)) {
+            if (revertToActiveFile) {
+                revertToActiveFile();
+            }
+            if (asyncRollover && swapToNextFile()) {
+                size = 0;
+                initialTime = System.currentTimeMillis();
+            } else if (rollover(rolloverStrategy)) {
                 try {
                     size = 0;
                     initialTime = System.currentTimeMillis();
@@ -417,10 +650,162 @@ public class RollingFileManager extends FileManager {
         }
     }
 
+    /**
+     * Waits until the asynchronous rollover in progress no longer needs the times of the pattern processor.
+     */
+    private void awaitAsyncRollover() {
+        try {
+            semaphore.acquire();
+            semaphore.release();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     protected void createFileAfterRollover() throws IOException  {
         setOutputStream(createOutputStream());
     }
 
+    /**
+     * Returns the temporary file the next output stream is opened on when rolling over asynchronously.
+     */
+    File getNextFile() {
+        final File file = new File(fileName);
+        return new File(file.getParentFile(), '.' + file.getName() + ".next");
+    }
+
+    private void prepareNextFile() {
+        synchronized (nextFileLock) {
+            if (!asyncRollover || nextOutputStream != null) {
+                return;
+            }
+            final File file = getNextFile();
+            try {
+                FileUtils.makeParentDirs(file);
+                // Appends to keep the events of a process that died before renaming the file.
+                nextFileEmpty = !file.exists() || file.length() == 0;
+                final OutputStream os = new FileOutputStream(file, true);
+                nextOutputStream = compressOnWrite
+                        ? new CompressingOutputStream(os, COMPRESS_BUFFER_SIZE, compressFlushIntervalMillis) : os;
+                LOGGER.debug("Prepared {} for the next rollover of {}", file, getName());
+            } catch (final IOException ex) {
+                logError("Unable to prepare file for asynchronous rollover", ex);
+            }
+        }
+    }
+
+    /**
+     * Appends the events logged since a failed asynchronous rollover to the active file and switches the output
+     * stream back to it, so that the next rollover archives them. Called while holding the manager lock.
+     */
+    private void revertToActiveFile() {
+        revertToActiveFile = false;
+        closeOutputStream();
+        try {
+            appendNextFile();
+            final OutputStream os = new FileOutputStream(fileName, true);
+            setOutputStream(compressOnWrite
+                    ? new CompressingOutputStream(os, COMPRESS_BUFFER_SIZE, compressFlushIntervalMillis) : os);
+            size = fileSize(new File(fileName), compressOnWrite);
+            asyncExecutor.execute(this::prepareNextFile);
+        } catch (final IOException | RuntimeException ex) {
+            logError("Unable to switch back to " + fileName + " after a failed rollover", ex);
+        }
+    }
+
+    private void appendNextFile() throws IOException {
+        final Path next = getNextFile().toPath();
+        if (Files.exists(next)) {
+            try (final OutputStream os = new FileOutputStream(fileName, true)) {
+                Files.copy(next, os);
+            }
+            Files.delete(next);
+            LOGGER.debug("Appended {} to {}", next, fileName);
+        }
+    }
+
+    /**
+     * Switches to the output stream prepared in the background and hands the previous one to the executor.
+     *
+     * @return false if no stream was prepared or a rollover is in progress, in which case nothing changed.
+     */
+    private boolean swapToNextFile() {
+        final OutputStream next = nextOutputStream;
+        if (next == null || !semaphore.tryAcquire()) {
+            return false;
+        }
+        nextOutputStream = null;
+        OutputStream previous = null;
+        try {
+            writeFooter();
+            flush();
+            previous = hasOutputStream() ? getOutputStream() : null;
+        } catch (final IOException | RuntimeException ex) {
+            logError("Unable to flush file before rollover", ex);
+        }
+        setOutputStream(next);
+        if (nextFileEmpty) {
+            writeHeader(next);
+        }
+        asyncRolloverInProgress = true;
+        try {
+            asyncExecutor.execute(new AsyncRollover(previous));
+        } catch (final RuntimeException ex) {
+            asyncRolloverInProgress = false;
+            semaphore.release();
+            logError("Unable to complete asynchronous rollover", ex);
+        }
+        return true;
+    }
+
+    /**
+     * Completes an asynchronous rollover: closes and archives the previous file, moves the file that is now being
+     * written to the active file name and prepares the next one.
+     */
+    private class AsyncRollover implements Runnable {
+
+        private final OutputStream previous;
+
+        AsyncRollover(final OutputStream previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void run() {
+            boolean moved = false;
+            try {
+                if (previous != null) {
+                    previous.close();
+                }
+                final RolloverDescription descriptor = rolloverStrategy.rollover(RollingFileManager.this);
+                if (descriptor != null && descriptor.getSynchronous() != null) {
+                    LOGGER.debug("RollingFileManager executing synchronous {}", descriptor.getSynchronous());
+                    descriptor.getSynchronous().execute();
+                }
+                final File active = new File(fileName);
+                if (active.exists() && active.length() > 0) {
+                    LOGGER.error("Unable to archive {}, appending the events logged since the rollover to it", active);
+                    revertToActiveFile = true;
+                    return;
+                }
+                Files.move(getNextFile().toPath(), active.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                moved = true;
+                defineAttributeView(active.toPath());
+                if (descriptor != null && descriptor.getAsynchronous() != null) {
+                    LOGGER.debug("RollingFileManager executing async {}", descriptor.getAsynchronous());
+                    descriptor.getAsynchronous().execute();
+                }
+                prepareNextFile();
+            } catch (final Exception ex) {
+                logError("Caught error in asynchronous rollover", ex);
+                revertToActiveFile = !moved;
+            } finally {
+                asyncRolloverInProgress = false;
+                semaphore.release();
+            }
+        }
+    }
+
     /**
      * Returns the pattern processor.
      * @return The PatternProcessor.
@@ -619,6 +1004,8 @@ public class RollingFileManager extends FileManager {
         private final String filePermissions;
         private final String fileOwner;
         private final String fileGroup;
+        private final boolean compressOnWrite;
+        private final long compressFlushIntervalMillis;
 
         /**
          * Creates the data for the factory.
@@ -634,12 +1021,15 @@ public class RollingFileManager extends FileManager {
          * @param fileOwner File owner
          * @param fileGroup File group
          * @param configuration The configuration
+         * @param compressOnWrite true to gzip the active file while writing it
+         * @param compressFlushIntervalMillis the maximum time compressed data is held back
          */
         public FactoryData(final String fileName, final String pattern, final boolean append, final boolean bufferedIO,
                 final TriggeringPolicy policy, final RolloverStrategy strategy, final String advertiseURI,
                 final Layout<? extends Serializable> layout, final int bufferSize, final boolean immediateFlush,
                 final boolean createOnDemand, final String filePermissions, final String fileOwner, final String fileGroup,
-                final Configuration configuration) {
+                final Configuration configuration, final boolean compressOnWrite,
+                final long compressFlushIntervalMillis) {
             super(configuration);
             this.fileName = fileName;
             this.pattern = pattern;
@@ -655,6 +1045,8 @@ public class RollingFileManager extends FileManager {
             this.filePermissions = filePermissions;
             this.fileOwner = fileOwner;
             this.fileGroup = fileGroup;
+            this.compressOnWrite = compressOnWrite;
+            this.compressFlushIntervalMillis = compressFlushIntervalMillis;
         }
 
         public TriggeringPolicy getTriggeringPolicy() {
@@ -693,6 +1085,8 @@ public class RollingFileManager extends FileManager {
             builder.append(filePermissions);
             builder.append(", fileOwner=");
             builder.append(fileOwner);
+            builder.append(", compressOnWrite=");
+            builder.append(compressOnWrite);
             builder.append("]");
             return builder.toString();
         }
@@ -710,6 +1104,7 @@ public class RollingFileManager extends FileManager {
         setRolloverStrategy(factoryData.getRolloverStrategy());
         setPatternProcessor(new PatternProcessor(factoryData.getPattern(), getPatternProcessor()));
         setTriggeringPolicy(factoryData.getTriggeringPolicy());
+        scheduleCompressFlush(factoryData.getConfiguration());
     }
 
     /**
@@ -738,24 +1133,30 @@ public class RollingFileManager extends FileManager {
                     LOGGER.error("Unable to create file " + name, ioe);
                     return null;
                 }
-                size = data.append ? file.length() : 0;
+                size = data.append ? fileSize(file, data.compressOnWrite) : 0;
             }
 
             try {
                 final int actualSize = data.bufferedIO ? data.bufferSize : Constants.ENCODER_BYTE_BUFFER_SIZE;
                 final ByteBuffer buffer = ByteBuffer.wrap(new byte[actualSize]);
-                final OutputStream os = data.createOnDemand  || data.fileName == null ? null :
+                OutputStream os = data.createOnDemand  || data.fileName == null ? null :
                         new FileOutputStream(data.fileName, data.append);
                 // LOG4J2-531 create file first so time has valid value.
                 final long initialTime = file == null || !file.exists() ? 0 : initialFileTime(file);
                 final boolean writeHeader = file != null && file.exists() && file.length() == 0;
+                if (os != null && data.compressOnWrite) {
+                    // Appending to an existing file adds a new gzip member, which decoders concatenate.
+                    os = new CompressingOutputStream(os, COMPRESS_BUFFER_SIZE, data.compressFlushIntervalMillis);
+                }
 
                 final RollingFileManager rm = new RollingFileManager(data.getLoggerContext(), data.fileName, data.pattern, os,
                     data.append, data.createOnDemand, size, initialTime, data.policy, data.strategy, data.advertiseURI,
-                    data.layout, data.filePermissions, data.fileOwner, data.fileGroup, writeHeader, buffer);
+                    data.layout, data.filePermissions, data.fileOwner, data.fileGroup, writeHeader, buffer,
+                    data.compressOnWrite, data.compressFlushIntervalMillis);
                 if (os != null && rm.isAttributeViewEnabled()) {
                     rm.defineAttributeView(file.toPath());
                 }
+                rm.scheduleCompressFlush(data.getConfiguration());
 
                 return rm;
             } catch (final IOException ex) {
@@ -765,6 +1166,28 @@ public class RollingFileManager extends FileManager {
         }
     }
 
+    /**
+     * Returns the size of the file as counted by the manager, which is the number of uncompressed bytes when the file
+     * is compressed on write.
+     */
+    private static long fileSize(final File file, final boolean compressOnWrite) {
+        if (!compressOnWrite || file.length() == 0) {
+            return file.length();
+        }
+        long size = 0;
+        try (final InputStream in = new GZIPInputStream(new FileInputStream(file), COMPRESS_BUFFER_SIZE)) {
+            final byte[] buffer = new byte[COMPRESS_BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                size += n;
+            }
+        } catch (final IOException ex) {
+            // The last gzip member has no trailer if the process writing it died.
+            LOGGER.debug("Counted {} uncompressed bytes in {}: {}", size, file, ex.getMessage());
+        }
+        return size;
+    }
+
     private static long initialFileTime(final File file) {
         final Path path = file.toPath();
         if (Files.exists(path)) {
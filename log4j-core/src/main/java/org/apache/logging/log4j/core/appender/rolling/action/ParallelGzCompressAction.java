@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses a file using GZ compression on several threads.
+ * <p>
+ * The file is split into blocks that are deflated independently on a {@link ForkJoinPool}, each primed with the last
+ * 32 KiB of the preceding block as its dictionary, and written in order as a single gzip member. Every block but the
+ * last ends with a sync flush so that the raw deflate streams concatenate into one valid stream.
+ * </p>
+ */
+public final class ParallelGzCompressAction extends AbstractAction {
+
+    private static final int BLOCK_SIZE = 128 * 1024;
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private static final int BUF_SIZE = 8192;
+
+    private static final byte[] GZIP_HEADER = {
+            0x1f, (byte) 0x8b, // magic
+            Deflater.DEFLATED, // compression method
+            0, // flags
+            0, 0, 0, 0, // modification time
+            0, // extra flags
+            (byte) 0xff // operating system: unknown
+    };
+
+    /**
+     * Source file.
+     */
+    private final File source;
+
+    /**
+     * Destination file.
+     */
+    private final File destination;
+
+    /**
+     * If true, attempt to delete file on completion.
+     */
+    private final boolean deleteSource;
+
+    /**
+     * GZIP compression level to use.
+     *
+     * @see Deflater#setLevel(int)
+     */
+    private final int compressionLevel;
+
+    /**
+     * Number of threads compressing blocks.
+     */
+    private final int compressionThreads;
+
+    /**
+     * Create new instance of ParallelGzCompressAction.
+     *
+     * @param source       file to compress, may not be null.
+     * @param destination  compressed file, may not be null.
+     * @param deleteSource if true, attempt to delete file on completion.  Failure to delete
+     *                     does not cause an exception to be thrown or affect return value.
+     * @param compressionLevel
+     *                     Gzip deflater compression level.
+     * @param compressionThreads
+     *                     number of threads compressing blocks.
+     */
+    public ParallelGzCompressAction(final File source, final File destination, final boolean deleteSource,
+            final int compressionLevel, final int compressionThreads) {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(destination, "destination");
+
+        this.source = source;
+        this.destination = destination;
+        this.deleteSource = deleteSource;
+        this.compressionLevel = compressionLevel;
+        this.compressionThreads = Math.max(1, compressionThreads);
+    }
+
+    /**
+     * Compress.
+     *
+     * @return true if successfully compressed.
+     * @throws IOException on IO exception.
+     */
+    @Override
+    public boolean execute() throws IOException {
+        return execute(source, destination, deleteSource, compressionLevel, compressionThreads);
+    }
+
+    /**
+     * Compress a file.
+     *
+     * @param source       file to compress, may not be null.
+     * @param destination  compressed file, may not be null.
+     * @param deleteSource if true, attempt to delete file on completion.  Failure to delete
+     *                     does not cause an exception to be thrown or affect return value.
+     * @param compressionLevel
+     *                     Gzip deflater compression level.
+     * @param compressionThreads
+     *                     number of threads compressing blocks.
+     * @return true if source file compressed.
+     * @throws IOException on IO exception.
+     */
+    public static boolean execute(final File source, final File destination, final boolean deleteSource,
+            final int compressionLevel, final int compressionThreads) throws IOException {
+        if (source.exists()) {
+            final ForkJoinPool pool = new ForkJoinPool(Math.max(1, compressionThreads));
+            try (final InputStream fis = new FileInputStream(source);
+                 final OutputStream os = new BufferedOutputStream(new FileOutputStream(destination), BUF_SIZE)) {
+                compress(fis, os, compressionLevel, pool, 2 * pool.getParallelism());
+            } finally {
+                pool.shutdownNow();
+            }
+
+            if (deleteSource && !source.delete()) {
+                LOGGER.warn("Unable to delete {}.", source);
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    private static void compress(final InputStream in, final OutputStream out, final int compressionLevel,
+            final ForkJoinPool pool, final int maxPendingBlocks) throws IOException {
+        final CRC32 crc = new CRC32();
+        final Deque<Future<byte[]>> pending = new ArrayDeque<>(maxPendingBlocks);
+        long totalLength = 0;
+        out.write(GZIP_HEADER);
+        byte[] previous = null;
+        byte[] current = readBlock(in);
+        try {
+            do {
+                final byte[] next = current.length == 0 ? null : readBlock(in);
+                final boolean last = next == null || next.length == 0;
+                crc.update(current, 0, current.length);
+                totalLength += current.length;
+                final byte[] input = current;
+                final byte[] dictionary = previous;
+                pending.addLast(pool.submit(() -> deflate(input, dictionary, compressionLevel, last)));
+                if (pending.size() >= maxPendingBlocks) {
+                    out.write(pending.removeFirst().get());
+                }
+                previous = current;
+                current = last ? null : next;
+            } while (current != null);
+            while (!pending.isEmpty()) {
+                out.write(pending.removeFirst().get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing");
+        } catch (final ExecutionException e) {
+            throw new IOException("Unable to compress block", e.getCause());
+        }
+        writeIntLE(out, (int) crc.getValue());
+        writeIntLE(out, (int) totalLength);
+    }
+
+    /**
+     * Reads up to one block, returning a shorter array at the end of the stream and an empty one once it is exhausted.
+     */
+    private static byte[] readBlock(final InputStream in) throws IOException {
+        final byte[] block = new byte[BLOCK_SIZE];
+        int length = 0;
+        int n;
+        while (length < BLOCK_SIZE && (n = in.read(block, length, BLOCK_SIZE - length)) != -1) {
+            length += n;
+        }
+        return length == BLOCK_SIZE ? block : Arrays.copyOf(block, length);
+    }
+
+    private static byte[] deflate(final byte[] input, final byte[] dictionary, final int compressionLevel,
+            final boolean last) {
+        final Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            if (dictionary != null) {
+                final int length = Math.min(DICTIONARY_SIZE, dictionary.length);
+                deflater.setDictionary(dictionary, dictionary.length - length, length);
+            }
+            deflater.setInput(input);
+            if (last) {
+                deflater.finish();
+            }
+            byte[] output = new byte[input.length / 2 + 64];
+            int length = 0;
+            for (;;) {
+                if (length == output.length) {
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+                length += deflater.deflate(output, length, output.length - length,
+                        last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+                // a flush is complete when the deflater did not fill the space it was given
+                if (last ? deflater.finished() : length < output.length) {
+                    return Arrays.copyOf(output, length);
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeIntLE(final OutputStream out, final int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+        out.write((value >>> 16) & 0xff);
+        out.write((value >>> 24) & 0xff);
+    }
+
+    /**
+     * Capture exception.
+     *
+     * @param ex exception.
+     */
+    @Override
+    protected void reportException(final Exception ex) {
+        LOGGER.warn("Exception during compression of '" + source.toString() + "'.", ex);
+    }
+
+    @Override
+    public String toString() {
+        return ParallelGzCompressAction.class.getSimpleName() + '[' + source + " to " + destination
+                + ", deleteSource=" + deleteSource + ", compressionThreads=" + compressionThreads + ']';
+    }
+
+    public File getSource() {
+        return source;
+    }
+
+    public File getDestination() {
+        return destination;
+    }
+
+    public boolean isDeleteSource() {
+        return deleteSource;
+    }
+
+    public int getCompressionThreads() {
+        return compressionThreads;
+    }
+}
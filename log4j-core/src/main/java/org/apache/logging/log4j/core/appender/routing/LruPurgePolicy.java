@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.routing;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.AbstractLifeCycle;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationScheduler;
+import org.apache.logging.log4j.core.config.Scheduled;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+
+/**
+ * Policy that bounds the number of appenders a {@link RoutingAppender} keeps, purging the least recently used ones,
+ * and optionally also purges appenders that were not used for some time.
+ * <p>
+ * Routes are tracked in a segmented LRU: a route used once enters the probation segment and moves to the protected
+ * segment when it is used again, so a burst of one-off routes only displaces other one-off routes. To keep routing
+ * threads from contending on a single lock, routes are spread over independently locked shards, each bounding its
+ * share of {@code maxSize}. Purged appenders are removed with {@link RoutingAppender#deleteAppender(String)}, which
+ * stops them once the events being appended to them are done.
+ * </p>
+ *
+ * @since 2.19.0
+ */
+@Plugin(name = "LruPurgePolicy", category = Core.CATEGORY_NAME, printObject = true)
+@Scheduled
+public class LruPurgePolicy extends AbstractLifeCycle implements PurgePolicy, Runnable {
+
+    /**
+     * Smallest number of routes a shard holds, fewer routes are not worth spreading.
+     */
+    private static final int MIN_SHARD_SIZE = 64;
+
+    private static final int MAX_SHARDS = 16;
+
+    private final int maxSize;
+    private final long timeToLive;
+    private final long checkInterval;
+    private final Shard[] shards;
+    private final int shardMask;
+    private final ConfigurationScheduler scheduler;
+    private RoutingAppender routingAppender;
+    private volatile ScheduledFuture<?> future;
+
+    /**
+     * Creates a new policy.
+     *
+     * @param maxSize the maximum number of appenders to keep.
+     * @param timeToLive the number of milliseconds after which an unused appender is purged, or zero to only purge
+     *                   appenders when there are too many.
+     * @param checkInterval the number of milliseconds between two checks for unused appenders.
+     * @param scheduler the scheduler running the checks.
+     */
+    public LruPurgePolicy(final int maxSize, final long timeToLive, final long checkInterval,
+            final ConfigurationScheduler scheduler) {
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.checkInterval = checkInterval;
+        this.scheduler = scheduler;
+        final int shardCount = Math.max(1, Math.min(MAX_SHARDS, Integer.highestOneBit(maxSize / MIN_SHARD_SIZE)));
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(maxSize / shardCount + (i < maxSize % shardCount ? 1 : 0));
+        }
+        this.shardMask = shardCount - 1;
+    }
+
+    @Override
+    public void initialize(@SuppressWarnings("hiding") final RoutingAppender routingAppender) {
+        this.routingAppender = routingAppender;
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+        final boolean stopped = stop(future);
+        setStopped();
+        return stopped;
+    }
+
+    /**
+     * Purges the appenders that were not used for {@code timeToLive}.
+     */
+    @Override
+    public void purge() {
+        if (timeToLive <= 0) {
+            return;
+        }
+        final long expiry = System.currentTimeMillis() - timeToLive;
+        for (final Shard shard : shards) {
+            delete(shard.expire(expiry, true, null));
+        }
+    }
+
+    @Override
+    public void update(final String key, final LogEvent event) {
+        final long now = System.currentTimeMillis();
+        final long expiry = timeToLive > 0 ? now - timeToLive : Long.MIN_VALUE;
+        delete(shardFor(key).access(key, now, expiry));
+        if (timeToLive > 0 && future == null) {
+            synchronized (this) {
+                if (future == null) {
+                    future = scheduler.scheduleWithFixedDelay(this, checkInterval, checkInterval,
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        purge();
+    }
+
+    private Shard shardFor(final String key) {
+        final int hash = key.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & shardMask];
+    }
+
+    /**
+     * Deletes the appenders outside of the shard locks, stopping an appender may take a while.
+     */
+    private void delete(final List<String> keys) {
+        if (keys != null) {
+            for (final String key : keys) {
+                LOGGER.debug("Removing appender {}", key);
+                routingAppender.deleteAppender(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the maximum number of appenders that are kept.
+     *
+     * @return the maximum number of appenders.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of milliseconds after which an unused appender is purged.
+     *
+     * @return the time to live in milliseconds, zero if unused appenders are only purged when there are too many.
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Returns the number of routes currently tracked.
+     *
+     * @return the number of tracked routes.
+     */
+    public int size() {
+        int size = 0;
+        for (final Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Create the PurgePolicy
+     *
+     * @param maxSize       the maximum number of appenders to keep.
+     * @param timeToLive    the number of increments of timeUnit before an unused Appender is purged, zero to only
+     *                      purge appenders when there are more than {@code maxSize}.
+     * @param checkInterval the number of increments of timeUnit between two checks for unused appenders, defaults
+     *                      to timeToLive.
+     * @param timeUnit      the unit of time the timeToLive and the checkInterval is expressed in.
+     * @param configuration the Configuration.
+     * @return The PurgePolicy.
+     */
+    @PluginFactory
+    public static PurgePolicy createPurgePolicy(
+        @PluginAttribute("maxSize") final int maxSize,
+        @PluginAttribute("timeToLive") final long timeToLive,
+        @PluginAttribute("checkInterval") final long checkInterval,
+        @PluginAttribute("timeUnit") final String timeUnit,
+        @PluginConfiguration final Configuration configuration) {
+
+        if (maxSize <= 0) {
+            LOGGER.error("A positive maxSize value is required");
+            return null;
+        }
+        TimeUnit units;
+        if (timeUnit == null) {
+            units = TimeUnit.MINUTES;
+        } else {
+            try {
+                units = TimeUnit.valueOf(timeUnit.toUpperCase());
+            } catch (final Exception ex) {
+                LOGGER.error("Invalid timeUnit value {}. timeUnit set to MINUTES", timeUnit, ex);
+                units = TimeUnit.MINUTES;
+            }
+        }
+
+        long ttl = units.toMillis(timeToLive);
+        if (ttl < 0) {
+            LOGGER.error("timeToLive must be positive. timeToLive set to 0");
+            ttl = 0;
+        }
+        long ci = units.toMillis(checkInterval);
+        if (ci <= 0) {
+            ci = ttl;
+        }
+
+        return new LruPurgePolicy(maxSize, ttl, ci, configuration.getScheduler());
+    }
+
+    @Override
+    public String toString() {
+        return "maxSize=" + maxSize + ", timeToLive=" + timeToLive;
+    }
+
+    private static final class Usage {
+
+        long lastAccess;
+
+        Usage(final long lastAccess) {
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * Segmented LRU of one share of the routes, guarded by its own monitor.
+     */
+    private static final class Shard {
+
+        private final int capacity;
+        private final int protectedCapacity;
+        // Access ordered, the eldest entry is the least recently used one.
+        private final LinkedHashMap<String, Usage> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<String, Usage> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+        Shard(final int capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = capacity * 4 / 5;
+        }
+
+        /**
+         * Records the use of a route.
+         *
+         * @return the routes to delete, or {@code null}.
+         */
+        synchronized List<String> access(final String key, final long now, final long expiry) {
+            List<String> evicted = null;
+            Usage usage = protectedSegment.get(key);
+            if (usage == null) {
+                usage = probation.remove(key);
+                if (usage == null) {
+                    usage = new Usage(now);
+                    probation.put(key, usage);
+                    while (probation.size() + protectedSegment.size() > capacity) {
+                        // The new route is the youngest in probation, never evict it.
+                        evicted = add(evicted, removeEldest(probation.size() > 1 ? probation : protectedSegment));
+                    }
+                } else if (protectedCapacity > 0) {
+                    protectedSegment.put(key, usage);
+                    if (protectedSegment.size() > protectedCapacity) {
+                        final Iterator<Map.Entry<String, Usage>> iterator = protectedSegment.entrySet().iterator();
+                        final Map.Entry<String, Usage> demoted = iterator.next();
+                        iterator.remove();
+                        probation.put(demoted.getKey(), demoted.getValue());
+                    }
+                } else {
+                    probation.put(key, usage);
+                }
+            }
+            usage.lastAccess = now;
+            return expire(expiry, false, evicted);
+        }
+
+        /**
+         * Removes the routes last used before {@code expiry}. Unless a full scan is requested, only the least recently
+         * used routes of each segment are checked, which is cheap enough to do on every access.
+         */
+        synchronized List<String> expire(final long expiry, final boolean fullScan, final List<String> evicted) {
+            return expire(protectedSegment, expiry, fullScan, expire(probation, expiry, fullScan, evicted));
+        }
+
+        private static List<String> expire(final LinkedHashMap<String, Usage> segment, final long expiry,
+                final boolean fullScan, List<String> evicted) {
+            final Iterator<Map.Entry<String, Usage>> iterator = segment.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<String, Usage> entry = iterator.next();
+                if (entry.getValue().lastAccess < expiry) {
+                    iterator.remove();
+                    evicted = add(evicted, entry.getKey());
+                } else if (!fullScan) {
+                    break;
+                }
+            }
+            return evicted;
+        }
+
+        private static String removeEldest(final LinkedHashMap<String, Usage> segment) {
+            final Iterator<String> iterator = segment.keySet().iterator();
+            final String key = iterator.next();
+            iterator.remove();
+            return key;
+        }
+
+        private static List<String> add(List<String> list, final String key) {
+            if (list == null) {
+                list = new ArrayList<>(2);
+            }
+            list.add(key);
+            return list;
+        }
+
+        synchronized int size() {
+            return probation.size() + protectedSegment.size();
+        }
+    }
+}
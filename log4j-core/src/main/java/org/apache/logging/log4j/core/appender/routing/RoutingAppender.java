@@ -23,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.script.Bindings;
 
@@ -40,6 +41,7 @@ import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
 import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.lookup.StrTemplate;
 import org.apache.logging.log4j.core.script.AbstractScript;
 import org.apache.logging.log4j.core.script.ScriptManager;
 import org.apache.logging.log4j.core.script.ScriptRef;
@@ -155,6 +157,10 @@ public final class RoutingAppender extends AbstractAppender {
     private final PurgePolicy purgePolicy;
     private final AbstractScript defaultRouteScript;
     private final ConcurrentMap<Object, Object> scriptStaticVariables = new ConcurrentHashMap<>();
+    private StrTemplate keyTemplate;
+    private final LongAdder routeHits = new LongAdder();
+    private final LongAdder routeMisses = new LongAdder();
+    private final LongAdder routeEvictions = new LongAdder();
 
     private RoutingAppender(final String name, final Filter filter, final boolean ignoreExceptions, final Routes routes,
             final RewritePolicy rewritePolicy, final Configuration configuration, final PurgePolicy purgePolicy,
@@ -197,6 +203,12 @@ public final class RoutingAppender extends AbstractAppender {
                 }
             }
         }
+        if (routes.getPatternScript() == null) {
+            final String pattern = routes.getPattern(null, scriptStaticVariables);
+            if (pattern != null) {
+                keyTemplate = configuration.getStrSubstitutor().compile(pattern);
+            }
+        }
         // Register all the static routes.
         for (final Route route : routes.getRoutes()) {
             if (route.getAppenderRef() != null) {
@@ -234,9 +246,14 @@ public final class RoutingAppender extends AbstractAppender {
         if (rewritePolicy != null) {
             event = rewritePolicy.rewrite(event);
         }
-        final String pattern = routes.getPattern(event, scriptStaticVariables);
-        final String key = pattern != null ? configuration.getStrSubstitutor().replace(event, pattern) :
-                defaultRoute.getKey() != null ? defaultRoute.getKey() : DEFAULT_KEY;
+        final String key;
+        if (keyTemplate != null) {
+            key = keyTemplate.replace(event);
+        } else {
+            final String pattern = routes.getPattern(event, scriptStaticVariables);
+            key = pattern != null ? configuration.getStrSubstitutor().replace(event, pattern) :
+                    defaultRoute.getKey() != null ? defaultRoute.getKey() : DEFAULT_KEY;
+        }
         final RouteAppenderControl control = getControl(key, event);
         if (control != null) {
             try {
@@ -257,10 +274,21 @@ public final class RoutingAppender extends AbstractAppender {
         }
     }
 
-    private synchronized RouteAppenderControl getControl(final String key, final LogEvent event) {
+    private RouteAppenderControl getControl(final String key, final LogEvent event) {
+        // Lock-free fast path for routes that already have an appender. A control that fails to check out has been
+        // deleted concurrently and is no longer in the map, so the slow path creates a new one.
+        final RouteAppenderControl control = getAppender(key);
+        if (control != null && control.checkout()) {
+            routeHits.increment();
+            return control;
+        }
+        return getOrCreateControl(key, event);
+    }
+
+    private synchronized RouteAppenderControl getOrCreateControl(final String key, final LogEvent event) {
         RouteAppenderControl control = getAppender(key);
-        if (control != null) {
-            control.checkout();
+        if (control != null && control.checkout()) {
+            routeHits.increment();
             return control;
         }
         Route route = null;
@@ -273,23 +301,22 @@ public final class RoutingAppender extends AbstractAppender {
         if (route == null) {
             route = defaultRoute;
             control = getAppender(DEFAULT_KEY);
-            if (control != null) {
-                control.checkout();
+            if (control != null && control.checkout()) {
+                routeHits.increment();
                 return control;
             }
         }
+        control = null;
         if (route != null) {
+            routeMisses.increment();
             final Appender app = createAppender(route, event);
             if (app == null) {
                 return null;
             }
-            CreatedRouteAppenderControl created = new CreatedRouteAppenderControl(app);
-            control = created;
+            final CreatedRouteAppenderControl created = new CreatedRouteAppenderControl(app);
+            created.checkout();
             createdAppenders.put(key, created);
-        }
-
-        if (control != null) {
-            control.checkout();
+            control = created;
         }
         return control;
     }
@@ -329,6 +356,36 @@ public final class RoutingAppender extends AbstractAppender {
         return createdAppendersUnmodifiableView;
     }
 
+    /**
+     * Returns the number of events that were routed to an existing appender.
+     *
+     * @return the number of route lookups that found an appender.
+     * @since 2.19.0
+     */
+    public long getRouteHitCount() {
+        return routeHits.sum();
+    }
+
+    /**
+     * Returns the number of events for which an appender had to be created.
+     *
+     * @return the number of route lookups that created an appender.
+     * @since 2.19.0
+     */
+    public long getRouteMissCount() {
+        return routeMisses.sum();
+    }
+
+    /**
+     * Returns the number of created appenders that were deleted, usually by the {@link PurgePolicy}.
+     *
+     * @return the number of deleted appenders.
+     * @since 2.19.0
+     */
+    public long getRouteEvictionCount() {
+        return routeEvictions.sum();
+    }
+
     /**
      * Deletes the specified appender.
      *
@@ -340,13 +397,10 @@ public final class RoutingAppender extends AbstractAppender {
         final CreatedRouteAppenderControl control = createdAppenders.remove(key);
         if (null != control) {
             LOGGER.debug("Stopping route with {} key", key);
-            // Synchronize with getControl to avoid triggering stopAppender before RouteAppenderControl.checkout
-            // can be invoked.
-            synchronized (this) {
-                control.pendingDeletion = true;
-            }
-            // Don't attempt to stop the appender in a synchronized block, since it may block flushing events
-            // to disk.
+            routeEvictions.increment();
+            // Lookups that found the control before it was removed either checked it out already, and the last
+            // release stops the appender, or fail to check it out once it is stopped.
+            control.pendingDeletion = true;
             control.tryStopAppender();
         } else if (referencedAppenders.containsKey(key)) {
             LOGGER.debug("Route {} using an appender reference may not be removed because " +
@@ -437,7 +491,12 @@ public final class RoutingAppender extends AbstractAppender {
             super(appender, null, null);
         }
 
-        abstract void checkout();
+        /**
+         * Marks the appender as in use.
+         *
+         * @return {@code false} if the appender has been stopped and must not be used.
+         */
+        abstract boolean checkout();
 
         abstract void release();
     }
@@ -452,12 +511,15 @@ public final class RoutingAppender extends AbstractAppender {
         }
 
         @Override
-        void checkout() {
-            if (pendingDeletion) {
-                LOGGER.warn("CreatedRouteAppenderControl.checkout invoked on a " +
-                        "RouteAppenderControl that is pending deletion");
-            }
-            depth.incrementAndGet();
+        boolean checkout() {
+            int current;
+            do {
+                current = depth.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!depth.compareAndSet(current, current + 1));
+            return true;
         }
 
         @Override
@@ -486,8 +548,8 @@ public final class RoutingAppender extends AbstractAppender {
         }
 
         @Override
-        void checkout() {
-            // nop
+        boolean checkout() {
+            return true;
         }
 
         @Override
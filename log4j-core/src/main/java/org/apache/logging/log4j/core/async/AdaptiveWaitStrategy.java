@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.WaitStrategy;
+
+/**
+ * Wait strategy that adapts to the observed arrival rate of log events.
+ * <p>
+ * The consumer thread first busy spins, then yields and finally parks. Whether it spins and yields at all is derived
+ * from a moving average of the interval between events: under load, when events arrive more often than once every
+ * {@code maxSpinTimeNanos}, the consumer spins and then yields for {@code maxSpinTimeNanos} each, and so reacts as
+ * quickly as the {@code BusySpin} and {@code Yield} strategies to the next burst. When events are rare, it skips
+ * straight to parking and uses no CPU while idle.
+ * </p>
+ * <p>
+ * Parks start at a fraction of the expected interval and back off exponentially up to {@code maxParkTimeNanos}.
+ * Producers unpark a parked consumer when they publish, so the back off only bounds how long a missed wake-up can
+ * delay the consumer.
+ * </p>
+ * <p>
+ * Each instance is meant to be used by a single consumer thread. The statistics returned by the getters are
+ * updated by that thread and may be read from any thread, for example through
+ * {@link org.apache.logging.log4j.core.jmx.RingBufferAdminMBean}.
+ * </p>
+ *
+ * @since 2.19.0
+ */
+public final class AdaptiveWaitStrategy implements WaitStrategy {
+
+    static final long DEFAULT_MAX_SPIN_TIME_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    static final long DEFAULT_MAX_PARK_TIME_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long MIN_PARK_TIME_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+
+    /**
+     * Weight of the newest sample in the moving average of the arrival interval, as a right shift: 1/8.
+     */
+    private static final int AVERAGE_SHIFT = 3;
+
+    private final long maxSpinTimeNanos;
+
+    private final long maxParkTimeNanos;
+
+    private volatile Thread parkedConsumer;
+
+    private long lastAvailableSequence = -1;
+
+    private long lastReturnNanos = System.nanoTime();
+
+    private volatile long arrivalIntervalNanos;
+
+    private volatile long spinWakeups;
+
+    private volatile long yieldWakeups;
+
+    private volatile long parkWakeups;
+
+    /**
+     * Creates a new strategy with a maximum spin time of 50 microseconds and a maximum park time of 10 milliseconds.
+     */
+    public AdaptiveWaitStrategy() {
+        this(DEFAULT_MAX_SPIN_TIME_NANOS, DEFAULT_MAX_PARK_TIME_NANOS);
+    }
+
+    /**
+     * Creates a new strategy.
+     *
+     * @param maxSpinTimeNanos the time the consumer spins, and then yields, before parking while under load. Arrival
+     *                         intervals longer than this are treated as idle.
+     * @param maxParkTimeNanos the longest single park.
+     */
+    public AdaptiveWaitStrategy(final long maxSpinTimeNanos, final long maxParkTimeNanos) {
+        this.maxSpinTimeNanos = Math.max(0, maxSpinTimeNanos);
+        this.maxParkTimeNanos = Math.max(MIN_PARK_TIME_NANOS, maxParkTimeNanos);
+        // Start out as if idle, the average converges after a few batches under load.
+        this.arrivalIntervalNanos = this.maxParkTimeNanos;
+    }
+
+    @Override
+    public long waitFor(
+            final long sequence,
+            final Sequence cursorSequence,
+            final Sequence dependentSequence,
+            final SequenceBarrier barrier)
+            throws AlertException, InterruptedException {
+        if (cursorSequence.get() < sequence) {
+            waitForCursor(sequence, cursorSequence, barrier);
+        } else {
+            spinWakeups++;
+        }
+
+        long availableSequence;
+        while ((availableSequence = dependentSequence.get()) < sequence) {
+            barrier.checkAlert();
+        }
+
+        updateArrivalInterval(availableSequence);
+        return availableSequence;
+    }
+
+    private void waitForCursor(final long sequence, final Sequence cursorSequence, final SequenceBarrier barrier)
+            throws AlertException {
+        final long interval = arrivalIntervalNanos;
+        final long spinTimeNanos = spinTimeNanos(interval);
+        final long start = System.nanoTime();
+
+        while (System.nanoTime() - start < spinTimeNanos) {
+            if (cursorSequence.get() >= sequence) {
+                spinWakeups++;
+                return;
+            }
+            barrier.checkAlert();
+        }
+        while (System.nanoTime() - start < 2 * spinTimeNanos) {
+            if (cursorSequence.get() >= sequence) {
+                yieldWakeups++;
+                return;
+            }
+            barrier.checkAlert();
+            Thread.yield();
+        }
+
+        long parkTimeNanos = Math.max(MIN_PARK_TIME_NANOS, Math.min(maxParkTimeNanos, interval >> 2));
+        while (cursorSequence.get() < sequence) {
+            barrier.checkAlert();
+            // Publishers read this field after advancing the cursor, so either they see it and unpark this thread or
+            // the check below sees the new cursor.
+            parkedConsumer = Thread.currentThread();
+            if (cursorSequence.get() < sequence) {
+                LockSupport.parkNanos(this, parkTimeNanos);
+            }
+            parkedConsumer = null;
+            parkTimeNanos = Math.min(maxParkTimeNanos, parkTimeNanos << 1);
+        }
+        parkWakeups++;
+    }
+
+    private void updateArrivalInterval(final long availableSequence) {
+        final long now = System.nanoTime();
+        final long events = availableSequence - lastAvailableSequence;
+        if (events > 0) {
+            final long sample = Math.min(maxParkTimeNanos, (now - lastReturnNanos) / events);
+            final long average = arrivalIntervalNanos;
+            arrivalIntervalNanos = average + ((sample - average) >> AVERAGE_SHIFT);
+            lastAvailableSequence = availableSequence;
+            lastReturnNanos = now;
+        }
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        final Thread consumer = parkedConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Returns the moving average of the interval between two events, in nanoseconds.
+     *
+     * @return the moving average of the interval between two events.
+     */
+    public long getArrivalIntervalNanos() {
+        return arrivalIntervalNanos;
+    }
+
+    /**
+     * Returns the current time the consumer spins, and then yields, before parking, in nanoseconds.
+     *
+     * @return the current spin time; zero when the consumer parks immediately.
+     */
+    public long getSpinTimeNanos() {
+        return spinTimeNanos(arrivalIntervalNanos);
+    }
+
+    private long spinTimeNanos(final long interval) {
+        return interval <= maxSpinTimeNanos ? maxSpinTimeNanos : 0;
+    }
+
+    /**
+     * Returns the number of waits that ended without yielding or parking.
+     *
+     * @return the number of waits that ended while spinning.
+     */
+    public long getSpinWakeups() {
+        return spinWakeups;
+    }
+
+    /**
+     * Returns the number of waits that ended while yielding.
+     *
+     * @return the number of waits that ended while yielding.
+     */
+    public long getYieldWakeups() {
+        return yieldWakeups;
+    }
+
+    /**
+     * Returns the number of waits that ended after parking.
+     *
+     * @return the number of waits that ended after parking.
+     */
+    public long getParkWakeups() {
+        return parkWakeups;
+    }
+
+    public long getMaxSpinTimeNanos() {
+        return maxSpinTimeNanos;
+    }
+
+    public long getMaxParkTimeNanos() {
+        return maxParkTimeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveWaitStrategy{" +
+                "maxSpinTimeNanos=" + maxSpinTimeNanos +
+                ", maxParkTimeNanos=" + maxParkTimeNanos +
+                ", arrivalIntervalNanos=" + arrivalIntervalNanos +
+                '}';
+    }
+}
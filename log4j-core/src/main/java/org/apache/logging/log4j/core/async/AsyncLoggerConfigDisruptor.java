@@ -409,6 +409,7 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
      */
     @Override
     public RingBufferAdmin createRingBufferAdmin(final String contextName, final String loggerConfigName) {
-        return RingBufferAdmin.forAsyncLoggerConfig(disruptor.getRingBuffer(), contextName, loggerConfigName);
+        return RingBufferAdmin.forAsyncLoggerConfig(disruptor.getRingBuffer(), waitStrategy, contextName,
+                loggerConfigName);
     }
 }
@@ -195,7 +195,7 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
      */
     public RingBufferAdmin createRingBufferAdmin(final String jmxContextName) {
         final RingBuffer<RingBufferLogEvent> ring = disruptor == null ? null : disruptor.getRingBuffer();
-        return RingBufferAdmin.forAsyncLogger(ring, jmxContextName);
+        return RingBufferAdmin.forAsyncLogger(ring, waitStrategy, jmxContextName);
     }
 
     EventRoute getEventRoute(final Level logLevel) {
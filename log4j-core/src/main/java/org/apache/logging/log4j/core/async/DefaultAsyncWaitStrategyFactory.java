@@ -62,6 +62,13 @@ class DefaultAsyncWaitStrategyFactory implements AsyncWaitStrategyFactory {
             case "BUSYSPIN":
                 LOGGER.trace("DefaultAsyncWaitStrategyFactory creating BusySpinWaitStrategy");
                 return new BusySpinWaitStrategy();
+            case "ADAPTIVE":
+                final long maxSpinTimeNs = parseAdditionalLongProperty(propertyName, "MaxSpinTimeNs",
+                        AdaptiveWaitStrategy.DEFAULT_MAX_SPIN_TIME_NANOS);
+                final long maxParkTimeNs = parseAdditionalLongProperty(propertyName, "MaxParkTimeNs",
+                        AdaptiveWaitStrategy.DEFAULT_MAX_PARK_TIME_NANOS);
+                LOGGER.trace("DefaultAsyncWaitStrategyFactory creating AdaptiveWaitStrategy(maxSpinTimeNs={}, maxParkTimeNs={})", maxSpinTimeNs, maxParkTimeNs);
+                return new AdaptiveWaitStrategy(maxSpinTimeNs, maxParkTimeNs);
             case "TIMEOUT":
                 return createDefaultWaitStrategy(propertyName);
             default:
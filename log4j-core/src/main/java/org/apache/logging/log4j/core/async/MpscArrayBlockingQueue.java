@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free, multiple producer single consumer {@link BlockingQueue} backed by an array.
+ * <p>
+ * Producers claim a slot by incrementing the producer index and then publish the element into it; the consumer
+ * empties slots in order. A consumer that finds the queue empty parks after a short spin and is woken up by the next
+ * producer, so an idle queue does not consume CPU. Producers waiting for space park in the same way and are woken
+ * up by the consumer when it releases a slot.
+ * </p>
+ * <p>
+ * Only one thread may call the consuming methods ({@link #poll()}, {@link #take()}, {@link #drain(Consumer, int)},
+ * {@link #drainTo(Collection)} and their variants) at any time. The {@link #iterator() iterator} is weakly consistent
+ * and does not support removal, so neither does {@link #remove(Object)}.
+ * </p>
+ *
+ * @param <E> the type of elements held in this queue
+ * @since 2.19.0
+ */
+public final class MpscArrayBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private static final int SPIN_TRIES = 100;
+
+    private static final int YIELD_TRIES = 200;
+
+    /**
+     * The longest time a producer parks before checking for space again. The consumer does not order its release of a
+     * slot before checking for waiting producers, so a producer that registers at that moment can miss its wake up.
+     */
+    private static final long MAX_PRODUCER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<MpscArrayBlockingQueue> CONSUMER_INDEX =
+            AtomicLongFieldUpdater.newUpdater(MpscArrayBlockingQueue.class, "consumerIndex");
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> buffer;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    private volatile long consumerIndex;
+
+    private volatile Thread waitingConsumer;
+
+    private final ConcurrentLinkedQueue<Thread> waitingProducers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a queue holding at most the given number of elements.
+     *
+     * @param capacity the capacity of the queue, at least 1.
+     */
+    public MpscArrayBlockingQueue(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(final E e) {
+        Objects.requireNonNull(e, "e");
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex >= capacity) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        buffer.lazySet(offset(index), e);
+        // The CAS above orders this read after the claim, see take().
+        final Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+
+    @Override
+    public void put(final E e) throws InterruptedException {
+        int idleCounter = 0;
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (idleCounter < YIELD_TRIES) {
+                idleCounter++;
+                Thread.yield();
+            } else {
+                parkProducer(MAX_PRODUCER_PARK_NANOS);
+            }
+        }
+    }
+
+    @Override
+    public boolean offer(final E e, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int idleCounter = 0;
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (idleCounter < YIELD_TRIES) {
+                idleCounter++;
+                Thread.yield();
+            } else {
+                parkProducer(Math.min(remaining, MAX_PRODUCER_PARK_NANOS));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parks the calling producer until the consumer releases a slot, at most for the given time.
+     */
+    private void parkProducer(final long nanos) {
+        final Thread current = Thread.currentThread();
+        waitingProducers.offer(current);
+        // Checks again after registering, so only the race described at MAX_PRODUCER_PARK_NANOS can delay a wake up.
+        if (producerIndex.get() - consumerIndex >= capacity) {
+            LockSupport.parkNanos(this, nanos);
+        }
+        waitingProducers.remove(current);
+    }
+
+    /**
+     * Wakes up a producer waiting for space, called by the consumer after releasing a slot.
+     */
+    private void signalProducer() {
+        if (!waitingProducers.isEmpty()) {
+            final Thread producer = waitingProducers.poll();
+            if (producer != null) {
+                LockSupport.unpark(producer);
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        final long index = consumerIndex;
+        final int offset = offset(index);
+        E e = buffer.get(offset);
+        if (e == null) {
+            if (index == producerIndex.get()) {
+                return null;
+            }
+            // A producer claimed the slot but has not published its element yet.
+            do {
+                e = buffer.get(offset);
+            } while (e == null);
+        }
+        buffer.lazySet(offset, null);
+        CONSUMER_INDEX.lazySet(this, index + 1);
+        signalProducer();
+        return e;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e = poll();
+        int idleCounter = 0;
+        while (e == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (idleCounter < SPIN_TRIES) {
+                idleCounter++;
+            } else if (idleCounter < YIELD_TRIES) {
+                idleCounter++;
+                Thread.yield();
+            } else {
+                // Producers read this field after claiming a slot, so either they see it and unpark this thread or
+                // the poll below sees their claim.
+                waitingConsumer = Thread.currentThread();
+                e = poll();
+                if (e == null) {
+                    LockSupport.park(this);
+                }
+                waitingConsumer = null;
+                continue;
+            }
+            e = poll();
+        }
+        return e;
+    }
+
+    @Override
+    public E poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        E e = poll();
+        int idleCounter = 0;
+        while (e == null) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            if (idleCounter < YIELD_TRIES) {
+                idleCounter++;
+                Thread.yield();
+            } else {
+                waitingConsumer = Thread.currentThread();
+                e = poll();
+                if (e == null) {
+                    LockSupport.parkNanos(this, remaining);
+                }
+                waitingConsumer = null;
+                continue;
+            }
+            e = poll();
+        }
+        return e;
+    }
+
+    /**
+     * Removes up to {@code limit} available elements and passes each of them to the consumer, without blocking. Each
+     * slot is released before its element is passed on, exactly as if {@link #poll()} had been called, so
+     * {@link #isEmpty()} tells the consumer whether more elements are immediately available.
+     *
+     * @param consumer receives the removed elements.
+     * @param limit the maximum number of elements to remove.
+     * @return the number of elements removed.
+     */
+    public int drain(final Consumer<? super E> consumer, final int limit) {
+        int count = 0;
+        long index = consumerIndex;
+        long available = producerIndex.get() - index;
+        while (count < limit) {
+            if (available == 0) {
+                available = producerIndex.get() - index;
+                if (available == 0) {
+                    break;
+                }
+            }
+            final int offset = offset(index);
+            E e;
+            do {
+                e = buffer.get(offset);
+            } while (e == null);
+            buffer.lazySet(offset, null);
+            CONSUMER_INDEX.lazySet(this, ++index);
+            signalProducer();
+            available--;
+            count++;
+            consumer.accept(e);
+        }
+        return count;
+    }
+
+    @Override
+    public int drainTo(final Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final Collection<? super E> c, final int maxElements) {
+        Objects.requireNonNull(c, "c");
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
+        return drain(c::add, maxElements);
+    }
+
+    @Override
+    public E peek() {
+        final long index = consumerIndex;
+        final int offset = offset(index);
+        E e = buffer.get(offset);
+        if (e == null && index != producerIndex.get()) {
+            do {
+                e = buffer.get(offset);
+            } while (e == null);
+        }
+        return e;
+    }
+
+    @Override
+    public int size() {
+        final long consumer = consumerIndex;
+        final long size = producerIndex.get() - consumer;
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return consumerIndex == producerIndex.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements queued when it was created, from the oldest to the newest.
+     * Elements consumed in the meantime are skipped. The iterator does not support {@link Iterator#remove()}.
+     *
+     * @return an iterator over the elements in this queue.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr(consumerIndex, producerIndex.get());
+    }
+
+    private int offset(final long index) {
+        return (int) index & mask;
+    }
+
+    private final class Itr implements Iterator<E> {
+
+        private final long end;
+
+        private long index;
+
+        private E next;
+
+        Itr(final long start, final long end) {
+            this.index = start;
+            this.end = end;
+            this.next = advance();
+        }
+
+        /**
+         * Returns the element in the next non-empty slot, which is null if it was consumed or not published yet.
+         */
+        private E advance() {
+            while (index < end) {
+                final E e = buffer.get(offset(index++));
+                if (e != null) {
+                    return e;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            final E e = next;
+            if (e == null) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return e;
+        }
+    }
+}
@@ -39,6 +39,10 @@ public class PluginManager {
     private static final Logger LOGGER = StatusLogger.getLogger();
 
     private Map<String, PluginType<?>> plugins = new HashMap<>();
+    /**
+     * Whether the plugins that cannot be loaded were removed from {@link #plugins}.
+     */
+    private boolean loaded;
     private final String category;
 
     /**
@@ -99,16 +103,23 @@ public class PluginManager {
      * @return The plugin's type.
      */
     public PluginType<?> getPluginType(final String name) {
-        return plugins.get(name.toLowerCase());
+        final PluginType<?> type = plugins.get(name.toLowerCase());
+        return type == null || type.getPluginClass() == null ? null : type;
     }
 
     /**
-     * Returns all the matching plugins.
+     * Returns all the matching plugins. This loads the classes of all the plugins, use {@link #getPluginType(String)}
+     * to look up a single plugin.
      *
      * @return A Map containing the name of the plugin and its type.
      */
     public Map<String, PluginType<?>> getPlugins() {
-        return plugins;
+        final Map<String, PluginType<?>> result = plugins;
+        if (!loaded) {
+            result.values().removeIf(type -> type.getPluginClass() == null);
+            loaded = true;
+        }
+        return result;
     }
 
     /**
@@ -155,6 +166,7 @@ public class PluginManager {
 
         LOGGER.debug("PluginManager '{}' found {} plugins", category, newPlugins.size());
 
+        loaded = false;
         plugins = newPlugins;
     }
 
@@ -167,9 +179,14 @@ public class PluginManager {
             final PluginType<?> existing = newPlugins.get(key);
             if (existing == null) {
                 newPlugins.put(key, pluginType);
-            } else if (!existing.getPluginClass().equals(pluginType.getPluginClass())) {
-                LOGGER.warn("Plugin [{}] is already mapped to {}, ignoring {}",
-                    key, existing.getPluginClass(), pluginType.getPluginClass());
+            } else if (!existing.getPluginClassName().equals(pluginType.getPluginClassName())) {
+                // Only load the classes of conflicting plugins, a plugin that cannot be loaded is replaced.
+                if (existing.getPluginClass() == null) {
+                    newPlugins.put(key, pluginType);
+                } else {
+                    LOGGER.warn("Plugin [{}] is already mapped to {}, ignoring {}",
+                        key, existing.getPluginClass(), pluginType.getPluginClassName());
+                }
             }
         }
     }
@@ -174,19 +174,10 @@ public class PluginRegistry {
             final String categoryLowerCase = outer.getKey();
             final List<PluginType<?>> types = new ArrayList<>(outer.getValue().size());
             newPluginsByCategory.put(categoryLowerCase, types);
-            for (final Map.Entry<String, PluginEntry> inner : outer.getValue().entrySet()) {
-                final PluginEntry entry = inner.getValue();
-                final String className = entry.getClassName();
-                try {
-                    final Class<?> clazz = loader.loadClass(className);
-                    final PluginType<?> type = new PluginType<>(entry, clazz, entry.getName());
-                    types.add(type);
-                    ++pluginCount;
-                } catch (final ClassNotFoundException e) {
-                    LOGGER.info("Plugin [{}] could not be loaded due to missing classes.", className, e);
-                } catch (final LinkageError e) {
-                    LOGGER.info("Plugin [{}] could not be loaded due to linkage error.", className, e);
-                }
+            for (final PluginEntry entry : outer.getValue().values()) {
+                // The class is only loaded once the plugin is used.
+                types.add(new PluginType<>(entry, loader, entry.getName()));
+                ++pluginCount;
             }
         }
         final int numPlugins = pluginCount;
@@ -195,7 +186,7 @@ public class PluginRegistry {
             StringBuilder sb = new StringBuilder("Took ");
             final DecimalFormat numFormat = new DecimalFormat("#0.000000");
             sb.append(numFormat.format((endTime - startTime) * 1e-9));
-            sb.append(" seconds to load ").append(numPlugins);
+            sb.append(" seconds to index ").append(numPlugins);
             sb.append(" plugins from ").append(loader);
             return sb.toString();
         });
@@ -17,19 +17,29 @@
 package org.apache.logging.log4j.core.config.plugins.util;
 
 
+import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.status.StatusLogger;
 
 /**
  * Plugin Descriptor. This is a memento object for Plugin annotations paired to their annotated classes.
+ * <p>
+ * Plugins read from {@code Log4j2Plugins.dat} cache files only load their class the first time it is requested, so
+ * that plugins that are never used by the configuration are never loaded.
+ * </p>
  *
  * @param <T> The plug-in class, which can be any kind of class.
  * @see org.apache.logging.log4j.core.config.plugins.Plugin
  */
 public class PluginType<T> {
 
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
     private final PluginEntry pluginEntry;
-    private final Class<T> pluginClass;
+    private final ClassLoader classLoader;
     private final String elementName;
+    private volatile Class<T> pluginClass;
+    private volatile boolean loadFailed;
 
     /**
      * @since 2.1
@@ -37,11 +47,60 @@ public class PluginType<T> {
     public PluginType(final PluginEntry pluginEntry, final Class<T> pluginClass, final String elementName) {
         this.pluginEntry = pluginEntry;
         this.pluginClass = pluginClass;
+        this.classLoader = null;
+        this.elementName = elementName;
+    }
+
+    /**
+     * Creates a plugin type whose class is loaded from the given class loader when it is first requested.
+     *
+     * @param pluginEntry the plugin entry, naming the plugin class.
+     * @param classLoader the class loader of the plugin class.
+     * @param elementName the name of the configuration element.
+     * @since 2.19.0
+     */
+    public PluginType(final PluginEntry pluginEntry, final ClassLoader classLoader, final String elementName) {
+        this.pluginEntry = pluginEntry;
+        this.classLoader = classLoader;
         this.elementName = elementName;
     }
 
+    /**
+     * Returns the plugin class, loading it if necessary.
+     *
+     * @return the plugin class, or {@code null} if it could not be loaded.
+     */
     public Class<T> getPluginClass() {
-        return this.pluginClass;
+        final Class<T> result = this.pluginClass;
+        return result != null || loadFailed || classLoader == null ? result : loadPluginClass();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<T> loadPluginClass() {
+        final String className = pluginEntry.getClassName();
+        try {
+            // Concurrent callers may both load the class, the class loader returns the same class to both.
+            final Class<T> result = (Class<T>) classLoader.loadClass(className);
+            this.pluginClass = result;
+            return result;
+        } catch (final ClassNotFoundException e) {
+            LOGGER.info("Plugin [{}] could not be loaded due to missing classes.", className, e);
+        } catch (final LinkageError e) {
+            LOGGER.info("Plugin [{}] could not be loaded due to linkage error.", className, e);
+        }
+        loadFailed = true;
+        return null;
+    }
+
+    /**
+     * Returns the name of the plugin class without loading it.
+     *
+     * @return the name of the plugin class.
+     * @since 2.19.0
+     */
+    public String getPluginClassName() {
+        final Class<T> result = this.pluginClass;
+        return result != null ? result.getName() : pluginEntry.getClassName();
     }
 
     public String getElementName() {
@@ -72,7 +131,7 @@ public class PluginType<T> {
 
     @Override
     public String toString() {
-        return "PluginType [pluginClass=" + pluginClass +
+        return "PluginType [pluginClass=" + getPluginClassName() +
                 ", key=" + pluginEntry.getKey() +
                 ", elementName=" + pluginEntry.getName() +
                 ", isObjectPrintable=" + pluginEntry.isPrintable() +
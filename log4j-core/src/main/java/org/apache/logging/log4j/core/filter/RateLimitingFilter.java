@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+
+package org.apache.logging.log4j.core.filter;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * The <code>RateLimitingFilter</code> regulates logging traffic like the {@link BurstFilter}, but without taking a
+ * lock.
+ *
+ * <p>
+ * Each rate limit is a token bucket held in a single atomic long: the time at which the bucket will be full again.
+ * Events at or below the configured level are accepted while fewer than <code>maxBurst</code> events are outstanding
+ * and refill at <code>rate</code> events per second. Limits can be kept per logger name or per marker name; the number
+ * of keys tracked is bounded by <code>maxKeys</code>, and events for further keys share one overflow limit. Keys
+ * whose limit has refilled completely are forgotten to make room for new ones, checking at most once per emission
+ * interval.
+ * </p>
+ * <code>
+ * &lt;Console name="console"&gt;<br>
+ * &nbsp;&lt;PatternLayout pattern="%-5p %d{dd-MMM-yyyy HH:mm:ss} %x %t %m%n"/&gt;<br>
+ * &nbsp;&lt;Filters&gt;<br>
+ * &nbsp;&nbsp;&lt;RateLimitingFilter level="INFO" rate="16" maxBurst="100" key="LOGGER"/&gt;<br>
+ * &nbsp;&lt;/Filters&gt;<br>
+ * &lt;/Console&gt;<br>
+ * </code><br>
+ *
+ * @since 2.19.0
+ */
+@Plugin(name = "RateLimitingFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class RateLimitingFilter extends AbstractFilter {
+
+    /**
+     * What events share a rate limit.
+     */
+    public enum Key {
+        /** All events share one rate limit. */
+        NONE,
+        /** Events of each logger have their own rate limit. */
+        LOGGER,
+        /** Events with each marker have their own rate limit; events without a marker share one. */
+        MARKER
+    }
+
+    private static final long NANOS_IN_SECONDS = 1000000000;
+
+    private static final int DEFAULT_RATE = 10;
+
+    private static final int DEFAULT_RATE_MULTIPLE = 100;
+
+    private static final int DEFAULT_MAX_KEYS = 1000;
+
+    private final Level level;
+
+    private final Key key;
+
+    private final int maxKeys;
+
+    private final long emissionInterval;
+
+    private final long burstInterval;
+
+    private final TokenBucket shared;
+
+    private final ConcurrentMap<String, TokenBucket> buckets;
+
+    /**
+     * The earliest time the buckets are searched for ones that can be evicted again.
+     */
+    private final AtomicLong nextSweep;
+
+    private RateLimitingFilter(final Level level, final float rate, final long maxBurst, final Key key,
+            final int maxKeys, final Result onMatch, final Result onMismatch) {
+        super(onMatch, onMismatch);
+        this.level = level;
+        this.key = key;
+        this.maxKeys = maxKeys;
+        this.emissionInterval = Math.max(1, (long) (NANOS_IN_SECONDS / rate));
+        this.burstInterval = emissionInterval * maxBurst;
+        this.shared = new TokenBucket(System.nanoTime());
+        this.buckets = key == Key.NONE ? null : new ConcurrentHashMap<>();
+        this.nextSweep = new AtomicLong(System.nanoTime());
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+                         final Object... params) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final Object msg,
+                         final Throwable t) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final Message msg,
+                         final Throwable t) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final LogEvent event) {
+        if (!this.level.isMoreSpecificThan(event.getLevel())) {
+            return onMatch;
+        }
+        return tryAcquire(bucketFor(event.getLoggerName(), event.getMarker()));
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6,
+            final Object p7) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6,
+            final Object p7, final Object p8) {
+        return filter(level, logger, marker);
+    }
+
+    @Override
+    public Result filter(final Logger logger, final Level level, final Marker marker, final String msg,
+            final Object p0, final Object p1, final Object p2, final Object p3,
+            final Object p4, final Object p5, final Object p6,
+            final Object p7, final Object p8, final Object p9) {
+        return filter(level, logger, marker);
+    }
+
+    private Result filter(final Level level, final Logger logger, final Marker marker) {
+        if (!this.level.isMoreSpecificThan(level)) {
+            return onMatch;
+        }
+        return tryAcquire(bucketFor(logger != null ? logger.getName() : null, marker));
+    }
+
+    private Result tryAcquire(final TokenBucket bucket) {
+        return bucket.tryAcquire(System.nanoTime(), emissionInterval, burstInterval) ? onMatch : onMismatch;
+    }
+
+    private TokenBucket bucketFor(final String loggerName, final Marker marker) {
+        final String name;
+        switch (key) {
+        case LOGGER:
+            name = loggerName;
+            break;
+        case MARKER:
+            name = marker == null ? null : marker.getName();
+            break;
+        default:
+            return shared;
+        }
+        final String mapKey = name == null ? Strings.EMPTY : name;
+        final TokenBucket bucket = buckets.get(mapKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        final long now = System.nanoTime();
+        if (buckets.size() >= maxKeys && !evictFullBuckets(now)) {
+            // untracked keys share the overflow limit until a sweep makes room
+            return shared;
+        }
+        final TokenBucket created = new TokenBucket(now);
+        final TokenBucket existing = buckets.putIfAbsent(mapKey, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * Removes the buckets that have completely refilled, which are indistinguishable from new ones. Iterating all the
+     * buckets is too expensive to do for every event of an untracked key, so only one thread sweeps, at most once per
+     * emission interval.
+     *
+     * @return true if the map has room for another key.
+     */
+    private boolean evictFullBuckets(final long now) {
+        final long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + emissionInterval)) {
+            return false;
+        }
+        final Iterator<TokenBucket> iterator = buckets.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isFull(now)) {
+                iterator.remove();
+            }
+        }
+        return buckets.size() < maxKeys;
+    }
+
+    /**
+     * Returns the number of events that would currently be accepted for a key. Used for unit testing.
+     *
+     * @param name The logger or marker name, ignored unless limits are kept per key.
+     * @return The number of available slots.
+     */
+    public long getAvailable(final String name) {
+        TokenBucket bucket = shared;
+        if (buckets != null) {
+            bucket = buckets.get(name == null ? Strings.EMPTY : name);
+            if (bucket == null) {
+                return burstInterval / emissionInterval;
+            }
+        }
+        return bucket.available(System.nanoTime(), emissionInterval, burstInterval);
+    }
+
+    /**
+     * Refills all rate limits. Used for unit testing.
+     */
+    public void clear() {
+        shared.reset(System.nanoTime());
+        if (buckets != null) {
+            buckets.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "level=" + level.toString() + ", interval=" + emissionInterval + ", max="
+                + burstInterval / emissionInterval + ", key=" + key;
+    }
+
+    /**
+     * Token bucket expressed as the theoretical arrival time of the next event: accepting an event moves it one
+     * emission interval into the future, and an event is rejected when that would put it more than the burst interval
+     * ahead of now.
+     */
+    private static final class TokenBucket {
+
+        private final AtomicLong fullAt;
+
+        TokenBucket(final long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        boolean tryAcquire(final long now, final long emissionInterval, final long burstInterval) {
+            for (;;) {
+                final long current = fullAt.get();
+                final long next = (current - now < 0 ? now : current) + emissionInterval;
+                if (next - now > burstInterval) {
+                    return false;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        long available(final long now, final long emissionInterval, final long burstInterval) {
+            final long pending = fullAt.get() - now;
+            return pending <= 0 ? burstInterval / emissionInterval : (burstInterval - pending) / emissionInterval;
+        }
+
+        boolean isFull(final long now) {
+            return fullAt.get() - now <= 0;
+        }
+
+        void reset(final long now) {
+            fullAt.set(now);
+        }
+    }
+
+    @PluginBuilderFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder extends AbstractFilterBuilder<Builder> implements org.apache.logging.log4j.core.util.Builder<RateLimitingFilter> {
+
+        @PluginBuilderAttribute
+        private Level level = Level.WARN;
+
+        @PluginBuilderAttribute
+        private float rate = DEFAULT_RATE;
+
+        @PluginBuilderAttribute
+        private long maxBurst;
+
+        @PluginBuilderAttribute
+        private Key key = Key.NONE;
+
+        @PluginBuilderAttribute
+        private int maxKeys = DEFAULT_MAX_KEYS;
+
+        /**
+         * Sets the logging level to use.
+         * @param level the logging level to use.
+         * @return this
+         */
+        public Builder setLevel(final Level level) {
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * Sets the average number of events per second to allow.
+         * @param rate the average number of events per second to allow. This must be a positive number.
+         * @return this
+         */
+        public Builder setRate(final float rate) {
+            this.rate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of events that can occur before events are filtered for exceeding the average rate.
+         * @param maxBurst Sets the maximum number of events that can occur before events are filtered for exceeding the average rate.
+         * The default is 100 times the rate.
+         * @return this
+         */
+        public Builder setMaxBurst(final long maxBurst) {
+            this.maxBurst = maxBurst;
+            return this;
+        }
+
+        /**
+         * Sets what events share a rate limit.
+         * @param key NONE for a single limit, LOGGER or MARKER for one limit per logger or marker name.
+         * @return this
+         */
+        public Builder setKey(final Key key) {
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of logger or marker names that get their own rate limit.
+         * @param maxKeys the maximum number of keys tracked.
+         * @return this
+         */
+        public Builder setMaxKeys(final int maxKeys) {
+            this.maxKeys = maxKeys;
+            return this;
+        }
+
+        @Override
+        public RateLimitingFilter build() {
+            if (this.rate <= 0) {
+                this.rate = DEFAULT_RATE;
+            }
+            if (this.maxBurst <= 0) {
+                this.maxBurst = (long) (this.rate * DEFAULT_RATE_MULTIPLE);
+            }
+            if (this.maxKeys <= 0) {
+                this.maxKeys = DEFAULT_MAX_KEYS;
+            }
+            return new RateLimitingFilter(this.level, this.rate, this.maxBurst, this.key == null ? Key.NONE : this.key,
+                    this.maxKeys, this.getOnMatch(), this.getOnMismatch());
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.util.LoaderUtil;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Process-wide cache of the {@link ExtendedClassInfo} of the classes that appear in the stack traces of
+ * {@link ThrowableProxy} instances.
+ * <p>
+ * Resolving the class of a stack frame walks class loaders and reads the code source and manifest of the class, which
+ * is expensive, and unsuccessful lookups throw exceptions. The result of a lookup depends on the class loader the
+ * lookup starts from, so the cache holds one map per class loader. Lookups that do not start from a class loader fall
+ * back to the thread context class loader and are cached in one map per thread context class loader. Class loaders
+ * are referenced weakly so that the cache does not prevent them from being unloaded. Lookups do not lock. Each map holds about {@link #getMaxSize()}
+ * classes; when it is full, an arbitrary class is evicted to make room.
+ * </p>
+ * <p>
+ * The size is configured with the system property {@code log4j2.throwableClassCacheSize}; {@code 0} disables the cache.
+ * </p>
+ *
+ * @since 2.19.0
+ */
+public final class ExtendedClassInfoCache {
+
+    static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final ExtendedClassInfoCache INSTANCE = new ExtendedClassInfoCache(
+            PropertiesUtil.getProperties().getIntegerProperty("log4j2.throwableClassCacheSize", DEFAULT_MAX_SIZE));
+
+    private final int maxSize;
+
+    private final ConcurrentMap<LoaderKey, ConcurrentMap<String, ThrowableProxyHelper.CacheEntry>> loaderCaches =
+            new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<ClassLoader> unloadedLoaders = new ReferenceQueue<>();
+
+    /**
+     * Lookups that do not start from a class loader, by thread context class loader.
+     */
+    private final ConcurrentMap<LoaderKey, ConcurrentMap<String, ThrowableProxyHelper.CacheEntry>> contextLoaderCaches =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Lookups that do not start from a class loader, on threads without a context class loader.
+     */
+    private final ConcurrentMap<String, ThrowableProxyHelper.CacheEntry> defaultCache = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    ExtendedClassInfoCache(final int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+    }
+
+    /**
+     * Returns the process-wide cache.
+     *
+     * @return the process-wide cache.
+     */
+    public static ExtendedClassInfoCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the cached entry of the class with the given name as resolved starting from the given class loader.
+     *
+     * @param loader the class loader the lookup starts from, may be null.
+     * @param className the name of the class.
+     * @return the cached entry or {@code null}.
+     */
+    ThrowableProxyHelper.CacheEntry get(final ClassLoader loader, final String className) {
+        if (maxSize == 0) {
+            return null;
+        }
+        final ConcurrentMap<String, ThrowableProxyHelper.CacheEntry> cache;
+        if (loader != null) {
+            cache = loaderCaches.get(new LoaderKey(loader, null));
+        } else {
+            final ClassLoader contextLoader = LoaderUtil.getThreadContextClassLoader();
+            cache = contextLoader == null ? defaultCache : contextLoaderCaches.get(new LoaderKey(contextLoader, null));
+        }
+        final ThrowableProxyHelper.CacheEntry entry = cache == null ? null : cache.get(className);
+        if (entry != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Caches the entry of the class with the given name as resolved starting from the given class loader.
+     *
+     * @param loader the class loader the lookup started from, may be null.
+     * @param className the name of the class.
+     * @param entry the resolved entry.
+     */
+    void put(final ClassLoader loader, final String className, final ThrowableProxyHelper.CacheEntry entry) {
+        if (maxSize == 0) {
+            return;
+        }
+        final ConcurrentMap<String, ThrowableProxyHelper.CacheEntry> cache;
+        if (loader != null) {
+            cache = loaderCache(loaderCaches, loader);
+        } else {
+            final ClassLoader contextLoader = LoaderUtil.getThreadContextClassLoader();
+            cache = contextLoader == null ? defaultCache : loaderCache(contextLoaderCaches, contextLoader);
+        }
+        if (cache.put(className, entry) == null && cache.size() > maxSize) {
+            evict(cache, className);
+        }
+    }
+
+    private ConcurrentMap<String, ThrowableProxyHelper.CacheEntry> loaderCache(
+            final ConcurrentMap<LoaderKey, ConcurrentMap<String, ThrowableProxyHelper.CacheEntry>> caches,
+            final ClassLoader loader) {
+        expungeUnloadedLoaders();
+        return caches.computeIfAbsent(new LoaderKey(loader, unloadedLoaders), key -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Removes classes other than the one just added until the cache is back to its maximum size. Concurrent puts may
+     * overshoot the size or evict more than necessary, which is fine for a cache.
+     */
+    private void evict(final ConcurrentMap<String, ThrowableProxyHelper.CacheEntry> cache, final String added) {
+        final Iterator<String> classNames = cache.keySet().iterator();
+        while (cache.size() > maxSize && classNames.hasNext()) {
+            final String className = classNames.next();
+            if (!className.equals(added) && cache.remove(className) != null) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private void expungeUnloadedLoaders() {
+        Reference<? extends ClassLoader> ref;
+        while ((ref = unloadedLoaders.poll()) != null) {
+            loaderCaches.remove(ref);
+            contextLoaderCaches.remove(ref);
+        }
+    }
+
+    /**
+     * Removes all cached classes. The statistics are not reset.
+     */
+    public void clear() {
+        loaderCaches.clear();
+        contextLoaderCaches.clear();
+        defaultCache.clear();
+    }
+
+    /**
+     * Returns the number of lookups that found a cached class.
+     *
+     * @return the number of cache hits.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached class.
+     *
+     * @return the number of cache misses.
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of classes removed because a class loader's cache was full.
+     *
+     * @return the number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Returns the number of cached classes, over all class loaders.
+     *
+     * @return the number of cached classes.
+     */
+    public int getSize() {
+        int size = defaultCache.size();
+        for (final ConcurrentMap<String, ThrowableProxyHelper.CacheEntry> cache : loaderCaches.values()) {
+            size += cache.size();
+        }
+        for (final ConcurrentMap<String, ThrowableProxyHelper.CacheEntry> cache : contextLoaderCaches.values()) {
+            size += cache.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of classes cached per class loader.
+     *
+     * @return the maximum number of classes cached per class loader, {@code 0} if the cache is disabled.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ExtendedClassInfoCache[maxSize=" + maxSize + ", size=" + getSize() + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + "]";
+    }
+
+    /**
+     * Weak reference to a class loader that compares by identity. Lookups use a key without a queue.
+     */
+    private static final class LoaderKey extends WeakReference<ClassLoader> {
+
+        private final int hashCode;
+
+        LoaderKey(final ClassLoader loader, final ReferenceQueue<ClassLoader> queue) {
+            super(loader, queue);
+            this.hashCode = System.identityHashCode(loader);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof LoaderKey)) {
+                return false;
+            }
+            final ClassLoader loader = get();
+            return loader != null && loader == ((LoaderKey) obj).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
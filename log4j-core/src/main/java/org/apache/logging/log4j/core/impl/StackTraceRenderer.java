@@ -0,0 +1,440 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.impl;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.core.pattern.PlainTextRenderer;
+import org.apache.logging.log4j.core.util.Constants;
+import org.apache.logging.log4j.core.util.StringBuilderWriter;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Renders the stack trace of a {@link Throwable} directly into a {@link StringBuilder}, without creating a
+ * {@link ThrowableProxy}.
+ * <p>
+ * {@link #formatStackTrace(Throwable, StringBuilder)} produces the same text as {@link Throwable#printStackTrace()}.
+ * The text of each stack frame is cached, so the frames of a stack trace that has been rendered before are appended
+ * without creating strings. The size of this cache is configured with the system property
+ * {@code log4j2.throwableFrameCacheSize}; {@code 0} disables it.
+ * </p>
+ * <p>
+ * {@link #formatExtendedStackTrace(Throwable, StringBuilder, List, String, String)} produces the format of
+ * {@link ThrowableProxy#formatExtendedStackTraceTo(StringBuilder, List, org.apache.logging.log4j.core.pattern.TextRenderer, String, String)},
+ * taking the packaging information of each frame from the {@link ExtendedClassInfoCache}. The call stack of the
+ * rendering thread is not inspected, so all packaging information is marked as inexact with a {@code ~}, and a
+ * throwable that is reachable more than once through causes and suppressed exceptions is rendered only once.
+ * </p>
+ * <p>
+ * If {@link Constants#ENABLE_THREADLOCALS} is {@code true}, the state of a rendering is reused by each thread. Once
+ * the classes and frames of a stack trace are cached, rendering it then creates no objects apart from the copies of
+ * the stack trace and suppressed exceptions that {@link Throwable} returns.
+ * </p>
+ *
+ * @since 2.19.0
+ */
+public final class StackTraceRenderer {
+
+    static final int DEFAULT_FRAME_CACHE_SIZE = 4096;
+
+    private static final int FRAME_CACHE_SIZE = PropertiesUtil.getProperties()
+            .getIntegerProperty("log4j2.throwableFrameCacheSize", DEFAULT_FRAME_CACHE_SIZE);
+
+    private static final String CAUSE_CAPTION = "Caused by: ";
+
+    private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+
+    private static final Map<StackTraceElement, String> FRAMES = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
+    /**
+     * Whether the class inherits {@link Throwable#toString()}, which can then be rendered without creating a string.
+     */
+    private static final ClassValue<Boolean> STANDARD_TO_STRING = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            return isDeclaredByThrowable(type, "toString");
+        }
+    };
+
+    /**
+     * Whether the class inherits {@link Throwable#printStackTrace(PrintWriter)}, so that its output can be reproduced.
+     */
+    private static final ClassValue<Boolean> STANDARD_PRINT_STACK_TRACE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            return isDeclaredByThrowable(type, "printStackTrace", PrintWriter.class);
+        }
+    };
+
+    private StackTraceRenderer() {
+        // Utility Class
+    }
+
+    /**
+     * Appends the stack trace of the throwable, as printed by {@link Throwable#printStackTrace()}.
+     *
+     * @param throwable the throwable to render.
+     * @param sb        the destination.
+     */
+    public static void formatStackTrace(final Throwable throwable, final StringBuilder sb) {
+        if (!STANDARD_PRINT_STACK_TRACE.get(throwable.getClass())) {
+            throwable.printStackTrace(new PrintWriter(new StringBuilderWriter(sb)));
+            return;
+        }
+        final Context context = acquireContext();
+        try {
+            context.visited.add(throwable);
+            appendToString(sb, throwable);
+            sb.append(Strings.LINE_SEPARATOR);
+            final StackTraceElement[] trace = throwable.getStackTrace();
+            for (final StackTraceElement element : trace) {
+                appendFrame(sb, 0, element);
+            }
+            for (final Throwable suppressed : throwable.getSuppressed()) {
+                formatEnclosedStackTrace(sb, suppressed, trace, SUPPRESSED_CAPTION, 1, context);
+            }
+            final Throwable cause = throwable.getCause();
+            if (cause != null) {
+                formatEnclosedStackTrace(sb, cause, trace, CAUSE_CAPTION, 0, context);
+            }
+        } finally {
+            releaseContext(context);
+        }
+    }
+
+    private static void formatEnclosedStackTrace(final StringBuilder sb, final Throwable throwable,
+            final StackTraceElement[] enclosingTrace, final String caption, final int depth, final Context context) {
+        if (context.contains(throwable)) {
+            appendTabs(sb, depth);
+            sb.append(caption).append("[CIRCULAR REFERENCE: ");
+            appendToString(sb, throwable);
+            sb.append(']').append(Strings.LINE_SEPARATOR);
+            return;
+        }
+        context.visited.add(throwable);
+        final StackTraceElement[] trace = throwable.getStackTrace();
+        final int length = trace.length - commonFrameCount(trace, enclosingTrace);
+        appendTabs(sb, depth);
+        sb.append(caption);
+        appendToString(sb, throwable);
+        sb.append(Strings.LINE_SEPARATOR);
+        for (int i = 0; i < length; i++) {
+            appendFrame(sb, depth, trace[i]);
+        }
+        if (length < trace.length) {
+            appendTabs(sb, depth);
+            sb.append("\t... ").append(trace.length - length).append(" more").append(Strings.LINE_SEPARATOR);
+        }
+        for (final Throwable suppressed : throwable.getSuppressed()) {
+            formatEnclosedStackTrace(sb, suppressed, trace, SUPPRESSED_CAPTION, depth + 1, context);
+        }
+        final Throwable cause = throwable.getCause();
+        if (cause != null) {
+            formatEnclosedStackTrace(sb, cause, trace, CAUSE_CAPTION, depth, context);
+        }
+    }
+
+    private static void appendToString(final StringBuilder sb, final Throwable throwable) {
+        if (!STANDARD_TO_STRING.get(throwable.getClass())) {
+            sb.append(throwable.toString());
+            return;
+        }
+        sb.append(throwable.getClass().getName());
+        final String message = throwable.getLocalizedMessage();
+        if (message != null) {
+            sb.append(": ").append(message);
+        }
+    }
+
+    private static void appendFrame(final StringBuilder sb, final int depth, final StackTraceElement element) {
+        appendTabs(sb, depth);
+        sb.append("\tat ").append(getFrameText(element)).append(Strings.LINE_SEPARATOR);
+    }
+
+    private static String getFrameText(final StackTraceElement element) {
+        String text = FRAMES.get(element);
+        if (text == null) {
+            text = element.toString();
+            if (FRAME_CACHE_SIZE > 0) {
+                if (FRAMES.size() >= FRAME_CACHE_SIZE) {
+                    FRAMES.clear();
+                }
+                FRAMES.put(element, text);
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Appends the stack trace of the throwable including packaging information.
+     *
+     * @param throwable      the throwable to render.
+     * @param sb             the destination.
+     * @param ignorePackages the packages whose frames are left out, may be null.
+     * @param suffix         appended to the end of each line.
+     * @param lineSeparator  the end-of-line separator.
+     */
+    public static void formatExtendedStackTrace(final Throwable throwable, final StringBuilder sb,
+            final List<String> ignorePackages, final String suffix, final String lineSeparator) {
+        final Context context = acquireContext();
+        try {
+            context.visited.add(throwable);
+            sb.append(throwable.getClass().getName()).append(": ").append(throwable.getMessage());
+            appendSuffix(sb, suffix);
+            sb.append(lineSeparator);
+            final StackTraceElement[] trace = throwable.getStackTrace();
+            formatExtendedElements(sb, 0, trace, trace.length, ignorePackages, suffix, lineSeparator, context);
+            formatExtendedEnclosed(sb, throwable, trace, 0, ignorePackages, suffix, lineSeparator, context);
+        } finally {
+            releaseContext(context);
+        }
+    }
+
+    /**
+     * Renders the suppressed exceptions and causes of a throwable in the way a {@link ThrowableProxy} does: suppressed
+     * exceptions are rendered in full, while the frames a cause has in common with the root of its chain of causes
+     * are left out.
+     */
+    private static void formatExtendedEnclosed(final StringBuilder sb, final Throwable throwable,
+            final StackTraceElement[] rootTrace, final int depth, final List<String> ignorePackages,
+            final String suffix, final String lineSeparator, final Context context) {
+        for (final Throwable suppressed : throwable.getSuppressed()) {
+            if (!context.contains(suppressed)) {
+                context.visited.add(suppressed);
+                final StackTraceElement[] trace = suppressed.getStackTrace();
+                formatExtendedHeader(sb, suppressed, SUPPRESSED_CAPTION, depth + 1, suffix, lineSeparator);
+                formatExtendedElements(sb, depth + 1, trace, trace.length, ignorePackages, suffix, lineSeparator,
+                        context);
+                formatExtendedEnclosed(sb, suppressed, trace, depth + 1, ignorePackages, suffix, lineSeparator,
+                        context);
+            }
+        }
+        final Throwable cause = throwable.getCause();
+        if (cause != null && !context.contains(cause)) {
+            context.visited.add(cause);
+            final StackTraceElement[] trace = cause.getStackTrace();
+            final int length = trace.length - commonFrameCount(trace, rootTrace);
+            formatExtendedHeader(sb, cause, CAUSE_CAPTION, depth, suffix, lineSeparator);
+            formatExtendedElements(sb, depth, trace, length, ignorePackages, suffix, lineSeparator, context);
+            formatExtendedEnclosed(sb, cause, rootTrace, depth, ignorePackages, suffix, lineSeparator, context);
+        }
+    }
+
+    private static void formatExtendedHeader(final StringBuilder sb, final Throwable throwable, final String caption,
+            final int depth, final String suffix, final String lineSeparator) {
+        appendTabs(sb, depth);
+        sb.append(caption).append(throwable.getClass().getName());
+        final String message = throwable.getMessage();
+        if (message != null) {
+            sb.append(": ").append(message);
+        }
+        appendSuffix(sb, suffix);
+        sb.append(lineSeparator);
+    }
+
+    private static void formatExtendedElements(final StringBuilder sb, final int depth,
+            final StackTraceElement[] trace, final int length, final List<String> ignorePackages,
+            final String suffix, final String lineSeparator, final Context context) {
+        final ExtendedClassInfo[] classInfos = context.resolve(trace, length);
+        int ignoredCount = 0;
+        for (int i = 0; i < length; i++) {
+            if (isIgnored(trace[i], ignorePackages)) {
+                ignoredCount++;
+                continue;
+            }
+            if (ignoredCount > 0) {
+                appendIgnoredCount(sb, depth, ignoredCount, suffix, lineSeparator);
+                ignoredCount = 0;
+            }
+            appendTabs(sb, depth);
+            sb.append("\tat ");
+            appendExtendedFrame(sb, trace[i]);
+            sb.append(' ');
+            classInfos[i].renderOn(sb, PlainTextRenderer.getInstance());
+            appendSuffix(sb, suffix);
+            sb.append(lineSeparator);
+        }
+        if (ignoredCount > 0) {
+            appendIgnoredCount(sb, depth, ignoredCount, suffix, lineSeparator);
+        }
+        if (length < trace.length) {
+            appendTabs(sb, depth);
+            sb.append("\t... ").append(trace.length - length).append(" more");
+            appendSuffix(sb, suffix);
+            sb.append(lineSeparator);
+        }
+    }
+
+    private static void appendExtendedFrame(final StringBuilder sb, final StackTraceElement element) {
+        final String fileName = element.getFileName();
+        final int lineNumber = element.getLineNumber();
+        sb.append(element.getClassName()).append('.').append(element.getMethodName());
+        if (element.isNativeMethod()) {
+            sb.append("(Native Method)");
+        } else if (fileName != null && lineNumber >= 0) {
+            sb.append('(').append(fileName).append(':').append(lineNumber).append(')');
+        } else if (fileName != null) {
+            sb.append('(').append(fileName).append(')');
+        } else {
+            sb.append("(Unknown Source)");
+        }
+    }
+
+    private static void appendIgnoredCount(final StringBuilder sb, final int depth, final int count,
+            final String suffix, final String lineSeparator) {
+        appendTabs(sb, depth);
+        if (count == 1) {
+            sb.append("\t... ");
+        } else {
+            sb.append("\t... suppressed ").append(count).append(" lines");
+        }
+        appendSuffix(sb, suffix);
+        sb.append(lineSeparator);
+    }
+
+    private static boolean isIgnored(final StackTraceElement element, final List<String> ignorePackages) {
+        if (ignorePackages != null) {
+            final String className = element.getClassName();
+            // noinspection ForLoopReplaceableByForEach (avoid iterator allocation)
+            for (int i = 0; i < ignorePackages.size(); i++) {
+                if (className.startsWith(ignorePackages.get(i))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void appendSuffix(final StringBuilder sb, final String suffix) {
+        if (suffix != null && !suffix.isEmpty()) {
+            sb.append(' ').append(suffix);
+        }
+    }
+
+    private static void appendTabs(final StringBuilder sb, final int depth) {
+        for (int i = 0; i < depth; i++) {
+            sb.append('\t');
+        }
+    }
+
+    private static int commonFrameCount(final StackTraceElement[] trace, final StackTraceElement[] enclosingTrace) {
+        int m = trace.length - 1;
+        int n = enclosingTrace.length - 1;
+        while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+            m--;
+            n--;
+        }
+        return trace.length - 1 - m;
+    }
+
+    private static boolean isDeclaredByThrowable(final Class<?> type, final String name,
+            final Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes).getDeclaringClass() == Throwable.class;
+        } catch (final NoSuchMethodException | SecurityException e) {
+            return false;
+        }
+    }
+
+    private static Context acquireContext() {
+        if (Constants.ENABLE_THREADLOCALS) {
+            Context context = CONTEXT.get();
+            if (context == null) {
+                context = new Context();
+                CONTEXT.set(context);
+            }
+            // A throwable that logs while it is rendered must not clear the state of the outer rendering.
+            if (!context.inUse) {
+                context.inUse = true;
+                return context;
+            }
+        }
+        return new Context();
+    }
+
+    private static void releaseContext(final Context context) {
+        context.clear();
+        context.inUse = false;
+    }
+
+    /**
+     * State of a rendering, reused by each thread if thread locals are enabled.
+     */
+    private static final class Context {
+
+        private static final int MAX_RETAINED_FRAMES = 1024;
+
+        /**
+         * Throwables rendered so far. Stack traces are short, so a list searched by identity beats a set.
+         */
+        final List<Throwable> visited = new ArrayList<>();
+
+        private ExtendedClassInfo[] classInfos = new ExtendedClassInfo[64];
+
+        boolean inUse;
+
+        boolean contains(final Throwable throwable) {
+            // noinspection ForLoopReplaceableByForEach (avoid iterator allocation)
+            for (int i = 0; i < visited.size(); i++) {
+                if (visited.get(i) == throwable) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Resolves the packaging information of the first frames of a stack trace. Like
+         * {@link ThrowableProxyHelper#toExtendedStackTrace}, it walks the frames from the bottom, looking up each
+         * class starting from the class loader of the frame below it.
+         */
+        ExtendedClassInfo[] resolve(final StackTraceElement[] trace, final int length) {
+            if (classInfos.length < length) {
+                classInfos = new ExtendedClassInfo[Math.max(length, classInfos.length << 1)];
+            }
+            ClassLoader lastLoader = null;
+            for (int i = length - 1; i >= 0; i--) {
+                final ThrowableProxyHelper.CacheEntry entry =
+                        ThrowableProxyHelper.getCacheEntry(lastLoader, trace[i].getClassName());
+                classInfos[i] = entry.getElement();
+                final ClassLoader loader = entry.getLoader();
+                if (loader != null) {
+                    lastLoader = loader;
+                }
+            }
+            return classInfos;
+        }
+
+        void clear() {
+            visited.clear();
+            if (classInfos.length > MAX_RETAINED_FRAMES) {
+                classInfos = new ExtendedClassInfo[64];
+            } else {
+                // Do not keep the packaging information, and through it the classes, reachable from the thread.
+                Arrays.fill(classInfos, null);
+            }
+        }
+    }
+}
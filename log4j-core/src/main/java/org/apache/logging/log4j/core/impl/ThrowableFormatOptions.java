@@ -56,6 +56,11 @@ public final class ThrowableFormatOptions {
      */
     private static final String SHORT = "short";
 
+    /**
+     * Default number of renderings cached when deduplication is enabled without an explicit cache size.
+     */
+    private static final int DEFAULT_CACHE_SIZE = 128;
+
     /**
      * ANSI renderer
      */
@@ -78,6 +83,21 @@ public final class ThrowableFormatOptions {
      */
     private final List<String> ignorePackages;
 
+    /**
+     * The number of renderings cached by stack trace fingerprint, 0 to disable the cache.
+     */
+    private final int cacheSize;
+
+    /**
+     * The time after the full rendering of a stack trace during which it is only referenced, 0 to disable.
+     */
+    private final long dedupWindowMillis;
+
+    /**
+     * Whether extended stack traces are rendered without creating a {@link ThrowableProxy}.
+     */
+    private final boolean directRendering;
+
     public static final String CLASS_NAME = "short.className";
     public static final String METHOD_NAME = "short.methodName";
     public static final String LINE_NUMBER = "short.lineNumber";
@@ -100,11 +120,41 @@ public final class ThrowableFormatOptions {
      */
     protected ThrowableFormatOptions(final int lines, final String separator, final List<String> ignorePackages,
             final TextRenderer textRenderer, final String suffix) {
+        this(lines, separator, ignorePackages, textRenderer, suffix, 0, 0, false);
+    }
+
+    /**
+     * Constructs the options for printing stack trace.
+     *
+     * @param lines
+     *            The number of lines.
+     * @param separator
+     *            The stack trace separator.
+     * @param ignorePackages
+     *            The packages to filter.
+     * @param textRenderer
+     *            The ANSI renderer
+     * @param suffix
+     *            The suffix pattern.
+     * @param cacheSize
+     *            The number of renderings cached by stack trace fingerprint, 0 to disable the cache.
+     * @param dedupWindowMillis
+     *            The time after the full rendering of a stack trace during which it is only referenced, 0 to disable.
+     * @param directRendering
+     *            Whether extended stack traces are rendered without creating a {@link ThrowableProxy}.
+     * @since 2.19.0
+     */
+    protected ThrowableFormatOptions(final int lines, final String separator, final List<String> ignorePackages,
+            final TextRenderer textRenderer, final String suffix, final int cacheSize, final long dedupWindowMillis,
+            final boolean directRendering) {
         this.lines = lines;
         this.separator = separator == null ? Strings.LINE_SEPARATOR : separator;
         this.ignorePackages = ignorePackages;
         this.textRenderer = textRenderer == null ? PlainTextRenderer.getInstance() : textRenderer;
         this.suffix = suffix;
+        this.cacheSize = cacheSize;
+        this.dedupWindowMillis = dedupWindowMillis;
+        this.directRendering = directRendering;
     }
 
     /**
@@ -198,6 +248,38 @@ public final class ThrowableFormatOptions {
         return this.ignorePackages != null && !this.ignorePackages.isEmpty();
     }
 
+    /**
+     * Returns the number of renderings cached by stack trace fingerprint.
+     *
+     * @return The number of cached renderings, 0 if rendered stack traces are not cached.
+     * @since 2.19.0
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Returns the time after the full rendering of a stack trace during which further occurrences are only
+     * referenced by fingerprint.
+     *
+     * @return The deduplication window in milliseconds, 0 if stack traces are not deduplicated.
+     * @since 2.19.0
+     */
+    public long getDedupWindowMillis() {
+        return dedupWindowMillis;
+    }
+
+    /**
+     * Returns whether extended stack traces are rendered by the {@link StackTraceRenderer} instead of a
+     * {@link ThrowableProxy}. The packaging information is then marked as inexact.
+     *
+     * @return {@code true} if the {@code direct} option is set.
+     * @since 2.19.0
+     */
+    public boolean isDirectRendering() {
+        return directRendering;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -216,6 +298,15 @@ public final class ThrowableFormatOptions {
             s.deleteCharAt(s.length() - 1);
             s.append(")}");
         }
+        if (cacheSize > 0) {
+            s.append("{cache(").append(cacheSize).append(")}");
+        }
+        if (dedupWindowMillis > 0) {
+            s.append("{dedup(").append(dedupWindowMillis).append(")}");
+        }
+        if (directRendering) {
+            s.append("{direct}");
+        }
         return s.toString();
     }
 
@@ -252,6 +343,9 @@ public final class ThrowableFormatOptions {
         List<String> packages = DEFAULT.ignorePackages;
         TextRenderer ansiRenderer = DEFAULT.textRenderer;
         String suffix = DEFAULT.getSuffix();
+        int cacheSize = DEFAULT.cacheSize;
+        long dedupWindowMillis = DEFAULT.dedupWindowMillis;
+        boolean directRendering = DEFAULT.directRendering;
         for (final String rawOption : options) {
             if (rawOption != null) {
                 final String option = rawOption.trim();
@@ -294,12 +388,24 @@ public final class ThrowableFormatOptions {
                     suffix = option.substring("S(".length(), option.length() - 1);
                 } else if (option.startsWith("suffix(") && option.endsWith(")")){
                     suffix = option.substring("suffix(".length(), option.length() - 1);
+                } else if (option.startsWith("cache(") && option.endsWith(")")) {
+                    cacheSize = Integers.parseInt(option.substring("cache(".length(), option.length() - 1));
+                } else if (option.equals("cache")) {
+                    cacheSize = DEFAULT_CACHE_SIZE;
+                } else if (option.startsWith("dedup(") && option.endsWith(")")) {
+                    dedupWindowMillis = Long.parseLong(option.substring("dedup(".length(), option.length() - 1).trim());
+                } else if (option.equals("direct")) {
+                    directRendering = true;
                 } else if (!option.equalsIgnoreCase(FULL)) {
                     lines = Integers.parseInt(option);
                 }
             }
         }
-        return new ThrowableFormatOptions(lines, separator, packages, ansiRenderer, suffix);
+        if (dedupWindowMillis > 0 && cacheSize <= 0) {
+            cacheSize = DEFAULT_CACHE_SIZE;
+        }
+        return new ThrowableFormatOptions(lines, separator, packages, ansiRenderer, suffix, cacheSize,
+                dedupWindowMillis, directRendering);
     }
 
     public String getSuffix() {
@@ -16,6 +16,7 @@
  */
 package org.apache.logging.log4j.core.impl;
 
+import java.lang.ref.WeakReference;
 import java.net.URL;
 import java.security.CodeSource;
 import java.util.ArrayList;
@@ -35,6 +36,8 @@ import org.apache.logging.log4j.util.LoaderUtil;
  */
 class ThrowableProxyHelper {
 
+    private static final ExtendedClassInfoCache CACHE = ExtendedClassInfoCache.getInstance();
+
     private ThrowableProxyHelper() {
         // Utility Class
     }
@@ -42,16 +45,25 @@ class ThrowableProxyHelper {
     /**
      * Cached StackTracePackageElement and ClassLoader.
      * <p>
-     * Consider this class private.
+     * Consider this class private. The ClassLoader is referenced weakly as entries are shared through the
+     * {@link ExtendedClassInfoCache}.
      * </p>
      */
     static final class CacheEntry {
         private final ExtendedClassInfo element;
-        private final ClassLoader loader;
+        private final WeakReference<ClassLoader> loader;
 
-        private CacheEntry(final ExtendedClassInfo element, final ClassLoader loader) {
+        CacheEntry(final ExtendedClassInfo element, final ClassLoader loader) {
             this.element = element;
-            this.loader = loader;
+            this.loader = loader == null ? null : new WeakReference<>(loader);
+        }
+
+        ExtendedClassInfo getElement() {
+            return element;
+        }
+
+        ClassLoader getLoader() {
+            return loader == null ? null : loader.get();
         }
     }
 
@@ -60,7 +72,7 @@ class ThrowableProxyHelper {
      *
      * @param src        Instance for which to build an extended stack trace.
      * @param stack      The callers Class stack.
-     * @param map        The cache of CacheEntry objects.
+     * @param map        The cache of CacheEntry objects of this Throwable, backed by the {@link ExtendedClassInfoCache}.
      * @param rootTrace  The first stack trace resolve or null.
      * @param stackTrace The stack trace being resolved.
      * @return The StackTracePackageElement array.
@@ -97,24 +109,19 @@ class ThrowableProxyHelper {
             if (clazz != null && className.equals(clazz.getName())) {
                 final CacheEntry entry = toCacheEntry(clazz, true);
                 extClassInfo = entry.element;
-                lastLoader = entry.loader;
+                lastLoader = entry.getLoader();
                 stack.pop();
                 clazz = stack.isEmpty() ? null : stack.peek();
             } else {
-                final CacheEntry cacheEntry = map.get(className);
-                if (cacheEntry != null) {
-                    final CacheEntry entry = cacheEntry;
-                    extClassInfo = entry.element;
-                    if (entry.loader != null) {
-                        lastLoader = entry.loader;
-                    }
-                } else {
-                    final CacheEntry entry = toCacheEntry(ThrowableProxyHelper.loadClass(lastLoader, className), false);
-                    extClassInfo = entry.element;
+                CacheEntry entry = map.get(className);
+                if (entry == null) {
+                    entry = getCacheEntry(lastLoader, className);
                     map.put(className, entry);
-                    if (entry.loader != null) {
-                        lastLoader = entry.loader;
-                    }
+                }
+                extClassInfo = entry.element;
+                final ClassLoader loader = entry.getLoader();
+                if (loader != null) {
+                    lastLoader = loader;
                 }
             }
             extStackTrace[i] = new ExtendedStackTraceElement(stackTraceElement, extClassInfo);
@@ -122,6 +129,23 @@ class ThrowableProxyHelper {
         return extStackTrace;
     }
 
+    /**
+     * Returns the entry of a class that is not on the callers Class stack, from the {@link ExtendedClassInfoCache} if
+     * possible.
+     *
+     * @param lastLoader The ClassLoader of the previous stack frame, may be null.
+     * @param className  The name of the Class.
+     * @return The CacheEntry.
+     */
+    static CacheEntry getCacheEntry(final ClassLoader lastLoader, final String className) {
+        CacheEntry entry = CACHE.get(lastLoader, className);
+        if (entry == null) {
+            entry = toCacheEntry(ThrowableProxyHelper.loadClass(lastLoader, className), false);
+            CACHE.put(lastLoader, className, entry);
+        }
+        return entry;
+    }
+
     static ThrowableProxy[] toSuppressedProxies(final Throwable thrown, Set<Throwable> suppressedVisited) {
         try {
             final Throwable[] suppressed = thrown.getSuppressed();
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.core.impl.ExtendedClassInfoCache;
+
+/**
+ * Implementation of the {@code ExtendedClassInfoCacheAdminMBean} interface.
+ *
+ * @since 2.19.0
+ */
+public class ExtendedClassInfoCacheAdmin implements ExtendedClassInfoCacheAdminMBean {
+
+    private final ObjectName objectName;
+    private final ExtendedClassInfoCache cache;
+
+    /**
+     * Constructs a new {@code ExtendedClassInfoCacheAdmin}.
+     *
+     * @param cache the instrumented object
+     */
+    public ExtendedClassInfoCacheAdmin(final ExtendedClassInfoCache cache) {
+        this.cache = cache;
+        try {
+            objectName = new ObjectName(NAME);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the {@code ObjectName} of this mbean.
+     *
+     * @return the {@code ObjectName}
+     * @see ExtendedClassInfoCacheAdminMBean#NAME
+     */
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    @Override
+    public int getSize() {
+        return cache.getSize();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return cache.getMaxSize();
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+/**
+ * The MBean interface for monitoring the cache of classes resolved for the extended stack traces of logged
+ * exceptions.
+ *
+ * @see org.apache.logging.log4j.core.impl.ExtendedClassInfoCache
+ * @since 2.19.0
+ */
+public interface ExtendedClassInfoCacheAdminMBean {
+    /**
+     * ObjectName ({@value}) of the ExtendedClassInfoCacheAdmin MBean.
+     * <p>
+     * The cache is shared by the whole process, so unlike most Log4j MBeans
+     * it is registered once instead of once per logger context. It is
+     * unregistered together with the last logger context.
+     * </p>
+     */
+    String NAME = Server.DOMAIN + ":component=ExtendedClassInfoCache";
+
+    /**
+     * Returns the number of class lookups that were answered from the cache.
+     *
+     * @return the number of cache hits.
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of class lookups that had to resolve the class.
+     *
+     * @return the number of cache misses.
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of classes removed from the cache because it was full.
+     *
+     * @return the number of evictions.
+     */
+    long getEvictionCount();
+
+    /**
+     * Returns the number of cached classes.
+     *
+     * @return the number of cached classes.
+     */
+    int getSize();
+
+    /**
+     * Returns the maximum number of classes cached per class loader.
+     *
+     * @return the maximum number of classes cached per class loader, {@code 0} if the cache is disabled.
+     */
+    int getMaxSize();
+
+    /**
+     * Removes all cached classes.
+     */
+    void clear();
+}
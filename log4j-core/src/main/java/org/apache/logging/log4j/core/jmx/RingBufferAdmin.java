@@ -19,6 +19,8 @@ package org.apache.logging.log4j.core.jmx;
 import javax.management.ObjectName;
 
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.WaitStrategy;
+import org.apache.logging.log4j.core.async.AdaptiveWaitStrategy;
 
 /**
  * Instruments an LMAX Disruptor ring buffer.
@@ -26,24 +28,65 @@ import com.lmax.disruptor.RingBuffer;
 public class RingBufferAdmin implements RingBufferAdminMBean {
 
     private final RingBuffer<?> ringBuffer;
+    private final WaitStrategy waitStrategy;
     private final ObjectName objectName;
 
     public static RingBufferAdmin forAsyncLogger(final RingBuffer<?> ringBuffer, final String contextName) {
+        return forAsyncLogger(ringBuffer, null, contextName);
+    }
+
+    /**
+     * Creates a RingBufferAdmin for the global {@code AsyncLogger} ring buffer that also reports the state of its
+     * wait strategy.
+     *
+     * @param ringBuffer the ring buffer, may be null.
+     * @param waitStrategy the wait strategy of the ring buffer's consumer, may be null.
+     * @param contextName the name of the context.
+     * @return a new RingBufferAdmin.
+     * @since 2.19.0
+     */
+    public static RingBufferAdmin forAsyncLogger(final RingBuffer<?> ringBuffer, final WaitStrategy waitStrategy,
+            final String contextName) {
         final String ctxName = Server.escape(contextName);
         final String name = String.format(PATTERN_ASYNC_LOGGER, ctxName);
-        return new RingBufferAdmin(ringBuffer, name);
+        return new RingBufferAdmin(ringBuffer, waitStrategy, name);
     }
 
     public static RingBufferAdmin forAsyncLoggerConfig(final RingBuffer<?> ringBuffer,
             final String contextName, final String configName) {
+        return forAsyncLoggerConfig(ringBuffer, null, contextName, configName);
+    }
+
+    /**
+     * Creates a RingBufferAdmin for an {@code AsyncLoggerConfig} ring buffer that also reports the state of its
+     * wait strategy.
+     *
+     * @param ringBuffer the ring buffer, may be null.
+     * @param waitStrategy the wait strategy of the ring buffer's consumer, may be null.
+     * @param contextName the name of the context.
+     * @param configName the name of the logger config.
+     * @return a new RingBufferAdmin.
+     * @since 2.19.0
+     */
+    public static RingBufferAdmin forAsyncLoggerConfig(final RingBuffer<?> ringBuffer, final WaitStrategy waitStrategy,
+            final String contextName, final String configName) {
         final String ctxName = Server.escape(contextName);
         final String cfgName = Server.escape(configName);
         final String name = String.format(PATTERN_ASYNC_LOGGER_CONFIG, ctxName, cfgName);
-        return new RingBufferAdmin(ringBuffer, name);
+        return new RingBufferAdmin(ringBuffer, waitStrategy, name);
     }
 
     protected RingBufferAdmin(final RingBuffer<?> ringBuffer, final String mbeanName) {
+        this(ringBuffer, null, mbeanName);
+    }
+
+    /**
+     * @since 2.19.0
+     */
+    protected RingBufferAdmin(final RingBuffer<?> ringBuffer, final WaitStrategy waitStrategy,
+            final String mbeanName) {
         this.ringBuffer = ringBuffer;
+        this.waitStrategy = waitStrategy;
         try {
             objectName = new ObjectName(mbeanName);
         } catch (final Exception e) {
@@ -61,6 +104,40 @@ public class RingBufferAdmin implements RingBufferAdminMBean {
         return ringBuffer == null ? 0 : ringBuffer.remainingCapacity();
     }
 
+    @Override
+    public String getWaitStrategy() {
+        return waitStrategy == null ? null : waitStrategy.getClass().getSimpleName();
+    }
+
+    @Override
+    public long getWaitStrategyArrivalIntervalNanos() {
+        return adaptiveWaitStrategy() == null ? 0 : adaptiveWaitStrategy().getArrivalIntervalNanos();
+    }
+
+    @Override
+    public long getWaitStrategySpinTimeNanos() {
+        return adaptiveWaitStrategy() == null ? 0 : adaptiveWaitStrategy().getSpinTimeNanos();
+    }
+
+    @Override
+    public long getWaitStrategySpinWakeups() {
+        return adaptiveWaitStrategy() == null ? 0 : adaptiveWaitStrategy().getSpinWakeups();
+    }
+
+    @Override
+    public long getWaitStrategyYieldWakeups() {
+        return adaptiveWaitStrategy() == null ? 0 : adaptiveWaitStrategy().getYieldWakeups();
+    }
+
+    @Override
+    public long getWaitStrategyParkWakeups() {
+        return adaptiveWaitStrategy() == null ? 0 : adaptiveWaitStrategy().getParkWakeups();
+    }
+
+    private AdaptiveWaitStrategy adaptiveWaitStrategy() {
+        return waitStrategy instanceof AdaptiveWaitStrategy ? (AdaptiveWaitStrategy) waitStrategy : null;
+    }
+
     /**
      * Returns the {@code ObjectName} of this mbean.
      *
@@ -68,4 +68,69 @@ public interface RingBufferAdminMBean {
      * @return the number of available slots in the ring buffer
      */
     long getRemainingCapacity();
+
+    /**
+     * Returns the simple class name of the wait strategy used by the ring buffer's consumer thread.
+     *
+     * @return the name of the wait strategy, or {@code null} if unknown
+     * @since 2.19.0
+     */
+    default String getWaitStrategy() {
+        return null;
+    }
+
+    /**
+     * Returns the moving average of the interval between two log events as observed by the
+     * {@code AdaptiveWaitStrategy}, in nanoseconds. Returns zero for other wait strategies.
+     *
+     * @return the moving average of the interval between two log events
+     * @since 2.19.0
+     */
+    default long getWaitStrategyArrivalIntervalNanos() {
+        return 0;
+    }
+
+    /**
+     * Returns the time the {@code AdaptiveWaitStrategy} currently spins and yields before it parks the consumer
+     * thread, in nanoseconds. Returns zero for other wait strategies.
+     *
+     * @return the current spin time
+     * @since 2.19.0
+     */
+    default long getWaitStrategySpinTimeNanos() {
+        return 0;
+    }
+
+    /**
+     * Returns how many waits of the {@code AdaptiveWaitStrategy} ended while spinning. Returns zero for other wait
+     * strategies.
+     *
+     * @return the number of waits that ended while spinning
+     * @since 2.19.0
+     */
+    default long getWaitStrategySpinWakeups() {
+        return 0;
+    }
+
+    /**
+     * Returns how many waits of the {@code AdaptiveWaitStrategy} ended while yielding. Returns zero for other wait
+     * strategies.
+     *
+     * @return the number of waits that ended while yielding
+     * @since 2.19.0
+     */
+    default long getWaitStrategyYieldWakeups() {
+        return 0;
+    }
+
+    /**
+     * Returns how many waits of the {@code AdaptiveWaitStrategy} ended after parking the consumer thread. Returns
+     * zero for other wait strategies.
+     *
+     * @return the number of waits that ended after parking
+     * @since 2.19.0
+     */
+    default long getWaitStrategyParkWakeups() {
+        return 0;
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+/**
+ * The MBean interface for monitoring and managing a {@code RoutingAppender}.
+ *
+ * @since 2.19.0
+ */
+public interface RoutingAppenderAdminMBean {
+    /**
+     * ObjectName pattern ({@value} ) for RoutingAppenderAdmin MBeans. This
+     * pattern contains two variables, where the first is the name of the
+     * context, the second is the name of the instrumented appender.
+     * <p>
+     * You can find all registered RoutingAppenderAdmin MBeans like this:
+     * </p>
+     *
+     * <pre>
+     * MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+     * String pattern = String.format(RoutingAppenderAdminMBean.PATTERN, &quot;*&quot;, &quot;*&quot;);
+     * Set&lt;ObjectName&gt; appenderNames = mbs.queryNames(new ObjectName(pattern), null);
+     * </pre>
+     *
+     * @see Server#escape(String)
+     */
+    String PATTERN = Server.DOMAIN + ":type=%s,component=RoutingAppenders,name=%s";
+
+    /**
+     * Returns the name of the instrumented {@code RoutingAppender}.
+     *
+     * @return the name of the RoutingAppender
+     */
+    String getName();
+
+    /**
+     * Returns how exceptions thrown on the instrumented {@code RoutingAppender}
+     * are handled.
+     *
+     * @return {@code true} if any exceptions thrown by the RoutingAppender will
+     *         be logged or {@code false} if such exceptions are re-thrown.
+     */
+    boolean isIgnoreExceptions();
+
+    /**
+     * Returns the result of calling {@code toString} on the error handler of
+     * this appender, or {@code "null"} if no error handler was set.
+     *
+     * @return result of calling {@code toString} on the error handler of this
+     *         appender, or {@code "null"}
+     */
+    String getErrorHandler();
+
+    /**
+     * Returns a string description of all filters configured for the
+     * instrumented {@code RoutingAppender}.
+     *
+     * @return a string description of all configured filters for this appender
+     */
+    String getFilter();
+
+    /**
+     * Returns the result of calling {@code toString} on the routes of the
+     * instrumented {@code RoutingAppender}.
+     *
+     * @return the routes of this appender as a string
+     */
+    String getRoutes();
+
+    /**
+     * Returns the result of calling {@code toString} on the purge policy of
+     * this appender, or {@code "null"} if no purge policy was set.
+     *
+     * @return result of calling {@code toString} on the purge policy of this
+     *         appender, or {@code "null"}
+     */
+    String getPurgePolicy();
+
+    /**
+     * Returns the number of appenders currently created by the routes.
+     *
+     * @return the number of created appenders
+     */
+    int getAppenderCount();
+
+    /**
+     * Returns the number of events that were routed to an existing appender.
+     *
+     * @return the number of route cache hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of events for which an appender had to be created.
+     *
+     * @return the number of route cache misses
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of created appenders that were purged.
+     *
+     * @return the number of route cache evictions
+     */
+    long getEvictionCount();
+}
@@ -28,6 +28,7 @@ import javax.management.InstanceAlreadyExistsException;
 import javax.management.InstanceNotFoundException;
 import javax.management.MBeanRegistrationException;
 import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
 import javax.management.NotCompliantMBeanException;
 import javax.management.ObjectName;
 
@@ -35,9 +36,11 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.AsyncAppender;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfig;
 import org.apache.logging.log4j.core.async.AsyncLoggerContext;
 import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.impl.ExtendedClassInfoCache;
 import org.apache.logging.log4j.core.impl.Log4jContextFactory;
 import org.apache.logging.log4j.core.selector.ContextSelector;
 import org.apache.logging.log4j.core.util.Constants;
@@ -157,6 +160,7 @@ public final class Server {
             }
             LOGGER.trace("Reregistering MBeans after reconfigure. Selector={}", selector);
             final List<LoggerContext> contexts = selector.getLoggerContexts();
+            registerExtendedClassInfoCache(mbs);
             int i = 0;
             for (final LoggerContext ctx : contexts) {
                 LOGGER.trace("Reregistering context ({}/{}): '{}' {}", ++i, contexts.size(), ctx.getName(), ctx);
@@ -211,12 +215,14 @@ public final class Server {
 		if (mbs != null) {
 			unregisterStatusLogger(CONTEXT_NAME_ALL, mbs);
 			unregisterContextSelector(CONTEXT_NAME_ALL, mbs);
+			unregisterExtendedClassInfoCache(mbs);
 			unregisterContexts(mbs);
 			unregisterLoggerConfigs(CONTEXT_NAME_ALL, mbs);
 			unregisterAsyncLoggerRingBufferAdmins(CONTEXT_NAME_ALL, mbs);
 			unregisterAsyncLoggerConfigRingBufferAdmins(CONTEXT_NAME_ALL, mbs);
 			unregisterAppenders(CONTEXT_NAME_ALL, mbs);
 			unregisterAsyncAppenders(CONTEXT_NAME_ALL, mbs);
+			unregisterRoutingAppenders(CONTEXT_NAME_ALL, mbs);
 		}
 	}
 
@@ -266,8 +272,19 @@ public final class Server {
         unregisterLoggerConfigs(contextName, mbs);
         unregisterAppenders(contextName, mbs);
         unregisterAsyncAppenders(contextName, mbs);
+        unregisterRoutingAppenders(contextName, mbs);
         unregisterAsyncLoggerRingBufferAdmins(contextName, mbs);
         unregisterAsyncLoggerConfigRingBufferAdmins(contextName, mbs);
+
+        // the cache is shared by all logger contexts, its MBean goes away with the last one
+        final String contexts = String.format(LoggerContextAdminMBean.PATTERN, "*");
+        try {
+            if (mbs.queryNames(new ObjectName(contexts), null).isEmpty()) {
+                unregisterExtendedClassInfoCache(mbs);
+            }
+        } catch (final MalformedObjectNameException ex) {
+            LOGGER.error("Could not query MBeans for " + contexts, ex);
+        }
     }
 
     private static void registerStatusLogger(final String contextName, final MBeanServer mbs, final Executor executor)
@@ -285,6 +302,15 @@ public final class Server {
         register(mbs, mbean, mbean.getObjectName());
     }
 
+    private static void registerExtendedClassInfoCache(final MBeanServer mbs)
+            throws InstanceAlreadyExistsException, MBeanRegistrationException, NotCompliantMBeanException {
+
+        final ExtendedClassInfoCacheAdmin mbean = new ExtendedClassInfoCacheAdmin(ExtendedClassInfoCache.getInstance());
+        if (!mbs.isRegistered(mbean.getObjectName())) {
+            register(mbs, mbean, mbean.getObjectName());
+        }
+    }
+
     private static void unregisterStatusLogger(final String contextName, final MBeanServer mbs) {
         final String search = String.format(StatusLoggerAdminMBean.PATTERN, escape(contextName), "*");
         unregisterAllMatching(search, mbs);
@@ -295,6 +321,10 @@ public final class Server {
         unregisterAllMatching(search, mbs);
     }
 
+    private static void unregisterExtendedClassInfoCache(final MBeanServer mbs) {
+        unregisterAllMatching(ExtendedClassInfoCacheAdminMBean.NAME, mbs);
+    }
+
     private static void unregisterLoggerConfigs(final String contextName, final MBeanServer mbs) {
         final String pattern = LoggerConfigAdminMBean.PATTERN;
         final String search = String.format(pattern, escape(contextName), "*");
@@ -319,6 +349,12 @@ public final class Server {
         unregisterAllMatching(search, mbs);
     }
 
+    private static void unregisterRoutingAppenders(final String contextName, final MBeanServer mbs) {
+        final String pattern = RoutingAppenderAdminMBean.PATTERN;
+        final String search = String.format(pattern, escape(contextName), "*");
+        unregisterAllMatching(search, mbs);
+    }
+
     private static void unregisterAsyncLoggerRingBufferAdmins(final String contextName, final MBeanServer mbs) {
         final String pattern1 = RingBufferAdminMBean.PATTERN_ASYNC_LOGGER;
         final String search1 = String.format(pattern1, escape(contextName));
@@ -380,6 +416,10 @@ public final class Server {
                 final AsyncAppender async = ((AsyncAppender) appender);
                 final AsyncAppenderAdmin mbean = new AsyncAppenderAdmin(ctx.getName(), async);
                 register(mbs, mbean, mbean.getObjectName());
+            } else if (appender instanceof RoutingAppender) {
+                final RoutingAppender routing = (RoutingAppender) appender;
+                final RoutingAppenderAdmin mbean = new RoutingAppenderAdmin(ctx.getName(), routing);
+                register(mbs, mbean, mbean.getObjectName());
             } else {
                 final AppenderAdmin mbean = new AppenderAdmin(ctx.getName(), appender);
                 register(mbs, mbean, mbean.getObjectName());
@@ -130,6 +130,16 @@ public class StatusLoggerAdmin extends NotificationBroadcasterSupport implements
         return contextName;
     }
 
+    @Override
+    public long getDroppedCount() {
+        return StatusLogger.getLogger().getDroppedCount();
+    }
+
+    @Override
+    public long getSuppressedCount() {
+        return StatusLogger.getLogger().getSuppressedCount();
+    }
+
     /*
      * (non-Javadoc)
      *
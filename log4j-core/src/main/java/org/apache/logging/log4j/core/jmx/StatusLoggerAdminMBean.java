@@ -118,4 +118,23 @@ public interface StatusLoggerAdminMBean {
      * @return logger context name
      */
     String getContextName();
+
+    /**
+     * Returns the number of status messages that were not passed to the listeners because the background thread
+     * notifying them could not keep up. Only non-zero if system property {@code "log4j2.StatusLogger.asyncListeners"}
+     * is enabled.
+     *
+     * @return the number of dropped status messages.
+     * @since 2.19.0
+     */
+    long getDroppedCount();
+
+    /**
+     * Returns the number of status messages that were suppressed because they repeated an earlier message. Only
+     * non-zero if system property {@code "log4j2.StatusLogger.repeatWindowMillis"} is configured.
+     *
+     * @return the number of suppressed status messages.
+     * @since 2.19.0
+     */
+    long getSuppressedCount();
 }
@@ -35,6 +35,7 @@ import org.apache.logging.log4j.core.config.plugins.PluginElement;
 import org.apache.logging.log4j.core.config.plugins.PluginFactory;
 import org.apache.logging.log4j.core.impl.LocationAware;
 import org.apache.logging.log4j.core.pattern.FormattingInfo;
+import org.apache.logging.log4j.core.pattern.FusedPatternFormatter;
 import org.apache.logging.log4j.core.pattern.LogEventPatternConverter;
 import org.apache.logging.log4j.core.pattern.PatternFormatter;
 import org.apache.logging.log4j.core.pattern.PatternParser;
@@ -101,11 +102,13 @@ public final class PatternLayout extends AbstractStringLayout {
      *            If {@code "true"} (default) and {@link System#console()} is null, do not output ANSI escape codes
      * @param headerPattern header conversion pattern.
      * @param footerPattern footer conversion pattern.
+     * @param fused
+     *            If {@code "true"}, the formatters of the conversion pattern are fused into a single formatter
      */
     private PatternLayout(final Configuration config, final RegexReplacement replace, final String eventPattern,
             final PatternSelector patternSelector, final Charset charset, final boolean alwaysWriteExceptions,
             final boolean disableAnsi, final boolean noConsoleNoAnsi, final String headerPattern,
-            final String footerPattern) {
+            final String footerPattern, final boolean fused) {
         super(config, charset,
                 newSerializerBuilder()
                         .setConfiguration(config)
@@ -136,6 +139,7 @@ public final class PatternLayout extends AbstractStringLayout {
                 .setNoConsoleNoAnsi(noConsoleNoAnsi)
                 .setPattern(eventPattern)
                 .setDefaultPattern(DEFAULT_CONVERSION_PATTERN)
+                .setFused(fused)
                 .build();
     }
 
@@ -405,6 +409,53 @@ public final class PatternLayout extends AbstractStringLayout {
         }
     }
 
+    private static final class FusedPatternSerializer implements PatternSerializer {
+
+        private final PatternFormatter[] formatters;
+        private final FusedPatternFormatter fusedFormatter;
+
+        private FusedPatternSerializer(final PatternFormatter[] formatters) {
+            this.formatters = formatters;
+            this.fusedFormatter = FusedPatternFormatter.fuse(formatters);
+        }
+
+        @Override
+        public String toSerializable(final LogEvent event) {
+            final StringBuilder sb = getStringBuilder();
+            try {
+                return toSerializable(event, sb).toString();
+            } finally {
+                trimToMaxSize(sb);
+            }
+        }
+
+        @Override
+        public StringBuilder toSerializable(final LogEvent event, final StringBuilder buffer) {
+            fusedFormatter.format(event, buffer);
+            return buffer;
+        }
+
+        @Override
+        public boolean requiresLocation() {
+            for (PatternFormatter formatter : formatters) {
+                if (formatter.requiresLocation()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() +
+                    "[formatters=" +
+                    Arrays.toString(formatters) +
+                    ", fusedFormatter=" +
+                    fusedFormatter +
+                    "]";
+        }
+    }
+
     private static final class PatternSerializerWithReplacement implements Serializer, LocationAware {
 
         private final PatternSerializer delegate;
@@ -461,6 +512,7 @@ public final class PatternLayout extends AbstractStringLayout {
         private boolean alwaysWriteExceptions;
         private boolean disableAnsi;
         private boolean noConsoleNoAnsi;
+        private boolean fused;
 
         @Override
         public Serializer build() {
@@ -481,9 +533,14 @@ public final class PatternLayout extends AbstractStringLayout {
                             break;
                         }
                     }
-                    PatternSerializer serializer = hasFormattingInfo
-                            ? new PatternFormatterPatternSerializer(formatters)
-                            : new NoFormatPatternSerializer(formatters);
+                    PatternSerializer serializer;
+                    if (fused) {
+                        serializer = new FusedPatternSerializer(formatters);
+                    } else if (hasFormattingInfo) {
+                        serializer = new PatternFormatterPatternSerializer(formatters);
+                    } else {
+                        serializer = new NoFormatPatternSerializer(formatters);
+                    }
                     return replace == null ? serializer : new PatternSerializerWithReplacement(serializer, replace);
                 } catch (final RuntimeException ex) {
                     throw new IllegalArgumentException("Cannot parse pattern '" + pattern + "'", ex);
@@ -532,6 +589,17 @@ public final class PatternLayout extends AbstractStringLayout {
             return this;
         }
 
+        /**
+         * @param fused
+         *        If {@code true}, the formatters of the pattern are fused into a single {@link FusedPatternFormatter}.
+         *        Not supported together with a pattern selector.
+         * @since 2.19.0
+         */
+        public SerializerBuilder setFused(final boolean fused) {
+            this.fused = fused;
+            return this;
+        }
+
     }
 
     private static final class PatternSelectorSerializer implements Serializer, LocationAware {
@@ -656,6 +724,9 @@ public final class PatternLayout extends AbstractStringLayout {
         @PluginBuilderAttribute
         private String footer;
 
+        @PluginBuilderAttribute
+        private boolean fused;
+
         private Builder() {
         }
 
@@ -760,11 +831,23 @@ public final class PatternLayout extends AbstractStringLayout {
             return this;
         }
 
+        /**
+         * @param fused
+         *        If {@code "true"} (default is false), the converters of the pattern are fused into a single
+         *        formatter at configuration time, which the JIT compiler can inline as a whole. Ignored if a
+         *        PatternSelector is used.
+         * @since 2.19.0
+         */
+        public Builder withFused(final boolean fused) {
+            this.fused = fused;
+            return this;
+        }
+
         @Override
         public PatternLayout build() {
             // should work with a null configuration
             return new PatternLayout(configuration, regexReplacement, pattern, patternSelector, charset,
-                alwaysWriteExceptions, disableAnsi, noConsoleNoAnsi, header, footer);
+                alwaysWriteExceptions, disableAnsi, noConsoleNoAnsi, header, footer, fused);
         }
     }
 
@@ -19,7 +19,9 @@ package org.apache.logging.log4j.core.layout;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharacterCodingException;
 import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
 import java.util.Objects;
 
@@ -46,6 +48,7 @@ public class StringBuilderEncoder implements Encoder<StringBuilder> {
     private final Charset charset;
     private final int charBufferSize;
     private final int byteBufferSize;
+    private final int maxSingleChunkLength;
 
     public StringBuilderEncoder(final Charset charset) {
         this(charset, Constants.ENCODER_CHAR_BUFFER_SIZE, Constants.ENCODER_BYTE_BUFFER_SIZE);
@@ -55,6 +58,16 @@ public class StringBuilderEncoder implements Encoder<StringBuilder> {
         this.charBufferSize = charBufferSize;
         this.byteBufferSize = byteBufferSize;
         this.charset = Objects.requireNonNull(charset, "charset");
+        this.maxSingleChunkLength = Math.min(charBufferSize, (int) (byteBufferSize / maxBytesPerChar(charset)));
+    }
+
+    private static float maxBytesPerChar(final Charset charset) {
+        try {
+            return charset.newEncoder().maxBytesPerChar();
+        } catch (final UnsupportedOperationException ex) {
+            // the charset cannot encode, encode() will fall back
+            return Float.POSITIVE_INFINITY;
+        }
     }
 
     @Override
@@ -64,13 +77,40 @@ public class StringBuilderEncoder implements Encoder<StringBuilder> {
             final CharsetEncoder charsetEncoder = (CharsetEncoder) threadLocalState[0];
             final CharBuffer charBuffer = (CharBuffer) threadLocalState[1];
             final ByteBuffer byteBuffer = (ByteBuffer) threadLocalState[2];
-            TextEncoderHelper.encodeText(charsetEncoder, charBuffer, byteBuffer, source, destination);
+            if (source.length() <= maxSingleChunkLength) {
+                encodeSingleChunk(charsetEncoder, charBuffer, byteBuffer, source, destination);
+            } else {
+                TextEncoderHelper.encodeText(charsetEncoder, charBuffer, byteBuffer, source, destination);
+            }
         } catch (final Exception ex) {
             logEncodeTextException(ex, source);
             TextEncoderHelper.encodeTextFallBack(charset, source, destination);
         }
     }
 
+    /**
+     * Encodes text that is known to fit into the thread-local buffers, which is the case for most log events, in one
+     * call to the CharsetEncoder and writes it to the destination in one piece. Unlike
+     * {@link TextEncoderHelper#encodeText(CharsetEncoder, CharBuffer, ByteBuffer, StringBuilder, ByteBufferDestination)}
+     * this never has to check whether the byte buffer is full.
+     */
+    private static void encodeSingleChunk(final CharsetEncoder charsetEncoder, final CharBuffer charBuffer,
+            final ByteBuffer byteBuffer, final StringBuilder source, final ByteBufferDestination destination)
+            throws CharacterCodingException {
+        final int length = source.length();
+        source.getChars(0, length, charBuffer.array(), charBuffer.arrayOffset());
+        charBuffer.limit(length);
+        CoderResult result = charsetEncoder.encode(charBuffer, byteBuffer, true);
+        if (result.isUnderflow()) {
+            result = charsetEncoder.flush(byteBuffer);
+        }
+        if (!result.isUnderflow()) {
+            result.throwException();
+        }
+        byteBuffer.flip();
+        destination.writeBytes(byteBuffer);
+    }
+
     private Object[] getThreadLocalState() {
         Object[] threadLocalState = threadLocal.get();
         if (threadLocalState == null) {
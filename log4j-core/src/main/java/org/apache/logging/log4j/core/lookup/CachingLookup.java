@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.lookup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationAware;
+
+/**
+ * Caches the results of an expensive lookup, such as a JNDI, Docker or Kubernetes lookup, for a fixed time.
+ * <p>
+ * Results are cached by key only, the event passed to the lookup is ignored once a key is cached. Keys that could not
+ * be resolved are cached as well. The cache is emptied when it exceeds {@value #MAX_ENTRIES} keys.
+ * </p>
+ */
+final class CachingLookup extends AbstractConfigurationAwareLookup {
+
+    static final int MAX_ENTRIES = 1024;
+
+    private final StrLookup delegate;
+    private final long timeToLiveNanos;
+    private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    CachingLookup(final StrLookup delegate, final long timeToLiveNanos) {
+        this.delegate = delegate;
+        this.timeToLiveNanos = timeToLiveNanos;
+    }
+
+    StrLookup getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void setConfiguration(final Configuration configuration) {
+        super.setConfiguration(configuration);
+        if (delegate instanceof ConfigurationAware) {
+            ((ConfigurationAware) delegate).setConfiguration(configuration);
+        }
+    }
+
+    @Override
+    public String lookup(final LogEvent event, final String key) {
+        final LookupResult result = evaluate(event, key);
+        return result == null ? null : result.value();
+    }
+
+    @Override
+    public LookupResult evaluate(final String key) {
+        return evaluate(null, key);
+    }
+
+    @Override
+    public LookupResult evaluate(final LogEvent event, final String key) {
+        if (key == null) {
+            return null;
+        }
+        final long now = System.nanoTime();
+        final Entry cached = cache.get(key);
+        if (cached != null && now - cached.expiresNanos < 0) {
+            return cached.result;
+        }
+        final LookupResult result = event == null ? delegate.evaluate(key) : delegate.evaluate(event, key);
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.clear();
+        }
+        cache.put(key, new Entry(result, now + timeToLiveNanos));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CachingLookup[" + delegate + ']';
+    }
+
+    private static final class Entry {
+
+        private final LookupResult result;
+        private final long expiresNanos;
+
+        Entry(final LookupResult result, final long expiresNanos) {
+            this.result = result;
+            this.expiresNanos = expiresNanos;
+        }
+    }
+}
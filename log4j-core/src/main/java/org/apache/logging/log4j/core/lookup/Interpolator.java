@@ -16,11 +16,16 @@
  */
 package org.apache.logging.log4j.core.lookup;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.LogEvent;
@@ -30,9 +35,15 @@ import org.apache.logging.log4j.core.config.plugins.util.PluginType;
 import org.apache.logging.log4j.core.net.JndiManager;
 import org.apache.logging.log4j.core.util.ReflectionUtil;
 import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
 
 /**
  * Proxies all the other {@link StrLookup}s.
+ * <p>
+ * The results of the lookups whose prefixes are listed in the {@code log4j2.cachedLookups} system property (by
+ * default {@code docker}, {@code jndi} and {@code k8s}) are cached for {@code log4j2.lookupCacheTimeToLiveMillis}
+ * milliseconds. The cache is disabled by default.
+ * </p>
  */
 public class Interpolator extends AbstractConfigurationAwareLookup {
 
@@ -53,7 +64,13 @@ public class Interpolator extends AbstractConfigurationAwareLookup {
 
     private static final Logger LOGGER = StatusLogger.getLogger();
 
-    private final Map<String, StrLookup> strLookupMap = new HashMap<>();
+    private static final long LOOKUP_CACHE_TTL_NANOS = TimeUnit.MILLISECONDS.toNanos(PropertiesUtil.getProperties()
+            .getLongProperty("log4j2.lookupCacheTimeToLiveMillis", 0));
+
+    private static final Set<String> CACHED_LOOKUPS = new HashSet<>(Arrays.asList(PropertiesUtil.getProperties()
+            .getStringProperty("log4j2.cachedLookups", "docker,jndi,k8s").toLowerCase(Locale.US).split("\\s*,\\s*")));
+
+    private final Map<String, StrLookup> strLookupMap = new ConcurrentHashMap<>();
 
     private final StrLookup defaultLookup;
 
@@ -78,7 +95,10 @@ public class Interpolator extends AbstractConfigurationAwareLookup {
             try {
                 final Class<? extends StrLookup> clazz = entry.getValue().getPluginClass().asSubclass(StrLookup.class);
                 if (!clazz.getName().equals("org.apache.logging.log4j.core.lookup.JndiLookup") || JndiManager.isJndiLookupEnabled()) {
-                    strLookupMap.put(entry.getKey().toLowerCase(), ReflectionUtil.instantiate(clazz));
+                    final String prefix = entry.getKey().toLowerCase();
+                    final StrLookup lookup = ReflectionUtil.instantiate(clazz);
+                    strLookupMap.put(prefix, LOOKUP_CACHE_TTL_NANOS > 0 && CACHED_LOOKUPS.contains(prefix)
+                            ? new CachingLookup(lookup, LOOKUP_CACHE_TTL_NANOS) : lookup);
                 }
             } catch (final Throwable t) {
                 handleError(entry.getKey(), t);
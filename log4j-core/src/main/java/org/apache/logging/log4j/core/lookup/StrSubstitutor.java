@@ -454,11 +454,31 @@ public class StrSubstitutor implements ConfigurationAware {
         return map;
     }
 
-    private static String handleFailedReplacement(String input, Throwable throwable) {
+    static String handleFailedReplacement(String input, Throwable throwable) {
         StatusLogger.getLogger().error("Replacement failed on {}", input, throwable);
         return input;
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Parses the given source string into a template that can be evaluated
+     * repeatedly without scanning the source for variables again.
+     * <p>
+     * Evaluating the template produces the same result as calling
+     * {@link #replace(LogEvent, String)} with the source. The template uses the
+     * prefix, suffix, escape character and value delimiter this substitutor is
+     * configured with at the time of the call, and resolves variables through
+     * this substitutor when evaluated.
+     * </p>
+     *
+     * @param source  the template, not null
+     * @return the compiled template
+     * @since 2.19.0
+     */
+    public StrTemplate compile(final String source) {
+        return new StrTemplate(this, Objects.requireNonNull(source, "source"));
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Replaces all the occurrences of variables with their matching values
@@ -987,12 +1007,11 @@ public class StrSubstitutor implements ConfigurationAware {
      * @return the length change that occurs, unless priorVariables is null when the int
      *  represents a boolean flag as to whether any change occurred.
      */
-    private int substitute(final LogEvent event, final StringBuilder buf, final int offset, final int length,
-                           List<String> priorVariables) {
+    int substitute(final LogEvent event, final StringBuilder buf, final int offset, final int length,
+                   List<String> priorVariables) {
         final StrMatcher prefixMatcher = getVariablePrefixMatcher();
         final StrMatcher suffixMatcher = getVariableSuffixMatcher();
         final char escape = getEscapeChar();
-        final StrMatcher valueDelimiterMatcher = getValueDelimiterMatcher();
         final boolean substitutionInVariablesEnabled = isEnableSubstitutionInVariables();
 
         final boolean top = priorVariables == null;
@@ -1047,43 +1066,9 @@ public class StrSubstitutor implements ConfigurationAware {
                             pos += endMatchLen;
                             final int endPos = pos;
 
-                            String varName = varNameExpr;
-                            String varDefaultValue = null;
-
-                            if (valueDelimiterMatcher != null) {
-                                final char [] varNameExprChars = varNameExpr.toCharArray();
-                                int valueDelimiterMatchLen = 0;
-                                for (int i = 0; i < varNameExprChars.length; i++) {
-                                    // if there's any nested variable when nested variable substitution disabled, then stop resolving name and default value.
-                                    if (!substitutionInVariablesEnabled
-                                            && prefixMatcher.isMatch(varNameExprChars, i, i, varNameExprChars.length) != 0) {
-                                        break;
-                                    }
-                                    if (valueEscapeDelimiterMatcher != null) {
-                                        int matchLen = valueEscapeDelimiterMatcher.isMatch(varNameExprChars, i);
-                                        if (matchLen != 0) {
-                                            String varNamePrefix = varNameExpr.substring(0, i) + Interpolator.PREFIX_SEPARATOR;
-                                            varName = varNamePrefix + varNameExpr.substring(i + matchLen - 1);
-                                            for (int j = i + matchLen; j < varNameExprChars.length; ++j){
-                                                if ((valueDelimiterMatchLen = valueDelimiterMatcher.isMatch(varNameExprChars, j)) != 0) {
-                                                    varName = varNamePrefix + varNameExpr.substring(i + matchLen, j);
-                                                    varDefaultValue = varNameExpr.substring(j + valueDelimiterMatchLen);
-                                                    break;
-                                                }
-                                            }
-                                            break;
-                                        } else if ((valueDelimiterMatchLen = valueDelimiterMatcher.isMatch(varNameExprChars, i)) != 0) {
-                                            varName = varNameExpr.substring(0, i);
-                                            varDefaultValue = varNameExpr.substring(i + valueDelimiterMatchLen);
-                                            break;
-                                        }
-                                    } else if ((valueDelimiterMatchLen = valueDelimiterMatcher.isMatch(varNameExprChars, i)) != 0) {
-                                        varName = varNameExpr.substring(0, i);
-                                        varDefaultValue = varNameExpr.substring(i + valueDelimiterMatchLen);
-                                        break;
-                                    }
-                                }
-                            }
+                            final String[] varNameAndDefault = splitVariable(varNameExpr);
+                            final String varName = varNameAndDefault[0];
+                            final String varDefaultValue = varNameAndDefault[1];
 
                             // on the first call initialize priorVariables
                             if (priorVariables == null) {
@@ -1133,6 +1118,56 @@ public class StrSubstitutor implements ConfigurationAware {
         return lengthChange;
     }
 
+    /**
+     * Splits a variable expression into the name of the variable and its default value.
+     *
+     * @param varNameExpr the variable expression, after substitution of nested variables
+     * @return the name and the default value, which may be {@code null}
+     */
+    String[] splitVariable(final String varNameExpr) {
+        final StrMatcher prefixMatcher = getVariablePrefixMatcher();
+        final StrMatcher valueDelimiterMatcher = getValueDelimiterMatcher();
+        final boolean substitutionInVariablesEnabled = isEnableSubstitutionInVariables();
+        String varName = varNameExpr;
+        String varDefaultValue = null;
+
+        if (valueDelimiterMatcher != null) {
+            final char [] varNameExprChars = varNameExpr.toCharArray();
+            int valueDelimiterMatchLen = 0;
+            for (int i = 0; i < varNameExprChars.length; i++) {
+                // if there's any nested variable when nested variable substitution disabled, then stop resolving name and default value.
+                if (!substitutionInVariablesEnabled
+                        && prefixMatcher.isMatch(varNameExprChars, i, i, varNameExprChars.length) != 0) {
+                    break;
+                }
+                if (valueEscapeDelimiterMatcher != null) {
+                    int matchLen = valueEscapeDelimiterMatcher.isMatch(varNameExprChars, i);
+                    if (matchLen != 0) {
+                        String varNamePrefix = varNameExpr.substring(0, i) + Interpolator.PREFIX_SEPARATOR;
+                        varName = varNamePrefix + varNameExpr.substring(i + matchLen - 1);
+                        for (int j = i + matchLen; j < varNameExprChars.length; ++j){
+                            if ((valueDelimiterMatchLen = valueDelimiterMatcher.isMatch(varNameExprChars, j)) != 0) {
+                                varName = varNamePrefix + varNameExpr.substring(i + matchLen, j);
+                                varDefaultValue = varNameExpr.substring(j + valueDelimiterMatchLen);
+                                break;
+                            }
+                        }
+                        break;
+                    } else if ((valueDelimiterMatchLen = valueDelimiterMatcher.isMatch(varNameExprChars, i)) != 0) {
+                        varName = varNameExpr.substring(0, i);
+                        varDefaultValue = varNameExpr.substring(i + valueDelimiterMatchLen);
+                        break;
+                    }
+                } else if ((valueDelimiterMatchLen = valueDelimiterMatcher.isMatch(varNameExprChars, i)) != 0) {
+                    varName = varNameExpr.substring(0, i);
+                    varDefaultValue = varNameExpr.substring(i + valueDelimiterMatchLen);
+                    break;
+                }
+            }
+        }
+        return new String[] {varName, varDefaultValue};
+    }
+
     /**
      * Checks if the specified variable is already in the stack (list) of variables, adding the value
      * if it's not already present.
@@ -1141,7 +1176,7 @@ public class StrSubstitutor implements ConfigurationAware {
      * @param priorVariables  the list of prior variables
      * @return true if this is a cyclic substitution
      */
-    private boolean isCyclicSubstitution(final String varName, final List<String> priorVariables) {
+    boolean isCyclicSubstitution(final String varName, final List<String> priorVariables) {
         if (!priorVariables.contains(varName)) {
             priorVariables.add(varName);
             return false;
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.lookup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.core.LogEvent;
+
+/**
+ * A template that was parsed once by a {@link StrSubstitutor} and can be evaluated repeatedly without scanning the
+ * source for variables again.
+ * <p>
+ * The template is a sequence of literal text and variables. The names and default values of variables are split at
+ * compile time unless they contain nested variables, in which case the name is itself a compiled template. Variables
+ * are still resolved through {@link StrSubstitutor#resolveVariable(LogEvent, String, StringBuilder, int, int)} on
+ * every evaluation, so a template follows changes to the substitutor's variable resolver, but not changes to its
+ * prefix, suffix, escape character or value delimiter.
+ * </p>
+ * <p>
+ * Evaluating a template produces the same result as {@link StrSubstitutor#replace(LogEvent, String)} on its source.
+ * Values resolved by lookups that allow lookups in their values are substituted recursively as usual. In the rare
+ * case where a resolved value ends with the escape character and is directly followed by another variable, which
+ * the substitutor treats as an escaped variable, the template falls back to {@code StrSubstitutor.replace}.
+ * </p>
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @see StrSubstitutor#compile(String)
+ * @since 2.19.0
+ */
+public final class StrTemplate {
+
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final StrSubstitutor substitutor;
+    private final String source;
+    private final Node[] nodes;
+    private final String constant;
+    private final char escape;
+    private final boolean substitutionInVariablesEnabled;
+
+    StrTemplate(final StrSubstitutor substitutor, final String source) {
+        this.substitutor = substitutor;
+        this.source = source;
+        this.escape = substitutor.getEscapeChar();
+        this.substitutionInVariablesEnabled = substitutor.isEnableSubstitutionInVariables();
+        final char[] chars = source.toCharArray();
+        final Node[] compiled = compile(chars, 0, chars.length);
+        final String literal = literalValue(compiled);
+        this.nodes = literal == null ? compiled : null;
+        this.constant = literal;
+    }
+
+    /**
+     * Returns the text this template was compiled from.
+     *
+     * @return the source of this template
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns {@code true} if the template does not contain any variables, in which case evaluating it always
+     * returns the same text.
+     *
+     * @return whether this template contains no variables
+     */
+    public boolean isConstant() {
+        return constant != null;
+    }
+
+    /**
+     * Replaces all the variables of this template with their values.
+     *
+     * @param event The current LogEvent, if there is one.
+     * @return the result of the replace operation
+     */
+    public String replace(final LogEvent event) {
+        if (constant != null) {
+            return constant;
+        }
+        final StringBuilder buf = new StringBuilder(source.length() + 16);
+        try {
+            if (evaluate(event, nodes, buf, newPriorVariables())) {
+                return buf.toString();
+            }
+        } catch (final Throwable t) {
+            return StrSubstitutor.handleFailedReplacement(source, t);
+        }
+        return substitutor.replace(event, source);
+    }
+
+    /**
+     * Replaces all the variables of this template with their values and appends the result to the given buffer.
+     *
+     * @param event The current LogEvent, if there is one.
+     * @param toAppendTo the buffer to append to, not null
+     */
+    public void replace(final LogEvent event, final StringBuilder toAppendTo) {
+        if (constant != null) {
+            toAppendTo.append(constant);
+            return;
+        }
+        final int start = toAppendTo.length();
+        try {
+            if (evaluate(event, nodes, toAppendTo, newPriorVariables())) {
+                return;
+            }
+            toAppendTo.setLength(start);
+            toAppendTo.append(substitutor.replace(event, source));
+        } catch (final Throwable t) {
+            toAppendTo.setLength(start);
+            toAppendTo.append(StrSubstitutor.handleFailedReplacement(source, t));
+        }
+    }
+
+    private List<String> newPriorVariables() {
+        final List<String> priorVariables = new ArrayList<>(4);
+        if (!substitutionInVariablesEnabled) {
+            // Mirrors StrSubstitutor, which only seeds the cycle detection with the source in this case.
+            priorVariables.add(source);
+        }
+        return priorVariables;
+    }
+
+    /**
+     * Appends the values of the nodes.
+     *
+     * @return {@code false} if the result differs from what StrSubstitutor produces and the caller must fall back.
+     */
+    private boolean evaluate(final LogEvent event, final Node[] nodeArray, final StringBuilder out,
+            final List<String> priorVariables) {
+        final int blockStart = out.length();
+        for (final Node node : nodeArray) {
+            if (node.checkEscape && out.length() > blockStart && out.charAt(out.length() - 1) == escape) {
+                return false;
+            }
+            if (node.variable == null) {
+                out.append(node.text);
+                continue;
+            }
+            final Variable variable = node.variable;
+            final String varName;
+            final String varDefaultValue;
+            if (variable.nameNodes != null) {
+                final StringBuilder nameBuf = new StringBuilder(variable.raw.length());
+                if (!evaluate(event, variable.nameNodes, nameBuf, priorVariables)) {
+                    return false;
+                }
+                final String[] varNameAndDefault = substitutor.splitVariable(nameBuf.toString());
+                varName = varNameAndDefault[0];
+                varDefaultValue = varNameAndDefault[1];
+            } else {
+                varName = variable.name;
+                varDefaultValue = variable.defaultValue;
+            }
+
+            final boolean isCyclic = substitutor.isCyclicSubstitution(varName, priorVariables);
+            final int startPos = out.length();
+            out.append(variable.raw);
+            final LookupResult resolvedResult = isCyclic ? null
+                    : substitutor.resolveVariable(event, varName, out, startPos, out.length());
+            String varValue = resolvedResult == null ? null : resolvedResult.value();
+            if (varValue == null) {
+                varValue = varDefaultValue;
+            }
+            if (varValue != null) {
+                out.setLength(startPos);
+                out.append(varValue);
+                if (resolvedResult != null && resolvedResult.isLookupEvaluationAllowedInValue()) {
+                    substitutor.substitute(event, out, startPos, varValue.length(), priorVariables);
+                }
+            }
+            if (!isCyclic) {
+                priorVariables.remove(priorVariables.size() - 1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the given range exactly like {@code StrSubstitutor.substitute} scans it.
+     */
+    private Node[] compile(final char[] chars, final int offset, final int end) {
+        final StrMatcher prefixMatcher = substitutor.getVariablePrefixMatcher();
+        final StrMatcher suffixMatcher = substitutor.getVariableSuffixMatcher();
+        final List<Node> result = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        // Whether the character before pos is the last one of a variable, whose value is only known at runtime.
+        boolean afterVariable = false;
+        int pos = offset;
+        while (pos < end) {
+            final int startMatchLen = prefixMatcher.isMatch(chars, pos, offset, end);
+            if (startMatchLen == 0) {
+                literal.append(chars[pos++]);
+                afterVariable = false;
+            } else if (!afterVariable && pos > offset && chars[pos - 1] == escape) {
+                // escaped: the escape character is dropped and the prefix is kept as text
+                literal.setLength(literal.length() - 1);
+                literal.append(chars[pos++]);
+            } else {
+                final int startPos = pos;
+                pos += startMatchLen;
+                int endMatchLen;
+                int nestedVarCount = 0;
+                int nameEnd = -1;
+                while (pos < end) {
+                    if (substitutionInVariablesEnabled
+                            && (endMatchLen = prefixMatcher.isMatch(chars, pos, offset, end)) != 0) {
+                        nestedVarCount++;
+                        pos += endMatchLen;
+                        continue;
+                    }
+                    endMatchLen = suffixMatcher.isMatch(chars, pos, offset, end);
+                    if (endMatchLen == 0) {
+                        pos++;
+                    } else if (nestedVarCount == 0) {
+                        nameEnd = pos;
+                        pos += endMatchLen;
+                        break;
+                    } else {
+                        nestedVarCount--;
+                        pos += endMatchLen;
+                    }
+                }
+                flush(literal, result);
+                if (nameEnd < 0) {
+                    // unterminated variable: the rest is text
+                    result.add(new Node(new String(chars, startPos, end - startPos), null, afterVariable));
+                    break;
+                }
+                final int nameStart = startPos + startMatchLen;
+                Node[] nameNodes = null;
+                String name = new String(chars, nameStart, nameEnd - nameStart);
+                if (substitutionInVariablesEnabled) {
+                    nameNodes = compile(chars, nameStart, nameEnd);
+                    final String literalName = literalValue(nameNodes);
+                    if (literalName != null) {
+                        name = literalName;
+                        nameNodes = null;
+                    }
+                }
+                final Variable variable;
+                if (nameNodes == null) {
+                    final String[] varNameAndDefault = substitutor.splitVariable(name);
+                    variable = new Variable(new String(chars, startPos, pos - startPos), null,
+                            varNameAndDefault[0], varNameAndDefault[1]);
+                } else {
+                    variable = new Variable(new String(chars, startPos, pos - startPos), nameNodes, null, null);
+                }
+                result.add(new Node(null, variable, afterVariable));
+                afterVariable = true;
+            }
+        }
+        flush(literal, result);
+        return result.isEmpty() ? NO_NODES : result.toArray(NO_NODES);
+    }
+
+    private static void flush(final StringBuilder literal, final List<Node> result) {
+        if (literal.length() > 0) {
+            result.add(new Node(literal.toString(), null, false));
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * Returns the text of nodes that contain no variables, or {@code null}.
+     */
+    private static String literalValue(final Node[] nodeArray) {
+        final StringBuilder sb = new StringBuilder();
+        for (final Node node : nodeArray) {
+            if (node.variable != null || node.checkEscape) {
+                return null;
+            }
+            sb.append(node.text);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "StrTemplate[" + source + ']';
+    }
+
+    private static final class Node {
+
+        private final String text;
+        private final Variable variable;
+        /**
+         * The node directly follows a variable. StrSubstitutor treats a variable prefix as escaped if the value of
+         * that variable ends with the escape character.
+         */
+        private final boolean checkEscape;
+
+        Node(final String text, final Variable variable, final boolean checkEscape) {
+            this.text = text;
+            this.variable = variable;
+            this.checkEscape = checkEscape;
+        }
+    }
+
+    private static final class Variable {
+
+        /** The variable as written in the source, kept if it cannot be resolved. */
+        private final String raw;
+        private final Node[] nameNodes;
+        private final String name;
+        private final String defaultValue;
+
+        Variable(final String raw, final Node[] nameNodes, final String name, final String defaultValue) {
+            this.raw = raw;
+            this.nameNodes = nameNodes;
+            this.name = name;
+            this.defaultValue = defaultValue;
+        }
+    }
+}
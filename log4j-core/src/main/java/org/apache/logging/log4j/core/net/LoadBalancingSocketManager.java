@@ -0,0 +1,370 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.util.Constants;
+
+/**
+ * Manager that spreads log events over the TCP connections to several hosts.
+ * <p>
+ * Each endpoint is a {@link NioTcpSocketManager}, which keeps one connection open to its host, buffers the events
+ * not sent yet and reconnects when the connection fails. Each event is handed to a single endpoint as a whole, so
+ * events are never split between hosts: an event that an encoder writes to the byte buffer of this manager is staged
+ * there, the buffer grows instead of being drained, and is handed over when the manager is flushed. The endpoint is
+ * picked by the {@link Strategy}, among the endpoints that are
+ * currently connected. Events go to endpoints that are not connected only when no connected endpoint has room for
+ * them, they are then sent once that endpoint reconnects. Events that no endpoint has room for are dropped.
+ * </p>
+ *
+ * @since 2.19.0
+ */
+public class LoadBalancingSocketManager extends AbstractSocketManager {
+
+    /**
+     * How the endpoint of a write is picked.
+     */
+    public enum Strategy {
+
+        /**
+         * Endpoints take turns.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * The endpoint with the fewest bytes waiting to be sent.
+         */
+        LEAST_OUTSTANDING_BYTES
+    }
+
+    private static final LoadBalancingSocketManagerFactory FACTORY = new LoadBalancingSocketManagerFactory();
+
+    private final NioTcpSocketManager[] endpoints;
+    private final Strategy strategy;
+    // Guarded by this manager's monitor.
+    private int next;
+    private volatile long droppedBytes;
+    private volatile long droppedEvents;
+
+    /**
+     * Constructs.
+     *
+     * @param name The unique name of this manager.
+     * @param endpoints The managers of the connections to the hosts.
+     * @param strategy How the endpoint of a write is picked.
+     * @param layout The Layout.
+     */
+    protected LoadBalancingSocketManager(final String name, final NioTcpSocketManager[] endpoints,
+            final Strategy strategy, final Layout<? extends Serializable> layout) {
+        super(name, null, endpoints[0].inetAddress, endpoints[0].host, endpoints[0].port, layout, false,
+                Constants.ENCODER_BYTE_BUFFER_SIZE);
+        this.endpoints = endpoints;
+        this.strategy = strategy != null ? strategy : Strategy.ROUND_ROBIN;
+    }
+
+    /**
+     * Obtains a LoadBalancingSocketManager.
+     *
+     * @param addresses The hosts and ports to connect to.
+     * @param strategy How the endpoint of a write is picked.
+     * @param connectTimeoutMillis The connect timeout in milliseconds.
+     * @param reconnectDelayMillis The interval to pause between connection attempts.
+     * @param layout The Layout.
+     * @param bufferSize The size of the buffer of each endpoint in bytes.
+     * @param socketOptions The socket options, or {@code null}.
+     * @return A LoadBalancingSocketManager, or {@code null} if an endpoint cannot be created.
+     */
+    public static LoadBalancingSocketManager getSocketManager(final List<InetSocketAddress> addresses,
+            final Strategy strategy, final int connectTimeoutMillis, final int reconnectDelayMillis,
+            final Layout<? extends Serializable> layout, final int bufferSize, final SocketOptions socketOptions) {
+        if (addresses == null || addresses.isEmpty()) {
+            throw new IllegalArgumentException("At least one address is required");
+        }
+        final StringBuilder name = new StringBuilder("LB:");
+        for (final InetSocketAddress address : addresses) {
+            if (name.length() > 3) {
+                name.append(',');
+            }
+            name.append(address.getHostString()).append(':').append(address.getPort());
+        }
+        return narrow(LoadBalancingSocketManager.class, getManager(name.toString(), FACTORY,
+                new FactoryData(addresses, strategy, connectTimeoutMillis, reconnectDelayMillis, layout, bufferSize,
+                        socketOptions)));
+    }
+
+    /**
+     * Hands the serialized event to one endpoint as a whole. The bytes staged in the byte buffer of this manager are
+     * handed over first, to keep the events in order.
+     */
+    @Override
+    protected synchronized void write(final byte[] bytes, final int offset, final int length,
+            final boolean immediateFlush) {
+        flushBuffer(byteBuffer);
+        writeToDestination(bytes, offset, length);
+    }
+
+    /**
+     * Grows the byte buffer instead of handing part of an event to an endpoint, the staged event is handed over as a
+     * whole when this manager is flushed.
+     */
+    @Override
+    public synchronized ByteBuffer drain(final ByteBuffer buf) {
+        if (buf != byteBuffer) {
+            return super.drain(buf);
+        }
+        byteBuffer = NioTcpSocketManager.grow(buf);
+        return byteBuffer;
+    }
+
+    /**
+     * Hands the staged bytes over as a whole and returns to a byte buffer of the default size if it had to grow.
+     */
+    @Override
+    protected synchronized void flushBuffer(final ByteBuffer buf) {
+        super.flushBuffer(buf);
+        if (buf == byteBuffer && buf.capacity() > Constants.ENCODER_BYTE_BUFFER_SIZE) {
+            byteBuffer = ByteBuffer.wrap(new byte[Constants.ENCODER_BYTE_BUFFER_SIZE]);
+        }
+    }
+
+    /**
+     * Hands the bytes to the endpoint picked by the strategy, or drops them if no endpoint has room.
+     */
+    @Override
+    protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        final int count = endpoints.length;
+        final int start = nextStart();
+        // Connected endpoints first, then the others, which send the bytes once they reconnect.
+        for (int pass = 0; pass < 2; pass++) {
+            final boolean connected = pass == 0;
+            for (int i = 0; i < count; i++) {
+                final NioTcpSocketManager endpoint = endpoints[(start + i) % count];
+                if (endpoint.isConnected() == connected && endpoint.offer(bytes, offset, length)) {
+                    return;
+                }
+            }
+        }
+        dropped(length);
+    }
+
+    /**
+     * Returns the index of the endpoint to try first, must be called with the monitor held.
+     */
+    private int nextStart() {
+        final int rotation = next;
+        next = rotation + 1 == endpoints.length ? 0 : rotation + 1;
+        return strategy == Strategy.LEAST_OUTSTANDING_BYTES ? leastOutstanding(rotation) : rotation;
+    }
+
+    private void dropped(final int length) {
+        droppedBytes += length;
+        droppedEvents++;
+    }
+
+    /**
+     * Returns the index of the connected endpoint with the fewest queued bytes, ties are broken by rotation.
+     */
+    private int leastOutstanding(final int rotation) {
+        int best = -1;
+        long bestQueued = Long.MAX_VALUE;
+        boolean bestConnected = false;
+        for (int i = 0; i < endpoints.length; i++) {
+            final int index = (rotation + i) % endpoints.length;
+            final boolean connected = endpoints[index].isConnected();
+            final long queued = endpoints[index].getQueuedBytes();
+            if (best < 0 || (connected && !bestConnected) || (connected == bestConnected && queued < bestQueued)) {
+                best = index;
+                bestQueued = queued;
+                bestConnected = connected;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Does nothing, the endpoints send the bytes as soon as they are written.
+     */
+    @Override
+    protected synchronized void flushDestination() {
+        // nothing to flush
+    }
+
+    /**
+     * Stops the endpoints, which send the layout footer and the bytes they still hold.
+     */
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        flush();
+        boolean stopped = true;
+        for (final NioTcpSocketManager endpoint : endpoints) {
+            stopped &= endpoint.stop(timeout, timeUnit);
+        }
+        return stopped;
+    }
+
+    @Override
+    protected synchronized boolean closeOutputStream() {
+        // The endpoints close their channels.
+        return true;
+    }
+
+    /**
+     * Returns the managers of the connections to the hosts, which provide the statistics of each endpoint.
+     *
+     * @return the endpoint managers.
+     */
+    public List<NioTcpSocketManager> getEndpoints() {
+        return Collections.unmodifiableList(Arrays.asList(endpoints));
+    }
+
+    /**
+     * Returns the number of endpoints that are currently connected.
+     *
+     * @return the number of connected endpoints.
+     */
+    public int getConnectedEndpointCount() {
+        int connected = 0;
+        for (final NioTcpSocketManager endpoint : endpoints) {
+            if (endpoint.isConnected()) {
+                connected++;
+            }
+        }
+        return connected;
+    }
+
+    /**
+     * Returns the number of bytes waiting to be sent by all endpoints.
+     *
+     * @return the number of queued bytes.
+     */
+    public long getQueuedBytes() {
+        long queued = 0;
+        for (final NioTcpSocketManager endpoint : endpoints) {
+            queued += endpoint.getQueuedBytes();
+        }
+        return queued;
+    }
+
+    /**
+     * Returns the number of bytes that were dropped because no endpoint had room for them.
+     *
+     * @return the number of dropped bytes.
+     */
+    public long getDroppedBytes() {
+        return droppedBytes;
+    }
+
+    /**
+     * Returns the number of events that were dropped because no endpoint had room for them.
+     *
+     * @return the number of dropped events.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Gets this LoadBalancingSocketManager's content format. Specified by:
+     * <ul>
+     * <li>Key: "protocol" Value: "tcp"</li>
+     * <li>Key: "direction" Value: "out"</li>
+     * </ul>
+     *
+     * @return Map of content format keys supporting LoadBalancingSocketManager
+     */
+    @Override
+    public Map<String, String> getContentFormat() {
+        final Map<String, String> result = new HashMap<>(super.getContentFormat());
+        result.put("protocol", "tcp");
+        result.put("direction", "out");
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadBalancingSocketManager [strategy=" + strategy + ", endpoints=" + Arrays.toString(endpoints)
+                + ", droppedBytes=" + droppedBytes + "]";
+    }
+
+    /**
+     * Data for the factory.
+     */
+    private static class FactoryData {
+        private final List<InetSocketAddress> addresses;
+        private final Strategy strategy;
+        private final int connectTimeoutMillis;
+        private final int reconnectDelayMillis;
+        private final Layout<? extends Serializable> layout;
+        private final int bufferSize;
+        private final SocketOptions socketOptions;
+
+        FactoryData(final List<InetSocketAddress> addresses, final Strategy strategy, final int connectTimeoutMillis,
+                final int reconnectDelayMillis, final Layout<? extends Serializable> layout, final int bufferSize,
+                final SocketOptions socketOptions) {
+            this.addresses = addresses;
+            this.strategy = strategy;
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            this.reconnectDelayMillis = reconnectDelayMillis;
+            this.layout = layout;
+            this.bufferSize = bufferSize;
+            this.socketOptions = socketOptions;
+        }
+    }
+
+    /**
+     * Factory to create a LoadBalancingSocketManager.
+     */
+    private static class LoadBalancingSocketManagerFactory
+            implements ManagerFactory<LoadBalancingSocketManager, FactoryData> {
+
+        @Override
+        public LoadBalancingSocketManager createManager(final String name, final FactoryData data) {
+            final List<NioTcpSocketManager> endpoints = new ArrayList<>(data.addresses.size());
+            for (final InetSocketAddress address : data.addresses) {
+                final NioTcpSocketManager endpoint = NioTcpSocketManager.getSocketManager(address.getHostString(),
+                        address.getPort(), data.connectTimeoutMillis, data.reconnectDelayMillis, data.layout,
+                        data.bufferSize, data.socketOptions);
+                if (endpoint == null) {
+                    LOGGER.error("LoadBalancingSocketManager ({}) could not create endpoint {}", name, address);
+                    for (final NioTcpSocketManager created : endpoints) {
+                        created.close();
+                    }
+                    return null;
+                }
+                endpoints.add(endpoint);
+            }
+            return new LoadBalancingSocketManager(name, endpoints.toArray(new NioTcpSocketManager[0]), data.strategy,
+                    data.layout);
+        }
+    }
+}
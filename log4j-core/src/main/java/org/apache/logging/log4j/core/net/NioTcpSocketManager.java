@@ -0,0 +1,671 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.Constants;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Manager of a TCP connection that never blocks the logging threads.
+ * <p>
+ * Logging threads copy the serialized events into a bounded ring buffer allocated off-heap. An event that an
+ * encoder writes to the byte buffer of the {@link org.apache.logging.log4j.core.appender.OutputStreamManager} is
+ * staged there as a whole, the buffer grows instead of being drained, and is copied into the ring when the manager is
+ * flushed. A background thread drains the ring into a non-blocking {@link SocketChannel}, with a gathering write when
+ * the pending bytes wrap around the end of the ring. When the ring does not have room for a whole event, the event is
+ * dropped and counted instead of waiting for the collector, so the collector never receives part of an event.
+ * </p>
+ * <p>
+ * The connection is opened by the background thread, so creating the manager does not wait for the collector
+ * either. When the connection fails, the background thread reconnects after the reconnection delay and then
+ * replays the events that the failed connection did not accept completely, from the start of the first one, while
+ * logging threads keep filling the ring. Events that the operating system had already accepted for the failed
+ * connection cannot be replayed.
+ * </p>
+ *
+ * @since 2.19.0
+ */
+public class NioTcpSocketManager extends AbstractSocketManager {
+
+    /**
+     * The default size of the ring buffer in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int DEFAULT_PORT = 4560;
+
+    private static final NioTcpSocketManagerFactory FACTORY = new NioTcpSocketManagerFactory();
+
+    private final int connectTimeoutMillis;
+    private final int reconnectionDelayMillis;
+    private final SocketOptions socketOptions;
+    private final ByteBuffer ring;
+    private final int capacity;
+    // Producer view of the ring, guarded by this manager's monitor.
+    private final ByteBuffer producerView;
+    // Lengths of the events in the ring, so that the I/O thread only releases whole events.
+    private final int[] eventLengths;
+    private final Selector selector;
+    private final AtomicBoolean selecting = new AtomicBoolean();
+    private final IoThread ioThread;
+
+    // Written by the logging threads holding the monitor, read by the I/O thread.
+    private volatile long tail;
+    private volatile long eventTail;
+    // Written by the I/O thread only, head is the start of the first event not sent completely.
+    private volatile long head;
+    private volatile long eventHead;
+    private volatile long droppedBytes;
+    private volatile long droppedEvents;
+    private volatile long reconnects;
+    private volatile boolean connected;
+    private volatile boolean stopping;
+    private volatile long stopDeadlineNanos;
+
+    /**
+     * Constructs.
+     *
+     * @param name The unique name of this connection.
+     * @param inetAddress The Internet address of the host.
+     * @param host The name of the host.
+     * @param port The port number on the host.
+     * @param connectTimeoutMillis The connect timeout in milliseconds.
+     * @param reconnectionDelayMillis The number of milliseconds between two connection attempts.
+     * @param layout The Layout.
+     * @param bufferSize The size of the ring buffer in bytes.
+     * @param socketOptions The socket options, or {@code null}.
+     * @throws IOException if the selector cannot be opened.
+     */
+    protected NioTcpSocketManager(final String name, final InetAddress inetAddress, final String host, final int port,
+            final int connectTimeoutMillis, final int reconnectionDelayMillis, final Layout<? extends Serializable> layout,
+            final int bufferSize, final SocketOptions socketOptions) throws IOException {
+        super(name, null, inetAddress, host, port, layout, false, Constants.ENCODER_BYTE_BUFFER_SIZE);
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.reconnectionDelayMillis = reconnectionDelayMillis;
+        this.socketOptions = socketOptions;
+        this.ring = ByteBuffer.allocateDirect(bufferSize);
+        this.capacity = bufferSize;
+        this.producerView = ring.duplicate();
+        this.eventLengths = new int[Math.max(16, bufferSize / 8)];
+        this.selector = Selector.open();
+        if (layout != null) {
+            final byte[] header = layout.getHeader();
+            if (header != null) {
+                writeToDestination(header, 0, header.length);
+            }
+        }
+        this.ioThread = new IoThread(name);
+    }
+
+    /**
+     * Starts the I/O thread, called by the factory once the manager is constructed.
+     */
+    private void startIoThread() {
+        ioThread.start();
+    }
+
+    /**
+     * Obtains a NioTcpSocketManager.
+     *
+     * @param host The host to connect to.
+     * @param port The port on the host.
+     * @param connectTimeoutMillis The connect timeout in milliseconds.
+     * @param reconnectDelayMillis The interval to pause between connection attempts.
+     * @param layout The Layout.
+     * @param bufferSize The size of the ring buffer in bytes.
+     * @param socketOptions The socket options, or {@code null}.
+     * @return A NioTcpSocketManager.
+     */
+    public static NioTcpSocketManager getSocketManager(final String host, int port, final int connectTimeoutMillis,
+            int reconnectDelayMillis, final Layout<? extends Serializable> layout, final int bufferSize,
+            final SocketOptions socketOptions) {
+        if (Strings.isEmpty(host)) {
+            throw new IllegalArgumentException("A host name is required");
+        }
+        if (port <= 0) {
+            port = DEFAULT_PORT;
+        }
+        if (reconnectDelayMillis <= 0) {
+            reconnectDelayMillis = TcpSocketManager.DEFAULT_RECONNECTION_DELAY_MILLIS;
+        }
+        return narrow(NioTcpSocketManager.class, getManager("NIO:" + host + ':' + port,
+                FACTORY, new FactoryData(host, port, connectTimeoutMillis, reconnectDelayMillis,
+                        layout, bufferSize > 0 ? bufferSize : DEFAULT_BUFFER_SIZE, socketOptions)));
+    }
+
+    /**
+     * Copies the serialized event into the ring buffer, or drops the whole event if it does not fit. The bytes staged
+     * in the byte buffer of this manager are copied first, to keep the events in order.
+     */
+    @Override
+    protected synchronized void write(final byte[] bytes, final int offset, final int length,
+            final boolean immediateFlush) {
+        flushBuffer(byteBuffer);
+        writeToDestination(bytes, offset, length);
+    }
+
+    /**
+     * Grows the byte buffer instead of copying part of an event into the ring buffer, the staged event is copied as a
+     * whole when this manager is flushed.
+     */
+    @Override
+    public synchronized ByteBuffer drain(final ByteBuffer buf) {
+        if (buf != byteBuffer) {
+            return super.drain(buf);
+        }
+        byteBuffer = grow(buf);
+        return byteBuffer;
+    }
+
+    /**
+     * Returns a buffer twice as large holding the bytes written to the given buffer.
+     */
+    static ByteBuffer grow(final ByteBuffer buf) {
+        ((Buffer) buf).flip();
+        final ByteBuffer larger = ByteBuffer.wrap(new byte[buf.capacity() * 2]);
+        larger.put(buf);
+        return larger;
+    }
+
+    /**
+     * Copies the staged bytes as a whole and returns to a byte buffer of the default size if it had to grow.
+     */
+    @Override
+    protected synchronized void flushBuffer(final ByteBuffer buf) {
+        super.flushBuffer(buf);
+        if (buf == byteBuffer && buf.capacity() > Constants.ENCODER_BYTE_BUFFER_SIZE) {
+            byteBuffer = ByteBuffer.wrap(new byte[Constants.ENCODER_BYTE_BUFFER_SIZE]);
+        }
+    }
+
+    /**
+     * Copies the event into the ring buffer, or drops it if it does not fit.
+     */
+    @Override
+    protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        if (!offer(bytes, offset, length)) {
+            dropped(length);
+        }
+    }
+
+    private void dropped(final int length) {
+        droppedBytes += length;
+        droppedEvents++;
+    }
+
+    /**
+     * Copies an event into the ring buffer if it fits.
+     *
+     * @return {@code false} if the ring buffer does not have room for the event.
+     */
+    synchronized boolean offer(final byte[] bytes, final int offset, final int length) {
+        if (length == 0) {
+            return true;
+        }
+        final long currentTail = tail;
+        final long currentEventTail = eventTail;
+        if (length > capacity - (currentTail - head) || currentEventTail - eventHead == eventLengths.length) {
+            return false;
+        }
+        final int position = (int) (currentTail % capacity);
+        final int first = Math.min(length, capacity - position);
+        producerView.limit(capacity).position(position);
+        producerView.put(bytes, offset, first);
+        if (first < length) {
+            producerView.position(0);
+            producerView.put(bytes, offset + first, length - first);
+        }
+        eventLengths[(int) (currentEventTail % eventLengths.length)] = length;
+        eventTail = currentEventTail + 1;
+        publish(currentTail + length);
+        return true;
+    }
+
+    private void publish(final long newTail) {
+        tail = newTail;
+        if (selecting.get() && selecting.compareAndSet(true, false)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Does nothing, the I/O thread sends the bytes as soon as they are written.
+     */
+    @Override
+    protected synchronized void flushDestination() {
+        // nothing to flush
+    }
+
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        writeFooter();
+        flush();
+        if (ioThread.getState() == Thread.State.NEW) {
+            // not created by the factory
+            Closer.closeSilently(selector);
+            return head == tail;
+        }
+        stopDeadlineNanos = timeout > 0 ? System.nanoTime() + timeUnit.toNanos(timeout) : Long.MAX_VALUE;
+        stopping = true;
+        selector.wakeup();
+        try {
+            if (timeout > 0) {
+                ioThread.join(Math.max(1, timeUnit.toMillis(timeout)));
+            } else {
+                ioThread.join();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        final boolean drained = !ioThread.isAlive() && head == tail;
+        if (ioThread.isAlive()) {
+            ioThread.interrupt();
+        }
+        if (!drained) {
+            LOGGER.warn("NioTcpSocketManager {} stopped with {} bytes not sent", getName(), tail - head);
+        }
+        return drained;
+    }
+
+    @Override
+    protected synchronized boolean closeOutputStream() {
+        // The I/O thread closes the channel.
+        return true;
+    }
+
+    /**
+     * Returns the number of bytes waiting to be sent.
+     *
+     * @return the number of bytes in the ring buffer.
+     */
+    public long getQueuedBytes() {
+        return tail - head;
+    }
+
+    /**
+     * Returns the number of bytes that were dropped because the ring buffer was full.
+     *
+     * @return the number of dropped bytes.
+     */
+    public long getDroppedBytes() {
+        return droppedBytes;
+    }
+
+    /**
+     * Returns the number of events that were dropped because the ring buffer was full.
+     *
+     * @return the number of dropped events.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /**
+     * Returns the number of times the connection was established again after it failed.
+     *
+     * @return the number of reconnections.
+     */
+    public long getReconnects() {
+        return reconnects;
+    }
+
+    /**
+     * Returns whether the connection to the host is currently established.
+     *
+     * @return {@code true} if connected.
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Returns the size of the ring buffer.
+     *
+     * @return the size of the ring buffer in bytes.
+     */
+    public int getBufferSize() {
+        return capacity;
+    }
+
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public int getReconnectionDelayMillis() {
+        return reconnectionDelayMillis;
+    }
+
+    /**
+     * Gets this NioTcpSocketManager's content format. Specified by:
+     * <ul>
+     * <li>Key: "protocol" Value: "tcp"</li>
+     * <li>Key: "direction" Value: "out"</li>
+     * </ul>
+     *
+     * @return Map of content format keys supporting NioTcpSocketManager
+     */
+    @Override
+    public Map<String, String> getContentFormat() {
+        final Map<String, String> result = new HashMap<>(super.getContentFormat());
+        result.put("protocol", "tcp");
+        result.put("direction", "out");
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "NioTcpSocketManager [host=" + host + ", port=" + port + ", connected=" + connected + ", queuedBytes="
+                + getQueuedBytes() + ", droppedBytes=" + droppedBytes + ", droppedEvents=" + droppedEvents + ", reconnects="
+                + reconnects + "]";
+    }
+
+    /**
+     * Connects, drains the ring buffer into the channel and reconnects when the connection fails.
+     */
+    private final class IoThread extends Log4jThread {
+
+        private final ByteBuffer[] views = {ring.duplicate(), ring.duplicate()};
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(512);
+        // Position of the next byte to write to the channel, the ring is released up to the last whole event before it.
+        private long sendPosition;
+        private SocketChannel channel;
+        private SelectionKey key;
+        private long nextConnectNanos;
+        private boolean failedBefore;
+        private boolean connectFailedWhileStopping;
+
+        IoThread(final String managerName) {
+            super("NioTcpSocketManager-" + managerName);
+            setDaemon(true);
+            nextConnectNanos = System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!isDone()) {
+                    // When stopping, try once more right away instead of waiting for the reconnection delay.
+                    if (channel == null && (stopping || System.nanoTime() - nextConnectNanos >= 0)) {
+                        connect();
+                    }
+                    if (channel != null) {
+                        try {
+                            final boolean drained = send();
+                            key.interestOps(drained ? SelectionKey.OP_READ
+                                    : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                        } catch (final IOException ex) {
+                            disconnect(ex);
+                            continue;
+                        }
+                    }
+                    if (isDone()) {
+                        break;
+                    }
+                    await();
+                    if (channel != null && selector.selectedKeys().contains(key) && key.isReadable() && !readPeer()) {
+                        disconnect(null);
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } finally {
+                closeChannel();
+                Closer.closeSilently(selector);
+            }
+        }
+
+        private boolean isDone() {
+            if (!stopping) {
+                return false;
+            }
+            return head == tail || connectFailedWhileStopping || System.nanoTime() - stopDeadlineNanos >= 0
+                    || isInterrupted();
+        }
+
+        /**
+         * Waits until a logging thread writes, the channel is ready or the next connection attempt is due.
+         */
+        private void await() {
+            long timeoutMillis = 0;
+            if (channel == null) {
+                timeoutMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextConnectNanos - System.nanoTime()));
+            }
+            if (stopping && stopDeadlineNanos != Long.MAX_VALUE) {
+                final long remaining = Math.max(1, TimeUnit.NANOSECONDS.toMillis(stopDeadlineNanos - System.nanoTime()));
+                timeoutMillis = timeoutMillis == 0 ? remaining : Math.min(timeoutMillis, remaining);
+            }
+            try {
+                selecting.set(true);
+                // Skip the wait if a logging thread wrote while the channel was drained.
+                if (channel == null || sendPosition == tail || (key.interestOps() & SelectionKey.OP_WRITE) != 0) {
+                    selector.select(timeoutMillis);
+                } else {
+                    selector.selectNow();
+                }
+            } catch (final IOException ex) {
+                LOGGER.debug("Unable to select for {}: {}", getName(), ex.getMessage());
+            } finally {
+                selecting.set(false);
+            }
+        }
+
+        /**
+         * Writes as many pending bytes as the channel accepts.
+         *
+         * @return {@code true} if all pending bytes were written.
+         */
+        private boolean send() throws IOException {
+            long currentPosition = sendPosition;
+            long currentTail;
+            while (currentPosition != (currentTail = tail)) {
+                final int position = (int) (currentPosition % capacity);
+                final long pending = currentTail - currentPosition;
+                final int first = (int) Math.min(pending, capacity - position);
+                views[0].limit(position + first).position(position);
+                int viewCount = 1;
+                if (first < pending) {
+                    views[1].limit((int) (pending - first)).position(0);
+                    viewCount = 2;
+                }
+                final long written = channel.write(views, 0, viewCount);
+                if (written == 0) {
+                    return false;
+                }
+                currentPosition += written;
+                sendPosition = currentPosition;
+                release(currentPosition);
+            }
+            return true;
+        }
+
+        /**
+         * Releases the events that were written to the channel completely.
+         */
+        private void release(final long sent) {
+            long currentHead = head;
+            long currentEventHead = eventHead;
+            final long currentEventTail = eventTail;
+            while (currentEventHead != currentEventTail) {
+                final int length = eventLengths[(int) (currentEventHead % eventLengths.length)];
+                if (currentHead + length > sent) {
+                    break;
+                }
+                currentHead += length;
+                currentEventHead++;
+            }
+            eventHead = currentEventHead;
+            head = currentHead;
+        }
+
+        /**
+         * Reads and discards what the peer sends, to notice when it closes the connection.
+         *
+         * @return {@code false} if the peer closed the connection.
+         */
+        private boolean readPeer() {
+            try {
+                int n;
+                do {
+                    readBuffer.clear();
+                    n = channel.read(readBuffer);
+                } while (n > 0);
+                return n == 0;
+            } catch (final IOException ex) {
+                return false;
+            }
+        }
+
+        private void connect() {
+            List<InetSocketAddress> socketAddresses;
+            try {
+                socketAddresses = TcpSocketManager.TcpSocketManagerFactory.RESOLVER.resolveHost(host, port);
+            } catch (final UnknownHostException ex) {
+                connectFailed(ex);
+                return;
+            }
+            IOException error = null;
+            for (final InetSocketAddress socketAddress : socketAddresses) {
+                SocketChannel newChannel = null;
+                try {
+                    newChannel = SocketChannel.open();
+                    if (socketOptions != null) {
+                        socketOptions.apply(newChannel.socket());
+                    }
+                    newChannel.socket().connect(socketAddress, connectTimeoutMillis);
+                    newChannel.configureBlocking(false);
+                    key = newChannel.register(selector, SelectionKey.OP_READ);
+                    channel = newChannel;
+                    connected = true;
+                    if (failedBefore) {
+                        reconnects++;
+                    }
+                    LOGGER.debug("Connection to {} established, {} bytes pending", socketAddress, tail - head);
+                    return;
+                } catch (final IOException ex) {
+                    Closer.closeSilently(newChannel);
+                    error = ex;
+                }
+            }
+            connectFailed(error != null ? error : new IOException("No address for " + host));
+        }
+
+        private void connectFailed(final IOException ex) {
+            failedBefore = true;
+            LOGGER.debug("Unable to connect to {}:{}: {}", host, port, ex.getMessage());
+            if (stopping) {
+                connectFailedWhileStopping = true;
+            }
+            nextConnectNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(reconnectionDelayMillis);
+        }
+
+        private void disconnect(final IOException ex) {
+            if (ex != null) {
+                LOGGER.warn("Connection to {}:{} failed, {} bytes pending: {}", host, port, tail - head,
+                        ex.getMessage());
+            } else {
+                LOGGER.warn("Connection to {}:{} closed by peer, {} bytes pending", host, port, tail - head);
+            }
+            closeChannel();
+            failedBefore = true;
+            nextConnectNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(reconnectionDelayMillis);
+        }
+
+        private void closeChannel() {
+            connected = false;
+            // The next connection starts with the first event that was not sent completely.
+            sendPosition = head;
+            if (key != null) {
+                key.cancel();
+                key = null;
+            }
+            if (channel != null) {
+                Closer.closeSilently(channel);
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Data for the factory.
+     */
+    private static class FactoryData {
+        private final String host;
+        private final int port;
+        private final int connectTimeoutMillis;
+        private final int reconnectDelayMillis;
+        private final Layout<? extends Serializable> layout;
+        private final int bufferSize;
+        private final SocketOptions socketOptions;
+
+        FactoryData(final String host, final int port, final int connectTimeoutMillis, final int reconnectDelayMillis,
+                final Layout<? extends Serializable> layout, final int bufferSize, final SocketOptions socketOptions) {
+            this.host = host;
+            this.port = port;
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            this.reconnectDelayMillis = reconnectDelayMillis;
+            this.layout = layout;
+            this.bufferSize = bufferSize;
+            this.socketOptions = socketOptions;
+        }
+    }
+
+    /**
+     * Factory to create a NioTcpSocketManager.
+     */
+    private static class NioTcpSocketManagerFactory implements ManagerFactory<NioTcpSocketManager, FactoryData> {
+
+        @Override
+        public NioTcpSocketManager createManager(final String name, final FactoryData data) {
+            final InetAddress inetAddress;
+            try {
+                inetAddress = InetAddress.getByName(data.host);
+            } catch (final UnknownHostException ex) {
+                LOGGER.error("Could not find address of {}: {}", data.host, ex, ex);
+                return null;
+            }
+            try {
+                final NioTcpSocketManager manager = new NioTcpSocketManager(name, inetAddress, data.host, data.port,
+                        data.connectTimeoutMillis, data.reconnectDelayMillis, data.layout, data.bufferSize,
+                        data.socketOptions);
+                manager.startIoThread();
+                return manager;
+            } catch (final IOException ex) {
+                LOGGER.error("NioTcpSocketManager ({}) could not be created", name, ex);
+                return null;
+            }
+        }
+    }
+}
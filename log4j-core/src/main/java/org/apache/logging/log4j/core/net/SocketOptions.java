@@ -97,6 +97,9 @@ public class SocketOptions implements Builder<SocketOptions>, Cloneable {
         if (receiveBufferSize != null) {
             socket.setReceiveBufferSize(receiveBufferSize.intValue());
         }
+        if (sendBufferSize != null) {
+            socket.setSendBufferSize(sendBufferSize.intValue());
+        }
         if (soLinger != null) {
             socket.setSoLinger(true, soLinger.intValue());
         }
@@ -19,6 +19,7 @@ package org.apache.logging.log4j.core.pattern;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.impl.StackTraceRenderer;
 import org.apache.logging.log4j.core.impl.ThrowableProxy;
 
 /**
@@ -28,11 +29,22 @@ import org.apache.logging.log4j.core.impl.ThrowableProxy;
  * <p>
  * The extended stack trace will also include the location of where the class was loaded from and the
  * version of the jar if available.
+ * </p>
+ * <p>
+ * With the {@code direct} option, plain stack traces are rendered by the {@link StackTraceRenderer} without creating a
+ * {@link ThrowableProxy}. The call stack is then not inspected and all packaging information is marked as inexact.
+ * </p>
  */
 @Plugin(name = "ExtendedThrowablePatternConverter", category = PatternConverter.CATEGORY)
 @ConverterKeys({ "xEx", "xThrowable", "xException" })
 public final class ExtendedThrowablePatternConverter extends ThrowablePatternConverter {
 
+    /**
+     * Whether the stack trace is rendered without creating a {@link ThrowableProxy}, which is done if the
+     * {@code direct} option is set, unless the output is styled.
+     */
+    private final boolean directRendering;
+
     /**
      * Private constructor.
      *
@@ -41,6 +53,8 @@ public final class ExtendedThrowablePatternConverter extends ThrowablePatternCon
      */
     private ExtendedThrowablePatternConverter(final Configuration config, final String[] options) {
         super("ExtendedThrowable", "throwable", options, config);
+        directRendering = this.options.isDirectRendering()
+                && this.options.getTextRenderer() instanceof PlainTextRenderer;
     }
 
     /**
@@ -60,8 +74,20 @@ public final class ExtendedThrowablePatternConverter extends ThrowablePatternCon
      */
     @Override
     public void format(final LogEvent event, final StringBuilder toAppendTo) {
-        final ThrowableProxy proxy = event.getThrownProxy();
         final Throwable throwable = event.getThrown();
+        if (throwable != null && renderingCache != null && options.anyLines()) {
+            // Fingerprint the throwable before asking for the proxy, which may be created lazily.
+            final String suffix = getSuffix(event);
+            appendSpaceIfNeeded(toAppendTo);
+            renderingCache.format(throwable, suffix, toAppendTo, buffer -> formatExtended(event, suffix, buffer));
+            return;
+        }
+        if (throwable != null && directRendering && options.anyLines()) {
+            appendSpaceIfNeeded(toAppendTo);
+            formatExtended(event, getSuffix(event), toAppendTo);
+            return;
+        }
+        final ThrowableProxy proxy = event.getThrownProxy();
         if ((throwable != null || proxy != null) && options.anyLines()) {
             if (proxy == null) {
                 super.format(event, toAppendTo);
@@ -76,4 +102,19 @@ public final class ExtendedThrowablePatternConverter extends ThrowablePatternCon
         }
     }
 
+    private void formatExtended(final LogEvent event, final String suffix, final StringBuilder toAppendTo) {
+        if (directRendering) {
+            StackTraceRenderer.formatExtendedStackTrace(event.getThrown(), toAppendTo, options.getIgnorePackages(),
+                    suffix, options.getSeparator());
+            return;
+        }
+        final ThrowableProxy proxy = event.getThrownProxy();
+        if (proxy == null) {
+            formatOption(event.getThrown(), suffix, toAppendTo);
+            return;
+        }
+        proxy.formatExtendedStackTraceTo(toAppendTo, options.getIgnorePackages(),
+                options.getTextRenderer(), suffix, options.getSeparator());
+    }
+
 }
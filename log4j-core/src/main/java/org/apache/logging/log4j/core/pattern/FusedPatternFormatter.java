@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.pattern;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Formats a log event with a sequence of {@link PatternFormatter}s fused into a single method handle.
+ * <p>
+ * Iterating over the formatters of a pattern calls {@code format} at one call site for all converters. That call
+ * site sees many converter classes in a real configuration and cannot be inlined. When the formatters are fused,
+ * each converter is bound to its own method handle and the handles are folded into one, in pattern order. After the
+ * fused handle has been invoked a number of times, the JVM specializes it for the bound converters. The JIT compiler
+ * then sees them as constants and can inline the whole pattern as straight-line code.
+ * </p>
+ * <p>
+ * Adjacent literals are merged into a single string while the formatters are fused. This covers line separators
+ * ({@code %n}) and literals without lookups. Converters with a non-default {@link FormattingInfo} are formatted
+ * through their {@link PatternFormatter}, all others are called directly.
+ * </p>
+ * <p>
+ * Instances are immutable and thread-safe as long as the converters are.
+ * </p>
+ *
+ * @since 2.19.0
+ */
+public final class FusedPatternFormatter {
+
+    private static final MethodHandle APPEND_STRING;
+    private static final MethodHandle CONVERTER_FORMAT;
+    private static final MethodHandle FORMATTER_FORMAT;
+    private static final MethodHandle NO_OP;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final MethodType formatType = MethodType.methodType(void.class, LogEvent.class, StringBuilder.class);
+        try {
+            APPEND_STRING = lookup.findVirtual(StringBuilder.class, "append",
+                    MethodType.methodType(StringBuilder.class, String.class));
+            CONVERTER_FORMAT = lookup.findVirtual(LogEventPatternConverter.class, "format", formatType);
+            FORMATTER_FORMAT = lookup.findVirtual(PatternFormatter.class, "format", formatType);
+            NO_OP = lookup.findStatic(FusedPatternFormatter.class, "noOp", formatType);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final MethodHandle handle;
+    private final int stepCount;
+
+    private FusedPatternFormatter(final MethodHandle handle, final int stepCount) {
+        this.handle = handle;
+        this.stepCount = stepCount;
+    }
+
+    /**
+     * Fuses the given formatters.
+     *
+     * @param formatters the formatters of a pattern, in order.
+     * @return a formatter producing the same output as the given formatters one after another.
+     */
+    public static FusedPatternFormatter fuse(final PatternFormatter[] formatters) {
+        final List<MethodHandle> steps = new ArrayList<>(formatters.length);
+        final StringBuilder literal = new StringBuilder();
+        for (final PatternFormatter formatter : formatters) {
+            final String text = constantText(formatter);
+            if (text != null) {
+                literal.append(text);
+                continue;
+            }
+            addLiteral(literal, steps);
+            if (formatter.getFormattingInfo() == FormattingInfo.getDefault()) {
+                steps.add(CONVERTER_FORMAT.bindTo(formatter.getConverter()));
+            } else {
+                steps.add(FORMATTER_FORMAT.bindTo(formatter));
+            }
+        }
+        addLiteral(literal, steps);
+        MethodHandle fused = steps.isEmpty() ? NO_OP : steps.get(steps.size() - 1);
+        for (int i = steps.size() - 2; i >= 0; i--) {
+            // Runs step i, then the steps after it, with the same arguments.
+            fused = MethodHandles.foldArguments(fused, steps.get(i));
+        }
+        return new FusedPatternFormatter(fused, steps.size());
+    }
+
+    /**
+     * Returns the text a formatter always appends, or {@code null} if it depends on the event.
+     */
+    private static String constantText(final PatternFormatter formatter) {
+        final FormattingInfo info = formatter.getFormattingInfo();
+        if (info != null && info != FormattingInfo.getDefault()) {
+            return null;
+        }
+        final LogEventPatternConverter converter = formatter.getConverter();
+        if (converter instanceof LineSeparatorPatternConverter) {
+            return Strings.LINE_SEPARATOR;
+        }
+        if (converter instanceof LiteralPatternConverter && ((LiteralPatternConverter) converter).isConstant()) {
+            return ((LiteralPatternConverter) converter).getLiteral();
+        }
+        return null;
+    }
+
+    private static void addLiteral(final StringBuilder literal, final List<MethodHandle> steps) {
+        if (literal.length() > 0) {
+            final MethodHandle append = MethodHandles.insertArguments(APPEND_STRING, 1, literal.toString())
+                    .asType(MethodType.methodType(void.class, StringBuilder.class));
+            steps.add(MethodHandles.dropArguments(append, 0, LogEvent.class));
+            literal.setLength(0);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static void noOp(final LogEvent event, final StringBuilder buffer) {
+        // an empty pattern
+    }
+
+    /**
+     * Appends the formatted event to the given buffer.
+     *
+     * @param event the event to format.
+     * @param buffer the buffer to append to.
+     */
+    public void format(final LogEvent event, final StringBuilder buffer) {
+        try {
+            handle.invokeExact(event, buffer);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            // converters do not throw checked exceptions
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Returns the number of steps this formatter runs: one for each converter and one for each run of literals.
+     *
+     * @return the number of steps.
+     */
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    @Override
+    public String toString() {
+        return "FusedPatternFormatter[steps=" + stepCount + ']';
+    }
+}
@@ -18,6 +18,7 @@ package org.apache.logging.log4j.core.pattern;
 
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.lookup.StrTemplate;
 import org.apache.logging.log4j.core.util.OptionConverter;
 import org.apache.logging.log4j.util.PerformanceSensitive;
 
@@ -37,6 +38,11 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
 
     private final boolean substitute;
 
+    /**
+     * The literal parsed once for substitution, or {@code null}.
+     */
+    private final StrTemplate template;
+
     /**
      * Create a new instance.
      *
@@ -50,6 +56,7 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
         this.literal = convertBackslashes ? OptionConverter.convertSpecialChars(literal) : literal; // LOG4J2-829
         this.config = config;
         substitute = config != null && containsSubstitutionSequence(literal);
+        template = substitute ? config.getStrSubstitutor().compile(this.literal) : null;
     }
 
     static boolean containsSubstitutionSequence(final String literal) {
@@ -61,7 +68,11 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
      */
     @Override
     public void format(final LogEvent event, final StringBuilder toAppendTo) {
-        toAppendTo.append(substitute ? config.getStrSubstitutor().replace(event, literal) : literal);
+        if (substitute) {
+            template.replace(event, toAppendTo);
+        } else {
+            toAppendTo.append(literal);
+        }
     }
 
     /**
@@ -69,7 +80,11 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
      */
     @Override
     public void format(final Object obj, final StringBuilder output) {
-        output.append(substitute ? config.getStrSubstitutor().replace(literal) : literal);
+        if (substitute) {
+            template.replace(null, output);
+        } else {
+            output.append(literal);
+        }
     }
 
     /**
@@ -77,13 +92,24 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
      */
     @Override
     public void format(final StringBuilder output, final Object... objects) {
-        output.append(substitute ? config.getStrSubstitutor().replace(literal) : literal);
+        if (substitute) {
+            template.replace(null, output);
+        } else {
+            output.append(literal);
+        }
     }
 
     public String getLiteral() {
         return literal;
     }
 
+    /**
+     * Returns {@code true} if this converter always appends {@link #getLiteral() the literal}.
+     */
+    boolean isConstant() {
+        return !substitute;
+    }
+
     @Override
     public boolean isVariable() {
         return false;
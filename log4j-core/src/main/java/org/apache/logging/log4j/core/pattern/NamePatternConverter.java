@@ -17,18 +17,36 @@
 package org.apache.logging.log4j.core.pattern;
 
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.apache.logging.log4j.util.PerformanceSensitive;
 
 /**
  * Abstract base class for other pattern converters which can return only parts of their name.
+ * <p>
+ * Abbreviated names are cached: the names of loggers and classes that log are few and keep coming back, so after the
+ * first event of a name, formatting it is a map lookup. The cache is cleared when it holds too many names.
+ * </p>
  */
 @PerformanceSensitive("allocation")
 public abstract class NamePatternConverter extends LogEventPatternConverter {
+
+    /**
+     * Most names whose abbreviation is cached.
+     */
+    static final int MAX_CACHED_NAMES = 1024;
+
     /**
      * Abbreviator.
      */
     private final NameAbbreviator abbreviator;
 
+    /**
+     * Abbreviations by name, {@code null} if names are not abbreviated.
+     */
+    private final ConcurrentMap<String, String> abbreviations;
+
     /**
      * Constructor.
      *
@@ -44,6 +62,7 @@ public abstract class NamePatternConverter extends LogEventPatternConverter {
         } else {
             abbreviator = NameAbbreviator.getDefaultAbbreviator();
         }
+        abbreviations = abbreviator == NameAbbreviator.getDefaultAbbreviator() ? null : new ConcurrentHashMap<>();
     }
 
     /**
@@ -54,6 +73,20 @@ public abstract class NamePatternConverter extends LogEventPatternConverter {
      * @return The abbreviated name.
      */
     protected final void abbreviate(final String original, final StringBuilder destination) {
+        if (abbreviations == null || original == null) {
+            abbreviator.abbreviate(original, destination);
+            return;
+        }
+        final String abbreviation = abbreviations.get(original);
+        if (abbreviation != null) {
+            destination.append(abbreviation);
+            return;
+        }
+        final int start = destination.length();
         abbreviator.abbreviate(original, destination);
+        if (abbreviations.size() >= MAX_CACHED_NAMES) {
+            abbreviations.clear();
+        }
+        abbreviations.put(original, destination.substring(start));
     }
 }
@@ -16,8 +16,6 @@
  */
 package org.apache.logging.log4j.core.pattern;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -25,9 +23,9 @@ import java.util.List;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.impl.StackTraceRenderer;
 import org.apache.logging.log4j.core.impl.ThrowableFormatOptions;
 import org.apache.logging.log4j.core.layout.PatternLayout;
-import org.apache.logging.log4j.core.util.StringBuilderWriter;
 import org.apache.logging.log4j.util.Strings;
 
 
@@ -53,6 +51,12 @@ public class ThrowablePatternConverter extends LogEventPatternConverter {
      */
     protected final ThrowableFormatOptions options;
 
+    /**
+     * Renderings cached by stack trace fingerprint, {@code null} unless the {@code cache} or {@code dedup} option is
+     * set.
+     */
+    final ThrowableRenderingCache renderingCache;
+
     /**
      * Constructor.
      * @param name Name of converter.
@@ -109,6 +113,9 @@ public class ThrowablePatternConverter extends LogEventPatternConverter {
                 ThrowableFormatOptions.METHOD_NAME.equalsIgnoreCase(rawOption) ||
                 ThrowableFormatOptions.CLASS_NAME.equalsIgnoreCase(rawOption);
         nonStandardLineSeparator = !Strings.LINE_SEPARATOR.equals(this.options.getSeparator());
+        renderingCache = this.options.getCacheSize() > 0
+                ? new ThrowableRenderingCache(this.options)
+                : null;
     }
 
     /**
@@ -134,7 +141,14 @@ public class ThrowablePatternConverter extends LogEventPatternConverter {
             formatSubShortOption(t, getSuffix(event), buffer);
         }
         else if (t != null && options.anyLines()) {
-            formatOption(t, getSuffix(event), buffer);
+            final String suffix = getSuffix(event);
+            if (renderingCache != null) {
+                // Separate before rendering, so that the cached rendering does not depend on the preceding text.
+                appendSpaceIfNeeded(buffer);
+                renderingCache.format(t, suffix, buffer, b -> formatOption(t, suffix, b));
+            } else {
+                formatOption(t, suffix, buffer);
+            }
         }
     }
 
@@ -185,20 +199,41 @@ public class ThrowablePatternConverter extends LogEventPatternConverter {
         }
     }
 
-    private void formatOption(final Throwable throwable, final String suffix, final StringBuilder buffer) {
+    static void appendSpaceIfNeeded(final StringBuilder buffer) {
         final int len = buffer.length();
         if (len > 0 && !Character.isWhitespace(buffer.charAt(len - 1))) {
             buffer.append(' ');
         }
-        if (!options.allLines() || nonStandardLineSeparator || Strings.isNotBlank(suffix)) {
-            final StringWriter w = new StringWriter();
-            throwable.printStackTrace(new PrintWriter(w));
+    }
 
-            final String[] array = w.toString().split(Strings.LINE_SEPARATOR);
-            final int limit = options.minLines(array.length) - 1;
+    void formatOption(final Throwable throwable, final String suffix, final StringBuilder buffer) {
+        appendSpaceIfNeeded(buffer);
+        if (!options.allLines() || nonStandardLineSeparator || Strings.isNotBlank(suffix)) {
+            // Render the full trace behind the existing content, then append the selected lines and remove it again.
+            final int start = buffer.length();
+            StackTraceRenderer.formatStackTrace(throwable, buffer);
+            final int end = buffer.length();
+            final String lineSeparator = Strings.LINE_SEPARATOR;
+            // Like String.split(), ignore trailing empty lines.
+            int contentEnd = end;
+            while (contentEnd - start >= lineSeparator.length()
+                    && buffer.lastIndexOf(lineSeparator, contentEnd - 1) == contentEnd - lineSeparator.length()) {
+                contentEnd -= lineSeparator.length();
+            }
+            int lineCount = 1;
+            for (int i = buffer.indexOf(lineSeparator, start); i >= 0 && i < contentEnd;
+                    i = buffer.indexOf(lineSeparator, i + lineSeparator.length())) {
+                lineCount++;
+            }
+            final int limit = options.minLines(lineCount) - 1;
             final boolean suffixNotBlank = Strings.isNotBlank(suffix);
+            int lineStart = start;
             for (int i = 0; i <= limit; ++i) {
-                buffer.append(array[i]);
+                int lineEnd = buffer.indexOf(lineSeparator, lineStart);
+                if (lineEnd < 0 || lineEnd > contentEnd) {
+                    lineEnd = contentEnd;
+                }
+                buffer.append(buffer, lineStart, lineEnd);
                 if (suffixNotBlank) {
                     buffer.append(' ');
                     buffer.append(suffix);
@@ -206,9 +241,11 @@ public class ThrowablePatternConverter extends LogEventPatternConverter {
                 if (i < limit) {
                     buffer.append(options.getSeparator());
                 }
+                lineStart = lineEnd + lineSeparator.length();
             }
+            buffer.delete(start, end);
         } else {
-            throwable.printStackTrace(new PrintWriter(new StringBuilderWriter(buffer)));
+            StackTraceRenderer.formatStackTrace(throwable, buffer);
         }
     }
 
@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.pattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.core.impl.ThrowableFormatOptions;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Caches the rendered stack traces of a throwable converter by fingerprint, and optionally replaces repeated stack
+ * traces with a short reference.
+ * <p>
+ * The fingerprint of a throwable is a 64-bit hash of the class names and stack frames of the throwable, its causes
+ * and its suppressed throwables. A cached rendering is reused if the fingerprint, the stack frames and the first lines
+ * of all throwables in the chain, which contain their messages, are the same. Comparing the frames guards against
+ * fingerprint collisions. With a deduplication window, a stack trace rendered less than the window ago is instead
+ * written as its first line followed by {@code [dup#<fingerprint> x<n>]}, where {@code n} counts the occurrences since
+ * the full rendering. Only the most recently used fingerprints are kept.
+ * </p>
+ */
+final class ThrowableRenderingCache {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ThrowableFormatOptions options;
+
+    private final long dedupWindowNanos;
+
+    private final Map<Long, Entry> entries;
+
+    ThrowableRenderingCache(final ThrowableFormatOptions options) {
+        this.options = options;
+        this.dedupWindowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, options.getDedupWindowMillis()));
+        final int maxSize = options.getCacheSize();
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Appends the rendering of the given throwable to the buffer, from the cache if possible.
+     *
+     * @param throwable the throwable to render.
+     * @param suffix the suffix of the rendering, part of the cache key.
+     * @param buffer the buffer to append to.
+     * @param renderer appends the full rendering of the throwable to the buffer it is given.
+     */
+    void format(final Throwable throwable, final String suffix, final StringBuilder buffer,
+            final Consumer<StringBuilder> renderer) {
+        final List<StackTraceElement[]> frames = new ArrayList<>();
+        final long fingerprint = fingerprint(throwable, frames);
+        final long now = System.nanoTime();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(fingerprint);
+        }
+        if (entry != null && !entry.hasFrames(frames)) {
+            // A different stack trace with the same fingerprint, which replaces the cached one below.
+            entry = null;
+        }
+        if (entry != null && dedupWindowNanos > 0) {
+            final int occurrence = entry.occurrence(now, dedupWindowNanos);
+            if (occurrence > 0) {
+                formatReference(throwable, fingerprint, occurrence, suffix, buffer);
+                return;
+            }
+        }
+        final String key = key(throwable, suffix);
+        if (entry != null && entry.key.equals(key)) {
+            buffer.append(entry.rendering);
+            return;
+        }
+        final int start = buffer.length();
+        renderer.accept(buffer);
+        final Entry rendered = new Entry(key, frames, buffer.substring(start), now);
+        synchronized (entries) {
+            entries.put(fingerprint, rendered);
+        }
+    }
+
+    /**
+     * Renders the first line of the throwable followed by the reference, with the text renderer and line separator of
+     * the full renderings.
+     */
+    private void formatReference(final Throwable throwable, final long fingerprint, final int occurrence,
+            final String suffix, final StringBuilder buffer) {
+        final TextRenderer textRenderer = options.getTextRenderer();
+        textRenderer.render(throwable.getClass().getName(), buffer, "Name");
+        final String message = throwable.getLocalizedMessage();
+        if (message != null) {
+            textRenderer.render(": ", buffer, "NameMessageSeparator");
+            textRenderer.render(message, buffer, "Message");
+        }
+        final StringBuilder reference = new StringBuilder(" [dup#");
+        appendHex(fingerprint, reference);
+        reference.append(" x").append(occurrence).append(']');
+        textRenderer.render(reference.toString(), buffer, "Text");
+        if (Strings.isNotBlank(suffix)) {
+            textRenderer.render(" ", buffer, "Suffix");
+            textRenderer.render(suffix, buffer, "Suffix");
+        }
+        textRenderer.render(options.getSeparator(), buffer, "Text");
+    }
+
+    private static void appendHex(final long value, final StringBuilder buffer) {
+        final String hex = Long.toHexString(value);
+        for (int i = hex.length(); i < 16; i++) {
+            buffer.append('0');
+        }
+        buffer.append(hex);
+    }
+
+    /**
+     * Returns the fingerprint of the class names and stack frames of the given throwable, its causes and suppressed
+     * throwables.
+     *
+     * @param throwable the throwable.
+     * @return the fingerprint.
+     */
+    static long fingerprint(final Throwable throwable) {
+        return fingerprint(throwable, new ArrayList<>());
+    }
+
+    /**
+     * Returns the fingerprint of the given throwable and collects the stack frames of the throwables in the chain.
+     */
+    private static long fingerprint(final Throwable throwable, final List<StackTraceElement[]> frames) {
+        return fingerprint(throwable, FNV_OFFSET_BASIS, Collections.newSetFromMap(new IdentityHashMap<>()), frames);
+    }
+
+    private static long fingerprint(final Throwable throwable, long hash, final Set<Throwable> visited,
+            final List<StackTraceElement[]> frames) {
+        if (!visited.add(throwable)) {
+            return hash;
+        }
+        hash = mix(hash, throwable.getClass().getName().hashCode());
+        final StackTraceElement[] stackTrace = throwable.getStackTrace();
+        frames.add(stackTrace);
+        for (final StackTraceElement element : stackTrace) {
+            hash = mix(hash, element.hashCode());
+        }
+        for (final Throwable suppressed : throwable.getSuppressed()) {
+            hash = fingerprint(suppressed, mix(hash, 's'), visited, frames);
+        }
+        final Throwable cause = throwable.getCause();
+        return cause == null ? hash : fingerprint(cause, mix(hash, 'c'), visited, frames);
+    }
+
+    private static long mix(final long hash, final int value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    /**
+     * Returns the parts of the rendering that the stack frames do not cover: the first lines of the throwables in the
+     * chain, how they relate to each other, and the suffix.
+     */
+    private static String key(final Throwable throwable, final String suffix) {
+        final StringBuilder key = new StringBuilder(suffix);
+        final Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        appendKey(throwable, '\n', key, visited);
+        return key.toString();
+    }
+
+    private static void appendKey(final Throwable throwable, final char relation, final StringBuilder key,
+            final Set<Throwable> visited) {
+        if (!visited.add(throwable)) {
+            return;
+        }
+        key.append(relation).append(throwable);
+        for (final Throwable suppressed : throwable.getSuppressed()) {
+            appendKey(suppressed, 's', key, visited);
+        }
+        final Throwable cause = throwable.getCause();
+        if (cause != null) {
+            appendKey(cause, 'c', key, visited);
+        }
+    }
+
+    private static final class Entry {
+
+        private final String key;
+        private final StackTraceElement[][] frames;
+        private final String rendering;
+        private long windowStart;
+        private int count = 1;
+
+        private Entry(final String key, final List<StackTraceElement[]> frames, final String rendering,
+                final long windowStart) {
+            this.key = key;
+            this.frames = frames.toArray(new StackTraceElement[0][]);
+            this.rendering = rendering;
+            this.windowStart = windowStart;
+        }
+
+        boolean hasFrames(final List<StackTraceElement[]> other) {
+            if (frames.length != other.size()) {
+                return false;
+            }
+            for (int i = 0; i < frames.length; i++) {
+                if (!Arrays.equals(frames[i], other.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the number of occurrences since the full rendering, or 0 if the window has passed and the stack
+         * trace should be rendered in full again.
+         */
+        synchronized int occurrence(final long now, final long windowNanos) {
+            if (now - windowStart < windowNanos) {
+                return ++count;
+            }
+            windowStart = now;
+            count = 1;
+            return 0;
+        }
+    }
+}
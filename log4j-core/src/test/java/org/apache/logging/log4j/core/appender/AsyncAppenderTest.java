@@ -150,6 +150,13 @@ public class AsyncAppenderTest {
         exceptionTest(context);
     }
 
+    @Test
+    @LoggerContextSource("BlockingQueueFactory-MpscArrayBlockingQueue.xml")
+    public void testMpscArrayBlockingQueue(final LoggerContext context) throws InterruptedException {
+        rewriteTest(context);
+        exceptionTest(context);
+    }
+
     @Test
     @LoggerContextSource("log4j-asynch-no-location.xml")
     public void testNoLocationInformation(final LoggerContext context, @Named("List") final ListAppender appender) throws InterruptedException {
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the concurrent write mode of {@link OutputStreamManager}.
+ */
+public class ConcurrentWriteBufferTest {
+
+    @Test
+    public void testDrainSwapsRegions() {
+        final ConcurrentWriteBuffer buffer = new ConcurrentWriteBuffer(8);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(buffer.tryWrite(bytes("abcd"), 0, 4));
+        assertTrue(buffer.tryWrite(bytes("efgh"), 0, 4));
+        assertFalse(buffer.tryWrite(bytes("i"), 0, 1), "Region should be full");
+        buffer.drainTo(out::write);
+        assertFalse(buffer.hasPending());
+        assertTrue(buffer.tryWrite(bytes("ij"), 0, 2));
+        assertEquals(2, buffer.pendingBytes());
+        buffer.drainTo(out::write);
+        assertEquals("abcdefghij", new String(out.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testConcurrentWritesKeepRecordsIntactAndOrdered() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final OutputStreamManager manager = new OutputStreamManager(out, "concurrent", null, false, 256);
+        manager.setConcurrentWrites(true);
+        assertTrue(manager.isConcurrentWrites());
+
+        final int threadCount = 8;
+        final int recordsPerThread = 2000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final int threadId = t;
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < recordsPerThread; i++) {
+                    manager.write(bytes(String.format("%02d:%06d\n", threadId, i)), i % 7 == 0);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        manager.flush();
+
+        final String[] lines = new String(out.toByteArray(), StandardCharsets.US_ASCII).split("\n");
+        assertEquals(threadCount * recordsPerThread, lines.length);
+        final int[] next = new int[threadCount];
+        for (final String line : lines) {
+            assertEquals(9, line.length(), line);
+            final int threadId = Integer.parseInt(line.substring(0, 2));
+            final int sequence = Integer.parseInt(line.substring(3));
+            assertEquals(next[threadId]++, sequence, "Out of order record for thread " + threadId);
+        }
+    }
+
+    @Test
+    public void testRecordLargerThanBufferIsWrittenDirectly() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final OutputStreamManager manager = new OutputStreamManager(out, "concurrent", null, false, 4);
+        manager.setConcurrentWrites(true);
+        manager.write(bytes("ab"), false);
+        manager.write(bytes("0123456789"), false);
+        manager.write(bytes("cd"), false);
+        manager.flush();
+        assertEquals("ab0123456789cd", new String(out.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testDisablingDrainsPendingBytes() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final OutputStreamManager manager = new OutputStreamManager(out, "concurrent", null, false, 64);
+        manager.setConcurrentWrites(true);
+        manager.write(bytes("pending"), false);
+        assertEquals(0, out.size());
+        manager.setConcurrentWrites(false);
+        assertFalse(manager.isConcurrentWrites());
+        assertEquals("pending", new String(out.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] bytes(final String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
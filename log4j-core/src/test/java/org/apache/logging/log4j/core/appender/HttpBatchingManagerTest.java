@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the batching {@link HttpAppender} against a local {@link HttpServer}.
+ */
+public class HttpBatchingManagerTest {
+
+    private HttpServer server;
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/logs", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (final InputStream in = exchange.getRequestBody()) {
+            final byte[] buffer = new byte[1024];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                body.write(buffer, 0, n);
+            }
+        }
+        requests.add(new Request(exchange.getRequestHeaders().getFirst("Content-Encoding"), body.toByteArray()));
+        final byte[] response = "ok".getBytes(StandardCharsets.US_ASCII);
+        exchange.sendResponseHeaders(200, response.length);
+        try (final OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private HttpAppender.Builder<?> newBuilder(final String pattern) throws IOException {
+        return HttpAppender.newBuilder()
+                .setName("Http")
+                .setConfiguration(new DefaultConfiguration())
+                .setLayout(PatternLayout.newBuilder().withPattern(pattern).build())
+                .setUrl(new URL("http://localhost:" + server.getAddress().getPort() + "/logs"));
+    }
+
+    private static LogEvent createLogEvent(final String message) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(HttpBatchingManagerTest.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(message))
+                .build();
+    }
+
+    private Request nextRequest() throws InterruptedException {
+        final Request request = requests.poll(10, TimeUnit.SECONDS);
+        assertNotNull(request, "No request received");
+        return request;
+    }
+
+    @Test
+    public void testBatchesOfLines() throws Exception {
+        final HttpAppender appender = newBuilder("%m%n").setBatchSize(3).setFlushIntervalMillis(60000).build();
+        appender.start();
+        for (int i = 0; i < 7; i++) {
+            appender.append(createLogEvent("event " + i));
+        }
+        assertEquals("event 0\nevent 1\nevent 2\n", nextRequest().text());
+        assertEquals("event 3\nevent 4\nevent 5\n", nextRequest().text());
+        assertTrue(requests.isEmpty(), "The last batch is not full");
+        assertTrue(appender.stop(10, TimeUnit.SECONDS));
+        assertEquals("event 6\n", nextRequest().text());
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void testLineFeedIsAdded() throws Exception {
+        final HttpAppender appender = newBuilder("%m").setBatchSize(2).build();
+        appender.start();
+        appender.append(createLogEvent("a"));
+        appender.append(createLogEvent("b"));
+        assertEquals("a\nb\n", nextRequest().text());
+        appender.stop(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testCompressedJsonArray() throws Exception {
+        final HttpAppender appender = newBuilder("{\"message\":\"%m\"}")
+                .setBatchSize(2)
+                .setBatchFormat(HttpAppender.BatchFormat.JSON_ARRAY)
+                .setCompress(true)
+                .setMaxRequestsInFlight(2)
+                .build();
+        appender.start();
+        appender.append(createLogEvent("a"));
+        appender.append(createLogEvent("b"));
+        final Request request = nextRequest();
+        assertEquals("gzip", request.contentEncoding);
+        assertEquals("[{\"message\":\"a\"},{\"message\":\"b\"}]", request.text());
+        appender.append(createLogEvent("c"));
+        assertTrue(appender.stop(10, TimeUnit.SECONDS));
+        assertEquals("[{\"message\":\"c\"}]", nextRequest().text());
+    }
+
+    @Test
+    public void testFlushInterval() throws Exception {
+        final HttpAppender appender = newBuilder("%m%n").setBatchSize(100).setFlushIntervalMillis(50).build();
+        appender.start();
+        appender.append(createLogEvent("lonely"));
+        assertEquals("lonely\n", nextRequest().text());
+        appender.stop(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testMaxBatchBytes() throws Exception {
+        final HttpAppender appender = newBuilder("%m%n").setBatchSize(100).setMaxBatchBytes(10)
+                .setFlushIntervalMillis(60000).build();
+        appender.start();
+        appender.append(createLogEvent("01234"));
+        appender.append(createLogEvent("56789"));
+        assertEquals("01234\n56789\n", nextRequest().text());
+        appender.stop(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testEventsAcceptedBeforeStopAreSent() throws Exception {
+        final HttpBatchingManager manager = new HttpBatchingManager(new DefaultConfiguration(), null, "Http",
+                new URL("http://localhost:" + server.getAddress().getPort() + "/logs"), "POST", 0, 0, null, null,
+                false, HttpAppender.BatchFormat.LINES, 3, 1 << 20, 60000, false, 1);
+        final PatternLayout layout = PatternLayout.newBuilder().withPattern("%m%n").build();
+        manager.startup();
+        final AtomicInteger accepted = new AtomicInteger();
+        final Thread[] producers = new Thread[4];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Thread(() -> {
+                try {
+                    for (;;) {
+                        manager.send(layout, createLogEvent("event"));
+                        accepted.incrementAndGet();
+                    }
+                } catch (final AppenderLoggingException ex) {
+                    // stopped
+                }
+            });
+            producers[i].start();
+        }
+        while (accepted.get() < 100) {
+            Thread.sleep(1);
+        }
+        assertTrue(manager.stop(10, TimeUnit.SECONDS));
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+        int received = 0;
+        Request request;
+        while ((request = requests.poll()) != null) {
+            received += request.text().split("\n").length;
+        }
+        assertEquals(accepted.get(), received);
+    }
+
+    private static final class Request {
+
+        private final String contentEncoding;
+        private final byte[] body;
+
+        Request(final String contentEncoding, final byte[] body) {
+            this.contentEncoding = contentEncoding;
+            this.body = body;
+        }
+
+        String text() throws IOException {
+            if (!"gzip".equals(contentEncoding)) {
+                return new String(body, StandardCharsets.UTF_8);
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (final InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                final byte[] buffer = new byte[1024];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, n);
+                }
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
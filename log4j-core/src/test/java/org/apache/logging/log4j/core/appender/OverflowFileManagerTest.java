@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.message.StringMapMessage;
+import org.apache.logging.log4j.spi.MutableThreadContextStack;
+import org.apache.logging.log4j.util.StringMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the OverflowFileManager class.
+ */
+public class OverflowFileManagerTest {
+
+    @TempDir
+    File tempDir;
+
+    private static LogEvent createEvent(final String message) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(OverflowFileManagerTest.class.getName())
+                .setLoggerFqcn(OverflowFileManagerTest.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(message))
+                .setTimeMillis(1234567890123L)
+                .build();
+    }
+
+    @Test
+    public void testRoundTripKeepsEventFields() throws Exception {
+        final StringMap contextData = ContextDataFactory.createContextData();
+        contextData.putValue("user", "alice");
+        // Not in a package that is allowed for deserialization by default.
+        final Exception thrown = new UncheckedIOException("test", new IOException("cause"));
+        final LogEvent event = Log4jLogEvent.newBuilder()
+                .setLoggerName("logger")
+                .setLoggerFqcn("fqcn")
+                .setLevel(Level.forName("NOTICE", 350))
+                .setMarker(MarkerManager.getMarker("AUDIT"))
+                .setMessage(new StringMapMessage().with("key", "value"))
+                .setThrown(thrown)
+                .setContextData(contextData)
+                .setContextStack(new MutableThreadContextStack(Collections.singletonList("ndc")))
+                .setSource(new StackTraceElement("cls", "method", "File.java", 42))
+                .setIncludeLocation(true)
+                .setThreadName("thread")
+                .setThreadId(7)
+                .setThreadPriority(3)
+                .setTimeMillis(1234567890123L)
+                .setNanoTime(99)
+                .build();
+
+        final LogEvent copy = OverflowEventCodec.decode(OverflowEventCodec.encode(event));
+
+        assertEquals("logger", copy.getLoggerName());
+        assertEquals("fqcn", copy.getLoggerFqcn());
+        assertEquals(Level.getLevel("NOTICE"), copy.getLevel());
+        assertEquals("AUDIT", copy.getMarker().getName());
+        assertTrue(copy.getMessage() instanceof StringMapMessage);
+        assertEquals(event.getMessage().getFormattedMessage(), copy.getMessage().getFormattedMessage());
+        assertEquals(thrown.getMessage(), copy.getThrownProxy().getMessage());
+        assertNotNull(copy.getThrown());
+        assertEquals(UncheckedIOException.class, copy.getThrown().getClass());
+        assertEquals("cause", copy.getThrown().getCause().getMessage());
+        assertArrayEquals(thrown.getStackTrace(), copy.getThrown().getStackTrace());
+        final PatternLayout layout = PatternLayout.newBuilder().withPattern("%ex").build();
+        assertEquals(layout.toSerializable(event), layout.toSerializable(copy));
+        assertEquals("alice", copy.getContextData().getValue("user"));
+        assertEquals("ndc", copy.getContextStack().peek());
+        assertEquals(event.getSource(), copy.getSource());
+        assertTrue(copy.isIncludeLocation());
+        assertEquals("thread", copy.getThreadName());
+        assertEquals(7, copy.getThreadId());
+        assertEquals(3, copy.getThreadPriority());
+        assertEquals(event.getInstant(), copy.getInstant());
+        assertEquals(99, copy.getNanoTime());
+    }
+
+    @Test
+    public void testEmptyContextStack() throws Exception {
+        final LogEvent copy = OverflowEventCodec.decode(OverflowEventCodec.encode(createEvent("msg")));
+        assertSame(ThreadContext.EMPTY_STACK, copy.getContextStack());
+        assertNull(copy.getMarker());
+        assertNull(copy.getThrownProxy());
+    }
+
+    @Test
+    public void testReadReturnsEventsInWriteOrderAcrossWrapAround() throws Exception {
+        final File file = new File(tempDir, "overflow.bin");
+        try (final OverflowFileManager manager =
+                OverflowFileManager.getOverflowFileManager(file.getAbsolutePath(), OverflowFileManager.MIN_SIZE)) {
+            assertTrue(manager.isEmpty());
+            assertNull(manager.read());
+            // Interleave writes and reads so that the ring wraps around several times.
+            int next = 0;
+            for (int i = 0; i < 10_000; i++) {
+                final boolean wasEmpty = manager.write(createEvent("Message " + i));
+                assertEquals(i == next, wasEmpty);
+                if (i % 3 == 2) {
+                    while (next <= i) {
+                        assertEquals("Message " + next, manager.read().getMessage().getFormattedMessage());
+                        next++;
+                    }
+                }
+            }
+            while (next < 10_000) {
+                assertEquals("Message " + next, manager.read().getMessage().getFormattedMessage());
+                next++;
+            }
+            assertTrue(manager.isEmpty());
+        }
+    }
+
+    @Test
+    public void testUnreadEventsAreReplayedAfterReopen() throws Exception {
+        final File file = new File(tempDir, "overflow.bin");
+        try (final OverflowFileManager manager =
+                OverflowFileManager.getOverflowFileManager(file.getAbsolutePath(), OverflowFileManager.MIN_SIZE)) {
+            for (int i = 0; i < 3; i++) {
+                manager.write(createEvent("Message " + i));
+            }
+            assertEquals("Message 0", manager.read().getMessage().getFormattedMessage());
+        }
+        try (final OverflowFileManager manager =
+                OverflowFileManager.getOverflowFileManager(file.getAbsolutePath(), OverflowFileManager.MIN_SIZE)) {
+            assertFalse(manager.isEmpty());
+            assertEquals("Message 1", manager.read().getMessage().getFormattedMessage());
+            assertEquals("Message 2", manager.read().getMessage().getFormattedMessage());
+            assertNull(manager.read());
+        }
+    }
+
+    @Test
+    public void testEventLargerThanFileIsRejected() throws Exception {
+        final File file = new File(tempDir, "overflow.bin");
+        final char[] chars = new char[OverflowFileManager.MIN_SIZE];
+        Arrays.fill(chars, 'x');
+        try (final OverflowFileManager manager =
+                OverflowFileManager.getOverflowFileManager(file.getAbsolutePath(), OverflowFileManager.MIN_SIZE)) {
+            assertThrows(IOException.class, () -> manager.write(createEvent(new String(chars))));
+            assertTrue(manager.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.db.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.junit.JdbcRule;
+import org.apache.logging.log4j.junit.LoggerContextRule;
+import org.apache.logging.log4j.test.RuleChainFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+/**
+ * Tests that a JdbcAppender with group commit enabled inserts every event from a background thread.
+ */
+public class JdbcAppenderGroupCommitTest extends AbstractH2Test {
+
+	@Rule
+	public final RuleChain rules;
+	private final JdbcRule jdbcRule;
+	private final LoggerContextRule loggerContextRule;
+
+	public JdbcAppenderGroupCommitTest() {
+		this(new JdbcRule(JdbcH2TestHelper.TEST_CONFIGURATION_SOURCE_MEM,
+				"CREATE TABLE dsMappingLogEntry (id INTEGER, level VARCHAR(10), logger VARCHAR(255), message VARCHAR(1024), exception CLOB)",
+				"DROP TABLE IF EXISTS dsMappingLogEntry"));
+	}
+
+	protected JdbcAppenderGroupCommitTest(final JdbcRule jdbcRule) {
+		this.loggerContextRule = new LoggerContextRule(
+				"org/apache/logging/log4j/core/appender/db/jdbc/log4j2-dm-group-commit.xml");
+		this.rules = RuleChainFactory.create(jdbcRule, loggerContextRule);
+		this.jdbcRule = jdbcRule;
+	}
+
+	@Test
+	public void test() throws Exception {
+		final JdbcAppender appender = loggerContextRule.getAppender("databaseAppender", JdbcAppender.class);
+		assertTrue("Group commit should be enabled.", appender.getManager().isGroupCommit());
+		try (Connection connection = jdbcRule.getConnection()) {
+			final Logger logger = LogManager.getLogger(this.getClass().getName() + ".testGroupCommit");
+			for (int i = 0; i < 10; i++) {
+				logger.info("Group commit message {}", i);
+			}
+			Thread.sleep(1000);
+			try (final Statement statement = connection.createStatement();
+					final ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM dsMappingLogEntry")) {
+
+				assertTrue("There should be a count.", resultSet.next());
+				assertEquals("All events should have been committed.", 10, resultSet.getInt(1));
+			}
+		}
+	}
+
+	@Test
+	public void testFailedCommitIsReportedToTheNextLoggingThread() throws Exception {
+		try (Connection connection = jdbcRule.getConnection(); final Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE dsMappingLogEntry");
+			final Logger logger = LogManager.getLogger(this.getClass().getName() + ".testGroupCommitFailure");
+			logger.info("Group commit message that cannot be committed");
+			Thread.sleep(1000);
+			try {
+				logger.info("Group commit message after the failure");
+				fail("The failed commit should have been reported.");
+			} catch (final AppenderLoggingException e) {
+				// expected, ignoreExceptions is false
+			}
+		}
+	}
+
+}
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.awaitility.Awaitility.await;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -32,6 +33,7 @@ import java.util.List;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.kafka.clients.producer.MockProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -54,6 +56,8 @@ import org.junit.experimental.categories.Category;
 @Category(Appenders.Kafka.class)
 public class KafkaAppenderTest {
 
+	private static final AtomicInteger flushes = new AtomicInteger();
+
 	private static final MockProducer<byte[], byte[]> kafka = new MockProducer<byte[], byte[]>(true, null, null) {
 
 		@Override
@@ -74,6 +78,12 @@ public class KafkaAppenderTest {
 			return retVal;
 		};
 
+		@Override
+		public void flush() {
+			flushes.incrementAndGet();
+			super.flush();
+		}
+
 		@Override
 		public void close(final long timeout, final TimeUnit timeUnit) {
 		}
@@ -101,6 +111,7 @@ public class KafkaAppenderTest {
 	@Before
 	public void setUp() throws Exception {
 		kafka.clear();
+		flushes.set(0);
 	}
 
 	@Test
@@ -176,6 +187,29 @@ public class KafkaAppenderTest {
 		assertEquals(LOG_MESSAGE, new String(item.value(), StandardCharsets.UTF_8));
 	}
 
+	@Test
+	public void testAppendWithSyncBatch() throws Exception {
+		final KafkaAppender appender = ctx.getAppender("KafkaAppenderWithSyncBatch", KafkaAppender.class);
+		for (int i = 0; i < 4; i++) {
+			appender.append(createLogEvent());
+		}
+		final List<ProducerRecord<byte[], byte[]>> history = kafka.history();
+		assertEquals(4, history.size());
+		for (final ProducerRecord<byte[], byte[]> item : history) {
+			assertEquals(TOPIC_NAME, item.topic());
+			assertEquals(LOG_MESSAGE, new String(item.value(), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	public void testSyncBatchIsCompletedWithoutFurtherEvents() throws Exception {
+		final KafkaAppender appender = ctx.getAppender("KafkaAppenderWithTimedSyncBatch", KafkaAppender.class);
+		appender.append(createLogEvent());
+		// the batch of 100 records is not full, the periodic flush must complete it
+		await().atMost(5, TimeUnit.SECONDS).until(() -> flushes.get() > 0);
+		assertEquals(1, kafka.history().size());
+	}
+
 	@Test
 	public void testAppendWithRetryCount() {
 		try {
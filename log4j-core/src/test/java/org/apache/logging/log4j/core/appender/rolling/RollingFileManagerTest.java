@@ -16,9 +16,12 @@
  */
 package org.apache.logging.log4j.core.appender.rolling;
 
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.RollingFileAppender;
+import org.apache.logging.log4j.core.appender.rolling.action.FileRenameAction;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.lookup.StrSubstitutor;
 import org.apache.logging.log4j.core.util.IOUtils;
 import org.junit.Assert;
@@ -26,6 +29,13 @@ import org.junit.Test;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.awaitility.Awaitility.await;
 
 public class RollingFileManagerTest {
 
@@ -84,4 +94,185 @@ public class RollingFileManagerTest {
             }
         }
     }
+
+    /**
+     * Tests that the events logged during an asynchronous rollover end up in the active file when the strategy does
+     * not archive it.
+     */
+    @Test
+    public void testFailedAsyncRolloverKeepsWritingToActiveFile() throws Exception {
+        final CountDownLatch rolling = new CountDownLatch(1);
+        final RolloverStrategy strategy = manager -> {
+            try {
+                rolling.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            // leaves the active file in place, as a failed rename does
+            return new RolloverDescriptionImpl(manager.getFileName(), false, null, null);
+        };
+        try (final LoggerContext ctx = LoggerContext.getContext(false)) {
+            final File dir = Files.createTempDirectory("RollingFileManagerTest").toFile();
+            final File file = new File(dir, "test.log");
+            final RollingFileAppender appender = RollingFileAppender.newBuilder()
+                    .withFileName(file.getAbsolutePath())
+                    .withFilePattern(dir.getAbsolutePath() + "/test-%i.log")
+                    .setName("RollingFileAppender")
+                    .setConfiguration(ctx.getConfiguration())
+                    .withStrategy(strategy)
+                    .withPolicy(new SizeBasedTriggeringPolicy(Long.MAX_VALUE))
+                    .setAsyncRollover(true)
+                    .build();
+            Assert.assertNotNull(appender);
+            final File nextFile;
+            try (final RollingFileManager manager = appender.getManager()) {
+                nextFile = manager.getNextFile();
+                write(manager, "before\n");
+                await().until(nextFile::exists);
+                manager.rollover();
+                write(manager, "during\n");
+                rolling.countDown();
+                await().until(() -> manager.getSemaphore().availablePermits() == 1);
+                write(manager, "after\n");
+                manager.rollover();
+                write(manager, "again\n");
+            }
+            try (final Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.US_ASCII)) {
+                Assert.assertEquals("before\nduring\nafter\nagain\n", IOUtils.toString(reader));
+            }
+            Assert.assertFalse("Next file not removed", nextFile.exists());
+        }
+    }
+
+    /**
+     * Tests that a size based trigger right after an asynchronous rollover neither blocks the logging thread nor
+     * changes the time the archive is named from.
+     */
+    @Test
+    public void testBackToBackTriggersDuringAsyncRollover() throws Exception {
+        final CountDownLatch rolling = new CountDownLatch(1);
+        final AtomicInteger rollovers = new AtomicInteger();
+        final File dir = Files.createTempDirectory("RollingFileManagerTest").toFile();
+        final RolloverStrategy strategy = manager -> {
+            rollovers.incrementAndGet();
+            try {
+                rolling.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            final File archive = new File(dir, "test-" + manager.getPatternProcessor().getPrevFileTime() + ".log");
+            return new RolloverDescriptionImpl(manager.getFileName(), false,
+                    new FileRenameAction(new File(manager.getFileName()), archive, false), null);
+        };
+        try (final LoggerContext ctx = LoggerContext.getContext(false)) {
+            final File file = new File(dir, "test.log");
+            final RollingFileAppender appender = RollingFileAppender.newBuilder()
+                    .withFileName(file.getAbsolutePath())
+                    .withFilePattern(dir.getAbsolutePath() + "/test-%i.log")
+                    .setName("RollingFileAppender")
+                    .setConfiguration(ctx.getConfiguration())
+                    .withStrategy(strategy)
+                    .withPolicy(new SizeBasedTriggeringPolicy(10))
+                    .setAsyncRollover(true)
+                    .build();
+            Assert.assertNotNull(appender);
+            final LogEvent event = Log4jLogEvent.newBuilder().build();
+            try (final RollingFileManager manager = appender.getManager()) {
+                write(manager, "before\n");
+                await().until(manager.getNextFile()::exists);
+                manager.rollover(new Date(1000), new Date(2000));
+                write(manager, "during the rollover\n");
+                final Thread logging = new Thread(() -> manager.checkRollover(event));
+                logging.start();
+                logging.join(10_000);
+                final boolean blocked = logging.isAlive();
+                rolling.countDown();
+                Assert.assertFalse("Logging thread waits for the rollover", blocked);
+                await().until(() -> manager.getSemaphore().availablePermits() == 1);
+                Assert.assertEquals(1, rollovers.get());
+                manager.checkRollover(event);
+                await().until(() -> rollovers.get() == 2);
+            }
+            try (final Reader reader = new InputStreamReader(new FileInputStream(new File(dir, "test-1000.log")),
+                    StandardCharsets.US_ASCII)) {
+                Assert.assertEquals("before\n", IOUtils.toString(reader));
+            }
+        }
+    }
+
+    /**
+     * Tests that the configuration scheduler flushes the data held back by the compressor when no further events
+     * arrive.
+     */
+    @Test
+    public void testIdleCompressFlush() throws Exception {
+        try (final LoggerContext ctx = LoggerContext.getContext(false)) {
+            final File dir = Files.createTempDirectory("RollingFileManagerTest").toFile();
+            final File file = new File(dir, "test.log.gz");
+            final RollingFileAppender appender = RollingFileAppender.newBuilder()
+                    .withFileName(file.getAbsolutePath())
+                    .withFilePattern(dir.getAbsolutePath() + "/test-%i.log.gz")
+                    .setName("RollingFileAppender")
+                    .setConfiguration(ctx.getConfiguration())
+                    .withPolicy(new SizeBasedTriggeringPolicy(Long.MAX_VALUE))
+                    .setCompressOnWrite(true)
+                    .setCompressFlushInterval(50)
+                    .build();
+            Assert.assertNotNull(appender);
+            try (final RollingFileManager manager = appender.getManager()) {
+                write(manager, "idle\n");
+                await().until(() -> "idle\n".equals(readCompressed(file)));
+            }
+        }
+    }
+
+    /**
+     * Tests that appending to a file compressed on write counts its uncompressed size, as the writes do.
+     */
+    @Test
+    public void testCompressedFileSizeOnAppend() throws Exception {
+        try (final LoggerContext ctx = LoggerContext.getContext(false)) {
+            final File dir = Files.createTempDirectory("RollingFileManagerTest").toFile();
+            final File file = new File(dir, "test.log.gz");
+            for (int i = 1; i <= 2; i++) {
+                final RollingFileAppender appender = RollingFileAppender.newBuilder()
+                        .withFileName(file.getAbsolutePath())
+                        .withFilePattern(dir.getAbsolutePath() + "/test-%i.log.gz")
+                        .setName("RollingFileAppender")
+                        .setConfiguration(ctx.getConfiguration())
+                        .withPolicy(new SizeBasedTriggeringPolicy(Long.MAX_VALUE))
+                        .setCompressOnWrite(true)
+                        .build();
+                Assert.assertNotNull(appender);
+                try (final RollingFileManager manager = appender.getManager()) {
+                    Assert.assertEquals(20 * (i - 1), manager.getFileSize());
+                    write(manager, "0123456789012345678\n");
+                    Assert.assertEquals(20 * i, manager.getFileSize());
+                }
+            }
+            Assert.assertEquals("0123456789012345678\n0123456789012345678\n", readCompressed(file));
+        }
+    }
+
+    /**
+     * Returns the text of a gzip file that may still be written, without its trailer.
+     */
+    private static String readCompressed(final File file) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final InputStream in = new GZIPInputStream(new FileInputStream(file))) {
+            final byte[] buffer = new byte[1024];
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, n);
+            }
+        } catch (final EOFException ex) {
+            // no trailer yet
+        }
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+
+    private static void write(final RollingFileManager manager, final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        manager.writeToDestination(bytes, 0, bytes.length);
+    }
 }
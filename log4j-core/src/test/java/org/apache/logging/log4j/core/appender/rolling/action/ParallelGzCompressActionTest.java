@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests ParallelGzCompressAction.
+ */
+public class ParallelGzCompressActionTest {
+
+    @Test
+    public void testConstructorDisallowsNullSource() {
+        assertThrows(NullPointerException.class,
+                () -> new ParallelGzCompressAction(null, new File("any"), true, Deflater.DEFAULT_COMPRESSION, 2));
+    }
+
+    @Test
+    public void testConstructorDisallowsNullDestination() {
+        assertThrows(NullPointerException.class,
+                () -> new ParallelGzCompressAction(new File("any"), null, true, Deflater.DEFAULT_COMPRESSION, 2));
+    }
+
+    @Test
+    public void testExecuteReturnsFalseIfSourceDoesNotExist() throws IOException {
+        File source = new File("any");
+        while (source.exists()) {
+            source = new File(source.getName() + Math.random());
+        }
+        final boolean actual = ParallelGzCompressAction.execute(source, new File("any2"), true,
+                Deflater.DEFAULT_COMPRESSION, 2);
+        assertFalse(actual, "Cannot compress non-existing file");
+    }
+
+    /**
+     * Sizes cover an empty file, a partial block, an exact multiple of the block size and several blocks with a
+     * partial tail.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1000, 128 * 1024, 2 * 128 * 1024, 1024 * 1024 + 17})
+    public void testExecuteCompressesSourceFileToValidGzip(final int size, @TempDir final File tempDir)
+            throws IOException {
+        final byte[] expected = createContent(size);
+        final File source = new File(tempDir, "compressme");
+        Files.write(source.toPath(), expected);
+        final File destination = new File(tempDir, "compressme.gz");
+        assertFalse(destination.exists(), "Destination should not exist yet");
+
+        final boolean actual = ParallelGzCompressAction.execute(source, destination, true,
+                Deflater.DEFAULT_COMPRESSION, 4);
+        assertTrue(actual, "ParallelGzCompressAction should have succeeded");
+        assertTrue(destination.exists(), "Destination should exist after ParallelGzCompressAction");
+        assertFalse(source.exists(), "Source should have been deleted");
+
+        assertArrayEquals(expected, decompress(destination));
+    }
+
+    private static byte[] createContent(final int size) {
+        final Random random = new Random(size);
+        final StringBuilder sb = new StringBuilder(size + 100);
+        while (sb.length() < size) {
+            sb.append("Here is line ").append(sb.length()).append(". Random number: ").append(random.nextInt())
+                    .append("\r\n");
+        }
+        sb.setLength(size);
+        return sb.toString().getBytes();
+    }
+
+    private static byte[] decompress(final File file) throws IOException {
+        try (final InputStream in = new GZIPInputStream(new FileInputStream(file))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.logging.log4j.EventLogger;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.junit.LoggerContextSource;
+import org.apache.logging.log4j.junit.Named;
+import org.apache.logging.log4j.junit.ReconfigurationPolicy;
+import org.apache.logging.log4j.message.StructuredDataMessage;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link LruPurgePolicy}.
+ */
+@LoggerContextSource(value = "log4j-routing-lru-purge.xml", reconfigure = ReconfigurationPolicy.BEFORE_EACH)
+public class RoutingAppenderWithLruPurgingTest {
+
+    private static void log(final String id) {
+        EventLogger.logEvent(new StructuredDataMessage(id, "This is a test " + id, "Service"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedRoute(@Named("RoutingLru") final RoutingAppender routingAppender) {
+        log("1");
+        log("2");
+        final Appender appender2 = routingAppender.getAppenders().get("2").getAppender();
+        // Using route 1 again protects it from one-off routes.
+        log("1");
+        log("3");
+
+        assertEquals(new HashSet<>(Arrays.asList("1", "3")), routingAppender.getAppenders().keySet());
+        assertTrue(appender2.isStopped(), "Evicted appender should be stopped");
+        assertEquals(1, routingAppender.getRouteHitCount());
+        assertEquals(3, routingAppender.getRouteMissCount());
+        assertEquals(1, routingAppender.getRouteEvictionCount());
+
+        log("2");
+        log("4");
+        assertEquals(new HashSet<>(Arrays.asList("1", "4")), routingAppender.getAppenders().keySet());
+        assertFalse(routingAppender.getAppenders().get("1").getAppender().isStopped());
+        assertEquals(2, ((LruPurgePolicy) routingAppender.getPurgePolicy()).size());
+    }
+
+    @Test
+    public void evictsIdleRoute(@Named("RoutingLruIdle") final RoutingAppender routingAppender)
+            throws InterruptedException {
+        log("1");
+        log("2");
+        assertEquals(2, routingAppender.getAppenders().size());
+        Thread.sleep(300);
+        log("3");
+
+        assertEquals(new HashSet<>(Arrays.asList("3")), routingAppender.getAppenders().keySet());
+        assertEquals(2, routingAppender.getRouteEvictionCount());
+    }
+}
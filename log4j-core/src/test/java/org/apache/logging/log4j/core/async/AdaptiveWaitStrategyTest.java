@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the AdaptiveWaitStrategy class.
+ */
+public class AdaptiveWaitStrategyTest {
+
+    @Test
+    public void testReturnsAvailableSequenceWithoutWaiting() throws Exception {
+        final AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy();
+        final Sequence cursor = new Sequence(5);
+        assertEquals(5, strategy.waitFor(3, cursor, cursor, new TestBarrier()));
+        assertEquals(1, strategy.getSpinWakeups());
+        assertEquals(0, strategy.getParkWakeups());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testIdleConsumerParksAndIsWokenUpByPublisher() throws Exception {
+        // A park time far beyond the test timeout: only the signal can wake up the consumer.
+        final AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy(
+                AdaptiveWaitStrategy.DEFAULT_MAX_SPIN_TIME_NANOS, TimeUnit.MINUTES.toNanos(1));
+        assertEquals(0, strategy.getSpinTimeNanos(), "A new strategy should assume it is idle");
+        final Sequence cursor = new Sequence();
+        final AtomicLong result = new AtomicLong(-1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread consumer = new Thread(() -> {
+            try {
+                result.set(strategy.waitFor(0, cursor, cursor, new TestBarrier()));
+            } catch (final Exception e) {
+                e.printStackTrace();
+            }
+            done.countDown();
+        });
+        consumer.start();
+        while (consumer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.yield();
+        }
+        cursor.set(0);
+        strategy.signalAllWhenBlocking();
+        assertTrue(done.await(4, TimeUnit.SECONDS));
+        assertEquals(0, result.get());
+        assertEquals(1, strategy.getParkWakeups());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testAlertInterruptsWait() throws Exception {
+        final AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy();
+        final TestBarrier barrier = new TestBarrier();
+        barrier.alert();
+        assertThrows(AlertException.class, () -> strategy.waitFor(0, new Sequence(), new Sequence(), barrier));
+    }
+
+    @Test
+    public void testSpinsWhenEventsArriveFrequently() throws Exception {
+        final AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy();
+        final Sequence cursor = new Sequence();
+        final TestBarrier barrier = new TestBarrier();
+        for (int i = 0; i < 1000; i++) {
+            cursor.set(i);
+            assertEquals(i, strategy.waitFor(i, cursor, cursor, barrier));
+        }
+        assertTrue(strategy.getArrivalIntervalNanos() <= strategy.getMaxSpinTimeNanos(),
+                "Arrival interval should reflect the event rate: " + strategy.getArrivalIntervalNanos());
+        assertTrue(strategy.getSpinTimeNanos() > 0, "Strategy should spin under load");
+    }
+
+    private static class TestBarrier implements SequenceBarrier {
+        private volatile boolean alerted;
+
+        @Override
+        public long waitFor(final long sequence) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getCursor() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isAlerted() {
+            return alerted;
+        }
+
+        @Override
+        public void alert() {
+            alerted = true;
+        }
+
+        @Override
+        public void clearAlert() {
+            alerted = false;
+        }
+
+        @Override
+        public void checkAlert() throws AlertException {
+            if (alerted) {
+                throw AlertException.INSTANCE;
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the MpscArrayBlockingQueue class.
+ */
+public class MpscArrayBlockingQueueTest {
+
+    @Test
+    public void testConstructorDisallowsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new MpscArrayBlockingQueue<String>(0));
+    }
+
+    @Test
+    public void testOfferDisallowsNull() {
+        assertThrows(NullPointerException.class, () -> new MpscArrayBlockingQueue<String>(4).offer(null));
+    }
+
+    @Test
+    public void testOfferRespectsCapacityThatIsNotAPowerOfTwo() {
+        final MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(3);
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertTrue(queue.offer(3));
+        assertFalse(queue.offer(4), "Queue should be full");
+        assertEquals(3, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+
+        assertEquals(1, queue.poll());
+        assertEquals(1, queue.remainingCapacity());
+        assertTrue(queue.offer(4));
+        assertEquals(2, queue.poll());
+        assertEquals(3, queue.poll());
+        assertEquals(4, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDrainRemovesElementsInOrderUpToLimit() {
+        final MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(8);
+        for (int i = 0; i < 6; i++) {
+            queue.offer(i);
+        }
+        final List<Integer> drained = new ArrayList<>();
+        final List<Integer> sizes = new ArrayList<>();
+        assertEquals(4, queue.drain(e -> {
+            drained.add(e);
+            sizes.add(queue.size());
+        }, 4));
+        assertEquals(Arrays.asList(0, 1, 2, 3), drained);
+        assertEquals(Arrays.asList(5, 4, 3, 2), sizes, "Slots should be released before the element is consumed");
+
+        drained.clear();
+        assertEquals(2, queue.drainTo(drained));
+        assertEquals(Arrays.asList(4, 5), drained);
+        assertEquals(0, queue.drain(drained::add, 4));
+    }
+
+    @Test
+    public void testIteratorIsWeaklyConsistent() {
+        final MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(4);
+        for (int i = 0; i < 6; i++) {
+            queue.offer(i);
+            if (i % 2 == 0) {
+                queue.poll();
+            }
+        }
+        assertEquals("[3, 4, 5]", queue.toString());
+        assertTrue(queue.contains(4));
+        assertFalse(queue.contains(2));
+        assertArrayEquals(new Object[] {3, 4, 5}, queue.toArray());
+
+        final Iterator<Integer> iterator = queue.iterator();
+        assertEquals(3, queue.poll());
+        assertEquals(4, queue.poll());
+        queue.offer(6);
+        assertEquals(3, iterator.next(), "The first element is read when the iterator is created");
+        assertEquals(5, iterator.next(), "Consumed elements should be skipped");
+        assertFalse(iterator.hasNext(), "Elements added later should not be returned");
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    @Timeout(5)
+    public void testPutWaitsUntilTheConsumerReleasesASlot() throws InterruptedException {
+        final MpscArrayBlockingQueue<String> queue = new MpscArrayBlockingQueue<>(1);
+        queue.put("a");
+        final CountDownLatch added = new CountDownLatch(1);
+        final Thread producer = new Thread(() -> {
+            try {
+                queue.put("b");
+                added.countDown();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertFalse(added.await(100, TimeUnit.MILLISECONDS));
+        assertEquals("a", queue.take());
+        assertTrue(added.await(5, TimeUnit.SECONDS));
+        assertEquals("b", queue.take());
+        producer.join();
+    }
+
+    @Test
+    @Timeout(5)
+    public void testTimedOperations() throws InterruptedException {
+        final MpscArrayBlockingQueue<String> queue = new MpscArrayBlockingQueue<>(1);
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer("a", 10, TimeUnit.MILLISECONDS));
+        assertFalse(queue.offer("b", 10, TimeUnit.MILLISECONDS));
+        assertEquals("a", queue.peek());
+        assertEquals("a", queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @Timeout(5)
+    public void testTakeIsInterruptible() throws InterruptedException {
+        final MpscArrayBlockingQueue<String> queue = new MpscArrayBlockingQueue<>(4);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final Thread consumer = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (final InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        consumer.start();
+        consumer.interrupt();
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(30)
+    public void testMultipleProducersDeliverEveryElementInProducerOrder() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 100_000;
+        final MpscArrayBlockingQueue<long[]> queue = new MpscArrayBlockingQueue<>(100);
+        final List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            final Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.put(new long[] {producer, i});
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        final long[] next = new long[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            final long[] element = queue.take();
+            assertEquals(next[(int) element[0]]++, element[1]);
+            received++;
+            received += queue.drain(e -> assertEquals(next[(int) e[0]]++, e[1]), 64);
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+        for (final long count : next) {
+            assertEquals(perProducer, count);
+        }
+    }
+}
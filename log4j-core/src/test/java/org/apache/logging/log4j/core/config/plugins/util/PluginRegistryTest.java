@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config.plugins.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.core.config.plugins.processor.FakePlugin;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginCache;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.core.config.plugins.processor.PluginProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PluginRegistryTest {
+
+    private static final long BUNDLE_ID = -42;
+
+    @TempDir
+    File tempDir;
+
+    @AfterEach
+    public void tearDown() {
+        PluginRegistry.getInstance().clearBundlePlugins(BUNDLE_ID);
+    }
+
+    @Test
+    public void testClassesAreLoadedOnDemand() throws IOException {
+        final PluginCache cache = new PluginCache();
+        addEntry(cache, "fake", FakePlugin.class.getName());
+        addEntry(cache, "missing", "org.example.MissingPlugin");
+        final RecordingClassLoader loader = new RecordingClassLoader(writeCache(cache));
+
+        final Map<String, List<PluginType<?>>> plugins = PluginRegistry.getInstance().loadFromBundle(BUNDLE_ID, loader);
+        final List<PluginType<?>> types = plugins.get("test");
+        assertNotNull(types);
+        assertEquals(2, types.size());
+        assertTrue(loader.loadedClasses.isEmpty(), "Plugin classes were loaded eagerly");
+
+        final PluginType<?> fake = find(types, "fake");
+        assertEquals(FakePlugin.class.getName(), fake.getPluginClassName());
+        assertTrue(loader.loadedClasses.isEmpty());
+        assertSame(FakePlugin.class, fake.getPluginClass());
+        assertEquals(Collections.singletonList(FakePlugin.class.getName()), loader.loadedClasses);
+
+        final PluginType<?> missing = find(types, "missing");
+        assertNull(missing.getPluginClass());
+        assertNull(missing.getPluginClass());
+        assertEquals(2, loader.loadedClasses.size(), "A missing class is only looked up once");
+    }
+
+    private static PluginType<?> find(final List<PluginType<?>> types, final String key) {
+        for (final PluginType<?> type : types) {
+            if (type.getKey().equals(key)) {
+                return type;
+            }
+        }
+        fail("No plugin " + key);
+        return null;
+    }
+
+    private static void addEntry(final PluginCache cache, final String key, final String className) {
+        final PluginEntry entry = new PluginEntry();
+        entry.setKey(key);
+        entry.setClassName(className);
+        entry.setName(key);
+        entry.setCategory("Test");
+        cache.getCategory("Test").put(key, entry);
+    }
+
+    private URL writeCache(final PluginCache cache) throws IOException {
+        final File file = new File(tempDir, "Log4j2Plugins.dat");
+        try (final OutputStream os = new FileOutputStream(file)) {
+            cache.writeCache(os);
+        }
+        return file.toURI().toURL();
+    }
+
+    private static class RecordingClassLoader extends ClassLoader {
+
+        private final URL cacheFile;
+        private final List<String> loadedClasses = new CopyOnWriteArrayList<>();
+
+        RecordingClassLoader(final URL cacheFile) {
+            super(PluginRegistryTest.class.getClassLoader());
+            this.cacheFile = cacheFile;
+        }
+
+        @Override
+        public Enumeration<URL> getResources(final String name) throws IOException {
+            return PluginProcessor.PLUGIN_CACHE_FILE.equals(name) ? Collections.enumeration(
+                    Collections.singletonList(cacheFile)) : super.getResources(name);
+        }
+
+        @Override
+        public Class<?> loadClass(final String name) throws ClassNotFoundException {
+            loadedClasses.add(name);
+            return super.loadClass(name);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitingFilterTest {
+
+    private static LogEvent event(final String loggerName, final Level level) {
+        return Log4jLogEvent.newBuilder() //
+                .setLoggerName(loggerName) //
+                .setLevel(level) //
+                .setMessage(new SimpleMessage("Hello, world!")).build();
+    }
+
+    @Test
+    public void testBurstIsLimited() {
+        final RateLimitingFilter filter = RateLimitingFilter.newBuilder().setLevel(Level.INFO).setRate(0.001f)
+                .setMaxBurst(3).build();
+        final LogEvent event = event("test", Level.INFO);
+        assertEquals(3, filter.getAvailable(null));
+        for (int i = 0; i < 3; i++) {
+            assertSame(Filter.Result.NEUTRAL, filter.filter(event));
+        }
+        assertEquals(0, filter.getAvailable(null));
+        assertSame(Filter.Result.DENY, filter.filter(event));
+        assertSame(Filter.Result.NEUTRAL, filter.filter(event("test", Level.WARN)),
+                "Events above the level should not be limited");
+        filter.clear();
+        assertSame(Filter.Result.NEUTRAL, filter.filter(event));
+    }
+
+    @Test
+    public void testLimitsPerLogger() {
+        final RateLimitingFilter filter = RateLimitingFilter.newBuilder().setLevel(Level.INFO).setRate(0.001f)
+                .setMaxBurst(1).setKey(RateLimitingFilter.Key.LOGGER).setMaxKeys(2).build();
+        assertSame(Filter.Result.NEUTRAL, filter.filter(event("a", Level.INFO)));
+        assertSame(Filter.Result.DENY, filter.filter(event("a", Level.INFO)));
+        assertSame(Filter.Result.NEUTRAL, filter.filter(event("b", Level.INFO)));
+        assertSame(Filter.Result.DENY, filter.filter(event("b", Level.INFO)));
+        // no room for a third key, so "c" and "d" share the overflow limit
+        assertSame(Filter.Result.NEUTRAL, filter.filter(event("c", Level.INFO)));
+        assertSame(Filter.Result.DENY, filter.filter(event("d", Level.INFO)));
+    }
+
+    @Test
+    public void testRefilledKeysAreEvicted() throws InterruptedException {
+        final RateLimitingFilter filter = RateLimitingFilter.newBuilder().setLevel(Level.INFO).setRate(100)
+                .setMaxBurst(1).setKey(RateLimitingFilter.Key.LOGGER).setMaxKeys(1).build();
+        assertSame(Filter.Result.NEUTRAL, filter.filter(event("a", Level.INFO)));
+        assertEquals(0, filter.getAvailable("a"));
+        // once "a" has refilled, the next sweep replaces it by "b"
+        Thread.sleep(50);
+        assertSame(Filter.Result.NEUTRAL, filter.filter(event("b", Level.INFO)));
+        assertEquals(0, filter.getAvailable("b"));
+        assertEquals(1, filter.getAvailable("a"));
+    }
+
+    @Test
+    public void testLimitsPerMarker() {
+        final RateLimitingFilter filter = RateLimitingFilter.newBuilder().setLevel(Level.INFO).setRate(0.001f)
+                .setMaxBurst(1).setKey(RateLimitingFilter.Key.MARKER).build();
+        assertSame(Filter.Result.NEUTRAL,
+                filter.filter(null, Level.INFO, MarkerManager.getMarker("ONE"), (Object) null, (Throwable) null));
+        assertSame(Filter.Result.DENY,
+                filter.filter(null, Level.INFO, MarkerManager.getMarker("ONE"), (Object) null, (Throwable) null));
+        assertSame(Filter.Result.NEUTRAL,
+                filter.filter(null, Level.INFO, MarkerManager.getMarker("TWO"), (Object) null, (Throwable) null));
+        assertSame(Filter.Result.NEUTRAL, filter.filter(null, Level.INFO, null, (Object) null, (Throwable) null));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.jupiter.api.Test;
+
+public class ExtendedClassInfoCacheTest {
+
+    private static ThrowableProxyHelper.CacheEntry entry(final ClassLoader loader) {
+        return new ThrowableProxyHelper.CacheEntry(new ExtendedClassInfo(false, "test.jar", "1.0"), loader);
+    }
+
+    @Test
+    public void testEntriesAreCachedPerClassLoader() {
+        final ExtendedClassInfoCache cache = new ExtendedClassInfoCache(16);
+        final ClassLoader loader = getClass().getClassLoader();
+        final ClassLoader otherLoader = new URLClassLoader(new URL[0], loader);
+        final ThrowableProxyHelper.CacheEntry entry = entry(loader);
+
+        assertNull(cache.get(loader, "a.B"));
+        cache.put(loader, "a.B", entry);
+        assertSame(entry, cache.get(loader, "a.B"));
+        assertNull(cache.get(otherLoader, "a.B"));
+        assertNull(cache.get(null, "a.B"));
+
+        cache.put(null, "a.B", entry);
+        assertSame(entry, cache.get(null, "a.B"));
+        assertEquals(2, cache.getSize());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertNull(cache.get(loader, "a.B"));
+    }
+
+    @Test
+    public void testEntriesWithoutLoaderAreCachedPerContextClassLoader() {
+        final ExtendedClassInfoCache cache = new ExtendedClassInfoCache(16);
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextLoader = thread.getContextClassLoader();
+        final ClassLoader otherLoader = new URLClassLoader(new URL[0], contextLoader);
+        final ThrowableProxyHelper.CacheEntry entry = entry(contextLoader);
+
+        cache.put(null, "a.B", entry);
+        assertSame(entry, cache.get(null, "a.B"));
+        thread.setContextClassLoader(otherLoader);
+        try {
+            assertNull(cache.get(null, "a.B"), "resolved with another context class loader");
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+        assertSame(entry, cache.get(null, "a.B"));
+    }
+
+    @Test
+    public void testEntriesAreEvictedWhenFull() {
+        final ExtendedClassInfoCache cache = new ExtendedClassInfoCache(2);
+        final ClassLoader loader = getClass().getClassLoader();
+        cache.put(loader, "a.A", entry(loader));
+        cache.put(loader, "a.B", entry(loader));
+        cache.put(loader, "a.C", entry(loader));
+
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get(loader, "a.C"), "the class just added should not be evicted");
+    }
+
+    @Test
+    public void testZeroSizeDisablesCache() {
+        final ExtendedClassInfoCache cache = new ExtendedClassInfoCache(0);
+        final ClassLoader loader = getClass().getClassLoader();
+        cache.put(loader, "a.A", entry(loader));
+        assertNull(cache.get(loader, "a.A"));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testThrowableProxyUsesProcessWideCache() {
+        final Throwable throwable = createThrowable();
+        final ExtendedClassInfoCache cache = ExtendedClassInfoCache.getInstance();
+        final ThrowableProxy first = new ThrowableProxy(throwable);
+        final long hits = cache.getHitCount();
+
+        final ThrowableProxy second = new ThrowableProxy(throwable);
+
+        assertTrue(cache.getHitCount() > hits, "the classes of the second proxy should be resolved from the cache");
+        assertEquals(first.getExtendedStackTraceAsString(), second.getExtendedStackTraceAsString());
+    }
+
+    private static Throwable createThrowable() {
+        final Runnable thrower = () -> {
+            throw new IllegalStateException("test");
+        };
+        try {
+            thrower.run();
+        } catch (final IllegalStateException e) {
+            return e;
+        }
+        throw new AssertionError();
+    }
+}
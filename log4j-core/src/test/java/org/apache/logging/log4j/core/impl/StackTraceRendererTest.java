@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.util.Strings;
+import org.junit.jupiter.api.Test;
+
+public class StackTraceRendererTest {
+
+    private static Throwable createThrowable() {
+        final Throwable root = new IllegalStateException("root");
+        final Throwable cause = new IllegalArgumentException("cause", root);
+        cause.addSuppressed(new UnsupportedOperationException((String) null));
+        final Throwable throwable = new RuntimeException("top", cause);
+        final Exception suppressed = new IOException("suppressed", new ArithmeticException("nested"));
+        suppressed.addSuppressed(new IllegalStateException("nested suppressed"));
+        throwable.addSuppressed(suppressed);
+        return throwable;
+    }
+
+    private static String printStackTrace(final Throwable throwable) {
+        final StringWriter writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    private static String formatStackTrace(final Throwable throwable) {
+        final StringBuilder sb = new StringBuilder();
+        StackTraceRenderer.formatStackTrace(throwable, sb);
+        return sb.toString();
+    }
+
+    @Test
+    public void testFormatStackTraceMatchesPrintStackTrace() {
+        final Throwable throwable = createThrowable();
+        assertEquals(printStackTrace(throwable), formatStackTrace(throwable));
+        // Rendering again uses the cached frames.
+        assertEquals(printStackTrace(throwable), formatStackTrace(throwable));
+    }
+
+    @Test
+    public void testFormatStackTraceCircularReference() {
+        final Exception first = new Exception("first");
+        final Exception second = new Exception("second", first);
+        first.initCause(second);
+        final String stackTrace = formatStackTrace(first);
+        assertEquals(printStackTrace(first), stackTrace);
+        assertTrue(stackTrace.contains("[CIRCULAR REFERENCE: java.lang.Exception: first]"), stackTrace);
+    }
+
+    @Test
+    public void testFormatStackTraceHonorsOverrides() {
+        final Throwable throwable = new Exception("message", new Exception() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String toString() {
+                return "custom cause";
+            }
+        }) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void printStackTrace(final PrintWriter s) {
+                s.print("custom stack trace");
+            }
+        };
+        assertEquals("custom stack trace", formatStackTrace(throwable));
+        final String stackTrace = formatStackTrace(throwable.getCause());
+        assertEquals(printStackTrace(throwable.getCause()), stackTrace);
+        assertTrue(stackTrace.startsWith("custom cause" + Strings.LINE_SEPARATOR), stackTrace);
+    }
+
+    @Test
+    public void testFormatExtendedStackTraceMatchesThrowableProxy() {
+        final Throwable throwable = createThrowable();
+        final List<List<String>> ignorePackages = Arrays.asList(null, Collections.singletonList("org.junit"),
+                Arrays.asList("java.lang.reflect", "sun.reflect", "jdk.internal"));
+        for (final List<String> packages : ignorePackages) {
+            for (final String suffix : new String[] { Strings.EMPTY, "suffix" }) {
+                final String expected = new ThrowableProxy(throwable)
+                        .getExtendedStackTraceAsString(packages, suffix);
+                final StringBuilder sb = new StringBuilder();
+                StackTraceRenderer.formatExtendedStackTrace(throwable, sb, packages, suffix, Strings.LINE_SEPARATOR);
+                // The renderer does not inspect the call stack, so it cannot tell exact packaging information.
+                assertEquals(expected.replace(" ~[", " ["), sb.toString().replace(" ~[", " ["));
+            }
+        }
+    }
+
+    @Test
+    public void testFormatExtendedStackTraceSeparator() {
+        final StringBuilder sb = new StringBuilder();
+        StackTraceRenderer.formatExtendedStackTrace(new IllegalStateException(), sb, null, Strings.EMPTY, "|");
+        final String stackTrace = sb.toString();
+        assertTrue(stackTrace.startsWith("java.lang.IllegalStateException: null|\tat "), stackTrace);
+        assertTrue(stackTrace.contains(" ~["), stackTrace);
+        assertTrue(stackTrace.endsWith("]|"), stackTrace);
+    }
+}
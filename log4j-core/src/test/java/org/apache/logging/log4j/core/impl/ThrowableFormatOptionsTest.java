@@ -449,4 +449,26 @@ public final class ThrowableFormatOptionsTest {
         test(new String[] { "10,filters(package1,package2)" }, 10, Strings.LINE_SEPARATOR,
                 Arrays.asList("package1", "package2"));
     }
+
+    /**
+     * Test {@code %throwable{full}{cache(64)} }
+     */
+    @Test
+    public void testFullAndCache() {
+        final ThrowableFormatOptions tfo = test(new String[] { "full", "cache(64)" }, Integer.MAX_VALUE,
+                Strings.LINE_SEPARATOR, null);
+        assertEquals(64, tfo.getCacheSize());
+        assertEquals(0, tfo.getDedupWindowMillis());
+    }
+
+    /**
+     * Test {@code %throwable{dedup(60000)} }
+     */
+    @Test
+    public void testDedupEnablesCache() {
+        final ThrowableFormatOptions tfo = test(new String[] { "dedup(60000)" }, Integer.MAX_VALUE,
+                Strings.LINE_SEPARATOR, null);
+        assertTrue(tfo.getCacheSize() > 0, "getCacheSize");
+        assertEquals(60000, tfo.getDedupWindowMillis());
+    }
 }
@@ -271,6 +271,23 @@ public class PatternLayoutTest {
         assertEncode("org/apache/logging/log4j/core/layout/PatternLayoutTest Hello, world!", layout, event);
     }
 
+    @Test
+    public void testFused() throws Exception {
+        final String pattern = "[%-5level] %logger{1} ${java:version} %.5msg%n";
+        final PatternLayout layout = PatternLayout.newBuilder().withPattern(pattern)
+                .withConfiguration(ctx.getConfiguration()).build();
+        final PatternLayout fusedLayout = PatternLayout.newBuilder().withPattern(pattern).withFused(true)
+                .withConfiguration(ctx.getConfiguration()).build();
+        final LogEvent event = Log4jLogEvent.newBuilder() //
+                .setLoggerName(this.getClass().getName()).setLoggerFqcn("org.apache.logging.log4j.core.Logger") //
+                .setLevel(Level.INFO) //
+                .setMessage(new SimpleMessage("Hello, world!")).build();
+        final String expected = layout.toSerializable(event);
+        assertTrue(expected.startsWith("[INFO ] PatternLayoutTest Java version "), expected);
+        assertToByteArray(expected, fusedLayout, event);
+        assertEncode(expected, fusedLayout, event);
+    }
+
     @Test
     public void testRegexEmptyMarker() throws Exception {
         // replace "[]" with the empty string
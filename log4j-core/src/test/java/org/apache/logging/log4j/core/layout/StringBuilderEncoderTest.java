@@ -15,9 +15,12 @@ package org.apache.logging.log4j.core.layout;/*
  * limitations under the license.
  */
 
+import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 
@@ -300,6 +303,34 @@ public class StringBuilderEncoderTest {
         // no error
     }
 
+    @Test
+    public void testEncode_SameBytesAsCharsetEncoder() throws Exception {
+        final String[] texts = {
+                "",
+                "Hello, world!",
+                "caf\u00e9 \u00fcber na\u00efve \u65e5\u672c\u8a9e\u30c6\u30b9\u30c8",
+                "emoji \ud83d\ude00 and \ud83c\udf89, lone \ud83d high and \ude00 low surrogate",
+        };
+        for (final Charset charset : new Charset[] {StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1,
+                StandardCharsets.UTF_16}) {
+            // a byte buffer that holds any text that fits into the char buffer, and one that does not
+            for (final int byteBufferSize : new int[] {8 * 1024, 20}) {
+                final StringBuilderEncoder helper = new StringBuilderEncoder(charset, 16, byteBufferSize);
+                for (final String text : texts) {
+                    final ByteBuffer expected = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                            .onUnmappableCharacter(CodingErrorAction.REPLACE).encode(CharBuffer.wrap(text));
+                    final SpyByteBufferDestination destination = new SpyByteBufferDestination(7, 1024);
+                    helper.encode(new StringBuilder(text), destination);
+                    destination.drain(destination.getByteBuffer());
+
+                    assertEquals(Arrays.toString(Arrays.copyOf(expected.array(), expected.limit())),
+                            Arrays.toString(Arrays.copyOf(destination.drained.array(), destination.drained.position())),
+                            charset + " " + byteBufferSize + ": " + text);
+                }
+            }
+        }
+    }
+
     private StringBuilder createText(final int length) {
         final StringBuilder result = new StringBuilder(length);
         for (int i = 0; i < length; i++) {
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.junit.jupiter.api.Test;
+
+public class CachingLookupTest {
+
+    private static final class CountingLookup extends AbstractLookup {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public String lookup(final LogEvent event, final String key) {
+            count.incrementAndGet();
+            return key.startsWith("missing") ? null : key + "-value";
+        }
+    }
+
+    @Test
+    public void testCachesValues() {
+        final CountingLookup delegate = new CountingLookup();
+        final CachingLookup lookup = new CachingLookup(delegate, TimeUnit.HOURS.toNanos(1));
+        assertEquals("a-value", lookup.lookup("a"));
+        assertEquals("a-value", lookup.lookup("a"));
+        assertEquals("b-value", lookup.lookup(null, "b"));
+        assertNull(lookup.lookup("missing"));
+        assertNull(lookup.lookup("missing"));
+        assertEquals(3, delegate.count.get());
+    }
+
+    @Test
+    public void testExpiresValues() throws InterruptedException {
+        final CountingLookup delegate = new CountingLookup();
+        final CachingLookup lookup = new CachingLookup(delegate, TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals("a-value", lookup.lookup("a"));
+        Thread.sleep(10);
+        assertEquals("a-value", lookup.lookup("a"));
+        assertEquals(2, delegate.count.get());
+    }
+
+    @Test
+    public void testBounded() {
+        final CountingLookup delegate = new CountingLookup();
+        final CachingLookup lookup = new CachingLookup(delegate, TimeUnit.HOURS.toNanos(1));
+        for (int i = 0; i <= CachingLookup.MAX_ENTRIES; i++) {
+            lookup.lookup("key" + i);
+        }
+        lookup.lookup("key0");
+        assertEquals(CachingLookup.MAX_ENTRIES + 2, delegate.count.get());
+    }
+}
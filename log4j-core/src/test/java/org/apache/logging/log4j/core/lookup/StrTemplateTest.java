@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.lookup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link StrTemplate} evaluates to what {@link StrSubstitutor#replace(String)} returns.
+ */
+public class StrTemplateTest {
+
+    private static final String[] TEMPLATES = {
+            "",
+            "plain text",
+            "${animal}",
+            "The ${animal} jumped over the ${target}.",
+            "${undefined}",
+            "${undefined:-default}",
+            "${undefined:-}",
+            "${undefined:-${animal}}",
+            "${${name}}",
+            "${${name}:-fallback}",
+            "${${undefined}}",
+            "$${animal}",
+            "$$${animal}",
+            "$${${name}}",
+            "${$${name}}",
+            "${animal",
+            "${animal}${unterminated",
+            "${animal}}",
+            "{${animal}}",
+            "${dollar}${animal}",
+            "${dollar}$${animal}",
+            "${dollar}${unterminated",
+            "${empty}${animal}",
+            "${recursive}",
+            "${cycle1}",
+            "${self}",
+            "${prefixed:key}",
+            "${prefixed:\\-key}",
+            "${prefixed:\\-key:-default}",
+            "${animal}${target}${animal}",
+            "${a${name}b}",
+    };
+
+    private static StrSubstitutor newSubstitutor() {
+        final Map<String, String> values = new HashMap<>();
+        values.put("animal", "quick brown fox");
+        values.put("target", "lazy dog");
+        values.put("name", "animal");
+        values.put("dollar", "US$");
+        values.put("empty", "");
+        values.put("recursive", "${animal} and ${target}");
+        values.put("cycle1", "${cycle2}");
+        values.put("cycle2", "${cycle1}");
+        values.put("self", "${self}");
+        values.put("prefixed:key", "prefixed value");
+        values.put("axb", "nested name");
+        return new StrSubstitutor(values);
+    }
+
+    @Test
+    public void testSameResultAsReplace() {
+        final StrSubstitutor substitutor = newSubstitutor();
+        for (final String template : TEMPLATES) {
+            assertEquals(substitutor.replace(template), substitutor.compile(template).replace(null), template);
+        }
+    }
+
+    @Test
+    public void testSameResultAsReplaceWithoutSubstitutionInVariables() {
+        final StrSubstitutor substitutor = newSubstitutor();
+        substitutor.setEnableSubstitutionInVariables(false);
+        for (final String template : TEMPLATES) {
+            assertEquals(substitutor.replace(template), substitutor.compile(template).replace(null), template);
+        }
+    }
+
+    @Test
+    public void testAppend() {
+        final StrSubstitutor substitutor = newSubstitutor();
+        for (final String template : TEMPLATES) {
+            final StringBuilder sb = new StringBuilder("prefix ");
+            substitutor.compile(template).replace(null, sb);
+            assertEquals("prefix " + substitutor.replace(template), sb.toString(), template);
+        }
+    }
+
+    @Test
+    public void testConstant() {
+        final StrSubstitutor substitutor = newSubstitutor();
+        assertTrue(substitutor.compile("plain text").isConstant());
+        assertTrue(substitutor.compile("$${animal}").isConstant());
+        assertFalse(substitutor.compile("${animal}").isConstant());
+        assertEquals("${animal}", substitutor.compile("$${animal}").replace(null));
+    }
+
+    @Test
+    public void testFollowsVariableResolver() {
+        final StrSubstitutor substitutor = newSubstitutor();
+        final StrTemplate template = substitutor.compile("The ${animal}.");
+        final Map<String, String> values = new HashMap<>();
+        values.put("animal", "cat");
+        substitutor.setVariableResolver(new PropertiesLookup(values));
+        assertEquals("The cat.", template.replace(null));
+    }
+}
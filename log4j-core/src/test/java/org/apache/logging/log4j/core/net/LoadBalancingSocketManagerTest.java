@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.SocketAppender;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.util.Constants;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link LoadBalancingSocketManager}.
+ */
+public class LoadBalancingSocketManagerTest {
+
+    private static void write(final LoadBalancingSocketManager manager, final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        manager.writeBytes(bytes, 0, bytes.length);
+        manager.flush();
+    }
+
+    private static BufferedReader reader(final Socket socket) throws IOException {
+        socket.setSoTimeout(10_000);
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static LoadBalancingSocketManager createManager(final LoadBalancingSocketManager.Strategy strategy,
+            final ServerSocket... servers) {
+        return createManager(strategy, 1024, servers);
+    }
+
+    private static LoadBalancingSocketManager createManager(final LoadBalancingSocketManager.Strategy strategy,
+            final int bufferSize, final ServerSocket... servers) {
+        final InetSocketAddress[] addresses = new InetSocketAddress[servers.length];
+        for (int i = 0; i < servers.length; i++) {
+            addresses[i] = new InetSocketAddress("localhost", servers[i].getLocalPort());
+        }
+        return LoadBalancingSocketManager.getSocketManager(Arrays.asList(addresses), strategy, 1000, 100, null,
+                bufferSize, null);
+    }
+
+    private static String line(final char c, final int length) {
+        final char[] chars = new char[length];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static LogEvent event(final String message) {
+        return Log4jLogEvent.newBuilder().setMessage(new SimpleMessage(message)).build();
+    }
+
+    @Test
+    public void testRoundRobin() throws Exception {
+        try (final ServerSocket server1 = new ServerSocket(0); final ServerSocket server2 = new ServerSocket(0)) {
+            final LoadBalancingSocketManager manager = createManager(LoadBalancingSocketManager.Strategy.ROUND_ROBIN,
+                    server1, server2);
+            try (final Socket socket1 = server1.accept(); final Socket socket2 = server2.accept()) {
+                await().atMost(10, TimeUnit.SECONDS).until(() -> manager.getConnectedEndpointCount() == 2);
+                for (int i = 0; i < 6; i++) {
+                    write(manager, "line " + i + '\n');
+                }
+                final BufferedReader reader1 = reader(socket1);
+                final BufferedReader reader2 = reader(socket2);
+                for (int i = 0; i < 6; i += 2) {
+                    assertEquals("line " + i, reader1.readLine());
+                    assertEquals("line " + (i + 1), reader2.readLine());
+                }
+            } finally {
+                manager.stop(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void testEventLargerThanBufferGoesToOneEndpoint() throws Exception {
+        try (final ServerSocket server1 = new ServerSocket(0); final ServerSocket server2 = new ServerSocket(0)) {
+            final LoadBalancingSocketManager manager = createManager(LoadBalancingSocketManager.Strategy.ROUND_ROBIN,
+                    64 * 1024, server1, server2);
+            try (final Socket socket1 = server1.accept(); final Socket socket2 = server2.accept()) {
+                await().atMost(10, TimeUnit.SECONDS).until(() -> manager.getConnectedEndpointCount() == 2);
+                final int length = 3 * Constants.ENCODER_BYTE_BUFFER_SIZE;
+                // The byte buffer grows and each event is handed over as a whole when flushed.
+                manager.writeBytes(ByteBuffer.wrap((line('a', length) + '\n').getBytes(StandardCharsets.UTF_8)));
+                manager.flush();
+                manager.writeBytes(ByteBuffer.wrap((line('b', length) + '\n').getBytes(StandardCharsets.UTF_8)));
+                manager.flush();
+                write(manager, "c\n");
+                final BufferedReader reader1 = reader(socket1);
+                assertEquals(line('a', length), reader1.readLine());
+                assertEquals(line('b', length), reader(socket2).readLine());
+                assertEquals("c", reader1.readLine());
+            } finally {
+                manager.stop(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void testSocketAppenderSendsLargeEventToOneEndpoint() throws Exception {
+        try (final ServerSocket server1 = new ServerSocket(0); final ServerSocket server2 = new ServerSocket(0)) {
+            final InetAddress localhost = InetAddress.getByName("localhost");
+            // @formatter:off
+            final SocketAppender appender = SocketAppender.newBuilder()
+                .setName("LoadBalancing")
+                .setLayout(PatternLayout.newBuilder().withPattern("%m%n").build())
+                .setEndpoints(
+                    SocketAddress.newBuilder().setHost(localhost).setPort(server1.getLocalPort()).build(),
+                    SocketAddress.newBuilder().setHost(localhost).setPort(server2.getLocalPort()).build())
+                .setNonBlockingBufferSize(64 * 1024)
+                .build();
+            // @formatter:on
+            appender.start();
+            try (final Socket socket1 = server1.accept(); final Socket socket2 = server2.accept()) {
+                final LoadBalancingSocketManager manager = (LoadBalancingSocketManager) appender.getManager();
+                await().atMost(10, TimeUnit.SECONDS).until(() -> manager.getConnectedEndpointCount() == 2);
+                final String large = line('a', 3 * Constants.ENCODER_BYTE_BUFFER_SIZE);
+                appender.append(event(large));
+                appender.append(event("b"));
+                appender.append(event("c"));
+                final BufferedReader reader1 = reader(socket1);
+                assertEquals(large, reader1.readLine());
+                assertEquals("b", reader(socket2).readLine());
+                assertEquals("c", reader1.readLine());
+                assertEquals(0, manager.getDroppedEvents());
+            } finally {
+                appender.stop(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void testLeastOutstandingBytesSpreadsIdleEndpoints() throws Exception {
+        try (final ServerSocket server1 = new ServerSocket(0); final ServerSocket server2 = new ServerSocket(0)) {
+            final LoadBalancingSocketManager manager = createManager(
+                    LoadBalancingSocketManager.Strategy.LEAST_OUTSTANDING_BYTES, server1, server2);
+            try (final Socket socket1 = server1.accept(); final Socket socket2 = server2.accept()) {
+                await().atMost(10, TimeUnit.SECONDS).until(() -> manager.getConnectedEndpointCount() == 2);
+                final BufferedReader reader1 = reader(socket1);
+                final BufferedReader reader2 = reader(socket2);
+                for (int i = 0; i < 4; i++) {
+                    await().atMost(10, TimeUnit.SECONDS).until(() -> manager.getQueuedBytes() == 0);
+                    write(manager, "line " + i + '\n');
+                }
+                assertEquals("line 0", reader1.readLine());
+                assertEquals("line 1", reader2.readLine());
+                assertEquals("line 2", reader1.readLine());
+                assertEquals("line 3", reader2.readLine());
+            } finally {
+                manager.stop(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void testSkipsDisconnectedEndpoint() throws Exception {
+        try (final ServerSocket server1 = new ServerSocket(0); final ServerSocket server2 = new ServerSocket(0)) {
+            final LoadBalancingSocketManager manager = createManager(LoadBalancingSocketManager.Strategy.ROUND_ROBIN,
+                    server1, server2);
+            try (final Socket socket2 = server2.accept()) {
+                try (final Socket socket1 = server1.accept()) {
+                    await().atMost(10, TimeUnit.SECONDS).until(() -> manager.getConnectedEndpointCount() == 2);
+                }
+                await().atMost(10, TimeUnit.SECONDS).until(() -> manager.getConnectedEndpointCount() == 1);
+                final BufferedReader reader2 = reader(socket2);
+                for (int i = 0; i < 4; i++) {
+                    write(manager, "line " + i + '\n');
+                }
+                for (int i = 0; i < 4; i++) {
+                    assertEquals("line " + i, reader2.readLine());
+                }
+                assertEquals(0, manager.getEndpoints().get(0).getQueuedBytes());
+                assertEquals(0, manager.getDroppedBytes());
+            } finally {
+                manager.stop(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link NioTcpSocketManager}.
+ */
+public class NioTcpSocketManagerTest {
+
+    private static void write(final NioTcpSocketManager manager, final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        manager.writeBytes(bytes, 0, bytes.length);
+        manager.flush();
+    }
+
+    private static String line(final char c, final int length) {
+        final char[] chars = new char[length];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static BufferedReader reader(final Socket socket) throws IOException {
+        socket.setSoTimeout(10_000);
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSend() throws Exception {
+        try (final ServerSocket server = new ServerSocket(0)) {
+            final NioTcpSocketManager manager = NioTcpSocketManager.getSocketManager("localhost",
+                    server.getLocalPort(), 1000, 100, null, 1024, null);
+            try (final Socket socket = server.accept()) {
+                final BufferedReader reader = reader(socket);
+                for (int i = 0; i < 100; i++) {
+                    write(manager, "line " + i + '\n');
+                }
+                for (int i = 0; i < 100; i++) {
+                    assertEquals("line " + i, reader.readLine());
+                }
+                assertTrue(manager.isConnected());
+                assertEquals(0, manager.getDroppedBytes());
+            } finally {
+                assertTrue(manager.stop(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    public void testReplayAfterReconnect() throws Exception {
+        try (final ServerSocket server = new ServerSocket(0)) {
+            final NioTcpSocketManager manager = NioTcpSocketManager.getSocketManager("localhost",
+                    server.getLocalPort(), 1000, 100, null, 1024, null);
+            try {
+                try (final Socket socket = server.accept()) {
+                    write(manager, "before\n");
+                    assertEquals("before", reader(socket).readLine());
+                }
+                await().atMost(10, TimeUnit.SECONDS).until(() -> !manager.isConnected());
+                // Written while disconnected, must not block and must be sent after reconnecting.
+                write(manager, "during 1\n");
+                write(manager, "during 2\n");
+                try (final Socket socket = server.accept()) {
+                    final BufferedReader reader = reader(socket);
+                    assertEquals("during 1", reader.readLine());
+                    assertEquals("during 2", reader.readLine());
+                    write(manager, "after\n");
+                    assertEquals("after", reader.readLine());
+                    assertEquals(1, manager.getReconnects());
+                }
+            } finally {
+                manager.stop(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void testDropWhenFull() throws Exception {
+        final int port;
+        try (final ServerSocket server = new ServerSocket(0)) {
+            port = server.getLocalPort();
+        }
+        // Nobody listens, the ring can only fill up.
+        final NioTcpSocketManager manager = NioTcpSocketManager.getSocketManager("localhost", port, 1000, 60_000,
+                null, 64, null);
+        try {
+            for (int i = 0; i < 10; i++) {
+                write(manager, "0123456789abcde\n");
+            }
+            assertEquals(64, manager.getQueuedBytes());
+            assertEquals(6 * 16, manager.getDroppedBytes());
+            assertEquals(6, manager.getDroppedEvents());
+            assertFalse(manager.isConnected());
+        } finally {
+            assertFalse(manager.stop(1, TimeUnit.SECONDS), "Bytes are pending");
+        }
+    }
+
+    @Test
+    public void testDropWholeEvents() throws Exception {
+        final int port;
+        try (final ServerSocket server = new ServerSocket(0)) {
+            port = server.getLocalPort();
+        }
+        final NioTcpSocketManager manager = NioTcpSocketManager.getSocketManager("localhost", port, 1000, 60_000,
+                null, 64, null);
+        try {
+            final byte[] event = new byte[40];
+            manager.writeBytes(ByteBuffer.wrap(event));
+            manager.flush();
+            // 24 bytes are free, but the event is not split.
+            manager.writeBytes(ByteBuffer.wrap(event));
+            manager.flush();
+            manager.writeBytes(event, 0, event.length);
+            manager.flush();
+            assertEquals(40, manager.getQueuedBytes());
+            assertEquals(80, manager.getDroppedBytes());
+            assertEquals(2, manager.getDroppedEvents());
+        } finally {
+            assertFalse(manager.stop(1, TimeUnit.SECONDS), "Bytes are pending");
+        }
+    }
+
+    @Test
+    public void testEncodedEventLargerThanByteBuffer() throws Exception {
+        final int port;
+        try (final ServerSocket server = new ServerSocket(0)) {
+            port = server.getLocalPort();
+        }
+        final NioTcpSocketManager manager = NioTcpSocketManager.getSocketManager("localhost", port, 1000, 60_000,
+                null, 32 * 1024, null);
+        try {
+            final PatternLayout layout = PatternLayout.newBuilder().withPattern("%m%n").build();
+            final LogEvent event = Log4jLogEvent.newBuilder().setMessage(new SimpleMessage(line('a', 20_000))).build();
+            // The encoder fills the 8 KiB byte buffer several times, the event is still copied as a whole.
+            layout.encode(event, manager);
+            manager.flush();
+            assertEquals(20_001, manager.getQueuedBytes());
+            layout.encode(event, manager);
+            manager.flush();
+            assertEquals(20_001, manager.getQueuedBytes());
+            assertEquals(20_001, manager.getDroppedBytes());
+            assertEquals(1, manager.getDroppedEvents());
+        } finally {
+            assertFalse(manager.stop(1, TimeUnit.SECONDS), "Bytes are pending");
+        }
+    }
+
+    @Test
+    public void testStagedEventIsSentFirst() throws Exception {
+        try (final ServerSocket server = new ServerSocket(0)) {
+            final NioTcpSocketManager manager = NioTcpSocketManager.getSocketManager("localhost",
+                    server.getLocalPort(), 1000, 100, null, 64 * 1024, null);
+            try (final Socket socket = server.accept()) {
+                final PatternLayout layout = PatternLayout.newBuilder().withPattern("%m%n").build();
+                final String large = line('a', 20_000);
+                layout.encode(Log4jLogEvent.newBuilder().setMessage(new SimpleMessage(large)).build(), manager);
+                // Not flushed yet, as with immediateFlush="false".
+                final byte[] small = "small\n".getBytes(StandardCharsets.UTF_8);
+                manager.write(small, 0, small.length, false);
+                final BufferedReader reader = reader(socket);
+                assertEquals(large, reader.readLine());
+                assertEquals("small", reader.readLine());
+            } finally {
+                assertTrue(manager.stop(10, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    public void testReplayStartsAtEvent() throws Exception {
+        try (final ServerSocket server = new ServerSocket()) {
+            server.setReceiveBufferSize(4096);
+            server.bind(null);
+            final SocketOptions socketOptions = SocketOptions.newBuilder().setSendBufferSize(4096);
+            final NioTcpSocketManager manager = NioTcpSocketManager.getSocketManager("localhost",
+                    server.getLocalPort(), 1000, 100, null, 2 * 1024 * 1024, socketOptions);
+            try {
+                final String large = line('a', 1024 * 1024);
+                try (final Socket socket = server.accept()) {
+                    write(manager, "first\n");
+                    final BufferedReader reader = reader(socket);
+                    assertEquals("first", reader.readLine());
+                    write(manager, large + '\n');
+                    // Part of the event was sent when the connection fails.
+                    final char[] part = new char[1000];
+                    assertEquals(part.length, reader.read(part));
+                }
+                try (final Socket socket = server.accept()) {
+                    final BufferedReader reader = reader(socket);
+                    assertEquals(large, reader.readLine());
+                    write(manager, "after\n");
+                    assertEquals("after", reader.readLine());
+                }
+            } finally {
+                manager.stop(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.impl.StackTraceRenderer;
 import org.apache.logging.log4j.core.impl.ThrowableFormatOptions;
 import org.apache.logging.log4j.core.impl.ThrowableProxy;
 import org.apache.logging.log4j.message.SimpleMessage;
@@ -167,4 +168,126 @@ public class ExtendedThrowablePatternConverterTest {
         assertEquals("|", options.getSeparator());
     }
 
+    private LogEvent createEvent(final Throwable thrown) {
+        return Log4jLogEvent.newBuilder() //
+                .setLoggerName("testLogger") //
+                .setLoggerFqcn(this.getClass().getName()) //
+                .setLevel(Level.DEBUG) //
+                .setMessage(new SimpleMessage("test exception")) //
+                .setThrown(thrown).build();
+    }
+
+    /**
+     * Creates throwables with the same stack trace and the given messages.
+     */
+    private static Throwable[] createThrowables(final String... messages) {
+        final Throwable[] throwables = new Throwable[messages.length];
+        for (int i = 0; i < messages.length; i++) {
+            throwables[i] = new IllegalArgumentException(messages[i], new NullPointerException("null pointer"));
+        }
+        return throwables;
+    }
+
+    @Test
+    public void testCachedRenderingMatchesFullRendering() {
+        final ExtendedThrowablePatternConverter converter = ExtendedThrowablePatternConverter.newInstance(null, null);
+        final ExtendedThrowablePatternConverter cachingConverter = ExtendedThrowablePatternConverter.newInstance(null,
+                new String[] { "cache(16)" });
+        // The last throwable has the same stack trace but a different message.
+        final Throwable[] throwables = createThrowables("first", "first", "second");
+        final String[] renderings = new String[throwables.length];
+        for (int i = 0; i < throwables.length; i++) {
+            final StringBuilder sb = new StringBuilder("message");
+            cachingConverter.format(createEvent(throwables[i]), sb);
+            renderings[i] = sb.toString();
+        }
+        final StringBuilder expected = new StringBuilder("message");
+        converter.format(createEvent(throwables[0]), expected);
+        assertEquals(expected.toString(), renderings[0]);
+        assertEquals(renderings[0], renderings[1]);
+        assertTrue(renderings[2].startsWith("message java.lang.IllegalArgumentException: second"), renderings[2]);
+        assertEquals(renderings[0].replace("first", "second"), renderings[2]);
+    }
+
+    @Test
+    public void testDedupReferencesRepeatedStackTraces() {
+        final ExtendedThrowablePatternConverter converter = ExtendedThrowablePatternConverter.newInstance(null,
+                new String[] { "dedup(60000)" });
+        final Throwable[] throwables = createThrowables("message 0", "message 1", "message 2");
+        final String[] renderings = new String[throwables.length];
+        for (int i = 0; i < throwables.length; i++) {
+            final StringBuilder sb = new StringBuilder();
+            converter.format(createEvent(throwables[i]), sb);
+            renderings[i] = sb.toString();
+        }
+        final String fingerprint = String.format("%016x", ThrowableRenderingCache.fingerprint(throwables[0]));
+        assertTrue(renderings[0].contains("Caused by: java.lang.NullPointerException"), renderings[0]);
+        assertEquals("java.lang.IllegalArgumentException: message 1 [dup#" + fingerprint + " x2]"
+                + Strings.LINE_SEPARATOR, renderings[1]);
+        assertEquals("java.lang.IllegalArgumentException: message 2 [dup#" + fingerprint + " x3]"
+                + Strings.LINE_SEPARATOR, renderings[2]);
+    }
+
+    @Test
+    public void testDedupReferenceUsesSeparator() {
+        final ExtendedThrowablePatternConverter converter = ExtendedThrowablePatternConverter.newInstance(null,
+                new String[] { "dedup(60000)", "separator(|)" });
+        final Throwable[] throwables = createThrowables("message 0", "message 1");
+        final StringBuilder sb = new StringBuilder();
+        converter.format(createEvent(throwables[0]), sb);
+        assertTrue(sb.toString().endsWith("|"), sb.toString());
+        sb.setLength(0);
+        converter.format(createEvent(throwables[1]), sb);
+        final String fingerprint = String.format("%016x", ThrowableRenderingCache.fingerprint(throwables[0]));
+        assertEquals("java.lang.IllegalArgumentException: message 1 [dup#" + fingerprint + " x2]|", sb.toString());
+    }
+
+    @Test
+    public void testDedupComparesStackFrames() {
+        final ExtendedThrowablePatternConverter converter = ExtendedThrowablePatternConverter.newInstance(null,
+                new String[] { "dedup(60000)" });
+        final Throwable first = new IllegalArgumentException("message");
+        final Throwable second = new IllegalArgumentException("message");
+        // "Aa" and "BB" have the same hash code, so the fingerprints collide.
+        first.setStackTrace(new StackTraceElement[] { new StackTraceElement("Test", "Aa", "Test.java", 1) });
+        second.setStackTrace(new StackTraceElement[] { new StackTraceElement("Test", "BB", "Test.java", 1) });
+        assertEquals(ThrowableRenderingCache.fingerprint(first), ThrowableRenderingCache.fingerprint(second));
+        final StringBuilder sb = new StringBuilder();
+        converter.format(createEvent(first), sb);
+        sb.setLength(0);
+        converter.format(createEvent(second), sb);
+        assertFalse(sb.toString().contains("[dup#"), sb.toString());
+        assertTrue(sb.toString().contains("at Test.BB(Test.java:1)"), sb.toString());
+    }
+
+    @Test
+    public void testDirectRenderingIsOptional() {
+        final Throwable throwable = createThrowables("message")[0];
+        final ExtendedThrowablePatternConverter converter = ExtendedThrowablePatternConverter.newInstance(null, null);
+        final StringBuilder sb = new StringBuilder();
+        converter.format(createEvent(throwable), sb);
+        final StringBuilder expected = new StringBuilder();
+        new ThrowableProxy(throwable).formatExtendedStackTraceTo(expected, null, PlainTextRenderer.getInstance(),
+                Strings.EMPTY, Strings.LINE_SEPARATOR);
+        assertEquals(expected.toString(), sb.toString());
+
+        final ExtendedThrowablePatternConverter directConverter = ExtendedThrowablePatternConverter.newInstance(null,
+                new String[] { "direct" });
+        assertTrue(directConverter.getOptions().isDirectRendering());
+        sb.setLength(0);
+        directConverter.format(createEvent(throwable), sb);
+        expected.setLength(0);
+        StackTraceRenderer.formatExtendedStackTrace(throwable, expected, null, Strings.EMPTY, Strings.LINE_SEPARATOR);
+        assertEquals(expected.toString(), sb.toString());
+    }
+
+    @Test
+    public void testFingerprintDependsOnStackTrace() {
+        final Throwable[] throwables = createThrowables("first", "second");
+        assertEquals(ThrowableRenderingCache.fingerprint(throwables[0]),
+                ThrowableRenderingCache.fingerprint(throwables[1]));
+        assertNotEquals(ThrowableRenderingCache.fingerprint(throwables[0]),
+                ThrowableRenderingCache.fingerprint(new IllegalArgumentException("first")));
+    }
+
 }
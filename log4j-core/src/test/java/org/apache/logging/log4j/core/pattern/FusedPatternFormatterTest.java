@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.pattern;
+
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the FusedPatternFormatter.
+ */
+public class FusedPatternFormatterTest {
+
+    private static final LogEvent EVENT = Log4jLogEvent.newBuilder()
+            .setLoggerName("org.apache.logging.log4j.core.pattern.FusedPatternFormatterTest")
+            .setLevel(Level.WARN)
+            .setThreadName("main")
+            .setTimeMillis(1_500_000_000_000L)
+            .setMessage(new SimpleMessage("Hello, world!"))
+            .build();
+
+    private static PatternFormatter[] parse(final String pattern) {
+        final PatternParser parser = new PatternParser(null, PatternLayout.KEY, LogEventPatternConverter.class);
+        final List<PatternFormatter> formatters = parser.parse(pattern, false, true, false);
+        return formatters.toArray(PatternFormatter.EMPTY_ARRAY);
+    }
+
+    private static String formatSequentially(final PatternFormatter[] formatters) {
+        final StringBuilder buffer = new StringBuilder();
+        for (final PatternFormatter formatter : formatters) {
+            formatter.format(EVENT, buffer);
+        }
+        return buffer.toString();
+    }
+
+    private static void assertFusedMatches(final String pattern, final int expectedSteps) {
+        final PatternFormatter[] formatters = parse(pattern);
+        final FusedPatternFormatter fused = FusedPatternFormatter.fuse(formatters);
+        assertEquals(expectedSteps, fused.getStepCount(), pattern);
+        final StringBuilder buffer = new StringBuilder("prefix:");
+        fused.format(EVENT, buffer);
+        assertEquals("prefix:" + formatSequentially(formatters), buffer.toString(), pattern);
+    }
+
+    @Test
+    public void testSimplePattern() {
+        // %d, %t, %p, %c, %m and one step for each of the five runs of literals
+        assertFusedMatches("%d [%t] %p %c - %m%n", 10);
+    }
+
+    @Test
+    public void testMergesAdjacentLiterals() {
+        assertFusedMatches("abc%ndef%n", 1);
+        assertFusedMatches("%m%n%n", 2);
+    }
+
+    @Test
+    public void testFormattingInfo() {
+        assertFusedMatches("%-5p|%10.10c{1}|%.3m", 5);
+    }
+
+    @Test
+    public void testPaddedLiteralIsNotMerged() {
+        assertFusedMatches("%m%-3n.", 3);
+    }
+
+    @Test
+    public void testEmptyPattern() {
+        final FusedPatternFormatter fused = FusedPatternFormatter.fuse(PatternFormatter.EMPTY_ARRAY);
+        assertEquals(0, fused.getStepCount());
+        final StringBuilder buffer = new StringBuilder();
+        fused.format(EVENT, buffer);
+        assertEquals("", buffer.toString());
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.pattern;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoggerPatternConverterTest {
+
+    private static String format(final LoggerPatternConverter converter, final String loggerName,
+            final String prefix) {
+        final LogEvent event = Log4jLogEvent.newBuilder().setLoggerName(loggerName).build();
+        final StringBuilder sb = new StringBuilder(prefix);
+        converter.format(event, sb);
+        return sb.toString();
+    }
+
+    @Test
+    public void testFullName() {
+        final LoggerPatternConverter converter = LoggerPatternConverter.newInstance(null);
+        assertEquals("org.apache.logging.Foo", format(converter, "org.apache.logging.Foo", ""));
+    }
+
+    @Test
+    public void testCachedAbbreviation() {
+        final LoggerPatternConverter converter = LoggerPatternConverter.newInstance(new String[] {"1."});
+        assertEquals("o.a.l.Foo", format(converter, "org.apache.logging.Foo", ""));
+        // served from the cache, appended after the existing text
+        assertEquals("prefix o.a.l.Foo", format(converter, "org.apache.logging.Foo", "prefix "));
+        assertEquals("o.a.l.Foo", format(converter, "org.apache.logging.Foo", ""));
+        assertEquals("c.e.Bar", format(converter, "com.example.Bar", ""));
+    }
+
+    @Test
+    public void testMoreNamesThanCached() {
+        final LoggerPatternConverter converter = LoggerPatternConverter.newInstance(new String[] {"2"});
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < NamePatternConverter.MAX_CACHED_NAMES * 2 + 1; i++) {
+                assertEquals("> logger" + i + ".Name", format(converter, "org.logger" + i + ".Name", "> "));
+            }
+        }
+    }
+}
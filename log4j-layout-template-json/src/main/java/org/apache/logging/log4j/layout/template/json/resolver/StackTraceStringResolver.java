@@ -16,6 +16,7 @@
  */
 package org.apache.logging.log4j.layout.template.json.resolver;
 
+import org.apache.logging.log4j.core.impl.StackTraceRenderer;
 import org.apache.logging.log4j.layout.template.json.util.*;
 
 import java.util.List;
@@ -29,6 +30,8 @@ import java.util.stream.Collectors;
  */
 final class StackTraceStringResolver implements StackTraceResolver {
 
+    private final Recycler<StringBuilder> stackTraceRecycler;
+
     private final Recycler<TruncatingBufferedPrintWriter> srcWriterRecycler;
 
     private final Recycler<TruncatingBufferedPrintWriter> dstWriterRecycler;
@@ -52,6 +55,12 @@ final class StackTraceStringResolver implements StackTraceResolver {
                 () -> TruncatingBufferedPrintWriter.ofCapacity(
                         context.getMaxStringByteCount());
         final RecyclerFactory recyclerFactory = context.getRecyclerFactory();
+        this.stackTraceRecycler =
+                recyclerFactory.create(
+                        StringBuilder::new,
+                        stringBuilder -> trimStringBuilder(
+                                stringBuilder,
+                                context.getMaxStringByteCount()));
         this.srcWriterRecycler =
                 recyclerFactory.create(
                         writerSupplier, TruncatingBufferedPrintWriter::close);
@@ -69,6 +78,16 @@ final class StackTraceStringResolver implements StackTraceResolver {
                 groupTruncationPointMatcherRegexes(truncationPointMatcherRegexes);
     }
 
+    private static void trimStringBuilder(
+            final StringBuilder stringBuilder,
+            final int maxLength) {
+        if (stringBuilder.length() > maxLength) {
+            stringBuilder.setLength(maxLength);
+            stringBuilder.trimToSize();
+        }
+        stringBuilder.setLength(0);
+    }
+
     private static List<Pattern> groupTruncationPointMatcherRegexes(
             final List<String> regexes) {
         return regexes
@@ -87,7 +106,7 @@ final class StackTraceStringResolver implements StackTraceResolver {
             final JsonWriter jsonWriter) {
         final TruncatingBufferedPrintWriter srcWriter = srcWriterRecycler.acquire();
         try {
-            throwable.printStackTrace(srcWriter);
+            writeStackTrace(throwable, srcWriter);
             final TruncatingBufferedPrintWriter dstWriter = truncate(srcWriter);
             jsonWriter.writeString(dstWriter);
         } finally {
@@ -95,6 +114,20 @@ final class StackTraceStringResolver implements StackTraceResolver {
         }
     }
 
+    private void writeStackTrace(
+            final Throwable throwable,
+            final TruncatingBufferedPrintWriter srcWriter) {
+        // Unlike `Throwable#printStackTrace()`, the renderer does not create
+        // strings for the stack frames it has seen before.
+        final StringBuilder stackTrace = stackTraceRecycler.acquire();
+        try {
+            StackTraceRenderer.formatStackTrace(throwable, stackTrace);
+            srcWriter.append(stackTrace);
+        } finally {
+            stackTraceRecycler.release(stackTrace);
+        }
+    }
+
     private TruncatingBufferedPrintWriter truncate(
             final TruncatingBufferedPrintWriter srcWriter) {
 
@@ -86,8 +86,15 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
         ESC_CODES = table;
     }
 
+    /**
+     * Number of chars of a {@code String} or {@code StringBuilder} that are copied at once to be quoted.
+     */
+    private static final int CHUNK_BUFFER_LENGTH = 512;
+
     private final char[] quoteBuffer;
 
+    private final char[] chunkBuffer;
+
     private final StringBuilder stringBuilder;
 
     private final StringBuilder formattableBuffer;
@@ -100,6 +107,7 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
 
     private JsonWriter(final Builder builder) {
         this.quoteBuffer = new char[]{'\\', '-', '0', '0', '-', '-'};
+        this.chunkBuffer = new char[CHUNK_BUFFER_LENGTH];
         this.stringBuilder = new StringBuilder(builder.maxStringLength);
         this.formattableBuffer = new StringBuilder(builder.maxStringLength);
         this.maxStringLength = builder.maxStringLength;
@@ -598,18 +606,32 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
                         ? -1
                         : 0;
         final int limit = offset + length + surrogateCorrection;
+        if (seq instanceof String || seq instanceof StringBuilder) {
+            // Copying the text to an array chunk by chunk and quoting the array is cheaper than reading it char by
+            // char.
+            for (int chunkOffset = offset; chunkOffset < limit; chunkOffset += chunkBuffer.length) {
+                final int chunkLimit = Math.min(limit, chunkOffset + chunkBuffer.length);
+                if (seq instanceof String) {
+                    ((String) seq).getChars(chunkOffset, chunkLimit, chunkBuffer, 0);
+                } else {
+                    ((StringBuilder) seq).getChars(chunkOffset, chunkLimit, chunkBuffer, 0);
+                }
+                quoteChars(chunkBuffer, 0, chunkLimit - chunkOffset);
+            }
+            return;
+        }
         int i = offset;
-        outer:
         while (i < limit) {
-            while (true) {
-                final char c = seq.charAt(i);
-                if (c < ESC_CODES.length && ESC_CODES[c] != 0) {
+            // Find the run of characters that need no quoting and append it at once.
+            final int runStart = i;
+            while (i < limit && !needsQuoting(seq.charAt(i))) {
+                i++;
+            }
+            if (i > runStart) {
+                stringBuilder.append(seq, runStart, i);
+                if (i >= limit) {
                     break;
                 }
-                stringBuilder.append(c);
-                if (++i >= limit) {
-                    break outer;
-                }
             }
             final char d = seq.charAt(i++);
             final int escCode = ESC_CODES[d];
@@ -674,19 +696,22 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
                 length > 0 && Character.isHighSurrogate(buffer[offset + length - 1])
                         ? -1
                         : 0;
-        final int limit = offset + length + surrogateCorrection;
+        quoteChars(buffer, offset, offset + length + surrogateCorrection);
+    }
+
+    private void quoteChars(final char[] buffer, final int offset, final int limit) {
         int i = offset;
-        outer:
         while (i < limit) {
-            while (true) {
-                final char c = buffer[i];
-                if (c < ESC_CODES.length && ESC_CODES[c] != 0) {
+            // Find the run of characters that need no quoting and append it at once.
+            final int runStart = i;
+            while (i < limit && !needsQuoting(buffer[i])) {
+                i++;
+            }
+            if (i > runStart) {
+                stringBuilder.append(buffer, runStart, i - runStart);
+                if (i >= limit) {
                     break;
                 }
-                stringBuilder.append(c);
-                if (++i >= limit) {
-                    break outer;
-                }
             }
             final char d = buffer[i++];
             final int escCode = ESC_CODES[d];
@@ -697,6 +722,10 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
         }
     }
 
+    private static boolean needsQuoting(final char c) {
+        return c < ESC_CODES.length && ESC_CODES[c] != 0;
+    }
+
     private int quoteNumeric(final int value) {
         quoteBuffer[1] = 'u';
         // We know it's a control char, so only the last 2 chars are non-0
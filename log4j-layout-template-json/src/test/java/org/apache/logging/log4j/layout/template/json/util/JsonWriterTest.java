@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.CharBuffer;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -727,6 +728,44 @@ class JsonWriterTest {
         });
     }
 
+    @Test
+    void test_writeString_long_text() throws IOException {
+        // Longer than the chunks Strings and StringBuilders are quoted in, with escapes around the chunk boundaries.
+        final StringBuilder textBuilder = new StringBuilder();
+        for (int i = 0; textBuilder.length() < 2_000; i++) {
+            textBuilder
+                    .append("lorem ipsum ")
+                    .append(i % 7 == 0 ? "\"quoted\"\n" : "")
+                    .append(i % 11 == 0 ? '\u0001' : ' ');
+        }
+        for (final int position : new int[]{510, 511, 512, 513, 1023, 1024}) {
+            textBuilder.setCharAt(position, '\\');
+        }
+        final String text = textBuilder.toString();
+        final String expectedJson = JacksonFixture.getObjectMapper().writeValueAsString(text);
+        final JsonWriter writer = JsonWriter
+                .newBuilder()
+                .setMaxStringLength(text.length())
+                .setTruncatedStringSuffix("~")
+                .build();
+        Assertions
+                .assertThat(writer.use(() -> writer.writeString(text)))
+                .as("String")
+                .isEqualTo(expectedJson);
+        Assertions
+                .assertThat(writer.use(() -> writer.writeString(textBuilder)))
+                .as("StringBuilder")
+                .isEqualTo(expectedJson);
+        Assertions
+                .assertThat(writer.use(() -> writer.writeString(CharBuffer.wrap(text))))
+                .as("CharSequence")
+                .isEqualTo(expectedJson);
+        Assertions
+                .assertThat(writer.use(() -> writer.writeString(text.toCharArray())))
+                .as("char[]")
+                .isEqualTo(expectedJson);
+    }
+
     private static void testQuoting(
             final Function<Integer, String> quoter) throws IOException {
         final SoftAssertions assertions = new SoftAssertions();
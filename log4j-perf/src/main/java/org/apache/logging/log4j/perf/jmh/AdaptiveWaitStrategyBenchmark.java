@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import org.apache.logging.log4j.core.async.AdaptiveWaitStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long the consumer thread of a Disruptor takes to pick up an event with each wait strategy Async
+ * Loggers support, and how much CPU the consumer thread burns while doing so, at varying event rates.
+ * <p>
+ * Every invocation publishes one event and spins until the consumer has handled it. Between invocations the producer
+ * pauses for {@code pauseNanos}, which sets the event rate. The {@code consumerCpuPercent} secondary result is the
+ * CPU time of the consumer thread relative to the wall clock time of the iteration.
+ * </p>
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf/target/benchmarks.jar ".*AdaptiveWaitStrategyBenchmark.*"
+//
+// Latency percentiles (the CPU counter is only reported in average time mode):
+// java -jar log4j-perf/target/benchmarks.jar ".*AdaptiveWaitStrategyBenchmark.*" -bm sample
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AdaptiveWaitStrategyBenchmark {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    @Param({"Timeout", "Block", "Sleep", "Yield", "BusySpin", "Adaptive"})
+    public String waitStrategy;
+
+    /**
+     * Pause between two events: about 1,000,000, 10,000 and 100 events per second.
+     */
+    @Param({"1000", "100000", "10000000"})
+    public long pauseNanos;
+
+    private Disruptor<long[]> disruptor;
+    private RingBuffer<long[]> ringBuffer;
+    private volatile Thread consumerThread;
+    private volatile long handled = -1;
+
+    @Setup
+    public void setUp() {
+        disruptor = new Disruptor<>(() -> new long[1], 1024, runnable -> {
+            final Thread thread = new Thread(runnable, "AdaptiveWaitStrategyBenchmark-consumer");
+            thread.setDaemon(true);
+            consumerThread = thread;
+            return thread;
+        }, ProducerType.MULTI, createWaitStrategy(waitStrategy));
+        disruptor.handleEventsWith((EventHandler<long[]>) (event, sequence, endOfBatch) -> handled = sequence);
+        ringBuffer = disruptor.start();
+    }
+
+    private static WaitStrategy createWaitStrategy(final String name) {
+        switch (name) {
+            case "Block":
+                return new BlockingWaitStrategy();
+            case "Sleep":
+                return new SleepingWaitStrategy();
+            case "Yield":
+                return new YieldingWaitStrategy();
+            case "BusySpin":
+                return new BusySpinWaitStrategy();
+            case "Adaptive":
+                return new AdaptiveWaitStrategy();
+            default:
+                return new TimeoutBlockingWaitStrategy(10, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        disruptor.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void pause() {
+        final long deadline = System.nanoTime() + pauseNanos;
+        if (pauseNanos > 100_000) {
+            LockSupport.parkNanos(pauseNanos);
+        }
+        while (System.nanoTime() < deadline) {
+            // spin away the remainder, parking is too coarse for short pauses
+        }
+    }
+
+    @Benchmark
+    public long handoff(final CpuCounters counters) {
+        final long sequence = ringBuffer.next();
+        ringBuffer.get(sequence)[0] = sequence;
+        ringBuffer.publish(sequence);
+        while (handled < sequence) {
+            // wait for the consumer
+        }
+        return sequence;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class CpuCounters {
+
+        public double consumerCpuPercent;
+
+        private long startCpuNanos;
+        private long startNanos;
+
+        @Setup(Level.Iteration)
+        public void start(final AdaptiveWaitStrategyBenchmark benchmark) {
+            startCpuNanos = THREAD_MX_BEAN.getThreadCpuTime(benchmark.consumerThread.getId());
+            startNanos = System.nanoTime();
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop(final AdaptiveWaitStrategyBenchmark benchmark) {
+            final long cpuNanos = THREAD_MX_BEAN.getThreadCpuTime(benchmark.consumerThread.getId()) - startCpuNanos;
+            consumerCpuPercent = 100.0 * cpuNanos / (System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -64,6 +64,7 @@ public class AsyncAppenderLog4j2LocationBenchmark {
         "perf5AsyncApndWithLoc-noOpAppender.xml",
         "perf5AsyncApndDsrptrWithLoc-noOpAppender.xml",
         "perf5AsyncApndMpscQWithLoc-noOpAppender.xml",
+        "perf5AsyncApndMpscArrayQWithLoc-noOpAppender.xml",
         "perf5AsyncApndXferQWithLoc-noOpAppender.xml"
     })
     public String configFileName;
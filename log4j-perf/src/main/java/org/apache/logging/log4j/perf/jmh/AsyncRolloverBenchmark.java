@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LifeCycle;
+import org.apache.logging.log4j.perf.util.BenchmarkMessageParams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Samples the latency of logging calls to a RollingFileAppender that rolls over every second, with and without
+ * {@code asyncRollover}. Each measurement iteration crosses several rollover boundaries, so the tail percentiles of
+ * the reported histogram show the cost paid by the thread that triggers the rollover.
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf/target/benchmarks.jar ".*AsyncRolloverBenchmark.*"
+//
+// To compare the tail latency with more threads:
+// java -jar log4j-perf/target/benchmarks.jar ".*AsyncRolloverBenchmark.threads4"
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AsyncRolloverBenchmark {
+
+    private static final String LOG_DIR = "target/AsyncRolloverBenchmark";
+
+    @Param({"false", "true"})
+    public String asyncRollover;
+
+    private Logger logger;
+
+    @Setup
+    public void setUp() {
+        deleteLogDir();
+        System.setProperty("log4j2.is.webapp", "false");
+        System.setProperty("asyncRollover", asyncRollover);
+        System.setProperty("log4j.configurationFile", "log4j2-async-rollover-perf.xml");
+        logger = LogManager.getLogger(AsyncRolloverBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ((LifeCycle) LogManager.getContext(false)).stop();
+        System.clearProperty("log4j.configurationFile");
+        System.clearProperty("asyncRollover");
+        deleteLogDir();
+        logger = null;
+    }
+
+    private static void deleteLogDir() {
+        final File[] files = new File(LOG_DIR).listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void threads1() {
+        logger.info(BenchmarkMessageParams.TEST);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void threads4() {
+        logger.info(BenchmarkMessageParams.TEST);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LifeCycle;
+import org.apache.logging.log4j.perf.util.BenchmarkMessageParams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the synchronized write path of a FileAppender with its {@code concurrentWrites} mode as the number of
+ * logging threads grows from 1 to 64.
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf/target/benchmarks.jar ".*ConcurrentFileAppenderBenchmark.*"
+//
+// To focus on one thread count:
+// java -jar log4j-perf/target/benchmarks.jar ".*ConcurrentFileAppenderBenchmark.threads64" -p concurrentWrites=true
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConcurrentFileAppenderBenchmark {
+
+    private static final String LOG_FILE = "target/ConcurrentFileAppenderBenchmark.log";
+
+    @Param({"false", "true"})
+    public String concurrentWrites;
+
+    @Param({"true", "false"})
+    public String immediateFlush;
+
+    private Logger logger;
+
+    @Setup
+    public void setUp() {
+        new File(LOG_FILE).delete();
+        System.setProperty("log4j2.is.webapp", "false");
+        System.setProperty("concurrentWrites", concurrentWrites);
+        System.setProperty("immediateFlush", immediateFlush);
+        System.setProperty("log4j.configurationFile", "log4j2-concurrent-file-perf.xml");
+        logger = LogManager.getLogger(ConcurrentFileAppenderBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ((LifeCycle) LogManager.getContext(false)).stop();
+        System.clearProperty("log4j.configurationFile");
+        System.clearProperty("concurrentWrites");
+        System.clearProperty("immediateFlush");
+        new File(LOG_FILE).delete();
+        logger = null;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void threads1() {
+        logger.info(BenchmarkMessageParams.TEST);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void threads2() {
+        logger.info(BenchmarkMessageParams.TEST);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void threads4() {
+        logger.info(BenchmarkMessageParams.TEST);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void threads8() {
+        logger.info(BenchmarkMessageParams.TEST);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void threads16() {
+        logger.info(BenchmarkMessageParams.TEST);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void threads32() {
+        logger.info(BenchmarkMessageParams.TEST);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void threads64() {
+        logger.info(BenchmarkMessageParams.TEST);
+    }
+}
@@ -24,17 +24,29 @@ import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.ConfigurationSource;
 import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.util.PluginManager;
+import org.apache.logging.log4j.core.config.plugins.util.PluginRegistry;
+import org.apache.logging.log4j.core.config.plugins.util.PluginType;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
 
 /**
  * This benchmark demonstrates how long it takes for a simple XML configuration file to be parsed and initialize a new
  * {@link org.apache.logging.log4j.core.LoggerContext} using that configuration.
+ * <p>
+ * {@code initializeLoggerContextAtStartup} does the same in a fresh JVM, so that it includes discovering the plugins
+ * and loading their classes. {@code collectCorePlugins} reads the plugin cache files again and looks up the plugins
+ * used by the configuration.
+ * </p>
  */
 // TO RUN THIS TEST:
 // java -jar target/benchmarks.jar '.*ConfiguratorInitializeBenchmark.*'
@@ -67,4 +79,27 @@ public class ConfiguratorInitializeBenchmark {
         return Configurator.initialize(null, configurationSource);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(20)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public LoggerContext initializeLoggerContextAtStartup() {
+        return Configurator.initialize(null, configurationSource);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PluginType<?> collectCorePlugins() {
+        PluginRegistry.getInstance().clear();
+        final PluginManager manager = new PluginManager(Node.CATEGORY);
+        manager.collectPlugins();
+        manager.getPluginType("Console");
+        manager.getPluginType("PatternLayout");
+        manager.getPluginType("Root");
+        return manager.getPluginType("AppenderRef");
+    }
+
 }
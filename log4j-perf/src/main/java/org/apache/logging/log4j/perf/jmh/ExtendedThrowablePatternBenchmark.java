@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ExtendedClassInfoCache;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures formatting an exception with {@code %xEx}, which resolves the class of every stack frame to report its jar
+ * and version, with and without the process-wide {@link ExtendedClassInfoCache}. The uncached case clears the cache
+ * before every event, which is what every logged exception used to cost. The exceptions are those of
+ * {@link FileAppenderThrowableBenchmark}.
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf/target/benchmarks.jar ".*ExtendedThrowablePatternBenchmark.*" -prof gc
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExtendedThrowablePatternBenchmark {
+
+    private static final Throwable SIMPLE_THROWABLE = new IllegalStateException("Test Throwable");
+    private static final Throwable COMPLEX_THROWABLE = FileAppenderThrowableBenchmark.getComplexThrowable();
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private PatternLayout layout;
+
+    @Setup
+    public void setUp() {
+        layout = PatternLayout.newBuilder().withPattern("%m%xEx").build();
+        ExtendedClassInfoCache.getInstance().clear();
+    }
+
+    private LogEvent createEvent(final Throwable throwable) {
+        if (!cached) {
+            ExtendedClassInfoCache.getInstance().clear();
+        }
+        // A new event per invocation, so that each one builds its own ThrowableProxy.
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName("RAFExtendedException")
+                .setLevel(Level.ERROR)
+                .setMessage(new SimpleMessage("Caught an exception"))
+                .setThrown(throwable)
+                .build();
+    }
+
+    @Benchmark
+    public String simpleThrowable() {
+        return layout.toSerializable(createEvent(SIMPLE_THROWABLE));
+    }
+
+    @Benchmark
+    public String complexThrowable() {
+        return layout.toSerializable(createEvent(COMPLEX_THROWABLE));
+    }
+}
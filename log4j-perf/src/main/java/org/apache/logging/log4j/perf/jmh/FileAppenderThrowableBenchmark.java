@@ -117,7 +117,7 @@ public class FileAppenderThrowableBenchmark {
     interface TestIface29 extends ThrowableHelper {}
     interface TestIface30 extends ThrowableHelper {}
 
-    private static Throwable getComplexThrowable() {
+    static Throwable getComplexThrowable() {
         ThrowableHelper helper = () -> {
             throw new IllegalStateException("Test Throwable");
         };
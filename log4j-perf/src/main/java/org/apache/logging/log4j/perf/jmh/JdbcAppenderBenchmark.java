@@ -54,6 +54,7 @@ import org.openjdk.jmh.infra.Blackhole;
 @State(Scope.Thread)
 public class JdbcAppenderBenchmark {
     private Logger loggerH2;
+    private Logger loggerH2GroupCommit;
     private Logger loggerHSQLDB;
     private Connection connectionHSQLDB;
     private Connection connectionH2;
@@ -73,6 +74,7 @@ public class JdbcAppenderBenchmark {
         }
         StatusLogger.getLogger().reset();
         loggerH2 = LogManager.getLogger("H2Logger");
+        loggerH2GroupCommit = LogManager.getLogger("H2GroupCommitLogger");
         loggerHSQLDB = LogManager.getLogger("HSQLDBLogger");
     }
 
@@ -104,6 +106,27 @@ public class JdbcAppenderBenchmark {
         loggerH2.warn("Test message", exception);
     }
 
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Benchmark
+    public void testThroughputH2GroupCommitMessage(final Blackhole bh) {
+        loggerH2GroupCommit.info("Test message");
+    }
+
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Benchmark
+    public void testResponseTimeH2GroupCommitMessage(final Blackhole bh) {
+        loggerH2GroupCommit.info("Test message");
+    }
+
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Benchmark
+    public void testResponseTimeH2GroupCommitException(final Blackhole bh) {
+        loggerH2GroupCommit.warn("Test message", exception);
+    }
+
     @BenchmarkMode(Mode.Throughput)
     @OutputTimeUnit(TimeUnit.SECONDS)
     @Benchmark
@@ -137,6 +160,7 @@ public class JdbcAppenderBenchmark {
         final LoggerContext context = LoggerContext.getContext(false);
         try {
             ((JdbcAppender) context.getConfiguration().getAppender("H2Appender")).getManager().close();
+            ((JdbcAppender) context.getConfiguration().getAppender("H2GroupCommitAppender")).getManager().close();
             ((JdbcAppender) context.getConfiguration().getAppender("HSQLDBAppender")).getManager().close();
         } finally {
             System.clearProperty(ConfigurationFactory.CONFIGURATION_FILE_PROPERTY);
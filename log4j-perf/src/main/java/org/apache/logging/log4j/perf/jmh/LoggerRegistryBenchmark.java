@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.simple.SimpleLoggerContext;
+import org.apache.logging.log4j.spi.ExtendedLogger;
+import org.apache.logging.log4j.spi.LoggerRegistry;
+import org.apache.logging.log4j.spi.WeakLoggerRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares looking up loggers concurrently in the {@link LoggerRegistry} variants, the way a {@code LoggerContext}
+ * does in {@code getLogger}: look up, and register the logger if it is missing.<br>
+ * {@code benchWeakMapFactory} synchronizes on the registry, which the {@code WeakHashMap}s of
+ * {@link LoggerRegistry.WeakMapFactory} require.<br>
+ *
+ * How to run these benchmarks:<br>
+ *
+ * 32 threads:<br>
+ * <pre>java -jar log4j-perf/target/benchmarks.jar ".*LoggerRegistryBenchmark.*" -f 1 -wi 3 -i 5</pre>
+ *
+ * Usage help:<br>
+ * <pre>java -jar log4j-perf/target/benchmarks.jar -help</pre>
+ */
+@Fork(1)
+@Threads(32)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 4, time = 3)
+public class LoggerRegistryBenchmark {
+
+    private static final int LOGGER_COUNT = 1024;
+
+    @State(Scope.Benchmark)
+    public static class ExecutionPlan {
+        final ExtendedLogger[] loggers = new ExtendedLogger[LOGGER_COUNT];
+        final String[] names = new String[LOGGER_COUNT];
+        final LoggerRegistry<ExtendedLogger> concurrentMapRegistry = new LoggerRegistry<>();
+        final LoggerRegistry<ExtendedLogger> weakMapRegistry =
+                new LoggerRegistry<>(new LoggerRegistry.WeakMapFactory<>());
+        final LoggerRegistry<ExtendedLogger> weakLoggerRegistry = new WeakLoggerRegistry<>();
+
+        @Setup
+        public void setup() {
+            final SimpleLoggerContext context = new SimpleLoggerContext();
+            for (int i = 0; i < LOGGER_COUNT; i++) {
+                names[i] = "org.apache.logging.log4j.perf.Logger" + i;
+                // Held here so that the weakly referenced loggers stay registered.
+                loggers[i] = context.getLogger(names[i]);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int index;
+
+        int next() {
+            return index = (index + 1) & (LOGGER_COUNT - 1);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ExtendedLogger benchConcurrentMapFactory(final ExecutionPlan plan, final ThreadState state) {
+        return getLogger(plan.concurrentMapRegistry, plan, state.next());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ExtendedLogger benchWeakMapFactory(final ExecutionPlan plan, final ThreadState state) {
+        synchronized (plan.weakMapRegistry) {
+            return getLogger(plan.weakMapRegistry, plan, state.next());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ExtendedLogger benchWeakLoggerRegistry(final ExecutionPlan plan, final ThreadState state) {
+        return getLogger(plan.weakLoggerRegistry, plan, state.next());
+    }
+
+    private static ExtendedLogger getLogger(final LoggerRegistry<ExtendedLogger> registry, final ExecutionPlan plan,
+            final int index) {
+        final String name = plan.names[index];
+        ExtendedLogger logger = registry.getLogger(name);
+        if (logger == null) {
+            registry.putIfAbsent(name, null, plan.loggers[index]);
+            logger = registry.getLogger(name);
+        }
+        return logger;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import org.apache.logging.log4j.core.appender.rolling.action.GzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ParallelGzCompressAction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the time taken to compress a 500 MB log file with the single threaded GzCompressAction and the
+ * ParallelGzCompressAction.
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf/target/benchmarks.jar ".*ParallelGzCompressBenchmark.*"
+//
+// To change the number of compression threads:
+// java -jar log4j-perf/target/benchmarks.jar ".*ParallelGzCompressBenchmark.*" -p threads=8
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelGzCompressBenchmark {
+
+    private static final long FILE_SIZE = 500L * 1024 * 1024;
+
+    @Param({"2", "4", "8"})
+    public int threads;
+
+    private File source;
+    private File destination;
+
+    @Setup
+    public void setUp() throws IOException {
+        source = File.createTempFile("ParallelGzCompressBenchmark", ".log");
+        destination = new File(source.getPath() + ".gz");
+        long written = 0;
+        long count = 0;
+        try (final BufferedWriter writer = new BufferedWriter(new FileWriter(source))) {
+            while (written < FILE_SIZE) {
+                final String line = "2022-07-21 10:15:30,123 [main] INFO  org.apache.logging.log4j.perf.jmh."
+                        + "ParallelGzCompressBenchmark - Processed request " + count++ + " in " + (count % 997)
+                        + " ms\n";
+                writer.write(line);
+                written += line.length();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        destination.delete();
+        source.delete();
+    }
+
+    @Benchmark
+    public boolean gzCompress() throws IOException {
+        return GzCompressAction.execute(source, destination, false, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    @Benchmark
+    public boolean parallelGzCompress() throws IOException {
+        return ParallelGzCompressAction.execute(source, destination, false, Deflater.DEFAULT_COMPRESSION, threads);
+    }
+}
@@ -72,6 +72,8 @@ public class PatternLayoutBenchmark {
     private final PatternLayout PATTERN_M_EX = PatternLayout.createLayout("%m %ex%n", null, null, null, CHARSET_DEFAULT, false, true, null, null);
     private final PatternLayout PATTERN_M_D_EX = PatternLayout.createLayout("%d %m%ex%n", null, null, null, CHARSET_DEFAULT, false, true, null, null);
     private final PatternLayout PATTERN_M_C_D_EX = PatternLayout.createLayout("%d %c %m%ex%n", null, null, null, CHARSET_DEFAULT, false, true, null, null);
+    private final PatternLayout PATTERN_M_C_D_FUSED = PatternLayout.newBuilder().withPattern("%d %c %m%n").withCharset(CHARSET_DEFAULT).withAlwaysWriteExceptions(false).withNoConsoleNoAnsi(true).withFused(true).build();
+    private final PatternLayout PATTERN_M_C_D_EX_FUSED = PatternLayout.newBuilder().withPattern("%d %c %m%ex%n").withCharset(CHARSET_DEFAULT).withAlwaysWriteExceptions(false).withNoConsoleNoAnsi(true).withFused(true).build();
 
     private static LogEvent createLogEvent() {
         final Marker marker = null;
@@ -163,6 +165,20 @@ public class PatternLayoutBenchmark {
         return PATTERN_M_C_D_EX.toByteArray(EVENT);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public byte[] byteArrayMCDFused() {
+        return PATTERN_M_C_D_FUSED.toByteArray(EVENT);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public byte[] byteArrayMCDExFused() {
+        return PATTERN_M_C_D_EX_FUSED.toByteArray(EVENT);
+    }
+
     @Benchmark
     @BenchmarkMode(Mode.SampleTime)
     @OutputTimeUnit(TimeUnit.NANOSECONDS)
@@ -61,6 +61,9 @@ public class PatternLayoutComparisonBenchmark {
     private static final String LOG4JPATTERN = "%d %5p [%t] %c{1} %X{transactionId} - %m%n";
     private final PatternLayout LOG4J2_PATTERN_LAYOUT = PatternLayout.createLayout(LOG4JPATTERN, null,
             null, null, CHARSET_DEFAULT, false, true, null, null);
+    private final PatternLayout LOG4J2_FUSED_PATTERN_LAYOUT = PatternLayout.newBuilder().withPattern(LOG4JPATTERN)
+            .withCharset(CHARSET_DEFAULT).withAlwaysWriteExceptions(false).withNoConsoleNoAnsi(true).withFused(true)
+            .build();
 
     private static LogEvent createLog4j2Event() {
         final Marker marker = null;
@@ -121,4 +124,9 @@ public class PatternLayoutComparisonBenchmark {
         return LOG4J2_PATTERN_LAYOUT.toByteArray(LOG4J2EVENT);
     }
 
+    @Benchmark
+    public byte[] log4j2Fused() {
+        return LOG4J2_FUSED_PATTERN_LAYOUT.toByteArray(LOG4J2EVENT);
+    }
+
 }
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.filter.BurstFilter;
+import org.apache.logging.log4j.core.filter.RateLimitingFilter;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the contention of the DelayQueue based BurstFilter with the lock-free RateLimitingFilter as the number of
+ * threads grows from 1 to 32. Both filters are configured with the same rate and burst.
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf/target/benchmarks.jar ".*RateLimitingFilterBenchmark.*"
+//
+// To compare one thread count:
+// java -jar log4j-perf/target/benchmarks.jar ".*RateLimitingFilterBenchmark.*Threads32"
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RateLimitingFilterBenchmark {
+
+    private static final float RATE = 1000000;
+    private static final long MAX_BURST = 1000;
+
+    private Filter burstFilter;
+    private Filter rateLimitingFilter;
+    private LogEvent event;
+
+    @Setup
+    public void setUp() {
+        burstFilter = BurstFilter.newBuilder().setLevel(Level.INFO).setRate(RATE).setMaxBurst(MAX_BURST).build();
+        rateLimitingFilter = RateLimitingFilter.newBuilder().setLevel(Level.INFO).setRate(RATE).setMaxBurst(MAX_BURST)
+                .build();
+        event = Log4jLogEvent.newBuilder().setLoggerName(RateLimitingFilterBenchmark.class.getName())
+                .setLevel(Level.INFO).setMessage(new SimpleMessage("This is a test")).build();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Filter.Result burstFilterThreads1() {
+        return burstFilter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Filter.Result rateLimitingFilterThreads1() {
+        return rateLimitingFilter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Filter.Result burstFilterThreads2() {
+        return burstFilter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Filter.Result rateLimitingFilterThreads2() {
+        return rateLimitingFilter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Filter.Result burstFilterThreads4() {
+        return burstFilter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Filter.Result rateLimitingFilterThreads4() {
+        return rateLimitingFilter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Filter.Result burstFilterThreads8() {
+        return burstFilter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Filter.Result rateLimitingFilterThreads8() {
+        return rateLimitingFilter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Filter.Result burstFilterThreads16() {
+        return burstFilter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Filter.Result rateLimitingFilterThreads16() {
+        return rateLimitingFilter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Filter.Result burstFilterThreads32() {
+        return burstFilter.filter(event);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Filter.Result rateLimitingFilterThreads32() {
+        return rateLimitingFilter.filter(event);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.impl.StackTraceRenderer;
+import org.apache.logging.log4j.core.impl.ThrowableProxy;
+import org.apache.logging.log4j.core.pattern.PlainTextRenderer;
+import org.apache.logging.log4j.core.util.StringBuilderWriter;
+import org.apache.logging.log4j.util.Strings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares rendering a stack trace into a reused {@link StringBuilder} with the {@link StackTraceRenderer} against
+ * {@link Throwable#printStackTrace(PrintWriter)}, which {@code %ex} used, and against a {@link ThrowableProxy},
+ * which {@code %xEx} used. Run it with the GC profiler: the interesting result is {@code gc.alloc.rate.norm}, the
+ * bytes allocated per rendering.
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf/target/benchmarks.jar ".*StackTraceRendererBenchmark.*" -prof gc
+//
+// Garbage-free mode is enabled by default; to measure the renderer without thread locals:
+// java -Dlog4j2.enable.threadlocals=false -jar log4j-perf/target/benchmarks.jar ".*StackTraceRendererBenchmark.*" -prof gc
+@Fork(1)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StackTraceRendererBenchmark {
+
+    private static final Throwable SIMPLE_THROWABLE = new IllegalStateException("Test Throwable");
+    private static final Throwable COMPLEX_THROWABLE = FileAppenderThrowableBenchmark.getComplexThrowable();
+
+    @Param({"simple", "complex"})
+    public String throwable;
+
+    private Throwable thrown;
+
+    private final StringBuilder buffer = new StringBuilder(16 * 1024);
+
+    @Setup
+    public void setUp() {
+        thrown = "simple".equals(throwable) ? SIMPLE_THROWABLE : COMPLEX_THROWABLE;
+    }
+
+    @Benchmark
+    public int printStackTrace() {
+        buffer.setLength(0);
+        thrown.printStackTrace(new PrintWriter(new StringBuilderWriter(buffer)));
+        return buffer.length();
+    }
+
+    @Benchmark
+    public int stackTraceRenderer() {
+        buffer.setLength(0);
+        StackTraceRenderer.formatStackTrace(thrown, buffer);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public int throwableProxy() {
+        buffer.setLength(0);
+        new ThrowableProxy(thrown).formatExtendedStackTraceTo(buffer, null, PlainTextRenderer.getInstance(),
+                Strings.EMPTY, Strings.LINE_SEPARATOR);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public int extendedStackTraceRenderer() {
+        buffer.setLength(0);
+        StackTraceRenderer.formatExtendedStackTrace(thrown, buffer, null, Strings.EMPTY, Strings.LINE_SEPARATOR);
+        return buffer.length();
+    }
+}
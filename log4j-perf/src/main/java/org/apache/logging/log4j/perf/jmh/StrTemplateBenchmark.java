@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.lookup.Interpolator;
+import org.apache.logging.log4j.core.lookup.RuntimeStrSubstitutor;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.core.lookup.StrTemplate;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.StringMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link StrSubstitutor#replace(LogEvent, String)}, which scans the template for variables on every call,
+ * against evaluating a {@link StrTemplate} compiled from the same template, as done for the routes of a
+ * {@code RoutingAppender} and for lookups in a {@code PatternLayout}.
+ */
+// HOW TO RUN THIS TEST
+// java -jar log4j-perf/target/benchmarks.jar ".*StrTemplateBenchmark.*" -prof gc
+@Fork(1)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StrTemplateBenchmark {
+
+    @Param({
+            "${ctx:user}",
+            "logs/${ctx:tenant}/${ctx:user:-anonymous}.log",
+            "[${ctx:tenant}] ${ctx:${ctx:keyName}} $${escaped} ${ctx:missing:-default}"})
+    public String template;
+
+    private StrSubstitutor substitutor;
+    private StrTemplate compiled;
+    private LogEvent event;
+    private final StringBuilder buffer = new StringBuilder(256);
+
+    @Setup
+    public void setUp() {
+        substitutor = new RuntimeStrSubstitutor(new Interpolator());
+        compiled = substitutor.compile(template);
+        final StringMap contextData = ContextDataFactory.createContextData();
+        contextData.putValue("user", "alice");
+        contextData.putValue("tenant", "acme");
+        contextData.putValue("keyName", "user");
+        event = Log4jLogEvent.newBuilder()
+                .setLoggerName(StrTemplateBenchmark.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("Test message"))
+                .setContextData(contextData)
+                .build();
+    }
+
+    @Benchmark
+    public String replace() {
+        return substitutor.replace(event, template);
+    }
+
+    @Benchmark
+    public String compiled() {
+        return compiled.replace(event);
+    }
+
+    @Benchmark
+    public StringBuilder compiledAppend() {
+        buffer.setLength(0);
+        compiled.replace(event, buffer);
+        return buffer;
+    }
+}
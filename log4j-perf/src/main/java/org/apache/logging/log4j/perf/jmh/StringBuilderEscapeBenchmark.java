@@ -17,12 +17,15 @@
 
 package org.apache.logging.log4j.perf.jmh;
 
+import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
 import org.apache.logging.log4j.util.StringBuilders;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
 import java.util.concurrent.TimeUnit;
@@ -48,6 +51,33 @@ public class StringBuilderEscapeBenchmark {
         StringBuilder buffer = new StringBuilder(1024 * 4);
     }
 
+    /**
+     * Plain text of varying size, which is what most log messages are, with a single quote in the middle.
+     */
+    @State(Scope.Thread)
+    public static class MessageState {
+
+        @Param({"32", "256", "4096", "65536"})
+        int size;
+
+        String message;
+        StringBuilder buffer;
+        JsonWriter jsonWriter;
+
+        @Setup
+        public void setUp() {
+            final StringBuilder text = new StringBuilder(size);
+            while (text.length() < size) {
+                text.append("The quick brown fox jumps over the lazy dog 0123456789. ");
+            }
+            text.setLength(size);
+            text.setCharAt(size / 2, '"');
+            message = text.toString();
+            buffer = new StringBuilder(size * 2);
+            jsonWriter = JsonWriter.newBuilder().setMaxStringLength(size).setTruncatedStringSuffix("\u2026").build();
+        }
+    }
+
     @Benchmark
     @BenchmarkMode(Mode.SampleTime)
     @OutputTimeUnit(TimeUnit.NANOSECONDS)
@@ -68,6 +98,26 @@ public class StringBuilderEscapeBenchmark {
         return state.buffer.length();
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int escapeJsonMessage(final MessageState state) {
+        state.buffer.setLength(0);
+        state.buffer.append(state.message);
+        StringBuilders.escapeJson(state.buffer, 0);
+        return state.buffer.length();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int jsonWriterWriteStringMessage(final MessageState state) {
+        final StringBuilder jsonBuffer = state.jsonWriter.getStringBuilder();
+        jsonBuffer.setLength(0);
+        state.jsonWriter.writeString(state.message);
+        return jsonBuffer.length();
+    }
+
     private static String repeat(final String str, final int times) {
         final StringBuilder sb = new StringBuilder(str.length() * times);
         for (int i = 0; i < times; i++) {
@@ -26,6 +26,7 @@ import org.apache.logging.log4j.spi.AbstractLogger;
 import org.apache.logging.log4j.spi.ExtendedLogger;
 import org.apache.logging.log4j.spi.LoggerContext;
 import org.apache.logging.log4j.spi.LoggerRegistry;
+import org.apache.logging.log4j.spi.WeakLoggerRegistry;
 
 /**
  * This bridge between the tag library and the Log4j API ensures that instances of {@link Log4jTaglibLogger} are
@@ -38,8 +39,7 @@ final class Log4jTaglibLoggerContext implements LoggerContext {
     // important in Servlet containers.
     private static final WeakHashMap<ServletContext, Log4jTaglibLoggerContext> CONTEXTS = new WeakHashMap<>();
 
-    private final LoggerRegistry<Log4jTaglibLogger> loggerRegistry = new LoggerRegistry<>(
-            new LoggerRegistry.WeakMapFactory<Log4jTaglibLogger>());
+    private final LoggerRegistry<Log4jTaglibLogger> loggerRegistry = new WeakLoggerRegistry<>();
 
     private final ServletContext servletContext;
 